@@ -0,0 +1,25 @@
+--
+-- Table profiles with one row per table and profile date instead of a json array in entity_extension
+--
+CREATE TABLE IF NOT EXISTS table_profile (
+    tableId VARCHAR(36) NOT NULL,
+    profileDate DATE NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (tableId, profileDate)
+);
+
+--
+-- Move the profiles stored in entity_extension. The migrated rows keep the earlier json format of a table profile,
+-- which is read along with the new format
+--
+INSERT INTO table_profile (tableId, profileDate, json)
+SELECT e.id, p.profileDate, p.profile
+FROM entity_extension e,
+    JSON_TABLE(e.json, '$[*]' COLUMNS (profileDate DATE PATH '$.profileDate', profile JSON PATH '$')) p
+WHERE e.extension = 'table.tableProfile' AND p.profileDate IS NOT NULL
+ON DUPLICATE KEY UPDATE json = p.profile;
+
+-- Remove the profiles of a table from entity_extension only when all of them have a profile date and were moved
+DELETE FROM entity_extension
+WHERE extension = 'table.tableProfile'
+    AND JSON_LENGTH(json) = IFNULL(JSON_LENGTH(JSON_EXTRACT(json, '$[*].profileDate')), 0);
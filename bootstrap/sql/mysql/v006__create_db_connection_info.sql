@@ -0,0 +1,45 @@
+--
+-- Queries that ran against a table with one row per table and query checksum instead of a json array in
+-- entity_extension
+--
+CREATE TABLE IF NOT EXISTS table_query (
+    tableId VARCHAR(36) NOT NULL,
+    checksum VARCHAR(32) NOT NULL,
+    queryCount INT NOT NULL DEFAULT 1,
+    vote DOUBLE NOT NULL,
+    lastSeen DATE NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (tableId, checksum),
+    INDEX (tableId, queryCount),
+    INDEX (tableId, vote),
+    INDEX (tableId, lastSeen)
+);
+
+--
+-- Move the queries stored in entity_extension. The checksum is recomputed from the query text with the whitespace
+-- normalization of TableRepository.getQueryChecksum, so that queries reported again after the migration are counted
+-- in the migrated row. Queries that normalize to the same checksum are merged into one row.
+--
+INSERT INTO table_query (tableId, checksum, vote, lastSeen, json)
+SELECT q.tableId, q.queryChecksum, q.queryVote, q.queryDate, JSON_SET(q.query, '$.checksum', q.queryChecksum)
+FROM (
+    SELECT e.id AS tableId,
+        MD5(TRIM(REGEXP_REPLACE(t.queryText, '[ \\t\\n\\x0B\\f\\r]+', ' '))) AS queryChecksum,
+        COALESCE(t.vote, 0) AS queryVote,
+        COALESCE(t.queryDate, CURRENT_DATE) AS queryDate,
+        t.query
+    FROM entity_extension e,
+        JSON_TABLE(e.json, '$[*]' COLUMNS (
+            queryText LONGTEXT PATH '$.query',
+            vote DOUBLE PATH '$.vote',
+            queryDate DATE PATH '$.queryDate',
+            query JSON PATH '$')) t
+    WHERE e.extension = 'table.tableQueries' AND t.queryText IS NOT NULL
+) q
+ON DUPLICATE KEY UPDATE queryCount = queryCount + 1, vote = GREATEST(vote, q.queryVote),
+    lastSeen = GREATEST(lastSeen, q.queryDate), json = JSON_SET(q.query, '$.checksum', q.queryChecksum);
+
+-- Remove the queries of a table from entity_extension only when all of them have a query text and were moved
+DELETE FROM entity_extension
+WHERE extension = 'table.tableQueries'
+    AND JSON_LENGTH(json) = IFNULL(JSON_LENGTH(JSON_EXTRACT(json, '$[*].query')), 0);
@@ -0,0 +1,9 @@
+--
+-- Sample data of a table in a column oriented binary format. Sample data stored earlier as json in entity_extension
+-- is read from there until sample data is added again for the table
+--
+CREATE TABLE IF NOT EXISTS table_sample_data (
+    tableId VARCHAR(36) NOT NULL,
+    data MEDIUMBLOB NOT NULL,
+    PRIMARY KEY (tableId)
+);
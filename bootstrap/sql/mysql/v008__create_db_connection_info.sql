@@ -0,0 +1,83 @@
+--
+-- Daily join counts of a pair of columns. Each join is stored in both directions so that the joins of a table are
+-- read with the table id as the key prefix. Only the last 30 days are kept
+--
+CREATE TABLE IF NOT EXISTS table_join_daily (
+    fromTableId VARCHAR(36) NOT NULL,
+    fromColumn VARCHAR(128) NOT NULL,
+    toTableId VARCHAR(36) NOT NULL,
+    toColumn VARCHAR(128) NOT NULL,
+    joinDate DATE NOT NULL,
+    joinCount INT NOT NULL,
+    PRIMARY KEY (fromTableId, fromColumn, toTableId, toColumn, joinDate),
+    INDEX (fromTableId, joinDate),
+    INDEX (toTableId)
+);
+
+--
+-- Sum of the daily join counts of a pair of columns, updated incrementally as daily counts are added and expire
+--
+CREATE TABLE IF NOT EXISTS table_join (
+    fromTableId VARCHAR(36) NOT NULL,
+    fromColumn VARCHAR(128) NOT NULL,
+    toTableId VARCHAR(36) NOT NULL,
+    toColumn VARCHAR(128) NOT NULL,
+    fromTableFQN VARCHAR(256) NOT NULL,
+    toTableFQN VARCHAR(256) NOT NULL,
+    joinCount INT NOT NULL,
+    PRIMARY KEY (fromTableId, fromColumn, toTableId, toColumn),
+    INDEX (fromTableFQN),
+    INDEX (toTableId)
+);
+
+--
+-- Move the daily join counts stored as json in field_relationship. Field relationships between two columns are only
+-- used for joins. The table of a column is the table with the longest fully qualified name that is a prefix of the
+-- column name, and the rest of the name is the column, so that nested column names are kept whole.
+--
+INSERT INTO table_join_daily (fromTableId, fromColumn, toTableId, toColumn, joinDate, joinCount)
+WITH RECURSIVE join_column AS (
+    SELECT fromFQN AS fqn FROM field_relationship
+    WHERE fromType = 'table.columns.column' AND toType = 'table.columns.column'
+    UNION
+    SELECT toFQN FROM field_relationship
+    WHERE fromType = 'table.columns.column' AND toType = 'table.columns.column'
+), max_depth AS (
+    SELECT MAX(CHAR_LENGTH(fqn) - CHAR_LENGTH(REPLACE(fqn, '.', ''))) AS n FROM join_column
+), depth (k) AS (
+    SELECT 1
+    UNION ALL
+    SELECT depth.k + 1 FROM depth JOIN max_depth ON depth.k < max_depth.n
+), column_table AS (
+    SELECT c.fqn, t.id AS tableId, SUBSTRING(c.fqn, CHAR_LENGTH(t.fullyQualifiedName) + 2) AS columnName,
+        ROW_NUMBER() OVER (PARTITION BY c.fqn ORDER BY CHAR_LENGTH(t.fullyQualifiedName) DESC) AS prefixRank
+    FROM join_column c
+    JOIN depth ON depth.k <= CHAR_LENGTH(c.fqn) - CHAR_LENGTH(REPLACE(c.fqn, '.', ''))
+    JOIN table_entity t ON t.fullyQualifiedName = SUBSTRING_INDEX(c.fqn, '.', depth.k)
+)
+SELECT fc.tableId, fc.columnName, tc.tableId, tc.columnName, d.joinDate, d.joinCount
+FROM field_relationship f
+JOIN column_table fc ON fc.fqn = f.fromFQN AND fc.prefixRank = 1
+JOIN column_table tc ON tc.fqn = f.toFQN AND tc.prefixRank = 1,
+JSON_TABLE(f.json, '$[*]' COLUMNS (joinDate DATE PATH '$.date', joinCount INT PATH '$.count')) d
+WHERE f.fromType = 'table.columns.column' AND f.toType = 'table.columns.column'
+    AND d.joinDate IS NOT NULL AND d.joinCount IS NOT NULL
+ON DUPLICATE KEY UPDATE joinCount = VALUES(joinCount);
+
+INSERT INTO table_join_daily (fromTableId, fromColumn, toTableId, toColumn, joinDate, joinCount)
+SELECT toTableId, toColumn, fromTableId, fromColumn, joinDate, joinCount FROM table_join_daily
+ON DUPLICATE KEY UPDATE joinCount = VALUES(joinCount);
+
+--
+-- Daily counts older than the 30 day window are not removed here. Reads leave them out of the window and they expire
+-- when joins of the table are added next, with the window start computed by the server.
+--
+INSERT INTO table_join (fromTableId, fromColumn, toTableId, toColumn, fromTableFQN, toTableFQN, joinCount)
+SELECT d.fromTableId, d.fromColumn, d.toTableId, d.toColumn, t1.fullyQualifiedName, t2.fullyQualifiedName,
+    SUM(d.joinCount)
+FROM table_join_daily d
+JOIN table_entity t1 ON t1.id = d.fromTableId
+JOIN table_entity t2 ON t2.id = d.toTableId
+GROUP BY d.fromTableId, d.fromColumn, d.toTableId, d.toColumn, t1.fullyQualifiedName, t2.fullyQualifiedName;
+
+DELETE FROM field_relationship WHERE fromType = 'table.columns.column' AND toType = 'table.columns.column';
@@ -0,0 +1,4 @@
+--
+-- Rolling weekly and monthly usage counts are computed from the previous usage record of an entity
+--
+ALTER TABLE entity_usage ADD INDEX entity_usage_id_date (id, usageDate);
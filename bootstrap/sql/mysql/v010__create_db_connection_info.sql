@@ -0,0 +1,9 @@
+--
+-- Change events are listed with keyset pagination on sequence. The sequence records the order in which the events
+-- were written and identifies the last event of a page in the cursor. The dateTime only bounds the events listed.
+-- A server commits its events in the order of the sequence.
+--
+ALTER TABLE change_event
+ADD COLUMN sequence BIGINT NOT NULL AUTO_INCREMENT FIRST,
+ADD UNIQUE INDEX change_event_sequence (sequence),
+ADD INDEX change_event_date_sequence (dateTime, sequence);
@@ -0,0 +1,11 @@
+--
+-- Previous versions of an entity stored in entity_extension with the numeric version, so that the version history
+-- is listed in version order a page at a time using the index instead of parsing the extension names
+--
+ALTER TABLE entity_extension
+ADD COLUMN version DOUBLE,
+ADD INDEX entity_extension_version (id, version);
+
+UPDATE entity_extension
+SET version = CAST(SUBSTRING_INDEX(extension, '.version.', -1) AS DECIMAL(10, 1))
+WHERE extension LIKE '%.version.%';
@@ -0,0 +1,67 @@
+--
+-- Content fingerprint of the last PUT request that created or updated an entity. A PUT request for the same entity
+-- with the same fingerprint is skipped as no change. The fingerprint is cleared when the entity or its relationships
+-- are updated otherwise. The fingerprint is read with the entity by its fully qualified name and is not indexed.
+--
+ALTER TABLE bots_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE dbservice_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE messaging_service_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE dashboard_service_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE pipeline_service_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE storage_service_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE database_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE table_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE metrics_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE report_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE dashboard_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE ml_model_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE pipeline_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE topic_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE chart_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE location_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE policy_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE ingestion_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE team_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE user_entity
+ADD COLUMN fingerprint CHAR(32);
+
+ALTER TABLE webhook_entity
+ADD COLUMN fingerprint CHAR(32);
@@ -0,0 +1,37 @@
+--
+-- Posts of a thread with one row per post instead of a json array in thread_entity, so that adding a post appends
+-- a row instead of rewriting the thread
+--
+CREATE TABLE IF NOT EXISTS thread_post (
+    sequence BIGINT NOT NULL AUTO_INCREMENT,
+    threadId VARCHAR(36) NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (sequence),
+    INDEX thread_post_thread (threadId, sequence)
+);
+
+--
+-- Move the posts stored in thread_entity in the order of the posts
+--
+INSERT INTO thread_post (threadId, json)
+SELECT t.id, p.post
+FROM thread_entity t,
+JSON_TABLE(t.json, '$.posts[*]' COLUMNS (postIndex FOR ORDINALITY, post JSON PATH '$')) p
+ORDER BY t.id, p.postIndex;
+
+UPDATE thread_entity SET json = JSON_REMOVE(json, '$.posts') WHERE JSON_CONTAINS_PATH(json, 'one', '$.posts');
+
+--
+-- Threads are listed from the latest to the oldest with keyset pagination on the sequence. Existing threads are
+-- numbered in the order they were created.
+--
+ALTER TABLE thread_entity ADD COLUMN sequence BIGINT;
+
+UPDATE thread_entity t
+JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY json ->> '$.threadTs', id) AS rowNumber FROM thread_entity) r
+ON t.id = r.id
+SET t.sequence = r.rowNumber;
+
+ALTER TABLE thread_entity
+MODIFY sequence BIGINT NOT NULL AUTO_INCREMENT,
+ADD UNIQUE INDEX thread_entity_sequence (sequence);
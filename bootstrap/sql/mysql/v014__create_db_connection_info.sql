@@ -0,0 +1,9 @@
+--
+-- Entity types and dates with usage that is not ranked yet by the usage percentile job. Rows are added in the same
+-- transaction as the usage and removed when the job ranks the usage
+--
+CREATE TABLE IF NOT EXISTS usage_percentile_pending (
+    entityType VARCHAR(20) NOT NULL,
+    usageDate DATE NOT NULL,
+    PRIMARY KEY (entityType, usageDate)
+);
@@ -13,6 +13,7 @@
 
 package org.openmetadata.catalog;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import io.dropwizard.Application;
@@ -29,9 +30,10 @@ import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import io.federecio.dropwizard.swagger.SwaggerBundle;
 import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
 import javax.ws.rs.container.ContainerRequestFilter;
-import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.Response;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
@@ -39,11 +41,21 @@ import org.eclipse.jetty.servlet.ErrorPageErrorHandler;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.glassfish.jersey.server.ServerProperties;
 import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.catalog.events.ChangeEventPersister;
 import org.openmetadata.catalog.events.EventFilter;
+import org.openmetadata.catalog.events.EventHandlerConfiguration;
 import org.openmetadata.catalog.events.EventPubSub;
 import org.openmetadata.catalog.exception.CatalogGenericExceptionMapper;
 import org.openmetadata.catalog.exception.ConstraintViolationExceptionMapper;
 import org.openmetadata.catalog.exception.JsonMappingExceptionMapper;
+import org.openmetadata.catalog.jdbi3.AfterCommitTransactionHandler;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.EntityCache;
+import org.openmetadata.catalog.jdbi3.EntityFingerprint;
+import org.openmetadata.catalog.jdbi3.LineageIndex;
+import org.openmetadata.catalog.jdbi3.TableRepository;
+import org.openmetadata.catalog.jdbi3.TagIndex;
+import org.openmetadata.catalog.jdbi3.UsagePercentileJob;
 import org.openmetadata.catalog.module.CatalogModule;
 import org.openmetadata.catalog.resources.CollectionRegistry;
 import org.openmetadata.catalog.resources.config.ConfigResource;
@@ -68,11 +80,14 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
   @Override
   public void run(CatalogApplicationConfig catalogConfig, Environment environment)
       throws ClassNotFoundException, IllegalAccessException, InstantiationException, NoSuchMethodException,
-          InvocationTargetException {
+          InvocationTargetException, IOException {
 
     final JdbiFactory factory = new JdbiFactory();
     final Jdbi jdbi = factory.build(environment, catalogConfig.getDataSourceFactory(), "mysql3");
 
+    // Run the changes to in-memory caches and indexes after the transactions that change the database commit
+    jdbi.setTransactionHandler(new AfterCommitTransactionHandler(jdbi.getTransactionHandler()));
+
     //    SqlLogger sqlLogger = new SqlLogger() {
     //      @Override
     //      public void logAfterExecution(StatementContext context) {
@@ -82,6 +97,36 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
     //    };
     //    jdbi.setSqlLogger(sqlLogger);
 
+    // Initialize the entity cache used by all the entity DAOs
+    EntityCache.initialize(catalogConfig.getEntityCacheConfiguration(), environment.metrics());
+
+    // Register the metrics of PUT requests skipped by content fingerprint
+    EntityFingerprint.initialize(environment.metrics());
+
+    // Build the in-memory lineage graph used by the lineage APIs
+    if (catalogConfig.getLineageIndexConfiguration().isEnabled()) {
+      LineageIndex.initialize(jdbi.onDemand(CollectionDAO.class));
+    }
+
+    // Load the tags used to validate tag labels and add derived tags
+    if (catalogConfig.getTagIndexConfiguration().isEnabled()) {
+      TagIndex.initialize(catalogConfig.getTagIndexConfiguration(), jdbi.onDemand(CollectionDAO.class));
+    }
+
+    // Retention and downsampling of the table profiles
+    TableRepository.setTableProfileConfiguration(catalogConfig.getTableProfileConfiguration());
+
+    // Percentile ranking of usage in the background
+    if (catalogConfig.getUsagePercentileConfiguration().isEnabled()) {
+      environment
+          .lifecycle()
+          .manage(
+              UsagePercentileJob.initialize(
+                  catalogConfig.getUsagePercentileConfiguration(),
+                  jdbi.onDemand(CollectionDAO.class),
+                  environment.metrics()));
+    }
+
     // Register Authorizer
     registerAuthorizer(catalogConfig, environment, jdbi);
 
@@ -107,7 +152,7 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
 
     // Register Event Handler
     registerEventFilter(catalogConfig, environment, jdbi);
-    environment.lifecycle().manage(new ManagedShutdown());
+    environment.lifecycle().manage(new ManagedShutdown(catalogConfig, environment.metrics()));
   }
 
   @SneakyThrows
@@ -146,13 +191,23 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
       if (StringUtils.isEmpty(filterClazzName)) {
         filter = new CatalogSecurityContextRequestFilter(); // default
       } else {
-        filter =
-            ((Class<ContainerRequestFilter>) Class.forName(filterClazzName))
-                .getConstructor(AuthenticationConfiguration.class)
-                .newInstance(authenticationConfiguration);
+        Class<ContainerRequestFilter> filterClazz = (Class<ContainerRequestFilter>) Class.forName(filterClazzName);
+        try {
+          // Filters that report metrics take the metric registry as an additional argument
+          filter =
+              filterClazz
+                  .getConstructor(AuthenticationConfiguration.class, MetricRegistry.class)
+                  .newInstance(authenticationConfiguration, environment.metrics());
+        } catch (NoSuchMethodException e) {
+          filter =
+              filterClazz.getConstructor(AuthenticationConfiguration.class).newInstance(authenticationConfiguration);
+        }
       }
       LOG.info("Registering ContainerRequestFilter: {}", filter.getClass().getCanonicalName());
       environment.jersey().register(filter);
+      if (filter instanceof Managed) {
+        environment.lifecycle().manage((Managed) filter);
+      }
     } else {
       LOG.info("Authorizer config not set, setting noop authorizer");
       authorizer = NoopAuthorizer.class.getConstructor().newInstance();
@@ -164,8 +219,9 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
 
   private void registerEventFilter(CatalogApplicationConfig catalogConfig, Environment environment, Jdbi jdbi) {
     if (catalogConfig.getEventHandlerConfiguration() != null) {
-      ContainerResponseFilter eventFilter = new EventFilter(catalogConfig, jdbi);
+      EventFilter eventFilter = new EventFilter(catalogConfig, jdbi, environment.metrics());
       environment.jersey().register(eventFilter);
+      environment.lifecycle().manage(eventFilter);
     }
   }
 
@@ -198,15 +254,32 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
   }
 
   public class ManagedShutdown implements Managed {
+    private final EventHandlerConfiguration eventHandlerConfiguration;
+    private final MetricRegistry metrics;
+
+    public ManagedShutdown(CatalogApplicationConfig catalogConfig, MetricRegistry metrics) {
+      this.eventHandlerConfiguration =
+          Optional.ofNullable(catalogConfig.getEventHandlerConfiguration()).orElse(new EventHandlerConfiguration());
+      this.metrics = metrics;
+    }
 
     @Override
     public void start() throws Exception {
       LOG.info("starting the application");
-      EventPubSub.start();
+      EventPubSub.start(eventHandlerConfiguration, metrics);
+      ChangeEventPersister persister = ChangeEventPersister.getInstance();
+      if (persister != null) {
+        persister.start(metrics);
+      }
     }
 
     @Override
     public void stop() throws Exception {
+      // Drain the change events queued before stopping the event pipeline
+      ChangeEventPersister persister = ChangeEventPersister.getInstance();
+      if (persister != null) {
+        persister.stop();
+      }
       EventPubSub.shutdown();
       LOG.info("stopping the application");
     }
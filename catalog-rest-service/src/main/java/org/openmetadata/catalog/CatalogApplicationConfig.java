@@ -22,6 +22,11 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.openmetadata.catalog.events.EventHandlerConfiguration;
 import org.openmetadata.catalog.ingestion.AirflowConfiguration;
+import org.openmetadata.catalog.jdbi3.EntityCacheConfiguration;
+import org.openmetadata.catalog.jdbi3.LineageIndexConfiguration;
+import org.openmetadata.catalog.jdbi3.TableProfileConfiguration;
+import org.openmetadata.catalog.jdbi3.TagIndexConfiguration;
+import org.openmetadata.catalog.jdbi3.UsagePercentileConfiguration;
 import org.openmetadata.catalog.security.AuthenticationConfiguration;
 import org.openmetadata.catalog.security.AuthorizerConfiguration;
 
@@ -50,6 +55,21 @@ public class CatalogApplicationConfig extends Configuration {
   @JsonProperty("airflowConfiguration")
   private AirflowConfiguration airflowConfiguration;
 
+  @JsonProperty("entityCache")
+  private EntityCacheConfiguration entityCacheConfiguration = new EntityCacheConfiguration();
+
+  @JsonProperty("lineageIndex")
+  private LineageIndexConfiguration lineageIndexConfiguration = new LineageIndexConfiguration();
+
+  @JsonProperty("tagIndex")
+  private TagIndexConfiguration tagIndexConfiguration = new TagIndexConfiguration();
+
+  @JsonProperty("tableProfile")
+  private TableProfileConfiguration tableProfileConfiguration = new TableProfileConfiguration();
+
+  @JsonProperty("usagePercentile")
+  private UsagePercentileConfiguration usagePercentileConfiguration = new UsagePercentileConfiguration();
+
   public DataSourceFactory getDataSourceFactory() {
     return dataSourceFactory;
   }
@@ -98,6 +118,46 @@ public class CatalogApplicationConfig extends Configuration {
     this.airflowConfiguration = airflowConfiguration;
   }
 
+  public EntityCacheConfiguration getEntityCacheConfiguration() {
+    return entityCacheConfiguration;
+  }
+
+  public void setEntityCacheConfiguration(EntityCacheConfiguration entityCacheConfiguration) {
+    this.entityCacheConfiguration = entityCacheConfiguration;
+  }
+
+  public LineageIndexConfiguration getLineageIndexConfiguration() {
+    return lineageIndexConfiguration;
+  }
+
+  public void setLineageIndexConfiguration(LineageIndexConfiguration lineageIndexConfiguration) {
+    this.lineageIndexConfiguration = lineageIndexConfiguration;
+  }
+
+  public TagIndexConfiguration getTagIndexConfiguration() {
+    return tagIndexConfiguration;
+  }
+
+  public void setTagIndexConfiguration(TagIndexConfiguration tagIndexConfiguration) {
+    this.tagIndexConfiguration = tagIndexConfiguration;
+  }
+
+  public TableProfileConfiguration getTableProfileConfiguration() {
+    return tableProfileConfiguration;
+  }
+
+  public void setTableProfileConfiguration(TableProfileConfiguration tableProfileConfiguration) {
+    this.tableProfileConfiguration = tableProfileConfiguration;
+  }
+
+  public UsagePercentileConfiguration getUsagePercentileConfiguration() {
+    return usagePercentileConfiguration;
+  }
+
+  public void setUsagePercentileConfiguration(UsagePercentileConfiguration usagePercentileConfiguration) {
+    this.usagePercentileConfiguration = usagePercentileConfiguration;
+  }
+
   @Valid
   @NotNull
   @JsonProperty("health")
@@ -34,6 +34,35 @@ public class ElasticSearchConfiguration {
 
   private Integer socketTimeoutSecs = 60;
 
+  /** Maximum number of updates sent in a single bulk request */
+  private Integer bulkActions = 500;
+
+  /** Maximum size of a bulk request in megabytes */
+  private Integer bulkSizeMB = 5;
+
+  /** Updates are held for this interval before they are sent so that updates to the same document are coalesced */
+  private Integer bulkFlushIntervalMillis = 1000;
+
+  /** Maximum number of bulk requests in flight. Adding updates blocks when this limit is reached */
+  private Integer bulkConcurrentRequests = 2;
+
+  /**
+   * Maximum number of updates held before they are sent. When this limit is reached, adding an update sends the pending
+   * updates from the adding thread, which waits while {@code bulkConcurrentRequests} bulk requests are in flight.
+   */
+  private Integer bulkMaxPending = 10000;
+
+  /** Number of times a bulk request rejected by Elastic Search is retried with exponential backoff */
+  private Integer bulkMaxRetries = 5;
+
+  private Integer bulkRetryInitialDelayMillis = 100;
+
+  /**
+   * Maximum number of change descriptions kept in a search document. Older change descriptions are removed from the
+   * document; the complete history of an entity is available from its versions.
+   */
+  private Integer changeDescriptionLimit = 10;
+
   public String getHost() {
     return host;
   }
@@ -106,6 +135,70 @@ public class ElasticSearchConfiguration {
     this.socketTimeoutSecs = socketTimeoutSecs;
   }
 
+  public Integer getChangeDescriptionLimit() {
+    return changeDescriptionLimit;
+  }
+
+  public void setChangeDescriptionLimit(Integer changeDescriptionLimit) {
+    this.changeDescriptionLimit = changeDescriptionLimit;
+  }
+
+  public Integer getBulkActions() {
+    return bulkActions;
+  }
+
+  public void setBulkActions(Integer bulkActions) {
+    this.bulkActions = bulkActions;
+  }
+
+  public Integer getBulkSizeMB() {
+    return bulkSizeMB;
+  }
+
+  public void setBulkSizeMB(Integer bulkSizeMB) {
+    this.bulkSizeMB = bulkSizeMB;
+  }
+
+  public Integer getBulkFlushIntervalMillis() {
+    return bulkFlushIntervalMillis;
+  }
+
+  public void setBulkFlushIntervalMillis(Integer bulkFlushIntervalMillis) {
+    this.bulkFlushIntervalMillis = bulkFlushIntervalMillis;
+  }
+
+  public Integer getBulkConcurrentRequests() {
+    return bulkConcurrentRequests;
+  }
+
+  public void setBulkConcurrentRequests(Integer bulkConcurrentRequests) {
+    this.bulkConcurrentRequests = bulkConcurrentRequests;
+  }
+
+  public Integer getBulkMaxPending() {
+    return bulkMaxPending;
+  }
+
+  public void setBulkMaxPending(Integer bulkMaxPending) {
+    this.bulkMaxPending = bulkMaxPending;
+  }
+
+  public Integer getBulkMaxRetries() {
+    return bulkMaxRetries;
+  }
+
+  public void setBulkMaxRetries(Integer bulkMaxRetries) {
+    this.bulkMaxRetries = bulkMaxRetries;
+  }
+
+  public Integer getBulkRetryInitialDelayMillis() {
+    return bulkRetryInitialDelayMillis;
+  }
+
+  public void setBulkRetryInitialDelayMillis(Integer bulkRetryInitialDelayMillis) {
+    this.bulkRetryInitialDelayMillis = bulkRetryInitialDelayMillis;
+  }
+
   @Override
   public String toString() {
     return "ElasticSearchConfiguration{"
@@ -15,6 +15,7 @@ package org.openmetadata.catalog;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -96,6 +97,39 @@ public final class Entity {
     return dao.findEntityReferenceById(id);
   }
 
+  /** Get entity references for a list of entities of the same type with a single query */
+  public static List<EntityReference> getEntityReferences(String entity, List<UUID> ids) throws IOException {
+    EntityDAO<?> dao = DAO_MAP.get(entity);
+    if (dao == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entity));
+    }
+    return dao.findEntityReferencesByIds(ids);
+  }
+
+  /** Returns the ids of the given entities that exist with a single query */
+  public static List<String> getExistingIds(String entity, List<String> ids) {
+    EntityDAO<?> dao = DAO_MAP.get(entity);
+    if (dao == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entity));
+    }
+    return dao.findExistingIds(ids);
+  }
+
+  /** Clear the content fingerprint of the referenced entities when their relationships change outside of an update */
+  public static void clearFingerprints(List<EntityReference> refs) {
+    Map<String, List<UUID>> idsByEntity = new HashMap<>();
+    for (EntityReference ref : refs) {
+      idsByEntity.computeIfAbsent(ref.getType(), type -> new ArrayList<>()).add(ref.getId());
+    }
+    idsByEntity.forEach(
+        (entity, ids) -> {
+          EntityDAO<?> dao = DAO_MAP.get(entity);
+          if (dao != null) {
+            dao.clearFingerprints(ids);
+          }
+        });
+  }
+
   public static EntityReference getEntityReferenceByName(String entity, String fqn) throws IOException {
     EntityDAO<?> dao = DAO_MAP.get(entity);
     if (dao == null) {
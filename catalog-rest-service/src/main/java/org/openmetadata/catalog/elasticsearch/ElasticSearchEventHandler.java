@@ -15,6 +15,7 @@
 
 package org.openmetadata.catalog.elasticsearch;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -24,10 +25,7 @@ import java.util.UUID;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.core.Response;
-import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.update.UpdateRequest;
-import org.elasticsearch.action.update.UpdateResponse;
-import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.script.Script;
@@ -55,30 +53,26 @@ public class ElasticSearchEventHandler implements EventHandler {
   private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchEventHandler.class);
   private RestHighLevelClient client;
   private ElasticSearchIndexDefinition esIndexDefinition;
-
-  private final ActionListener<UpdateResponse> listener =
-      new ActionListener<>() {
-        @Override
-        public void onResponse(UpdateResponse updateResponse) {
-          LOG.info("Updated Elastic Search {}", updateResponse);
-        }
-
-        @Override
-        public void onFailure(Exception e) {
-          LOG.error("Failed to update Elastic Search", e);
-        }
-      };
+  private ElasticSearchIndexer indexer;
+  private int changeDescriptionLimit;
 
   public void init(CatalogApplicationConfig config, Jdbi jdbi) {
+    init(config, jdbi, new MetricRegistry());
+  }
+
+  @Override
+  public void init(CatalogApplicationConfig config, Jdbi jdbi, MetricRegistry metrics) {
     ElasticSearchConfiguration esConfig = config.getElasticSearchConfiguration();
     this.client = ElasticSearchClientUtils.createElasticSearchClient(esConfig);
     esIndexDefinition = new ElasticSearchIndexDefinition(client);
     esIndexDefinition.createIndexes();
+    indexer = new ElasticSearchIndexer(client, esConfig, metrics);
+    changeDescriptionLimit = esConfig.getChangeDescriptionLimit();
   }
 
   public Void process(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
     try {
-      LOG.info("request Context " + requestContext.toString());
+      LOG.debug("request Context {}", requestContext);
       if (responseContext.getEntity() != null) {
         Object entity = responseContext.getEntity();
         UpdateRequest updateRequest = null;
@@ -112,7 +106,7 @@ public class ElasticSearchEventHandler implements EventHandler {
           updateRequest = applyChangeEvent(changeEvent);
         }
         if (updateRequest != null) {
-          client.updateAsync(updateRequest, RequestOptions.DEFAULT, listener);
+          indexer.add(updateRequest);
         }
       }
     } catch (Exception e) {
@@ -141,7 +135,10 @@ public class ElasticSearchEventHandler implements EventHandler {
     Map<String, Object> esChangeDescriptionDoc = JsonUtils.getMap(esChangeDescription);
     fieldAddParams.put("change_description", esChangeDescriptionDoc);
     fieldAddParams.put("last_updated_timestamp", event.getDateTime().getTime());
+    fieldAddParams.put(ElasticSearchIndexer.CHANGE_DESCRIPTIONS_LIMIT, changeDescriptionLimit);
+    scriptTxt.append("if (ctx._source.change_descriptions == null) { ctx._source.change_descriptions = []; } ");
     scriptTxt.append("ctx._source.change_descriptions.add(params.change_description); ");
+    scriptTxt.append(ElasticSearchIndexer.TRIM_CHANGE_DESCRIPTIONS_SCRIPT);
     scriptTxt.append("ctx._source.last_updated_timestamp=params.last_updated_timestamp;");
     for (FieldChange fieldChange : fieldsAdded) {
       if (fieldChange.getName().equalsIgnoreCase("followers")) {
@@ -240,18 +237,16 @@ public class ElasticSearchEventHandler implements EventHandler {
   }
 
   private void scriptedUpsert(Object index, UpdateRequest updateRequest) {
-    String scriptTxt =
-        "for (k in params.keySet()) {if (k == 'change_descriptions') "
-            + "{ ctx._source.change_descriptions.addAll(params.change_descriptions) } "
-            + "else { ctx._source.put(k, params.get(k)) }}";
     Map<String, Object> doc = JsonUtils.getMap(index);
-    Script script = new Script(ScriptType.INLINE, "painless", scriptTxt, doc);
+    doc.put(ElasticSearchIndexer.CHANGE_DESCRIPTIONS_LIMIT, changeDescriptionLimit);
+    Script script = new Script(ScriptType.INLINE, "painless", ElasticSearchIndexer.ENTITY_UPSERT_SCRIPT, doc);
     updateRequest.script(script);
     updateRequest.scriptedUpsert(true);
   }
 
   public void close() {
     try {
+      indexer.close();
       this.client.close();
     } catch (Exception e) {
       LOG.error("Failed to close elastic search", e);
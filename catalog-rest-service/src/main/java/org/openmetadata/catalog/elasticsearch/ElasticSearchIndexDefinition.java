@@ -6,10 +6,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
@@ -20,7 +20,9 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.Value;
 import lombok.experimental.SuperBuilder;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
@@ -29,6 +31,10 @@ import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
 import org.elasticsearch.client.indices.PutMappingRequest;
 import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.reindex.BulkByScrollResponse;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Dashboard;
 import org.openmetadata.catalog.entity.data.Pipeline;
@@ -43,7 +49,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ElasticSearchIndexDefinition {
-  final Map<ElasticSearchIndexType, ElasticSearchIndexStatus> elasticSearchIndexes = new HashMap<>();
+  /** Minimum time between attempts to create an index after a failure */
+  private static final long CREATE_RETRY_INTERVAL_MILLIS = 60 * 1000L;
+
+  final Map<ElasticSearchIndexType, ElasticSearchIndexStatus> elasticSearchIndexes = new ConcurrentHashMap<>();
+  private final Map<ElasticSearchIndexType, Long> failedAt = new ConcurrentHashMap<>();
   private final RestHighLevelClient client;
   private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchIndexDefinition.class);
 
@@ -95,18 +105,54 @@ public class ElasticSearchIndexDefinition {
     }
   }
 
-  public void dropIndexes() {
-    try {
-      for (ElasticSearchIndexType elasticSearchIndexType : ElasticSearchIndexType.values()) {
-        deleteIndex(elasticSearchIndexType);
+  /** Delete the indexes of all the index types, failing after attempting all of them if any could not be deleted. */
+  public void dropIndexes() throws IOException {
+    List<String> failed = new ArrayList<>();
+    for (ElasticSearchIndexType elasticSearchIndexType : ElasticSearchIndexType.values()) {
+      if (!deleteIndex(elasticSearchIndexType)) {
+        failed.add(elasticSearchIndexType.indexName);
       }
-    } catch (Exception e) {
-      LOG.error("Failed to delete Elastic Search indexes due to", e);
+    }
+    if (!failed.isEmpty()) {
+      throw new IOException("Failed to delete Elastic Search indexes " + failed);
+    }
+  }
+
+  /**
+   * Remove the oldest change descriptions beyond {@code limit} from the documents of all the indexes. Documents that
+   * are within the limit are not updated.
+   */
+  public void trimChangeDescriptions(int limit) throws IOException {
+    String script =
+        "if (ctx._source.change_descriptions == null "
+            + "|| ctx._source.change_descriptions.size() <= params.change_descriptions_limit) { ctx.op = 'noop' } "
+            + "else { "
+            + ElasticSearchIndexer.TRIM_CHANGE_DESCRIPTIONS_SCRIPT
+            + " }";
+    for (ElasticSearchIndexType indexType : ElasticSearchIndexType.values()) {
+      UpdateByQueryRequest request = new UpdateByQueryRequest(indexType.indexName);
+      request.setScript(
+          new Script(
+              ScriptType.INLINE, "painless", script, Map.of(ElasticSearchIndexer.CHANGE_DESCRIPTIONS_LIMIT, limit)));
+      request.setConflicts("proceed");
+      request.setBatchSize(1000);
+      request.setRefresh(true);
+      BulkByScrollResponse response = client.updateByQuery(request, RequestOptions.DEFAULT);
+      LOG.info(
+          "Trimmed change descriptions of {} documents in {}, {} documents unchanged",
+          response.getUpdated(),
+          indexType.indexName,
+          response.getNoops());
     }
   }
 
   public boolean checkIndexExistsOrCreate(ElasticSearchIndexType indexType) {
-    boolean exists = elasticSearchIndexes.get(indexType) == ElasticSearchIndexStatus.CREATED;
+    ElasticSearchIndexStatus status = elasticSearchIndexes.get(indexType);
+    boolean exists = status == ElasticSearchIndexStatus.CREATED;
+    if (status == ElasticSearchIndexStatus.FAILED
+        && System.currentTimeMillis() - failedAt.getOrDefault(indexType, 0L) < CREATE_RETRY_INTERVAL_MILLIS) {
+      return false; // Don't call Elastic Search for every update when the index can't be created
+    }
     if (!exists) {
       exists = createIndex(indexType);
     }
@@ -160,19 +206,36 @@ public class ElasticSearchIndexDefinition {
     return true;
   }
 
+  /**
+   * Delete the indexes of an index type. After a reindex the index name is an alias of a timestamped index, which is
+   * deleted along with the indexes left by an interrupted reindex. An index created before aliases were used has the
+   * index name and is deleted as well.
+   */
   private boolean deleteIndex(ElasticSearchIndexType elasticSearchIndexType) {
+    String alias = elasticSearchIndexType.indexName;
     try {
-      DeleteIndexRequest request = new DeleteIndexRequest(elasticSearchIndexType.indexName);
+      List<String> indexes =
+          new ArrayList<>(
+              client.indices().getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT).getAliases().keySet());
+      if (indexes.isEmpty() && client.indices().exists(new GetIndexRequest(alias), RequestOptions.DEFAULT)) {
+        indexes.add(alias);
+      }
+      indexes.add(alias + "_*");
+      DeleteIndexRequest request = new DeleteIndexRequest(indexes.toArray(new String[0]));
+      request.indicesOptions(IndicesOptions.lenientExpandOpen());
       AcknowledgedResponse deleteIndexResponse = client.indices().delete(request, RequestOptions.DEFAULT);
-      LOG.info(elasticSearchIndexType.indexName + " Deleted " + deleteIndexResponse.isAcknowledged());
-    } catch (IOException e) {
-      LOG.error("Failed to delete Elastic Search indexes due to", e);
+      LOG.info("{} Deleted {} {}", alias, indexes, deleteIndexResponse.isAcknowledged());
+    } catch (Exception e) {
+      LOG.error("Failed to delete Elastic Search index {} due to", alias, e);
       return false;
     }
     return true;
   }
 
   private void setIndexStatus(ElasticSearchIndexType indexType, ElasticSearchIndexStatus elasticSearchIndexStatus) {
+    if (elasticSearchIndexStatus == ElasticSearchIndexStatus.FAILED) {
+      failedAt.put(indexType, System.currentTimeMillis());
+    }
     elasticSearchIndexes.put(indexType, elasticSearchIndexStatus);
   }
 
@@ -0,0 +1,322 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.openmetadata.catalog.ElasticSearchConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends updates to Elastic Search in bulk requests using {@link BulkProcessor}, instead of one request per update.
+ *
+ * <p>Updates are held for {@code bulkFlushIntervalMillis}, or until {@code bulkActions} updates are pending, before
+ * they are sent. Updates of an entity document within that window are coalesced into a single update: fields of the
+ * later update replace the fields of the earlier one and change descriptions are accumulated. Other updates, such as
+ * the script updates for change events, are sent in the order they are added. Bulk requests rejected by Elastic Search
+ * are retried with exponential backoff.
+ *
+ * <p>Bulk requests are sent from the indexer thread and on close. When {@code bulkActions} updates are pending, {@link
+ * #add(UpdateRequest)} hands the flush to the indexer thread, so that requests adding updates do not wait for Elastic
+ * Search. When Elastic Search falls behind and {@code bulkMaxPending} updates are pending, {@link #add(UpdateRequest)}
+ * sends the updates itself and waits while {@code bulkConcurrentRequests} bulk requests are in flight. This bounds the
+ * updates held in memory and slows down the requests adding updates until Elastic Search catches up.
+ */
+public class ElasticSearchIndexer implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchIndexer.class);
+
+  /** Param of the update scripts with the maximum number of change descriptions kept in a document */
+  public static final String CHANGE_DESCRIPTIONS_LIMIT = "change_descriptions_limit";
+
+  /** Script that removes the oldest change descriptions of a document beyond the limit in the params */
+  public static final String TRIM_CHANGE_DESCRIPTIONS_SCRIPT =
+      "if (params.containsKey('change_descriptions_limit') && ctx._source.change_descriptions != null) { "
+          + "int excess = ctx._source.change_descriptions.size() - params.change_descriptions_limit; "
+          + "if (excess > 0) { ctx._source.change_descriptions.subList(0, excess).clear(); } }";
+
+  /** Script that updates the document of an entity with the fields in the params */
+  public static final String ENTITY_UPSERT_SCRIPT =
+      "for (k in params.keySet()) {if (k == 'change_descriptions') "
+          + "{ if (ctx._source.change_descriptions == null) { ctx._source.change_descriptions = []; } "
+          + "ctx._source.change_descriptions.addAll(params.change_descriptions) } "
+          + "else if (k != 'change_descriptions_limit') { ctx._source.put(k, params.get(k)) }} "
+          + TRIM_CHANGE_DESCRIPTIONS_SCRIPT;
+
+  private static final String CHANGE_DESCRIPTIONS = "change_descriptions";
+
+  private final BulkProcessor bulkProcessor;
+  private final ScheduledExecutorService scheduler;
+  private final int bulkActions;
+  private final int maxPending;
+
+  /** Updates not yet sent, by index and document id, in the order they are added. Holds at most maxPending updates. */
+  private final Map<String, List<UpdateRequest>> pending = new LinkedHashMap<>();
+
+  private int pendingCount;
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final AtomicLong inFlightCount = new AtomicLong();
+  private final Map<Long, Timer.Context> bulkTimers = new ConcurrentHashMap<>();
+  private final Meter indexedMeter;
+  private final Meter failedMeter;
+  private final Meter coalescedMeter;
+  private final Meter pendingFullMeter;
+  private final Timer bulkTimer;
+
+  public ElasticSearchIndexer(RestHighLevelClient client, ElasticSearchConfiguration config, MetricRegistry metrics) {
+    this((request, bulkListener) -> client.bulkAsync(request, RequestOptions.DEFAULT, bulkListener), config, metrics);
+  }
+
+  /** Indexer that sends bulk requests with {@code bulkConsumer} */
+  ElasticSearchIndexer(
+      BiConsumer<BulkRequest, ActionListener<BulkResponse>> bulkConsumer,
+      ElasticSearchConfiguration config,
+      MetricRegistry metrics) {
+    this.bulkActions = config.getBulkActions();
+    this.maxPending = Math.max(config.getBulkMaxPending(), bulkActions);
+    this.indexedMeter = metrics.meter(MetricRegistry.name(ElasticSearchIndexer.class, "indexed"));
+    this.failedMeter = metrics.meter(MetricRegistry.name(ElasticSearchIndexer.class, "failed"));
+    this.coalescedMeter = metrics.meter(MetricRegistry.name(ElasticSearchIndexer.class, "coalesced"));
+    this.pendingFullMeter = metrics.meter(MetricRegistry.name(ElasticSearchIndexer.class, "pendingFull"));
+    this.bulkTimer = metrics.timer(MetricRegistry.name(ElasticSearchIndexer.class, "bulkLatency"));
+    metrics.gauge(
+        MetricRegistry.name(ElasticSearchIndexer.class, "pending"), () -> (Gauge<Integer>) this::getPendingCount);
+    metrics.gauge(MetricRegistry.name(ElasticSearchIndexer.class, "inFlight"), () -> (Gauge<Long>) inFlightCount::get);
+
+    this.bulkProcessor =
+        BulkProcessor.builder(bulkConsumer, new BulkListener(), "elasticsearch-indexer")
+            .setBulkActions(config.getBulkActions())
+            .setBulkSize(new ByteSizeValue(config.getBulkSizeMB(), ByteSizeUnit.MB))
+            .setConcurrentRequests(config.getBulkConcurrentRequests())
+            .setBackoffPolicy(
+                BackoffPolicy.exponentialBackoff(
+                    TimeValue.timeValueMillis(config.getBulkRetryInitialDelayMillis()), config.getBulkMaxRetries()))
+            .build();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "elasticsearch-indexer-flush");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = config.getBulkFlushIntervalMillis();
+    scheduler.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Add an update to be sent in a later bulk request. When {@code bulkMaxPending} updates are pending, the updates are
+   * sent before returning.
+   */
+  public void add(UpdateRequest request) {
+    boolean flush;
+    boolean full;
+    synchronized (pending) {
+      List<UpdateRequest> requests =
+          pending.computeIfAbsent(request.index() + "/" + request.id(), k -> new ArrayList<>());
+      UpdateRequest merged = requests.isEmpty() ? null : merge(requests.get(requests.size() - 1), request);
+      if (merged != null) {
+        requests.set(requests.size() - 1, merged);
+        coalescedMeter.mark();
+      } else {
+        requests.add(request);
+        pendingCount++;
+      }
+      flush = pendingCount >= bulkActions;
+      full = pendingCount >= maxPending;
+    }
+    if (full) {
+      // Indexer thread is not keeping up with the updates
+      pendingFullMeter.mark();
+      flush();
+      return;
+    }
+    if (flush && flushRequested.compareAndSet(false, true)) {
+      try {
+        scheduler.execute(this::flushSafely);
+      } catch (RejectedExecutionException e) {
+        // Indexer is closing, send the updates on this thread
+        flushSafely();
+      }
+    }
+  }
+
+  /** Send all the pending updates. Blocks when {@code bulkConcurrentRequests} bulk requests are in flight. */
+  public void flush() {
+    flushRequested.set(false);
+    List<UpdateRequest> requests = new ArrayList<>();
+    synchronized (pending) {
+      pending.values().forEach(requests::addAll);
+      pending.clear();
+      pendingCount = 0;
+    }
+    requests.forEach(bulkProcessor::add);
+    bulkProcessor.flush();
+  }
+
+  /** Returns the number of updates not yet sent, which is exported as the {@code pending} gauge */
+  public int getPendingCount() {
+    synchronized (pending) {
+      return pendingCount;
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    flushSafely();
+    try {
+      if (!bulkProcessor.awaitClose(30, TimeUnit.SECONDS)) {
+        LOG.warn("Timed out waiting for bulk requests to Elastic Search to complete");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void flushSafely() {
+    try {
+      flush();
+    } catch (Exception e) {
+      LOG.error("Failed to send updates to Elastic Search", e);
+    }
+  }
+
+  /** Returns a single update equivalent to update {@code first} followed by {@code second} or null when not possible */
+  static UpdateRequest merge(UpdateRequest first, UpdateRequest second) {
+    if (!isEntityUpdate(second)) {
+      return null;
+    }
+    if (isEntityUpdate(first)) {
+      Map<String, Object> params = mergeDoc(first.script().getParams(), second.script().getParams());
+      return entityUpdate(first, params);
+    }
+    if (first.docAsUpsert() && first.doc() != null && first.script() == null) {
+      // Entity created followed by an update. Send the updated document of the new entity.
+      Map<String, Object> doc = mergeDoc(first.doc().sourceAsMap(), second.script().getParams());
+      doc.remove(CHANGE_DESCRIPTIONS_LIMIT);
+      return new UpdateRequest(first.index(), first.id()).doc(doc).docAsUpsert(true);
+    }
+    return null;
+  }
+
+  private static boolean isEntityUpdate(UpdateRequest request) {
+    return request.script() != null && ENTITY_UPSERT_SCRIPT.equals(request.script().getIdOrCode());
+  }
+
+  private static UpdateRequest entityUpdate(UpdateRequest request, Map<String, Object> doc) {
+    Script script = new Script(ScriptType.INLINE, "painless", ENTITY_UPSERT_SCRIPT, doc);
+    return new UpdateRequest(request.index(), request.id()).script(script).scriptedUpsert(true);
+  }
+
+  /**
+   * Fields in {@code update} replace the fields in {@code doc}, except change descriptions that are accumulated up to
+   * the limit in {@code update}
+   */
+  private static Map<String, Object> mergeDoc(Map<String, Object> doc, Map<String, Object> update) {
+    Map<String, Object> merged = new HashMap<>(doc);
+    for (Entry<String, Object> entry : update.entrySet()) {
+      if (CHANGE_DESCRIPTIONS.equals(entry.getKey())
+          && doc.get(CHANGE_DESCRIPTIONS) instanceof Collection
+          && entry.getValue() instanceof Collection) {
+        List<Object> changeDescriptions = new ArrayList<>((Collection<?>) doc.get(CHANGE_DESCRIPTIONS));
+        changeDescriptions.addAll((Collection<?>) entry.getValue());
+        Object limit = update.get(CHANGE_DESCRIPTIONS_LIMIT);
+        if (limit instanceof Integer && changeDescriptions.size() > (Integer) limit) {
+          int excess = changeDescriptions.size() - (Integer) limit;
+          changeDescriptions = new ArrayList<>(changeDescriptions.subList(excess, changeDescriptions.size()));
+        }
+        merged.put(CHANGE_DESCRIPTIONS, changeDescriptions);
+      } else {
+        merged.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return merged;
+  }
+
+  private class BulkListener implements BulkProcessor.Listener {
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+      inFlightCount.addAndGet(request.numberOfActions());
+      bulkTimers.put(executionId, bulkTimer.time());
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+      complete(executionId, request);
+      int failed = 0;
+      if (response.hasFailures()) {
+        for (BulkItemResponse item : response.getItems()) {
+          if (item.isFailed()) {
+            failed++;
+            LOG.warn(
+                "Failed to update Elastic Search document {}/{}: {}",
+                item.getIndex(),
+                item.getId(),
+                item.getFailureMessage());
+          }
+        }
+      }
+      failedMeter.mark(failed);
+      indexedMeter.mark(request.numberOfActions() - failed);
+      LOG.debug("Sent {} updates to Elastic Search in {}", request.numberOfActions(), response.getTook());
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+      complete(executionId, request);
+      failedMeter.mark(request.numberOfActions());
+      LOG.error("Failed to send {} updates to Elastic Search", request.numberOfActions(), failure);
+    }
+
+    private void complete(long executionId, BulkRequest request) {
+      inFlightCount.addAndGet(-request.numberOfActions());
+      Timer.Context context = bulkTimers.remove(executionId);
+      if (context != null) {
+        context.stop();
+      }
+    }
+  }
+}
@@ -0,0 +1,328 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.ws.rs.core.Response.Status;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.openmetadata.catalog.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.catalog.jdbi3.ChartRepository;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.DashboardRepository;
+import org.openmetadata.catalog.jdbi3.DashboardServiceRepository;
+import org.openmetadata.catalog.jdbi3.DatabaseRepository;
+import org.openmetadata.catalog.jdbi3.DatabaseServiceRepository;
+import org.openmetadata.catalog.jdbi3.EntityRepository;
+import org.openmetadata.catalog.jdbi3.MessagingServiceRepository;
+import org.openmetadata.catalog.jdbi3.PipelineRepository;
+import org.openmetadata.catalog.jdbi3.PipelineServiceRepository;
+import org.openmetadata.catalog.jdbi3.TableRepository;
+import org.openmetadata.catalog.jdbi3.TeamRepository;
+import org.openmetadata.catalog.jdbi3.TopicRepository;
+import org.openmetadata.catalog.jdbi3.UserRepository;
+import org.openmetadata.catalog.resources.dashboards.DashboardResource;
+import org.openmetadata.catalog.resources.databases.TableResource;
+import org.openmetadata.catalog.resources.pipelines.PipelineResource;
+import org.openmetadata.catalog.resources.topics.TopicResource;
+import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rebuilds Elastic Search indexes from the entities stored in the database, without re-running ingestion.
+ *
+ * <p>For each index, the entities are read in pages ordered by fully qualified name, using keyset pagination. The
+ * relationship fields and the index documents of each page are built by a pool of worker threads, and loaded into a new
+ * index with a bulk request. When all the entities are loaded, the index alias, such as <i>table_search_index</i>, is
+ * atomically moved to the new index and the previous index is deleted.
+ *
+ * <p>Progress is saved to a checkpoint file after each page is loaded. When the job is restarted after a failure, it
+ * continues loading the same new index after the last page in the checkpoint. Changes made to the entities while the
+ * job is running are applied to the previous index and may be missing from the new index.
+ */
+public class ElasticSearchReindexer {
+  private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchReindexer.class);
+
+  private final RestHighLevelClient client;
+  private final ElasticSearchIndexDefinition indexDefinition;
+  private final int batchSize;
+  private final int workers;
+  private final Path checkpointFile;
+  private ReindexCheckpoint checkpoint;
+  private final List<Source<?>> sources = new ArrayList<>();
+
+  public ElasticSearchReindexer(
+      RestHighLevelClient client, CollectionDAO dao, int batchSize, int workers, Path checkpointFile) {
+    this.client = client;
+    this.indexDefinition = new ElasticSearchIndexDefinition(client);
+    this.batchSize = batchSize;
+    this.workers = workers;
+    this.checkpointFile = checkpointFile;
+
+    // Register the entities referenced by the indexed entities, such as owners and services
+    new UserRepository(dao);
+    new TeamRepository(dao);
+    new DatabaseServiceRepository(dao);
+    new MessagingServiceRepository(dao);
+    new DashboardServiceRepository(dao);
+    new PipelineServiceRepository(dao);
+    new DatabaseRepository(dao);
+    new ChartRepository(dao);
+
+    sources.add(
+        new Source<>(
+            ElasticSearchIndexType.TABLE_SEARCH_INDEX,
+            new TableRepository(dao),
+            new Fields(TableResource.FIELD_LIST, "owner,columns,tags,followers,usageSummary"),
+            table -> TableESIndex.builder(table, Status.CREATED.getStatusCode()).build()));
+    sources.add(
+        new Source<>(
+            ElasticSearchIndexType.TOPIC_SEARCH_INDEX,
+            new TopicRepository(dao),
+            new Fields(TopicResource.FIELD_LIST, "owner,followers,tags"),
+            topic -> TopicESIndex.builder(topic, Status.CREATED.getStatusCode()).build()));
+    sources.add(
+        new Source<>(
+            ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX,
+            new DashboardRepository(dao),
+            new Fields(DashboardResource.FIELD_LIST, "owner,charts,followers,tags,usageSummary"),
+            dashboard -> DashboardESIndex.builder(dashboard, Status.CREATED.getStatusCode()).build()));
+    sources.add(
+        new Source<>(
+            ElasticSearchIndexType.PIPELINE_SEARCH_INDEX,
+            new PipelineRepository(dao),
+            new Fields(PipelineResource.FIELD_LIST, "owner,tasks,followers,tags,usageSummary"),
+            pipeline -> PipelineESIndex.builder(pipeline, Status.CREATED.getStatusCode()).build()));
+  }
+
+  /** Rebuild the given indexes */
+  public void reindex(Set<ElasticSearchIndexType> indexTypes) throws IOException, InterruptedException {
+    checkpoint = ReindexCheckpoint.load(checkpointFile);
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    try {
+      for (Source<?> source : sources) {
+        if (indexTypes.contains(source.indexType)) {
+          reindex(source, executor);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private <T> void reindex(Source<T> source, ExecutorService executor) throws IOException, InterruptedException {
+    String alias = source.indexType.indexName;
+    String index = checkpoint.getIndex(alias);
+    long initialCount = checkpoint.getCount(alias);
+    if (index == null) {
+      index = alias + "_" + System.currentTimeMillis();
+      createIndex(source.indexType, index);
+      checkpoint.save(alias, index, null, 0);
+      LOG.info("Reindexing {} into new index {}", alias, index);
+    } else {
+      LOG.info("Resuming reindexing {} into index {} after {} entities", alias, index, initialCount);
+    }
+
+    String targetIndex = index;
+    long start = System.currentTimeMillis();
+    AtomicLong loaded = new AtomicLong();
+    loadPages(
+        after -> source.repository.listAfter(after, batchSize),
+        entity -> source.repository.getEntityInterface(entity).getFullyQualifiedName(),
+        entities -> load(source, targetIndex, entities),
+        checkpoint.getAfter(alias),
+        executor,
+        2 * workers,
+        (after, size) -> {
+          long count = loaded.addAndGet(size);
+          checkpoint.save(alias, targetIndex, after, initialCount + count);
+          logThroughput(alias, initialCount + count, count, start);
+        });
+
+    swapAlias(alias, index);
+    checkpoint.clear(alias);
+    LOG.info("Reindexed {} with {} entities into index {}", alias, initialCount + loaded.get(), index);
+  }
+
+  /**
+   * Read the pages of entities after {@code after} in order with {@code reader} and load them with {@code loader} on
+   * the executor, with up to {@code maxPending} pages read and not yet completed. {@code listener} is called in page
+   * order with the key of the last entity of a page once the page and all the pages before it are loaded, so that the
+   * checkpoint never moves past a page that is not loaded.
+   */
+  static <T> void loadPages(
+      PageReader<T> reader,
+      Function<T, String> key,
+      PageLoader<T> loader,
+      String after,
+      ExecutorService executor,
+      int maxPending,
+      PageListener listener)
+      throws IOException, InterruptedException {
+    Deque<Page> pages = new ArrayDeque<>();
+    while (true) {
+      List<T> entities = reader.read(after);
+      if (entities.isEmpty()) {
+        break;
+      }
+      after = key.apply(entities.get(entities.size() - 1));
+      Callable<Void> task =
+          () -> {
+            loader.load(entities);
+            return null;
+          };
+      pages.add(new Page(executor.submit(task), after, entities.size()));
+      while (pages.size() >= maxPending || (!pages.isEmpty() && pages.peekFirst().future.isDone())) {
+        complete(pages.removeFirst(), listener);
+      }
+    }
+    while (!pages.isEmpty()) {
+      complete(pages.removeFirst(), listener);
+    }
+  }
+
+  /** Set the relationship fields of the entities and load their documents into the index with a bulk request */
+  private <T> void load(Source<T> source, String index, List<T> entities) throws IOException, ParseException {
+    source.repository.setFields(entities, source.fields);
+    BulkRequest request = new BulkRequest();
+    for (T entity : entities) {
+      String id = source.repository.getEntityInterface(entity).getId().toString();
+      String json = JsonUtils.pojoToJson(source.document.apply(entity));
+      request.add(new IndexRequest(index).id(id).source(json, XContentType.JSON));
+    }
+    BulkResponse response = client.bulk(request, RequestOptions.DEFAULT);
+    if (response.hasFailures()) {
+      throw new IOException("Failed to load documents into index " + index + ": " + response.buildFailureMessage());
+    }
+  }
+
+  private static void complete(Page page, PageListener listener) throws IOException, InterruptedException {
+    try {
+      page.future.get();
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to load page ending at " + page.after, e.getCause());
+    }
+    listener.loaded(page.after, page.size);
+  }
+
+  /** Create the index with refresh disabled while the documents are loaded */
+  private void createIndex(ElasticSearchIndexType indexType, String index) throws IOException {
+    CreateIndexRequest request = new CreateIndexRequest(index);
+    request.mapping(indexDefinition.getIndexMapping(indexType), XContentType.JSON);
+    request.settings(Settings.builder().put("index.refresh_interval", "-1"));
+    client.indices().create(request, RequestOptions.DEFAULT);
+  }
+
+  /** Point the alias to the new index and delete the indexes the alias pointed to in a single atomic request */
+  private void swapAlias(String alias, String index) throws IOException {
+    client
+        .indices()
+        .putSettings(
+            new UpdateSettingsRequest(index).settings(Settings.builder().putNull("index.refresh_interval")),
+            RequestOptions.DEFAULT);
+    client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+
+    IndicesAliasesRequest request = new IndicesAliasesRequest();
+    Set<String> previousIndexes =
+        client.indices().getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT).getAliases().keySet();
+    if (previousIndexes.isEmpty() && client.indices().exists(new GetIndexRequest(alias), RequestOptions.DEFAULT)) {
+      // Index created before aliases were used has the name of the alias
+      request.addAliasAction(AliasActions.removeIndex().index(alias));
+    }
+    for (String previousIndex : previousIndexes) {
+      if (!previousIndex.equals(index)) {
+        request.addAliasAction(AliasActions.removeIndex().index(previousIndex));
+      }
+    }
+    request.addAliasAction(AliasActions.add().index(index).alias(alias));
+    client.indices().updateAliases(request, RequestOptions.DEFAULT);
+  }
+
+  private static void logThroughput(String alias, long count, long loaded, long start) {
+    long elapsed = Math.max(1, System.currentTimeMillis() - start);
+    LOG.info("{}: {} entities indexed, {} entities/second", alias, count, loaded * 1000 / elapsed);
+  }
+
+  /** Reads the page of entities after the given key, returning an empty page after the last entity */
+  interface PageReader<T> {
+    List<T> read(String after) throws IOException;
+  }
+
+  /** Loads a page of entities into the index */
+  interface PageLoader<T> {
+    void load(List<T> entities) throws Exception;
+  }
+
+  /** Notified when a page and all the pages before it are loaded */
+  interface PageListener {
+    void loaded(String after, int size) throws IOException;
+  }
+
+  /** Entities of an index and how their documents are built */
+  private static class Source<T> {
+    private final ElasticSearchIndexType indexType;
+    private final EntityRepository<T> repository;
+    private final Fields fields;
+    private final Function<T, Object> document;
+
+    Source(
+        ElasticSearchIndexType indexType, EntityRepository<T> repository, Fields fields, Function<T, Object> document) {
+      this.indexType = indexType;
+      this.repository = repository;
+      this.fields = fields;
+      this.document = document;
+    }
+  }
+
+  /** Page of entities being loaded by a worker */
+  private static class Page {
+    private final Future<?> future;
+    private final String after;
+    private final int size;
+
+    Page(Future<?> future, String after, int size) {
+      this.future = future;
+      this.after = after;
+      this.size = size;
+    }
+  }
+}
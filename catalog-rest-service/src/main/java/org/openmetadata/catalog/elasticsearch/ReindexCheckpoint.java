@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Progress of {@link ElasticSearchReindexer} saved to a file, so that a restarted job continues loading the same new
+ * index. For each index alias, it records the new index, the fully qualified name of the last entity loaded and the
+ * number of entities loaded.
+ */
+class ReindexCheckpoint {
+  private final Path file;
+  private final Properties properties = new Properties();
+
+  private ReindexCheckpoint(Path file) {
+    this.file = file;
+  }
+
+  /** Returns the checkpoint stored in the file, or an empty checkpoint when the file does not exist */
+  static ReindexCheckpoint load(Path file) throws IOException {
+    ReindexCheckpoint checkpoint = new ReindexCheckpoint(file);
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        checkpoint.properties.load(in);
+      }
+    }
+    return checkpoint;
+  }
+
+  /** New index being loaded for the alias, or null when the alias is not being reindexed */
+  String getIndex(String alias) {
+    return properties.getProperty(alias + ".index");
+  }
+
+  /** Fully qualified name of the last entity loaded, or null when no entity is loaded */
+  String getAfter(String alias) {
+    return properties.getProperty(alias + ".after");
+  }
+
+  long getCount(String alias) {
+    return Long.parseLong(properties.getProperty(alias + ".count", "0"));
+  }
+
+  void save(String alias, String index, String after, long count) throws IOException {
+    properties.setProperty(alias + ".index", index);
+    if (after != null) {
+      properties.setProperty(alias + ".after", after);
+    }
+    properties.setProperty(alias + ".count", String.valueOf(count));
+    store();
+  }
+
+  void clear(String alias) throws IOException {
+    properties.remove(alias + ".index");
+    properties.remove(alias + ".after");
+    properties.remove(alias + ".count");
+    store();
+  }
+
+  /** Write the checkpoint to a temporary file and move it in place so that a crash can't leave a partial file */
+  private void store() throws IOException {
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (OutputStream out = Files.newOutputStream(tmp)) {
+      properties.store(out, "Elastic Search reindex checkpoint");
+    }
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
@@ -13,6 +13,9 @@
 
 package org.openmetadata.catalog.events;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.core.Response.Status;
@@ -22,37 +25,34 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.type.ChangeEvent;
 import org.openmetadata.catalog.type.EventType;
+import org.openmetadata.catalog.util.BulkResponse;
 import org.openmetadata.catalog.util.EntityInterface;
-import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ChangeEventHandler implements EventHandler {
   private static final Logger LOG = LoggerFactory.getLogger(ChangeEventHandler.class);
-  private CollectionDAO dao;
 
   public void init(CatalogApplicationConfig config, Jdbi jdbi) {
-    this.dao = jdbi.onDemand(CollectionDAO.class);
+    // Change events are written to the database asynchronously by the persister
+    ChangeEventPersister.initialize(config.getEventHandlerConfiguration(), jdbi.onDemand(CollectionDAO.class));
   }
 
   public Void process(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
     String method = requestContext.getMethod();
     try {
-      ChangeEvent changeEvent = getChangeEvent(method, responseContext);
-      if (changeEvent != null) {
+      for (ChangeEvent changeEvent : getChangeEvents(method, responseContext)) {
         LOG.info(
             "Recording change event {}:{}:{}:{}",
             changeEvent.getDateTime().getTime(),
             changeEvent.getEntityId(),
             changeEvent.getEventType(),
             changeEvent.getEntityType());
-        EventPubSub.publish(changeEvent);
-        if (changeEvent.getEntity() != null) {
-          changeEvent.setEntity(JsonUtils.pojoToJson(changeEvent.getEntity()));
+        if (!EventPubSub.publish(changeEvent)) {
+          // Event queue is full, write the change event on the request thread so that it is not lost
+          ChangeEventPersister.getInstance().write(changeEvent);
         }
-
-        dao.changeEventDAO().insert(JsonUtils.pojoToJson(changeEvent));
       }
     } catch (Exception e) {
       LOG.error("Failed to capture change event for method {} due to ", method, e);
@@ -60,6 +60,24 @@ public class ChangeEventHandler implements EventHandler {
     return null;
   }
 
+  /** Change events for a response. Bulk responses produce a change event for each entity created or updated. */
+  public static List<ChangeEvent> getChangeEvents(String method, ContainerResponseContext responseContext) {
+    if (!method.equals("GET") && responseContext.getEntity() instanceof BulkResponse) {
+      List<ChangeEvent> changeEvents = new ArrayList<>();
+      for (BulkResponse.Result result : ((BulkResponse) responseContext.getEntity()).getResults()) {
+        if (result.getEntity() != null) {
+          ChangeEvent changeEvent = getChangeEvent(result.getStatus(), result.getChangeType(), result.getEntity());
+          if (changeEvent != null) {
+            changeEvents.add(changeEvent);
+          }
+        }
+      }
+      return changeEvents;
+    }
+    ChangeEvent changeEvent = getChangeEvent(method, responseContext);
+    return changeEvent == null ? Collections.emptyList() : Collections.singletonList(changeEvent);
+  }
+
   public static ChangeEvent getChangeEvent(String method, ContainerResponseContext responseContext) {
     // GET operations don't produce change events
     if (method.equals("GET")) {
@@ -73,7 +91,10 @@ public class ChangeEventHandler implements EventHandler {
 
     int responseCode = responseContext.getStatus();
     String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
+    return getChangeEvent(responseCode, changeType, entity);
+  }
 
+  private static ChangeEvent getChangeEvent(int responseCode, String changeType, Object entity) {
     // Entity was created by either POST .../entities or PUT .../entities
     if (responseCode == Status.CREATED.getStatusCode() && !RestUtil.ENTITY_FIELDS_CHANGED.equals(changeType)) {
       var entityInterface = Entity.getEntityInterface(entity);
@@ -0,0 +1,230 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.events;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.TimeoutHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openmetadata.catalog.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the change events published to {@link EventPubSub} to <i>change_event</i> table. ChangeEventPersister is an
+ * EventHandler that runs in a separate thread and receives events through {@link BatchEventProcessor}, so that requests
+ * don't wait for the change events to be written.
+ *
+ * <p>Events are written with a JDBC batch insert when the batch reaches {@code changeEventBatchSize} events or when the
+ * oldest event in the batch has waited for {@code changeEventFlushIntervalMillis}. The MySQL driver sends the batch as
+ * a single multi-row insert when the connection URL sets {@code rewriteBatchedStatements=true}. When a batch insert
+ * fails, the events in the batch are written one at a time so that a bad event does not cause the other events to be
+ * lost. Events are written in the order they are published.
+ *
+ * <p>Events that could not be queued because the event queue is full are written by the request thread with {@link
+ * #write(ChangeEvent)}. Writes from the request threads and the persister thread are serialized, so that the events are
+ * committed in the order of their sequence and a reader paging by sequence does not skip an event committed late.
+ */
+public class ChangeEventPersister implements EventHandler<ChangeEventHolder>, TimeoutHandler, LifecycleAware {
+  private static final Logger LOG = LoggerFactory.getLogger(ChangeEventPersister.class);
+  private static volatile ChangeEventPersister instance;
+
+  private final CollectionDAO dao;
+  private final int batchSize;
+  private final long flushIntervalMillis;
+  private final long drainTimeoutSeconds;
+  private final List<String> batch = new ArrayList<>();
+  private final Object writeLock = new Object();
+  private long oldestEventTime;
+  private CountDownLatch shutdownLatch;
+  private BatchEventProcessor<ChangeEventHolder> processor;
+  private Meter persistedMeter = new Meter();
+  private Meter failedMeter = new Meter();
+  private Histogram batchSizeHistogram;
+  private Timer flushTimer;
+
+  private ChangeEventPersister(EventHandlerConfiguration config, CollectionDAO dao) {
+    this.dao = dao;
+    this.batchSize = Math.max(1, config.getChangeEventBatchSize());
+    this.flushIntervalMillis = config.getChangeEventFlushIntervalMillis();
+    this.drainTimeoutSeconds = config.getDrainTimeoutSeconds();
+  }
+
+  public static ChangeEventPersister initialize(EventHandlerConfiguration config, CollectionDAO dao) {
+    instance = new ChangeEventPersister(config, dao);
+    return instance;
+  }
+
+  /** Returns the change event persister or null when {@link ChangeEventHandler} is not configured */
+  public static ChangeEventPersister getInstance() {
+    return instance;
+  }
+
+  /** Start receiving events from {@link EventPubSub}. Must be called after {@link EventPubSub#start()} */
+  public synchronized void start(MetricRegistry metrics) {
+    if (processor != null) {
+      return;
+    }
+    persistedMeter = metrics.meter(MetricRegistry.name(ChangeEventPersister.class, "persisted"));
+    failedMeter = metrics.meter(MetricRegistry.name(ChangeEventPersister.class, "failed"));
+    batchSizeHistogram = metrics.histogram(MetricRegistry.name(ChangeEventPersister.class, "batchSize"));
+    flushTimer = metrics.timer(MetricRegistry.name(ChangeEventPersister.class, "flush"));
+    shutdownLatch = new CountDownLatch(1);
+    processor = EventPubSub.addEventHandler(this);
+  }
+
+  /**
+   * Wait up to {@code drainTimeoutSeconds} for the events already published to be written and stop receiving events.
+   * Must be called before {@link EventPubSub#shutdown()}.
+   */
+  public synchronized void stop() throws InterruptedException {
+    if (processor == null) {
+      return;
+    }
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(drainTimeoutSeconds);
+    while (processor.getSequence().get() < EventPubSub.getCursor() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    long remaining = EventPubSub.getCursor() - processor.getSequence().get();
+    if (remaining > 0) {
+      LOG.warn("Stopping with {} change events not written to the database", remaining);
+    }
+    processor.halt(); // Pending batch is written in onShutdown
+    if (!shutdownLatch.await(drainTimeoutSeconds, TimeUnit.SECONDS)) {
+      LOG.warn("Timed out waiting for change events to be written to the database");
+    }
+    EventPubSub.removeProcessor(processor);
+    processor = null;
+  }
+
+  @Override
+  public void onStart() {
+    LOG.info("Change event persister started");
+  }
+
+  @Override
+  public void onEvent(ChangeEventHolder changeEventHolder, long sequence, boolean endOfBatch) {
+    String json = toJson(changeEventHolder.get());
+    if (json != null) {
+      if (batch.isEmpty()) {
+        oldestEventTime = System.currentTimeMillis();
+      }
+      batch.add(json);
+    }
+    if (batch.size() >= batchSize || (endOfBatch && isFlushDue())) {
+      flush();
+    }
+  }
+
+  @Override
+  public void onTimeout(long sequence) {
+    if (isFlushDue()) {
+      flush();
+    }
+  }
+
+  @Override
+  public void onShutdown() {
+    flush();
+    shutdownLatch.countDown();
+    LOG.info("Change event persister stopped");
+  }
+
+  /** Write a change event right away on the calling thread */
+  public void write(ChangeEvent changeEvent) {
+    String json = toJson(changeEvent);
+    if (json == null) {
+      return;
+    }
+    synchronized (writeLock) {
+      try {
+        dao.changeEventDAO().insert(json);
+        persistedMeter.mark();
+      } catch (Exception e) {
+        failedMeter.mark();
+        LOG.error("Failed to write change event {}", json, e);
+      }
+    }
+  }
+
+  private boolean isFlushDue() {
+    return !batch.isEmpty() && System.currentTimeMillis() - oldestEventTime >= flushIntervalMillis;
+  }
+
+  private void flush() {
+    if (batch.isEmpty()) {
+      return;
+    }
+    synchronized (writeLock) {
+      try (Timer.Context ignored = flushTimer.time()) {
+        dao.changeEventDAO().insertBatch(batch);
+        persistedMeter.mark(batch.size());
+      } catch (Exception e) {
+        LOG.warn("Failed to write {} change events in a batch, writing them one at a time", batch.size(), e);
+        for (String json : batch) {
+          try {
+            dao.changeEventDAO().insert(json);
+            persistedMeter.mark();
+          } catch (Exception ex) {
+            failedMeter.mark();
+            LOG.error("Failed to write change event {}", json, ex);
+          }
+        }
+      } finally {
+        batchSizeHistogram.update(batch.size());
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Change events are stored with the entity as a JSON string. The event is copied since the same instance is delivered
+   * to the other event handlers.
+   */
+  private String toJson(ChangeEvent changeEvent) {
+    try {
+      if (changeEvent.getEntity() == null) {
+        return JsonUtils.pojoToJson(changeEvent);
+      }
+      ChangeEvent copy =
+          new ChangeEvent()
+              .withEventType(changeEvent.getEventType())
+              .withEntityType(changeEvent.getEntityType())
+              .withEntityId(changeEvent.getEntityId())
+              .withPreviousVersion(changeEvent.getPreviousVersion())
+              .withCurrentVersion(changeEvent.getCurrentVersion())
+              .withUserName(changeEvent.getUserName())
+              .withDateTime(changeEvent.getDateTime())
+              .withChangeDescription(changeEvent.getChangeDescription())
+              .withEntity(JsonUtils.pojoToJson(changeEvent.getEntity()));
+      return JsonUtils.pojoToJson(copy);
+    } catch (JsonProcessingException e) {
+      failedMeter.mark();
+      LOG.error("Failed to serialize change event {}:{}", changeEvent.getEntityType(), changeEvent.getEntityId(), e);
+      return null;
+    }
+  }
+}
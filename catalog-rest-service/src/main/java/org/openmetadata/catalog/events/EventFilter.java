@@ -13,6 +13,8 @@
 
 package org.openmetadata.catalog.events;
 
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -29,7 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Provider
-public class EventFilter implements ContainerResponseFilter {
+public class EventFilter implements ContainerResponseFilter, Managed {
 
   private static final Logger LOG = LoggerFactory.getLogger(EventFilter.class);
   private static final List<String> AUDITABLE_METHODS = Arrays.asList("POST", "PUT", "PATCH", "DELETE");
@@ -38,18 +40,22 @@ public class EventFilter implements ContainerResponseFilter {
   private final List<EventHandler> eventHandlers;
 
   public EventFilter(CatalogApplicationConfig config, Jdbi jdbi) {
+    this(config, jdbi, new MetricRegistry());
+  }
+
+  public EventFilter(CatalogApplicationConfig config, Jdbi jdbi, MetricRegistry metrics) {
     this.forkJoinPool = new ForkJoinPool(FORK_JOIN_POOL_PARALLELISM);
     this.eventHandlers = new ArrayList<>();
-    registerEventHandlers(config, jdbi);
+    registerEventHandlers(config, jdbi, metrics);
   }
 
-  private void registerEventHandlers(CatalogApplicationConfig config, Jdbi jdbi) {
+  private void registerEventHandlers(CatalogApplicationConfig config, Jdbi jdbi, MetricRegistry metrics) {
     try {
       Set<String> eventHandlerClassNames = config.getEventHandlerConfiguration().getEventHandlerClassNames();
       for (String eventHandlerClassName : eventHandlerClassNames) {
         EventHandler eventHandler =
             ((Class<EventHandler>) Class.forName(eventHandlerClassName)).getConstructor().newInstance();
-        eventHandler.init(config, jdbi);
+        eventHandler.init(config, jdbi, metrics);
         eventHandlers.add(eventHandler);
         LOG.info("Added event handler {}", eventHandlerClassName);
       }
@@ -71,4 +77,12 @@ public class EventFilter implements ContainerResponseFilter {
             eventHandler ->
                 ParallelStreamUtil.runAsync(() -> eventHandler.process(requestContext, responseContext), forkJoinPool));
   }
+
+  @Override
+  public void start() {}
+
+  @Override
+  public void stop() {
+    eventHandlers.forEach(EventHandler::close);
+  }
 }
@@ -13,6 +13,7 @@
 
 package org.openmetadata.catalog.events;
 
+import com.codahale.metrics.MetricRegistry;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import org.jdbi.v3.core.Jdbi;
@@ -21,6 +22,11 @@ import org.openmetadata.catalog.CatalogApplicationConfig;
 public interface EventHandler {
   void init(CatalogApplicationConfig config, Jdbi jdbi);
 
+  /** Initialize the handler. Handlers that report metrics override this method */
+  default void init(CatalogApplicationConfig config, Jdbi jdbi, MetricRegistry metrics) {
+    init(config, jdbi);
+  }
+
   Void process(ContainerRequestContext requestContext, ContainerResponseContext responseContext);
 
   void close();
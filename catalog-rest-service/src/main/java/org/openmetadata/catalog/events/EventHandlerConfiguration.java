@@ -17,6 +17,21 @@ import java.util.Set;
 public class EventHandlerConfiguration {
   private Set<String> eventHandlerClassNames;
 
+  /** Maximum number of change events written to the database in a single batch */
+  private int changeEventBatchSize = 100;
+
+  /** Maximum time in milliseconds a change event waits in memory before it is written to the database */
+  private long changeEventFlushIntervalMillis = 500;
+
+  /**
+   * Time in milliseconds a request waits for space in the event queue before the change event is written to the
+   * database on the request thread
+   */
+  private long publishTimeoutMillis = 1000;
+
+  /** Time in seconds to wait during shutdown for the queued change events to be written to the database */
+  private long drainTimeoutSeconds = 30;
+
   public Set<String> getEventHandlerClassNames() {
     return eventHandlerClassNames;
   }
@@ -24,4 +39,36 @@ public class EventHandlerConfiguration {
   public void setEventHandlerClassNames(Set<String> eventHandlerClassNames) {
     this.eventHandlerClassNames = eventHandlerClassNames;
   }
+
+  public int getChangeEventBatchSize() {
+    return changeEventBatchSize;
+  }
+
+  public void setChangeEventBatchSize(int changeEventBatchSize) {
+    this.changeEventBatchSize = changeEventBatchSize;
+  }
+
+  public long getChangeEventFlushIntervalMillis() {
+    return changeEventFlushIntervalMillis;
+  }
+
+  public void setChangeEventFlushIntervalMillis(long changeEventFlushIntervalMillis) {
+    this.changeEventFlushIntervalMillis = changeEventFlushIntervalMillis;
+  }
+
+  public long getPublishTimeoutMillis() {
+    return publishTimeoutMillis;
+  }
+
+  public void setPublishTimeoutMillis(long publishTimeoutMillis) {
+    this.publishTimeoutMillis = publishTimeoutMillis;
+  }
+
+  public long getDrainTimeoutSeconds() {
+    return drainTimeoutSeconds;
+  }
+
+  public void setDrainTimeoutSeconds(long drainTimeoutSeconds) {
+    this.drainTimeoutSeconds = drainTimeoutSeconds;
+  }
 }
@@ -13,31 +13,69 @@
 
 package org.openmetadata.catalog.events;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
 import com.lmax.disruptor.BatchEventProcessor;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
 import com.lmax.disruptor.util.DaemonThreadFactory;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import org.openmetadata.catalog.type.ChangeEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Change event PubSub built based on LMAX Disruptor. */
+/**
+ * Change event PubSub built based on LMAX Disruptor.
+ *
+ * <p>When the ring buffer is full because the event handlers are slow, {@link #publish(ChangeEvent)} waits up to {@code
+ * publishTimeoutMillis} for space in the buffer and then returns false without queuing the event, so that the caller
+ * can write it synchronously. Delayed and rejected events are reported as metrics.
+ */
 public class EventPubSub {
   private static final Logger LOG = LoggerFactory.getLogger(EventPubSub.class);
+  private static final int BUFFER_SIZE = 1024;
+
+  /** Event handlers implementing TimeoutHandler are notified at this interval when there are no events */
+  private static final long WAIT_TIMEOUT_MILLIS = 100;
+
+  private static final long PUBLISH_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
   private static Disruptor<ChangeEventHolder> disruptor;
   private static ExecutorService executor;
   private static RingBuffer<ChangeEventHolder> ringBuffer;
+  private static long publishTimeoutNanos;
+  private static Meter publishedMeter;
+  private static Meter delayedMeter;
+  private static Meter rejectedMeter;
   private static boolean STARTED = false;
 
   public static void start() {
+    start(new EventHandlerConfiguration(), new MetricRegistry());
+  }
+
+  public static void start(EventHandlerConfiguration config, MetricRegistry metrics) {
     if (!STARTED) {
-      disruptor = new Disruptor<>(ChangeEventHolder::new, 1024, DaemonThreadFactory.INSTANCE);
+      publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getPublishTimeoutMillis());
+      publishedMeter = metrics.meter(MetricRegistry.name(EventPubSub.class, "published"));
+      delayedMeter = metrics.meter(MetricRegistry.name(EventPubSub.class, "delayed"));
+      rejectedMeter = metrics.meter(MetricRegistry.name(EventPubSub.class, "rejected"));
+      metrics.gauge(MetricRegistry.name(EventPubSub.class, "queueSize"), () -> (Gauge<Long>) EventPubSub::getQueueSize);
+      disruptor =
+          new Disruptor<>(
+              ChangeEventHolder::new,
+              BUFFER_SIZE,
+              DaemonThreadFactory.INSTANCE,
+              ProducerType.MULTI,
+              new TimeoutBlockingWaitStrategy(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
       disruptor.setDefaultExceptionHandler(new DefaultExceptionHandler());
       executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
       ringBuffer = disruptor.start();
@@ -77,13 +115,62 @@ public class EventPubSub {
     }
   }
 
-  public static void publish(ChangeEvent event) {
-    if (event != null) {
-      RingBuffer<ChangeEventHolder> ringBuffer = disruptor.getRingBuffer();
-      long sequence = ringBuffer.next();
-      ringBuffer.get(sequence).set(event);
-      ringBuffer.publish(sequence);
+  /**
+   * Publish the event to the event handlers. Returns false when the event is not queued because the ring buffer stayed
+   * full for {@code publishTimeoutMillis}.
+   */
+  public static boolean publish(ChangeEvent event) {
+    if (event == null) {
+      return true;
+    }
+    RingBuffer<ChangeEventHolder> ringBuffer = disruptor.getRingBuffer();
+    long sequence;
+    try {
+      sequence = next(ringBuffer);
+    } catch (InsufficientCapacityException e) {
+      rejectedMeter.mark();
+      LOG.warn(
+          "Event queue is full, change event {}:{}:{} is not queued",
+          event.getEventType(),
+          event.getEntityType(),
+          event.getEntityId());
+      return false;
     }
+    ringBuffer.get(sequence).set(event);
+    ringBuffer.publish(sequence);
+    publishedMeter.mark();
+    return true;
+  }
+
+  /** Claim the next slot in the ring buffer waiting up to the publish timeout when the buffer is full */
+  private static long next(RingBuffer<ChangeEventHolder> ringBuffer) throws InsufficientCapacityException {
+    long deadline = System.nanoTime() + publishTimeoutNanos;
+    boolean delayed = false;
+    while (true) {
+      try {
+        return ringBuffer.tryNext();
+      } catch (InsufficientCapacityException e) {
+        if (System.nanoTime() >= deadline) {
+          throw e;
+        }
+        if (!delayed) {
+          delayedMeter.mark();
+          delayed = true;
+        }
+        LockSupport.parkNanos(PUBLISH_RETRY_NANOS);
+      }
+    }
+  }
+
+  /** Sequence of the last event published */
+  public static long getCursor() {
+    return ringBuffer.getCursor();
+  }
+
+  /** Number of events published and not yet processed by all the event handlers */
+  public static long getQueueSize() {
+    RingBuffer<ChangeEventHolder> buffer = ringBuffer;
+    return buffer == null ? 0 : buffer.getBufferSize() - buffer.remainingCapacity();
   }
 
   public static BatchEventProcessor<ChangeEventHolder> addEventHandler(EventHandler<ChangeEventHolder> eventHandler) {
@@ -56,4 +56,8 @@ public final class CatalogExceptionMessage {
   public static String invalidServiceEntity(String serviceEntity, String entity) {
     return String.format("Invalid service entity type %s for %s", serviceEntity, entity);
   }
+
+  public static String entityRepeatedInRequest(String entity, String fqn) {
+    return String.format("%s instance for %s appears more than once in the request", entity, fqn);
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Actions to run after the database transaction of the current thread commits. In-memory state derived from the
+ * database, such as {@link EntityCache}, {@link LineageIndex} and {@link TagIndex}, must only be changed once the
+ * change is visible to other connections, and must not be changed at all when the transaction rolls back.
+ *
+ * <p>Transactions are tracked by {@link AfterCommitTransactionHandler}. Outside of a transaction each statement is
+ * committed when it runs and the actions run right away.
+ */
+public final class AfterCommit {
+  private static final Logger LOG = LoggerFactory.getLogger(AfterCommit.class);
+  private static final ThreadLocal<Transaction> TRANSACTION = new ThreadLocal<>();
+
+  private AfterCommit() {}
+
+  /** Run {@code action} after the current transaction commits, or right away when not in a transaction */
+  public static void run(Runnable action) {
+    Transaction transaction = TRANSACTION.get();
+    if (transaction == null) {
+      action.run();
+    } else {
+      transaction.actions.add(action);
+    }
+  }
+
+  /** Returns true when the current thread is in a transaction that has not committed yet */
+  public static boolean isInTransaction() {
+    return TRANSACTION.get() != null;
+  }
+
+  static void begin() {
+    Transaction transaction = TRANSACTION.get();
+    if (transaction == null) {
+      transaction = new Transaction();
+      TRANSACTION.set(transaction);
+    }
+    transaction.depth++;
+  }
+
+  /** End a transaction. Actions run when the outermost transaction commits and are discarded when it rolls back. */
+  static void end(boolean committed) {
+    Transaction transaction = TRANSACTION.get();
+    if (transaction == null || --transaction.depth > 0) {
+      return;
+    }
+    TRANSACTION.remove();
+    if (!committed) {
+      return;
+    }
+    for (Runnable action : transaction.actions) {
+      try {
+        action.run();
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to run action after commit", e);
+      }
+    }
+  }
+
+  private static class Transaction {
+    private final List<Runnable> actions = new ArrayList<>();
+    private int depth;
+  }
+}
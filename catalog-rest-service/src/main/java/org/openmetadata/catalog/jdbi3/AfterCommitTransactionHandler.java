@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import java.sql.SQLException;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.transaction.DelegatingTransactionHandler;
+import org.jdbi.v3.core.transaction.TransactionHandler;
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
+
+/** Transaction handler that runs the {@link AfterCommit} actions of a transaction once it commits */
+public class AfterCommitTransactionHandler extends DelegatingTransactionHandler {
+  public AfterCommitTransactionHandler(TransactionHandler delegate) {
+    super(delegate);
+  }
+
+  @Override
+  public <R, X extends Exception> R inTransaction(Handle handle, HandleCallback<R, X> callback) throws X {
+    AfterCommit.begin();
+    boolean committed = false;
+    try {
+      R result = super.inTransaction(handle, callback);
+      committed = true;
+      return result;
+    } finally {
+      AfterCommit.end(committed);
+    }
+  }
+
+  @Override
+  public <R, X extends Exception> R inTransaction(
+      Handle handle, TransactionIsolationLevel level, HandleCallback<R, X> callback) throws X {
+    AfterCommit.begin();
+    boolean committed = false;
+    try {
+      R result = super.inTransaction(handle, level, callback);
+      committed = true;
+      return result;
+    } finally {
+      AfterCommit.end(committed);
+    }
+  }
+
+  @Override
+  public TransactionHandler specialize(Handle handle) throws SQLException {
+    TransactionHandler specialized = getDelegate().specialize(handle);
+    return specialized == getDelegate() ? this : new AfterCommitTransactionHandler(specialized);
+  }
+}
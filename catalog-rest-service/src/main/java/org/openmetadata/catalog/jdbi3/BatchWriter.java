@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.EntityUtil;
+
+/**
+ * Collects <i>entity_relationship</i> and <i>tag_usage</i> rows to be inserted when storing many entities and inserts
+ * them with one batched statement per table in {@link #flush(CollectionDAO)}. Tags must already be validated, as done
+ * in {@link EntityRepository#prepare(Object)}. <i>tag_usage</i> rows to be removed, as collected when updating an
+ * entity, are deleted with one batched statement before the inserts.
+ */
+public class BatchWriter {
+  private final List<String> fromIds = new ArrayList<>();
+  private final List<String> toIds = new ArrayList<>();
+  private final List<String> fromEntities = new ArrayList<>();
+  private final List<String> toEntities = new ArrayList<>();
+  private final List<Integer> relations = new ArrayList<>();
+
+  private final List<String> tagFQNs = new ArrayList<>();
+  private final List<String> targetFQNs = new ArrayList<>();
+  private final List<Integer> labelTypes = new ArrayList<>();
+  private final List<Integer> states = new ArrayList<>();
+
+  private final List<String> removedTagFQNs = new ArrayList<>();
+  private final List<String> removedTargetFQNs = new ArrayList<>();
+
+  /** Add relationship from ---- relation ---> to */
+  public void addRelationship(UUID fromId, UUID toId, String fromEntity, String toEntity, Relationship relation) {
+    fromIds.add(fromId.toString());
+    toIds.add(toId.toString());
+    fromEntities.add(fromEntity);
+    toEntities.add(toEntity);
+    relations.add(relation.ordinal());
+  }
+
+  /** Add relationship owner --- owns ---> ownedEntity, when owner is not null */
+  public void addOwner(UUID ownedEntityId, String ownedEntityType, EntityReference owner) {
+    if (owner != null) {
+      addRelationship(owner.getId(), ownedEntityId, owner.getType(), ownedEntityType, Relationship.OWNS);
+    }
+  }
+
+  /** Apply tag labels to the entity or field identified by targetFQN */
+  public void addTags(List<TagLabel> tagLabels, String targetFQN) {
+    for (TagLabel tagLabel : Optional.ofNullable(tagLabels).orElse(Collections.emptyList())) {
+      tagFQNs.add(tagLabel.getTagFQN());
+      targetFQNs.add(targetFQN);
+      labelTypes.add(tagLabel.getLabelType().ordinal());
+      states.add(tagLabel.getState().ordinal());
+    }
+  }
+
+  /** Remove tag labels from the entity or field identified by targetFQN */
+  public void removeTags(List<TagLabel> tagLabels, String targetFQN) {
+    for (TagLabel tagLabel : Optional.ofNullable(tagLabels).orElse(Collections.emptyList())) {
+      removedTagFQNs.add(tagLabel.getTagFQN());
+      removedTargetFQNs.add(targetFQN);
+    }
+  }
+
+  /**
+   * Replace the tag labels {@code origTags} of the entity or field identified by targetFQN with {@code updatedTags}.
+   * Only the labels that are removed or added are written. A label whose type or state changed is replaced.
+   */
+  public void updateTags(List<TagLabel> origTags, List<TagLabel> updatedTags, String targetFQN) {
+    List<TagLabel> removed = new ArrayList<>();
+    for (TagLabel orig : origTags) {
+      if (updatedTags.stream().noneMatch(t -> EntityUtil.tagUsageMatch.test(t, orig))) {
+        removed.add(orig);
+      }
+    }
+    List<TagLabel> added = new ArrayList<>();
+    for (TagLabel label : updatedTags) {
+      if (origTags.stream().noneMatch(t -> EntityUtil.tagUsageMatch.test(t, label))) {
+        added.add(label);
+      }
+    }
+    removeTags(removed, targetFQN);
+    addTags(added, targetFQN);
+  }
+
+  /** Delete and insert all the collected rows and clear them */
+  public void flush(CollectionDAO dao) {
+    if (!removedTagFQNs.isEmpty()) {
+      dao.tagDAO().deleteTagBatch(removedTagFQNs, removedTargetFQNs);
+    }
+    if (!fromIds.isEmpty()) {
+      dao.relationshipDAO().insertBatch(fromIds, toIds, fromEntities, toEntities, relations);
+    }
+    if (!tagFQNs.isEmpty()) {
+      dao.tagDAO().applyTagBatch(tagFQNs, targetFQNs, labelTypes, states);
+    }
+    fromIds.clear();
+    toIds.clear();
+    fromEntities.clear();
+    toEntities.clear();
+    relations.clear();
+    tagFQNs.clear();
+    targetFQNs.clear();
+    labelTypes.clear();
+    states.clear();
+    removedTagFQNs.clear();
+    removedTargetFQNs.clear();
+  }
+}
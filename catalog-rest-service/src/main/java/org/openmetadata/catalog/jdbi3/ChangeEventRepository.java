@@ -17,39 +17,119 @@ import static org.openmetadata.catalog.type.EventType.ENTITY_CREATED;
 import static org.openmetadata.catalog.type.EventType.ENTITY_DELETED;
 import static org.openmetadata.catalog.type.EventType.ENTITY_UPDATED;
 
-import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import org.jdbi.v3.sqlobject.transaction.Transaction;
-import org.openmetadata.catalog.resources.events.EventResource.ChangeEventList;
-import org.openmetadata.catalog.type.ChangeEvent;
-import org.openmetadata.catalog.util.JsonUtils;
+import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.openmetadata.catalog.type.EventType;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
 
 public class ChangeEventRepository {
+  /** Maximum number of change events returned in a page */
+  public static final int MAX_LIMIT = 10000;
+
+  /** Cursor of sequence, filter condition hash, first page date in epoch milliseconds and first page total */
+  private static final Pattern CURSOR = Pattern.compile("(\\d{1,18}):([0-9a-f]{8}):(\\d{1,18}):(\\d{1,9})");
+
   private final CollectionDAO dao;
 
   public ChangeEventRepository(CollectionDAO dao) {
     this.dao = dao;
   }
 
-  @Transaction
-  public ResultList<ChangeEvent> list(
-      Date date, List<String> entityCreatedList, List<String> entityUpdatedList, List<String> entityDeletedList)
-      throws IOException, GeneralSecurityException {
-    List<String> jsons = new ArrayList<>();
-    String dateParam = RestUtil.DATE_TIME_FORMAT.format(date);
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_CREATED.value(), entityCreatedList, dateParam));
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_UPDATED.value(), entityUpdatedList, dateParam));
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_DELETED.value(), entityDeletedList, dateParam));
-
-    List<ChangeEvent> changeEvents = new ArrayList<>();
-    for (String json : jsons) {
-      changeEvents.add(JsonUtils.readValue(json, ChangeEvent.class));
+  /**
+   * List the JSON of at most {@code limit} change events matching the event type filters in the order they were
+   * recorded. Events are listed from {@code date} for the first page and after the {@code after} cursor for the next
+   * pages, where {@code date} is not used. The page is read completely before it is returned and the after cursor is
+   * null when there are no more events.
+   *
+   * <p>The total is the number of events matching the filters when the first page was listed. It is counted only for
+   * the first page and carried in the cursor, so that the next pages do not count the events again.
+   *
+   * <p>Events are committed in the order of their sequence by a server, see {@link
+   * org.openmetadata.catalog.events.ChangeEventPersister}. With several servers writing events, an event may be
+   * committed after events with a higher sequence and is not listed to a reader that already paged past it.
+   *
+   * <p>An event type filter that is null excludes the events of that type and {@code *} includes the events of all the
+   * entity types. Entity types must already be validated.
+   */
+  public ResultList<String> list(
+      Date date,
+      String after,
+      int limit,
+      List<String> entityCreatedList,
+      List<String> entityUpdatedList,
+      List<String> entityDeletedList)
+      throws GeneralSecurityException, UnsupportedEncodingException {
+    List<String> conditions = new ArrayList<>();
+    addCondition(conditions, ENTITY_CREATED, entityCreatedList);
+    addCondition(conditions, ENTITY_UPDATED, entityUpdatedList);
+    addCondition(conditions, ENTITY_DELETED, entityDeletedList);
+    if (conditions.isEmpty()) {
+      return new ResultList<>(new ArrayList<>(), null, null, 0);
+    }
+    String condition = String.join(" OR ", conditions);
+    String conditionHash = String.format("%08x", condition.hashCode());
+
+    // The sequence records the order in which the events were written and the date only bounds the events listed,
+    // since events are not written in the order of their dateTime
+    long sequence = 0;
+    long dateMillis;
+    int total;
+    if (after == null) {
+      dateMillis = date.getTime();
+      total = dao.changeEventDAO().listCount(condition, RestUtil.DATE_TIME_FORMAT.format(date));
+    } else {
+      Matcher cursor = parseCursor(after);
+      if (!cursor.group(2).equals(conditionHash)) {
+        throw new IllegalArgumentException("Invalid cursor " + after);
+      }
+      sequence = Long.parseLong(cursor.group(1));
+      dateMillis = Long.parseLong(cursor.group(3));
+      total = Integer.parseInt(cursor.group(4));
+    }
+    String dateTime = RestUtil.DATE_TIME_FORMAT.format(new Date(dateMillis));
+
+    // Get one extra result. If extra result exists, then next page exists - return after cursor
+    List<Entry<Long, String>> events = dao.changeEventDAO().list(condition, dateTime, sequence, limit + 1);
+    String afterCursor = null;
+    if (events.size() > limit) {
+      events = events.subList(0, limit);
+      afterCursor = events.get(limit - 1).getKey() + ":" + conditionHash + ":" + dateMillis + ":" + total;
+    }
+    List<String> jsons = events.stream().map(Entry::getValue).collect(Collectors.toList());
+    return new ResultList<>(jsons, null, afterCursor, total);
+  }
+
+  /** Validates a cursor returned by {@link #list} and throws {@link IllegalArgumentException} when it is invalid */
+  public static void validateCursor(String cursor) {
+    parseCursor(cursor);
+  }
+
+  private static Matcher parseCursor(String cursor) {
+    Matcher matcher = CURSOR.matcher(cursor);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Invalid cursor " + cursor);
+    }
+    return matcher;
+  }
+
+  private static void addCondition(List<String> conditions, EventType eventType, List<String> entityTypes) {
+    if (entityTypes == null) {
+      return;
+    }
+    String condition = "eventType = '" + eventType.value() + "'";
+    if (!entityTypes.get(0).equals("*")) {
+      // Entity types are validated against the known entity names and are safe to add to the query
+      condition +=
+          " AND entityType IN (" + entityTypes.stream().map(e -> "'" + e + "'").collect(Collectors.joining(",")) + ")";
     }
-    return new ChangeEventList(changeEvents, null, null, changeEvents.size()); // TODO
+    conditions.add("(" + condition + ")");
   }
 }
@@ -18,7 +18,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Chart;
@@ -133,6 +135,31 @@ public class ChartRepository extends EntityRepository<Chart> {
     return chart;
   }
 
+  @Override
+  public List<Chart> setFields(List<Chart> charts, Fields fields) throws IOException {
+    // Owner, followers and tags are looked up with a single query for all the charts
+    List<String> ids = charts.stream().map(e -> e.getId().toString()).collect(Collectors.toList());
+    Map<String, EntityReference> owners =
+        fields.contains("owner")
+            ? EntityUtil.populateOwners(ids, dao.relationshipDAO(), dao.userDAO(), dao.teamDAO())
+            : null;
+    Map<String, List<EntityReference>> followers =
+        fields.contains("followers") ? EntityUtil.getFollowers(ids, dao.relationshipDAO(), dao.userDAO()) : null;
+    Map<String, List<TagLabel>> tags =
+        fields.contains("tags")
+            ? EntityUtil.getTags(
+                dao.tagDAO(), charts.stream().map(Chart::getFullyQualifiedName).collect(Collectors.toList()))
+            : null;
+    for (Chart chart : charts) {
+      String id = chart.getId().toString();
+      chart.setService(getService(chart));
+      chart.setOwner(owners != null ? owners.get(id) : null);
+      chart.setFollowers(followers != null ? followers.get(id) : null);
+      chart.setTags(tags != null ? tags.get(chart.getFullyQualifiedName()) : null);
+    }
+    return charts;
+  }
+
   @Override
   public void restorePatchAttributes(Chart original, Chart updated) {
     // Patch can't make changes to following fields. Ignore the changes
@@ -13,11 +13,15 @@
 
 package org.openmetadata.catalog.jdbi3;
 
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.function.Consumer;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.sqlobject.CreateSqlObject;
@@ -25,8 +29,12 @@ import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.UseRowMapper;
+import org.jdbi.v3.sqlobject.transaction.Transactional;
+import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.Bots;
 import org.openmetadata.catalog.entity.data.Chart;
 import org.openmetadata.catalog.entity.data.Dashboard;
@@ -70,13 +78,17 @@ import org.openmetadata.catalog.jdbi3.UserRepository.UserEntityInterface;
 import org.openmetadata.catalog.jdbi3.WebhookRepository.WebhookEntityInterface;
 import org.openmetadata.catalog.operations.workflows.Ingestion;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.JoinedWith;
+import org.openmetadata.catalog.type.SQLQuery;
+import org.openmetadata.catalog.type.TableJoinCount;
 import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.type.UsageDetails;
 import org.openmetadata.catalog.type.UsageStats;
 import org.openmetadata.catalog.type.Webhook;
-import org.openmetadata.catalog.util.EntityUtil;
+import org.openmetadata.catalog.util.EntityVersionCodec;
+import org.openmetadata.catalog.util.JsonUtils;
 
-public interface CollectionDAO {
+public interface CollectionDAO extends Transactional<CollectionDAO> {
   @CreateSqlObject
   DatabaseDAO databaseDAO();
 
@@ -101,6 +113,18 @@ public interface CollectionDAO {
   @CreateSqlObject
   TableDAO tableDAO();
 
+  @CreateSqlObject
+  TableProfileDAO tableProfileDAO();
+
+  @CreateSqlObject
+  TableQueryDAO tableQueryDAO();
+
+  @CreateSqlObject
+  TableSampleDataDAO tableSampleDataDAO();
+
+  @CreateSqlObject
+  TableJoinDAO tableJoinDAO();
+
   @CreateSqlObject
   UsageDAO usageDAO();
 
@@ -284,19 +308,63 @@ public interface CollectionDAO {
     @SqlQuery("SELECT json FROM entity_extension WHERE id = :id AND extension = :extension")
     String getExtension(@Bind("id") String id, @Bind("extension") String extension);
 
+    @SqlUpdate(
+        "REPLACE INTO entity_extension(id, extension, jsonSchema, version, json) "
+            + "VALUES (:id, :extension, :jsonSchema, :version, :json)")
+    void insertVersion(
+        @Bind("id") String id,
+        @Bind("extension") String extension,
+        @Bind("jsonSchema") String jsonSchema,
+        @Bind("version") Double version,
+        @Bind("json") String json);
+
+    /** List previous versions older than {@code before} from the latest to the oldest version */
     @RegisterRowMapper(EntityVersionMapper.class)
     @SqlQuery(
-        "SELECT extension, json FROM entity_extension WHERE id = :id AND extension "
-            + "LIKE CONCAT (:extensionPrefix, '.%')")
-    List<EntityVersionPair> getEntityVersions(@Bind("id") String id, @Bind("extensionPrefix") String extensionPrefix);
+        "SELECT version, jsonSchema, json FROM entity_extension WHERE id = :id AND version < :before "
+            + "ORDER BY version DESC LIMIT :limit")
+    List<EntityVersionPair> getEntityVersions(
+        @Bind("id") String id, @Bind("before") double before, @Bind("limit") int limit);
 
-    @SqlQuery("SELECT json FROM entity_extension WHERE id = :id AND extension = :extension")
-    String getEntityVersion(@Bind("id") String id, @Bind("extension") String extension);
+    /** Same as {@link #getEntityVersions} with only the version, update details and change description */
+    @RegisterRowMapper(EntityVersionMapper.class)
+    @SqlQuery(
+        "SELECT version, jsonSchema, JSON_OBJECT('version', version, 'updatedAt', json -> '$.updatedAt', "
+            + "'updatedBy', json -> '$.updatedBy', 'changeDescription', json -> '$.changeDescription') AS json "
+            + "FROM entity_extension WHERE id = :id AND version < :before ORDER BY version DESC LIMIT :limit")
+    List<EntityVersionPair> getEntityVersionSummaries(
+        @Bind("id") String id, @Bind("before") double before, @Bind("limit") int limit);
+
+    @SqlQuery("SELECT COUNT(*) FROM entity_extension WHERE id = :id AND version IS NOT NULL")
+    int getEntityVersionCount(@Bind("id") String id);
+
+    @RegisterRowMapper(EntityVersionMapper.class)
+    @SqlQuery("SELECT version, jsonSchema, json FROM entity_extension WHERE id = :id AND extension = :extension")
+    EntityVersionPair getEntityVersion(@Bind("id") String id, @Bind("extension") String extension);
+
+    @RegisterRowMapper(EntityVersionMapper.class)
+    @SqlQuery("SELECT version, jsonSchema, json FROM entity_extension WHERE id = :id AND extension IN (<extensions>)")
+    List<EntityVersionPair> getEntityVersions(@Bind("id") String id, @BindList("extensions") List<String> extensions);
+
+    /** Get the latest version older than {@code before} that is stored in full */
+    @RegisterRowMapper(EntityVersionMapper.class)
+    @SqlQuery(
+        "SELECT version, jsonSchema, json FROM entity_extension WHERE id = :id AND version < :before "
+            + "AND jsonSchema <> :deltaSchema ORDER BY version DESC LIMIT 1")
+    EntityVersionPair getCheckpoint(
+        @Bind("id") String id, @Bind("before") double before, @Bind("deltaSchema") String deltaSchema);
+
+    @SqlQuery("SELECT COUNT(*) FROM entity_extension WHERE id = :id AND version > :after")
+    int getEntityVersionCount(@Bind("id") String id, @Bind("after") double after);
+
+    @SqlUpdate("DELETE FROM entity_extension WHERE id = :id AND extension = :extension")
+    void delete(@Bind("id") String id, @Bind("extension") String extension);
   }
 
   class EntityVersionPair {
     private final Double version;
     private final String entityJson;
+    private final boolean delta;
 
     public Double getVersion() {
       return version;
@@ -306,17 +374,23 @@ public interface CollectionDAO {
       return entityJson;
     }
 
-    public EntityVersionPair(Double version, String json) {
+    /** True when the json is encoded as a delta by {@link EntityVersionCodec} instead of the entity */
+    public boolean isDelta() {
+      return delta;
+    }
+
+    public EntityVersionPair(Double version, String json, boolean delta) {
       this.version = version;
       this.entityJson = json;
+      this.delta = delta;
     }
   }
 
   class EntityVersionMapper implements RowMapper<EntityVersionPair> {
     @Override
     public EntityVersionPair map(ResultSet rs, StatementContext ctx) throws SQLException {
-      Double version = EntityUtil.getVersion(rs.getString("extension"));
-      return new EntityVersionPair(version, rs.getString("json"));
+      boolean delta = EntityVersionCodec.DELTA_SCHEMA.equals(rs.getString("jsonSchema"));
+      return new EntityVersionPair(rs.getDouble("version"), rs.getString("json"), delta);
     }
   }
 
@@ -331,6 +405,16 @@ public interface CollectionDAO {
         @Bind("toEntity") String toEntity,
         @Bind("relation") int relation);
 
+    @SqlBatch(
+        "INSERT IGNORE INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation) "
+            + "VALUES (:fromId, :toId, :fromEntity, :toEntity, :relation)")
+    void insertBatch(
+        @Bind("fromId") List<String> fromIds,
+        @Bind("toId") List<String> toIds,
+        @Bind("fromEntity") List<String> fromEntities,
+        @Bind("toEntity") List<String> toEntities,
+        @Bind("relation") List<Integer> relations);
+
     //
     // Find to operations
     //
@@ -379,6 +463,41 @@ public interface CollectionDAO {
     List<EntityReference> findFromEntity(
         @Bind("toId") String toId, @Bind("relation") int relation, @Bind("fromEntity") String fromEntity);
 
+    //
+    // Batch find operations used for populating relationships of a list of entities with one query
+    //
+    @SqlQuery(
+        "SELECT fromId, toId, toEntity FROM entity_relationship "
+            + "WHERE fromId IN (<fromIds>) AND relation = :relation "
+            + "ORDER BY fromId, toId")
+    @UseRowMapper(ToEntityReferenceEntryMapper.class)
+    List<Entry<String, EntityReference>> findToBatch(
+        @BindList("fromIds") List<String> fromIds, @Bind("relation") int relation);
+
+    @SqlQuery(
+        "SELECT fromId, toId, toEntity FROM entity_relationship "
+            + "WHERE fromId IN (<fromIds>) AND relation = :relation AND toEntity = :toEntity "
+            + "ORDER BY fromId, toId")
+    @UseRowMapper(ToEntityReferenceEntryMapper.class)
+    List<Entry<String, EntityReference>> findToBatch(
+        @BindList("fromIds") List<String> fromIds, @Bind("relation") int relation, @Bind("toEntity") String toEntity);
+
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND relation = :relation "
+            + "ORDER BY toId, fromId")
+    @UseRowMapper(FromEntityReferenceEntryMapper.class)
+    List<Entry<String, EntityReference>> findFromBatch(
+        @BindList("toIds") List<String> toIds, @Bind("relation") int relation);
+
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND relation = :relation AND fromEntity = :fromEntity "
+            + "ORDER BY toId, fromId")
+    @UseRowMapper(FromEntityReferenceEntryMapper.class)
+    List<Entry<String, EntityReference>> findFromBatch(
+        @BindList("toIds") List<String> toIds, @Bind("relation") int relation, @Bind("fromEntity") String fromEntity);
+
     //
     // Delete Operations
     //
@@ -400,7 +519,52 @@ public interface CollectionDAO {
     void deleteTo(@Bind("toId") String toId, @Bind("relation") int relation, @Bind("fromEntity") String fromEntity);
 
     @SqlUpdate("DELETE from entity_relationship " + "WHERE toId = :id OR fromId = :id")
-    void deleteAll(@Bind("id") String id);
+    void deleteAllWithId(@Bind("id") String id);
+
+    default void deleteAll(String id) {
+      deleteAllWithId(id);
+      LineageIndex lineageIndex = LineageIndex.getInstance();
+      if (lineageIndex != null) {
+        AfterCommit.run(() -> lineageIndex.removeEntity(UUID.fromString(id)));
+      }
+    }
+
+    /** Stream all the relationships of a given type as an entry of from entity and to entity references */
+    @SqlQuery("SELECT fromId, toId, fromEntity, toEntity FROM entity_relationship WHERE relation = :relation")
+    @UseRowMapper(EntityReferencePairMapper.class)
+    void listByRelation(@Bind("relation") int relation, Consumer<Entry<EntityReference, EntityReference>> consumer);
+
+    /** Maps a row to an entry of the reference to fromId entity and the reference to toId entity */
+    class EntityReferencePairMapper implements RowMapper<Entry<EntityReference, EntityReference>> {
+      @Override
+      public Entry<EntityReference, EntityReference> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        EntityReference from =
+            new EntityReference().withId(UUID.fromString(rs.getString("fromId"))).withType(rs.getString("fromEntity"));
+        EntityReference to =
+            new EntityReference().withId(UUID.fromString(rs.getString("toId"))).withType(rs.getString("toEntity"));
+        return new SimpleEntry<>(from, to);
+      }
+    }
+
+    /** Maps a row to an entry of fromId and the reference to the toId entity */
+    class ToEntityReferenceEntryMapper implements RowMapper<Entry<String, EntityReference>> {
+      @Override
+      public Entry<String, EntityReference> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        EntityReference ref =
+            new EntityReference().withId(UUID.fromString(rs.getString("toId"))).withType(rs.getString("toEntity"));
+        return new SimpleEntry<>(rs.getString("fromId"), ref);
+      }
+    }
+
+    /** Maps a row to an entry of toId and the reference to the fromId entity */
+    class FromEntityReferenceEntryMapper implements RowMapper<Entry<String, EntityReference>> {
+      @Override
+      public Entry<String, EntityReference> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        EntityReference ref =
+            new EntityReference().withId(UUID.fromString(rs.getString("fromId"))).withType(rs.getString("fromEntity"));
+        return new SimpleEntry<>(rs.getString("toId"), ref);
+      }
+    }
   }
 
   interface FeedDAO {
@@ -410,11 +574,77 @@ public interface CollectionDAO {
     @SqlQuery("SELECT json FROM thread_entity WHERE id = :id")
     String findById(@Bind("id") String id);
 
-    @SqlQuery("SELECT json FROM thread_entity")
-    List<String> list();
+    /**
+     * Ids of the threads where the entity with {@code fqnPrefix} and {@code type} is mentioned, threads about the
+     * entity or its fields, and threads created by or replied to by the user with {@code userId}. Joined with
+     * thread_entity as a derived table, which is materialized once instead of being evaluated for every thread.
+     */
+    String ENTITY_THREADS =
+        "SELECT toFQN AS id FROM field_relationship WHERE fromFQN LIKE CONCAT(:fqnPrefix, '%') AND fromType = :type "
+            + "AND toType = 'thread' AND relation = :mentionedIn "
+            + "UNION SELECT fromFQN FROM field_relationship WHERE "
+            + "(toFQN = :fqnPrefix OR toFQN LIKE CONCAT(:fqnPrefix, '.%')) "
+            + "AND (toType = :type OR toType LIKE CONCAT(:type, '.%')) AND fromType = 'thread' AND relation = :isAbout "
+            + "UNION SELECT toId FROM entity_relationship WHERE fromId = :userId AND toEntity = 'thread' "
+            + "AND relation IN (:created, :repliedTo)";
+
+    /** List the threads created before the thread with sequence {@code before}, latest first */
+    @SqlQuery("SELECT sequence, json FROM thread_entity WHERE sequence < :before ORDER BY sequence DESC LIMIT :limit")
+    @UseRowMapper(ThreadCursorMapper.class)
+    List<Entry<Long, String>> list(@Bind("before") long before, @Bind("limit") int limit);
+
+    @SqlQuery("SELECT count(*) FROM thread_entity")
+    int listCount();
+
+    /** List the threads of an entity created before the thread with sequence {@code before}, latest first */
+    @SqlQuery(
+        "SELECT t.sequence, t.json FROM thread_entity t JOIN ("
+            + ENTITY_THREADS
+            + ") e ON t.id = e.id WHERE t.sequence < :before ORDER BY t.sequence DESC LIMIT :limit")
+    @UseRowMapper(ThreadCursorMapper.class)
+    List<Entry<Long, String>> listByEntity(
+        @Bind("fqnPrefix") String fqnPrefix,
+        @Bind("type") String type,
+        @Bind("userId") String userId,
+        @Bind("mentionedIn") int mentionedIn,
+        @Bind("isAbout") int isAbout,
+        @Bind("created") int created,
+        @Bind("repliedTo") int repliedTo,
+        @Bind("before") long before,
+        @Bind("limit") int limit);
+
+    @SqlQuery("SELECT count(*) FROM thread_entity t JOIN (" + ENTITY_THREADS + ") e ON t.id = e.id")
+    int listCountByEntity(
+        @Bind("fqnPrefix") String fqnPrefix,
+        @Bind("type") String type,
+        @Bind("userId") String userId,
+        @Bind("mentionedIn") int mentionedIn,
+        @Bind("isAbout") int isAbout,
+        @Bind("created") int created,
+        @Bind("repliedTo") int repliedTo);
+
+    @SqlUpdate("INSERT INTO thread_post(threadId, json) VALUES (:threadId, :json)")
+    void insertPost(@Bind("threadId") String threadId, @Bind("json") String json);
+
+    /** List the posts of the given threads in the order they were added. Each entry is a thread id and a post JSON */
+    @SqlQuery("SELECT threadId, json FROM thread_post WHERE threadId IN (<threadIds>) ORDER BY sequence")
+    @UseRowMapper(ThreadPostMapper.class)
+    List<Entry<String, String>> listPosts(@BindList("threadIds") List<String> threadIds);
+
+    /** Maps a row to an entry of the thread sequence and the thread JSON */
+    class ThreadCursorMapper implements RowMapper<Entry<Long, String>> {
+      @Override
+      public Entry<Long, String> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new SimpleEntry<>(r.getLong("sequence"), r.getString("json"));
+      }
+    }
 
-    @SqlUpdate("UPDATE thread_entity SET json = :json where id = :id")
-    void update(@Bind("id") String id, @Bind("json") String json);
+    class ThreadPostMapper implements RowMapper<Entry<String, String>> {
+      @Override
+      public Entry<String, String> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new SimpleEntry<>(r.getString("threadId"), r.getString("json"));
+      }
+    }
   }
 
   interface FieldRelationshipDAO {
@@ -714,6 +944,237 @@ public interface CollectionDAO {
     }
   }
 
+  /** Table profiles with one row per table and profile date. See {@link TableProfileCodec} for the json format */
+  interface TableProfileDAO {
+    @SqlUpdate(
+        "INSERT INTO table_profile (tableId, profileDate, json) VALUES (:tableId, :profileDate, :json) "
+            + "ON DUPLICATE KEY UPDATE json = :json")
+    void insert(@Bind("tableId") String tableId, @Bind("profileDate") String profileDate, @Bind("json") String json);
+
+    /**
+     * List profiles between the optional start and end dates and before the optional {@code after} date, latest first
+     */
+    @SqlQuery(
+        "SELECT json FROM table_profile WHERE tableId = :tableId "
+            + "AND (:startDate IS NULL OR profileDate >= :startDate) "
+            + "AND (:endDate IS NULL OR profileDate <= :endDate) "
+            + "AND (:after IS NULL OR profileDate < :after) "
+            + "ORDER BY profileDate DESC LIMIT :limit")
+    List<String> list(
+        @Bind("tableId") String tableId,
+        @Bind("startDate") String startDate,
+        @Bind("endDate") String endDate,
+        @Bind("after") String after,
+        @Bind("limit") int limit);
+
+    @SqlQuery(
+        "SELECT COUNT(*) FROM table_profile WHERE tableId = :tableId "
+            + "AND (:startDate IS NULL OR profileDate >= :startDate) "
+            + "AND (:endDate IS NULL OR profileDate <= :endDate)")
+    int listCount(
+        @Bind("tableId") String tableId, @Bind("startDate") String startDate, @Bind("endDate") String endDate);
+
+    @SqlQuery("SELECT MAX(profileDate) FROM table_profile WHERE tableId = :tableId")
+    String getLatestProfileDate(@Bind("tableId") String tableId);
+
+    @SqlUpdate("DELETE FROM table_profile WHERE tableId = :tableId AND profileDate < :date - INTERVAL :days DAY")
+    int deleteBefore(@Bind("tableId") String tableId, @Bind("date") String date, @Bind("days") int days);
+
+    /** Keep only the first profile of each week for the profiles older than {@code days} before the given date */
+    @SqlUpdate(
+        "DELETE FROM table_profile WHERE tableId = :tableId AND profileDate < :date - INTERVAL :days DAY "
+            + "AND profileDate NOT IN (SELECT keepDate FROM ("
+            + "SELECT MIN(profileDate) AS keepDate FROM table_profile "
+            + "WHERE tableId = :tableId AND profileDate < :date - INTERVAL :days DAY "
+            + "GROUP BY YEARWEEK(profileDate, 3)) weekly)")
+    int downsampleBefore(@Bind("tableId") String tableId, @Bind("date") String date, @Bind("days") int days);
+
+    @SqlUpdate("DELETE FROM table_profile WHERE tableId = :tableId")
+    void deleteAll(@Bind("tableId") String tableId);
+  }
+
+  /**
+   * Queries that ran against a table with one row per table and query checksum. The number of times a query ran and the
+   * latest date it ran on are kept in columns and set in the {@link SQLQuery} read from a row.
+   */
+  @RegisterRowMapper(TableQueryDAO.SQLQueryMapper.class)
+  interface TableQueryDAO {
+    @SqlUpdate(
+        "INSERT INTO table_query (tableId, checksum, vote, lastSeen, json) "
+            + "VALUES (:tableId, :checksum, COALESCE(:vote, 0), :lastSeen, :json) "
+            + "ON DUPLICATE KEY UPDATE queryCount = queryCount + 1, vote = COALESCE(:vote, vote), "
+            + "lastSeen = GREATEST(lastSeen, :lastSeen), json = :json")
+    void upsert(
+        @Bind("tableId") String tableId,
+        @Bind("checksum") String checksum,
+        @Bind("vote") Double vote,
+        @Bind("lastSeen") String lastSeen,
+        @Bind("json") String json);
+
+    @SqlQuery(
+        "SELECT json, vote, queryCount, lastSeen FROM table_query WHERE tableId = :tableId AND checksum = :checksum")
+    SQLQuery find(@Bind("tableId") String tableId, @Bind("checksum") String checksum);
+
+    /**
+     * List queries ordered by {@code orderBy} column, highest first. For the next page, {@code after} and {@code
+     * afterChecksum} are the {@code orderBy} column value and the checksum of the last query in the previous page.
+     */
+    @SqlQuery(
+        "SELECT json, vote, queryCount, lastSeen FROM table_query WHERE tableId = :tableId "
+            + "AND (:after IS NULL OR <orderBy> < :after OR (<orderBy> = :after AND checksum > :afterChecksum)) "
+            + "ORDER BY <orderBy> DESC, checksum LIMIT :limit")
+    List<SQLQuery> list(
+        @Bind("tableId") String tableId,
+        @Define("orderBy") String orderBy,
+        @Bind("after") String after,
+        @Bind("afterChecksum") String afterChecksum,
+        @Bind("limit") int limit);
+
+    @SqlQuery("SELECT COUNT(*) FROM table_query WHERE tableId = :tableId")
+    int listCount(@Bind("tableId") String tableId);
+
+    @SqlUpdate("DELETE FROM table_query WHERE tableId = :tableId")
+    void deleteAll(@Bind("tableId") String tableId);
+
+    class SQLQueryMapper implements RowMapper<SQLQuery> {
+      @Override
+      public SQLQuery map(ResultSet rs, StatementContext ctx) throws SQLException {
+        try {
+          return JsonUtils.readValue(rs.getString("json"), SQLQuery.class)
+              .withVote(rs.getDouble("vote"))
+              .withCount(rs.getInt("queryCount"))
+              .withQueryDate(rs.getString("lastSeen"));
+        } catch (IOException e) {
+          throw new SQLException("Failed to read query json", e);
+        }
+      }
+    }
+  }
+
+  /** Sample data of a table encoded with {@link org.openmetadata.catalog.util.TableDataCodec} */
+  interface TableSampleDataDAO {
+    @SqlUpdate("REPLACE INTO table_sample_data (tableId, data) VALUES (:tableId, :data)")
+    void insert(@Bind("tableId") String tableId, @Bind("data") byte[] data);
+
+    @SqlUpdate("INSERT IGNORE INTO table_sample_data (tableId, data) VALUES (:tableId, :data)")
+    void insertIfAbsent(@Bind("tableId") String tableId, @Bind("data") byte[] data);
+
+    @SqlQuery("SELECT data FROM table_sample_data WHERE tableId = :tableId")
+    byte[] get(@Bind("tableId") String tableId);
+
+    @SqlUpdate("DELETE FROM table_sample_data WHERE tableId = :tableId")
+    void delete(@Bind("tableId") String tableId);
+  }
+
+  /**
+   * Joins of table columns with columns of other tables. Each join is stored in both directions in
+   * <i>table_join_daily</i> with one row per day and in <i>table_join</i> with the sum of the daily counts. The sum is
+   * updated incrementally as daily counts are added and expire. Daily counts before {@code windowStart} that are not
+   * expired yet are subtracted from the sum when reading joins.
+   */
+  interface TableJoinDAO {
+    /**
+     * Add the daily count to the sum after replacing the count already reported for the day. Must be called before
+     * {@link #upsertDailyCounts} with the same arguments.
+     */
+    @SqlBatch(
+        "INSERT INTO table_join (fromTableId, fromColumn, toTableId, toColumn, fromTableFQN, toTableFQN, joinCount) "
+            + "VALUES (:fromTableId, :fromColumn, :toTableId, :toColumn, :fromTableFQN, :toTableFQN, :count) "
+            + "ON DUPLICATE KEY UPDATE joinCount = joinCount + :count - COALESCE((SELECT d.joinCount "
+            + "FROM table_join_daily d WHERE d.fromTableId = :fromTableId AND d.fromColumn = :fromColumn "
+            + "AND d.toTableId = :toTableId AND d.toColumn = :toColumn AND d.joinDate = :date), 0)")
+    void upsertCounts(
+        @Bind("fromTableId") List<String> fromTableIds,
+        @Bind("fromColumn") List<String> fromColumns,
+        @Bind("toTableId") List<String> toTableIds,
+        @Bind("toColumn") List<String> toColumns,
+        @Bind("fromTableFQN") List<String> fromTableFQNs,
+        @Bind("toTableFQN") List<String> toTableFQNs,
+        @Bind("date") String date,
+        @Bind("count") List<Integer> counts);
+
+    @SqlBatch(
+        "INSERT INTO table_join_daily (fromTableId, fromColumn, toTableId, toColumn, joinDate, joinCount) "
+            + "VALUES (:fromTableId, :fromColumn, :toTableId, :toColumn, :date, :count) "
+            + "ON DUPLICATE KEY UPDATE joinCount = :count")
+    void upsertDailyCounts(
+        @Bind("fromTableId") List<String> fromTableIds,
+        @Bind("fromColumn") List<String> fromColumns,
+        @Bind("toTableId") List<String> toTableIds,
+        @Bind("toColumn") List<String> toColumns,
+        @Bind("date") String date,
+        @Bind("count") List<Integer> counts);
+
+    /** Subtract daily counts before {@code windowStart} from the sums of the given tables */
+    @SqlUpdate(
+        "UPDATE table_join j JOIN (SELECT fromTableId, fromColumn, toTableId, toColumn, SUM(joinCount) AS expired "
+            + "FROM table_join_daily WHERE fromTableId IN (<tableIds>) AND joinDate < :windowStart "
+            + "GROUP BY fromTableId, fromColumn, toTableId, toColumn) e "
+            + "ON j.fromTableId = e.fromTableId AND j.fromColumn = e.fromColumn "
+            + "AND j.toTableId = e.toTableId AND j.toColumn = e.toColumn "
+            + "SET j.joinCount = j.joinCount - e.expired")
+    void expireCounts(@BindList("tableIds") List<String> tableIds, @Bind("windowStart") String windowStart);
+
+    @SqlUpdate("DELETE FROM table_join_daily WHERE fromTableId IN (<tableIds>) AND joinDate < :windowStart")
+    void expireDailyCounts(@BindList("tableIds") List<String> tableIds, @Bind("windowStart") String windowStart);
+
+    @SqlUpdate("DELETE FROM table_join WHERE fromTableId IN (<tableIds>) AND joinCount <= 0")
+    void deleteEmptyCounts(@BindList("tableIds") List<String> tableIds);
+
+    /** List of column name and the column it is joined with since {@code windowStart} */
+    @SqlQuery(
+        "SELECT j.fromColumn, j.toTableFQN, j.toColumn, j.joinCount - COALESCE(SUM(d.joinCount), 0) AS windowCount "
+            + "FROM table_join j LEFT JOIN table_join_daily d ON d.fromTableId = j.fromTableId "
+            + "AND d.fromColumn = j.fromColumn AND d.toTableId = j.toTableId AND d.toColumn = j.toColumn "
+            + "AND d.joinDate < :windowStart "
+            + "WHERE j.fromTableId = :tableId "
+            + "GROUP BY j.fromTableId, j.fromColumn, j.toTableId, j.toColumn, j.toTableFQN, j.joinCount "
+            + "HAVING windowCount > 0 ORDER BY j.fromColumn, j.toTableFQN, j.toColumn")
+    @UseRowMapper(JoinedWithMapper.class)
+    List<Entry<String, JoinedWith>> list(@Bind("tableId") String tableId, @Bind("windowStart") String windowStart);
+
+    /** Tables in a database with the highest sum of column joins since {@code windowStart} */
+    @SqlQuery(
+        "SELECT j.fromTableId, j.fromTableFQN, SUM(j.joinCount) - COALESCE((SELECT SUM(d.joinCount) "
+            + "FROM table_join_daily d WHERE d.fromTableId = j.fromTableId AND d.joinDate < :windowStart), 0) "
+            + "AS windowCount "
+            + "FROM table_join j WHERE j.fromTableFQN LIKE CONCAT(:databaseFQN, '.%') "
+            + "GROUP BY j.fromTableId, j.fromTableFQN "
+            + "HAVING windowCount > 0 ORDER BY windowCount DESC, j.fromTableFQN LIMIT :limit")
+    @UseRowMapper(TableJoinCountMapper.class)
+    List<TableJoinCount> listMostJoined(
+        @Bind("databaseFQN") String databaseFQN, @Bind("windowStart") String windowStart, @Bind("limit") int limit);
+
+    @SqlUpdate("DELETE FROM table_join_daily WHERE fromTableId = :tableId OR toTableId = :tableId")
+    void deleteDailyCounts(@Bind("tableId") String tableId);
+
+    @SqlUpdate("DELETE FROM table_join WHERE fromTableId = :tableId OR toTableId = :tableId")
+    void deleteCounts(@Bind("tableId") String tableId);
+
+    class JoinedWithMapper implements RowMapper<Entry<String, JoinedWith>> {
+      @Override
+      public Entry<String, JoinedWith> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        JoinedWith joinedWith =
+            new JoinedWith()
+                .withFullyQualifiedName(rs.getString("toTableFQN") + "." + rs.getString("toColumn"))
+                .withJoinCount(rs.getInt("windowCount"));
+        return new SimpleEntry<>(rs.getString("fromColumn"), joinedWith);
+      }
+    }
+
+    class TableJoinCountMapper implements RowMapper<TableJoinCount> {
+      @Override
+      public TableJoinCount map(ResultSet rs, StatementContext ctx) throws SQLException {
+        EntityReference table =
+            new EntityReference()
+                .withId(UUID.fromString(rs.getString("fromTableId")))
+                .withType(Entity.TABLE)
+                .withName(rs.getString("fromTableFQN"));
+        return new TableJoinCount().withTable(table).withJoinCount(rs.getInt("windowCount"));
+      }
+    }
+  }
+
   interface LocationDAO extends EntityDAO<Location> {
     @Override
     default String getTableName() {
@@ -855,6 +1316,9 @@ public interface CollectionDAO {
     @SqlQuery("SELECT json FROM tag WHERE fullyQualifiedName = :fqn")
     String findTag(@Bind("fqn") String fqn);
 
+    @SqlQuery("SELECT json FROM tag")
+    List<String> listAllTags();
+
     @SqlUpdate(
         "INSERT IGNORE INTO tag_usage (tagFQN, targetFQN, labelType, state) VALUES (:tagFQN, :targetFQN, "
             + ":labelType, :state)")
@@ -864,11 +1328,30 @@ public interface CollectionDAO {
         @Bind("labelType") int labelType,
         @Bind("state") int state);
 
+    @SqlBatch(
+        "INSERT IGNORE INTO tag_usage (tagFQN, targetFQN, labelType, state) VALUES (:tagFQN, :targetFQN, "
+            + ":labelType, :state)")
+    void applyTagBatch(
+        @Bind("tagFQN") List<String> tagFQNs,
+        @Bind("targetFQN") List<String> targetFQNs,
+        @Bind("labelType") List<Integer> labelTypes,
+        @Bind("state") List<Integer> states);
+
+    @SqlBatch("DELETE FROM tag_usage WHERE tagFQN = :tagFQN AND targetFQN = :targetFQN")
+    void deleteTagBatch(@Bind("tagFQN") List<String> tagFQNs, @Bind("targetFQN") List<String> targetFQNs);
+
     @SqlQuery(
         "SELECT tu.tagFQN, tu.labelType, tu.state, t.json ->> '$.description' AS description FROM tag_usage tu "
             + "JOIN tag t ON tu.tagFQN = t.fullyQualifiedName WHERE tu.targetFQN = :targetFQN ORDER BY tu.tagFQN")
     List<TagLabel> getTags(@Bind("targetFQN") String targetFQN);
 
+    @SqlQuery(
+        "SELECT tu.targetFQN, tu.tagFQN, tu.labelType, tu.state, t.json ->> '$.description' AS description "
+            + "FROM tag_usage tu JOIN tag t ON tu.tagFQN = t.fullyQualifiedName "
+            + "WHERE tu.targetFQN IN (<targetFQNs>) ORDER BY tu.targetFQN, tu.tagFQN")
+    @UseRowMapper(TargetTagLabelMapper.class)
+    List<Entry<String, TagLabel>> getTagsBatch(@BindList("targetFQNs") List<String> targetFQNs);
+
     @SqlQuery("SELECT COUNT(*) FROM tag_usage WHERE tagFQN LIKE CONCAT(:fqnPrefix, '%')")
     int getTagCount(@Bind("fqnPrefix") String fqnPrefix);
 
@@ -888,6 +1371,14 @@ public interface CollectionDAO {
             .withDescription(r.getString("description"));
       }
     }
+
+    /** Maps a row to an entry of targetFQN and the tag label applied to it */
+    class TargetTagLabelMapper implements RowMapper<Entry<String, TagLabel>> {
+      @Override
+      public Entry<String, TagLabel> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new SimpleEntry<>(r.getString("targetFQN"), new TagLabelMapper().map(r, ctx));
+      }
+    }
   }
 
   interface TeamDAO extends EntityDAO<Team> {
@@ -936,32 +1427,55 @@ public interface CollectionDAO {
 
   @RegisterRowMapper(UsageDetailsMapper.class)
   interface UsageDAO {
-    @SqlUpdate(
+    /**
+     * Insert or replace the daily usage count of entities on a date. Rolling weekly and monthly counts are set to the
+     * daily count and then updated with {@link #updateRollingCounts}.
+     */
+    @SqlBatch(
         "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
-            + "SELECT :date, :id, :entityType, :count1, "
-            + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
-            + "INTERVAL 6 DAY)), "
-            + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
-            + "INTERVAL 29 DAY))")
-    void insert(
+            + "VALUES (:date, :id, :entityType, :count1, :count1, :count1) "
+            + "ON DUPLICATE KEY UPDATE count1 = :count1, count7 = :count1, count30 = :count1")
+    void upsertDailyCounts(
         @Bind("date") String date,
-        @Bind("id") String id,
+        @Bind("id") List<String> ids,
         @Bind("entityType") String entityType,
-        @Bind("count1") int count1);
+        @Bind("count1") List<Integer> counts);
 
+    /**
+     * Set the daily usage count of databases on a date to the sum of the daily counts of their tables on that date.
+     * Rolling weekly and monthly counts are set to the daily count and then updated with {@link #updateRollingCounts}.
+     */
     @SqlUpdate(
         "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
-            + "SELECT :date, :id, :entityType, :count1, "
-            + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
-            + "INTERVAL 6 DAY)), "
-            + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
-            + "INTERVAL 29 DAY)) "
-            + "ON DUPLICATE KEY UPDATE count1 = count1 + :count1, count7 = count7 + :count1, count30 = count30 + :count1")
-    void insertOrUpdateCount(
-        @Bind("date") String date,
-        @Bind("id") String id,
-        @Bind("entityType") String entityType,
-        @Bind("count1") int count1);
+            + "SELECT :date, r.fromId, 'database', SUM(u.count1), SUM(u.count1), SUM(u.count1) "
+            + "FROM entity_relationship r JOIN entity_usage u ON u.id = r.toId AND u.usageDate = :date "
+            + "WHERE r.fromId IN (<databaseIds>) AND r.relation = :relation AND r.toEntity = 'table' "
+            + "GROUP BY r.fromId "
+            + "ON DUPLICATE KEY UPDATE count1 = VALUES(count1), count7 = VALUES(count7), count30 = VALUES(count30)")
+    void upsertDatabaseCounts(
+        @Bind("date") String date, @BindList("databaseIds") List<String> databaseIds, @Bind("relation") int relation);
+
+    /**
+     * Update rolling weekly and monthly counts of entities on a date from their previous usage record in the last 30
+     * days. The counts of the previous record are carried over after subtracting the daily counts that fall out of the
+     * window. When usage is reported every day, that is a single day for each window.
+     */
+    @SqlUpdate(
+        "UPDATE entity_usage u JOIN ("
+            + "SELECT c.id, "
+            + "c.count1 + p.count7 - COALESCE((SELECT SUM(o.count1) FROM entity_usage o WHERE o.id = c.id "
+            + "AND o.usageDate BETWEEN p.usageDate - INTERVAL 6 DAY AND :date - INTERVAL 7 DAY), 0) AS count7, "
+            + "c.count1 + p.count30 - COALESCE((SELECT SUM(o.count1) FROM entity_usage o WHERE o.id = c.id "
+            + "AND o.usageDate BETWEEN p.usageDate - INTERVAL 29 DAY AND :date - INTERVAL 30 DAY), 0) AS count30 "
+            + "FROM entity_usage c JOIN ("
+            + "SELECT id, MAX(usageDate) AS usageDate FROM entity_usage WHERE id IN (<ids>) "
+            + "AND usageDate < :date AND usageDate >= :date - INTERVAL 30 DAY GROUP BY id"
+            + ") previous ON previous.id = c.id "
+            + "JOIN entity_usage p ON p.id = previous.id AND p.usageDate = previous.usageDate "
+            + "WHERE c.id IN (<ids>) AND c.usageDate = :date"
+            + ") rolling ON u.id = rolling.id AND u.usageDate = :date "
+            + "SET u.count7 = rolling.count7, u.count30 = rolling.count30")
+    void updateRollingCounts(@Bind("date") String date, @BindList("ids") List<String> ids);
 
     @SqlQuery(
         "SELECT id, usageDate, entityType, count1, count7, count30, "
@@ -976,28 +1490,62 @@ public interface CollectionDAO {
             + "WHERE usageDate IN (SELECT MAX(usageDate) FROM entity_usage WHERE id = :id) AND id = :id")
     UsageDetails getLatestUsage(@Bind("id") String id);
 
+    /** Get latest usage record for each of the given entities */
+    @SqlQuery(
+        "SELECT u.id, u.usageDate, u.entityType, u.count1, u.count7, u.count30, "
+            + "u.percentile1, u.percentile7, u.percentile30 FROM entity_usage u JOIN ("
+            + "SELECT id, MAX(usageDate) AS usageDate FROM entity_usage WHERE id IN (<ids>) GROUP BY id"
+            + ") latest ON u.id = latest.id AND u.usageDate = latest.usageDate")
+    @UseRowMapper(UsageDetailsEntryMapper.class)
+    List<Entry<String, UsageDetails>> getLatestUsageBatch(@BindList("ids") List<String> ids);
+
     @SqlUpdate("DELETE FROM entity_usage WHERE id = :id")
     int delete(@Bind("id") String id);
 
-    /**
-     * Note not using in following percentile computation PERCENT_RANK function as unit tests use mysql5.7, and it does
-     * not have window function
-     */
-    @SqlUpdate(
-        "UPDATE entity_usage u JOIN ( "
-            + "SELECT u1.id, "
-            + "(SELECT COUNT(*) FROM entity_usage as u2 WHERE u2.count1 <  u1.count1 AND u2.entityType = :entityType "
-            + "AND u2.usageDate = :date) as p1, "
-            + "(SELECT COUNT(*) FROM entity_usage as u3 WHERE u3.count7 <  u1.count7 AND u3.entityType = :entityType "
-            + "AND u3.usageDate = :date) as p7, "
-            + "(SELECT COUNT(*) FROM entity_usage as u4 WHERE u4.count30 <  u1.count30 AND u4.entityType = :entityType "
-            + "AND u4.usageDate = :date) as p30, "
-            + "(SELECT COUNT(*) FROM entity_usage WHERE entityType = :entityType AND usageDate = :date) as total "
-            + "FROM entity_usage u1 WHERE u1.entityType = :entityType AND u1.usageDate = :date"
-            + ") vals ON u.id = vals.id AND usageDate = :date "
-            + "SET u.percentile1 = ROUND(100 * p1/total, 2), u.percentile7 = ROUND(p7 * 100/total, 2), u.percentile30 ="
-            + " ROUND(p30*100/total, 2)")
-    void computePercentile(@Bind("entityType") String entityType, @Bind("date") String date);
+    /** Stream the daily, weekly and monthly usage counts of all the entities of a type on a date */
+    @SqlQuery(
+        "SELECT id, count1, count7, count30 FROM entity_usage WHERE entityType = :entityType AND usageDate = :date")
+    @UseRowMapper(UsageCountsMapper.class)
+    void listCounts(
+        @Bind("entityType") String entityType, @Bind("date") String date, Consumer<Entry<String, int[]>> consumer);
+
+    @SqlBatch(
+        "UPDATE entity_usage SET percentile1 = :percentile1, percentile7 = :percentile7, percentile30 = :percentile30 "
+            + "WHERE id = :id AND usageDate = :date")
+    void updatePercentiles(
+        @Bind("date") String date,
+        @Bind("id") List<String> ids,
+        @Bind("percentile1") List<Double> percentile1,
+        @Bind("percentile7") List<Double> percentile7,
+        @Bind("percentile30") List<Double> percentile30);
+
+    @SqlUpdate("INSERT IGNORE INTO usage_percentile_pending (entityType, usageDate) VALUES (:entityType, :date)")
+    void insertPending(@Bind("entityType") String entityType, @Bind("date") String date);
+
+    /** Entity types and dates with usage that is not ranked yet */
+    @SqlQuery("SELECT entityType, usageDate FROM usage_percentile_pending ORDER BY usageDate, entityType")
+    @UseRowMapper(PendingMapper.class)
+    List<Entry<String, String>> listPending();
+
+    @SqlUpdate("DELETE FROM usage_percentile_pending WHERE entityType = :entityType AND usageDate = :date")
+    void deletePending(@Bind("entityType") String entityType, @Bind("date") String date);
+
+    /** Maps a row to an entry of entity type and usage date */
+    class PendingMapper implements RowMapper<Entry<String, String>> {
+      @Override
+      public Entry<String, String> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new SimpleEntry<>(r.getString("entityType"), r.getString("usageDate"));
+      }
+    }
+
+    /** Maps a row to an entry of entity id and its daily, weekly and monthly usage counts */
+    class UsageCountsMapper implements RowMapper<Entry<String, int[]>> {
+      @Override
+      public Entry<String, int[]> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new SimpleEntry<>(
+            r.getString("id"), new int[] {r.getInt("count1"), r.getInt("count7"), r.getInt("count30")});
+      }
+    }
 
     class UsageDetailsMapper implements RowMapper<UsageDetails> {
       @Override
@@ -1015,6 +1563,14 @@ public interface CollectionDAO {
             .withMonthlyStats(monthlyStats);
       }
     }
+
+    /** Maps a row to an entry of entity id and its usage details */
+    class UsageDetailsEntryMapper implements RowMapper<Entry<String, UsageDetails>> {
+      @Override
+      public Entry<String, UsageDetails> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new SimpleEntry<>(r.getString("id"), new UsageDetailsMapper().map(r, ctx));
+      }
+    }
   }
 
   interface UserDAO extends EntityDAO<User> {
@@ -1112,29 +1668,32 @@ public interface CollectionDAO {
     @SqlUpdate("INSERT INTO change_event (json) VALUES (:json)")
     void insert(@Bind("json") String json);
 
-    default List<String> list(String eventType, List<String> entityTypes, String dateTime) {
-      if (entityTypes == null) {
-        return Collections.emptyList();
-      }
-      if (entityTypes.get(0).equals("*")) {
-        return listWithoutEntityFilter(eventType, dateTime);
-      }
-      return listWithEntityFilter(eventType, entityTypes, dateTime);
-    }
-
-    @SqlQuery(
-        "SELECT json FROM change_event WHERE "
-            + "eventType = :eventType AND (entityType IN (<entityTypes>)) AND dateTime >= :dateTime "
-            + "ORDER BY dateTime ASC")
-    List<String> listWithEntityFilter(
-        @Bind("eventType") String eventType,
-        @BindList("entityTypes") List<String> entityTypes,
-        @Bind("dateTime") String dateTime);
+    @SqlBatch("INSERT INTO change_event (json) VALUES (:json)")
+    void insertBatch(@Bind("json") List<String> json);
 
+    /**
+     * List the change events matching {@code condition} from the given {@code dateTime} ordered by sequence, starting
+     * after the event with the given {@code sequence}. Each entry is the sequence of an event and its JSON.
+     */
     @SqlQuery(
-        "SELECT json FROM change_event WHERE "
-            + "eventType = :eventType AND dateTime >= :dateTime "
-            + "ORDER BY dateTime ASC")
-    List<String> listWithoutEntityFilter(@Bind("eventType") String eventType, @Bind("dateTime") String dateTime);
+        "SELECT sequence, json FROM change_event WHERE (<condition>) AND dateTime >= :dateTime "
+            + "AND sequence > :sequence ORDER BY sequence LIMIT :limit")
+    @UseRowMapper(ChangeEventSequenceMapper.class)
+    List<Entry<Long, String>> list(
+        @Define("condition") String condition,
+        @Bind("dateTime") String dateTime,
+        @Bind("sequence") long sequence,
+        @Bind("limit") int limit);
+
+    @SqlQuery("SELECT count(*) FROM change_event WHERE (<condition>) AND dateTime >= :dateTime")
+    int listCount(@Define("condition") String condition, @Bind("dateTime") String dateTime);
+
+    /** Maps a row to an entry of the sequence and the change event JSON */
+    class ChangeEventSequenceMapper implements RowMapper<Entry<Long, String>> {
+      @Override
+      public Entry<Long, String> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new SimpleEntry<>(r.getLong("sequence"), r.getString("json"));
+      }
+    }
   }
 }
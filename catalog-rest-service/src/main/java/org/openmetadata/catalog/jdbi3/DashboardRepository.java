@@ -20,8 +20,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Dashboard;
@@ -32,6 +34,7 @@ import org.openmetadata.catalog.resources.dashboards.DashboardResource;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.type.UsageDetails;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
@@ -90,6 +93,35 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
     return dashboard;
   }
 
+  @Override
+  public List<Dashboard> setFields(List<Dashboard> dashboards, Fields fields) throws IOException {
+    // Owner, followers and tags are looked up with a single query for all the dashboards
+    List<String> ids = dashboards.stream().map(e -> e.getId().toString()).collect(Collectors.toList());
+    Map<String, EntityReference> owners =
+        fields.contains("owner")
+            ? EntityUtil.populateOwners(ids, dao.relationshipDAO(), dao.userDAO(), dao.teamDAO())
+            : null;
+    Map<String, List<EntityReference>> followers =
+        fields.contains("followers") ? EntityUtil.getFollowers(ids, dao.relationshipDAO(), dao.userDAO()) : null;
+    Map<String, List<TagLabel>> tags =
+        fields.contains("tags")
+            ? EntityUtil.getTags(
+                dao.tagDAO(), dashboards.stream().map(Dashboard::getFullyQualifiedName).collect(Collectors.toList()))
+            : null;
+    Map<String, UsageDetails> usage =
+        fields.contains("usageSummary") ? EntityUtil.getLatestUsage(dao.usageDAO(), ids) : null;
+    for (Dashboard dashboard : dashboards) {
+      String id = dashboard.getId().toString();
+      dashboard.setService(getService(dashboard));
+      dashboard.setOwner(owners != null ? owners.get(id) : null);
+      dashboard.setFollowers(followers != null ? followers.get(id) : null);
+      dashboard.setCharts(fields.contains("charts") ? getCharts(dashboard) : null);
+      dashboard.setTags(tags != null ? tags.get(dashboard.getFullyQualifiedName()) : null);
+      dashboard.setUsageSummary(usage != null ? usage.get(id) : null);
+    }
+    return dashboards;
+  }
+
   @Override
   public void restorePatchAttributes(Dashboard original, Dashboard updated) {
     // Patch can't make changes to following fields. Ignore the changes
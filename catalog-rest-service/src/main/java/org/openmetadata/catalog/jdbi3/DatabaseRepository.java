@@ -70,6 +70,7 @@ public class DatabaseRepository extends EntityRepository<Database> {
   @Transaction
   public void deleteLocation(String databaseId) {
     dao.relationshipDAO().deleteFrom(databaseId, Relationship.HAS.ordinal(), Entity.LOCATION);
+    dao.databaseDAO().clearFingerprints(List.of(UUID.fromString(databaseId)));
   }
 
   @Override
@@ -200,6 +201,7 @@ public class DatabaseRepository extends EntityRepository<Database> {
     dao.relationshipDAO()
         .insert(
             databaseId.toString(), locationId.toString(), Entity.DATABASE, Entity.LOCATION, Relationship.HAS.ordinal());
+    dao.databaseDAO().clearFingerprints(List.of(databaseId));
     return CREATED;
   }
 
@@ -0,0 +1,251 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.openmetadata.catalog.type.EntityReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read-through cache of entity JSON documents used by {@link EntityDAO#findEntityById(UUID)} and {@link
+ * EntityDAO#findEntityByName(String)}. Entries are keyed by entity table and id, with a secondary index from entity
+ * table and fully qualified name to id. JSON is cached instead of POJOs so that callers always get their own copy of
+ * the entity to populate fields on.
+ *
+ * <p>A separate, more compact index maps entity table and id to the {@link EntityReference} of the entity. It is used
+ * by {@link EntityDAO#findEntityReferencesByIds(List)} so that hydrating large lists of references, such as followers
+ * of an entity or entities owned by a user, does not need to read and parse full entity documents.
+ *
+ * <p>Entries are invalidated whenever an entity is updated or deleted through {@link EntityDAO}, once the change is
+ * committed. A generation counter incremented on every invalidation keeps a read that started before the commit from
+ * putting the old JSON back in the cache. Reads in a transaction bypass the cache so that they see the changes made by
+ * the transaction. The TTL bounds the staleness of changes made outside of this server instance.
+ */
+public final class EntityCache {
+  public static final Logger LOG = LoggerFactory.getLogger(EntityCache.class);
+  private static volatile EntityCache instance = new EntityCache(null, null);
+
+  private final boolean enabled;
+  private final Cache<String, Entry> entityById;
+  private final Cache<String, String> idByName;
+  private final Cache<String, EntityReference> referenceById;
+  private final AtomicLong generation = new AtomicLong();
+  private final Meter hits;
+  private final Meter misses;
+
+  private EntityCache(EntityCacheConfiguration config, MetricRegistry metrics) {
+    this.enabled = config != null && config.isEnabled();
+    long maxSize = enabled ? config.getMaxSize() : 0;
+    Duration ttl = Duration.ofSeconds(enabled ? config.getTtlSeconds() : 0);
+    this.entityById = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    this.idByName = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    long referenceMaxSize = enabled ? config.getReferenceMaxSize() : 0;
+    this.referenceById = Caffeine.newBuilder().maximumSize(referenceMaxSize).expireAfterWrite(ttl).build();
+    this.hits = metrics == null ? new Meter() : metrics.meter(MetricRegistry.name(EntityCache.class, "hits"));
+    this.misses = metrics == null ? new Meter() : metrics.meter(MetricRegistry.name(EntityCache.class, "misses"));
+    if (metrics != null) {
+      metrics.register(MetricRegistry.name(EntityCache.class, "size"), (Gauge<Long>) entityById::estimatedSize);
+      metrics.register(
+          MetricRegistry.name(EntityCache.class, "referenceSize"), (Gauge<Long>) referenceById::estimatedSize);
+    }
+  }
+
+  public static void initialize(EntityCacheConfiguration config, MetricRegistry metrics) {
+    metrics.removeMatching((name, metric) -> name.startsWith(EntityCache.class.getName()));
+    instance = new EntityCache(config, metrics);
+    LOG.info("Initialized entity cache with {}", config);
+  }
+
+  public static EntityCache getInstance() {
+    return instance;
+  }
+
+  /** Returns entity JSON for given id, loading it using {@code loader} on cache miss. Returns null when not found. */
+  public String getById(String table, UUID id, Supplier<Entry> loader) {
+    if (!isActive()) {
+      return json(loader.get());
+    }
+    Entry cached = entityById.getIfPresent(idKey(table, id.toString()));
+    if (cached != null) {
+      hits.mark();
+      return cached.json;
+    }
+    return load(table, loader);
+  }
+
+  /** Returns entity JSON for given fully qualified name, loading it using {@code loader} on cache miss. */
+  public String getByName(String table, String fqn, Supplier<Entry> loader) {
+    if (!isActive()) {
+      return json(loader.get());
+    }
+    String id = idByName.getIfPresent(nameKey(table, fqn));
+    if (id != null) {
+      Entry cached = entityById.getIfPresent(idKey(table, id));
+      // The entity might have been renamed since the name index entry was created
+      if (cached != null && fqn.equals(cached.fqn)) {
+        hits.mark();
+        return cached.json;
+      }
+    }
+    return load(table, loader);
+  }
+
+  /** Returns a copy of the cached reference to the entity with given id or null when it is not cached */
+  public EntityReference getReference(String table, UUID id) {
+    if (!isActive()) {
+      return null;
+    }
+    EntityReference cached = referenceById.getIfPresent(idKey(table, id.toString()));
+    if (cached == null) {
+      misses.mark();
+      return null;
+    }
+    hits.mark();
+    return copy(cached);
+  }
+
+  /**
+   * Returns the current generation. Pass it to {@link #putReference(String, EntityReference, long)} along with a
+   * reference read after calling this.
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /** Cache a reference read at {@code readGeneration}, unless the cache was invalidated after it was read */
+  public void putReference(String table, EntityReference ref, long readGeneration) {
+    if (isActive()) {
+      synchronized (this) {
+        if (generation.get() == readGeneration) {
+          referenceById.put(idKey(table, ref.getId().toString()), copy(ref));
+        }
+      }
+    }
+  }
+
+  /** Invalidate the entity with given id once the current transaction commits */
+  public void invalidate(String table, UUID id) {
+    if (enabled) {
+      AfterCommit.run(() -> remove(table, id));
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (this) {
+      generation.incrementAndGet();
+      entityById.invalidateAll();
+      idByName.invalidateAll();
+      referenceById.invalidateAll();
+    }
+  }
+
+  public long getHitCount() {
+    return hits.getCount();
+  }
+
+  public long getMissCount() {
+    return misses.getCount();
+  }
+
+  private boolean isActive() {
+    return enabled && !AfterCommit.isInTransaction();
+  }
+
+  private String load(String table, Supplier<Entry> loader) {
+    misses.mark();
+    long readGeneration = generation.get();
+    Entry entry = loader.get();
+    if (entry != null) {
+      synchronized (this) {
+        // Entity might have been changed after it was read. Don't cache the old version.
+        if (generation.get() == readGeneration) {
+          entityById.put(idKey(table, entry.id), entry);
+          if (entry.fqn != null) {
+            idByName.put(nameKey(table, entry.fqn), entry.id);
+          }
+        }
+      }
+    }
+    return json(entry);
+  }
+
+  private void remove(String table, UUID id) {
+    String key = idKey(table, id.toString());
+    synchronized (this) {
+      generation.incrementAndGet();
+      Entry cached = entityById.getIfPresent(key);
+      entityById.invalidate(key);
+      referenceById.invalidate(key);
+      if (cached != null && cached.fqn != null) {
+        idByName.invalidate(nameKey(table, cached.fqn));
+      }
+    }
+  }
+
+  private static String json(Entry entry) {
+    return entry == null ? null : entry.json;
+  }
+
+  private static EntityReference copy(EntityReference ref) {
+    return new EntityReference()
+        .withId(ref.getId())
+        .withType(ref.getType())
+        .withName(ref.getName())
+        .withDescription(ref.getDescription())
+        .withDisplayName(ref.getDisplayName())
+        .withHref(ref.getHref());
+  }
+
+  private static String idKey(String table, String id) {
+    return table + ":" + id;
+  }
+
+  private static String nameKey(String table, String fqn) {
+    return table + ":" + fqn;
+  }
+
+  /** Entity JSON along with the id and fully qualified name read from the columns of the entity table */
+  public static class Entry {
+    private final String id;
+    private final String fqn;
+    private final String json;
+
+    public Entry(String id, String fqn, String json) {
+      this.id = id;
+      this.fqn = fqn;
+      this.json = json;
+    }
+  }
+
+  public static class EntryMapper implements RowMapper<Entry> {
+    @Override
+    public Entry map(ResultSet r, StatementContext ctx) throws SQLException {
+      return new Entry(r.getString("id"), r.getString("fqn"), r.getString("json"));
+    }
+  }
+}
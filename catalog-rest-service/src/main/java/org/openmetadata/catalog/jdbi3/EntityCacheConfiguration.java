@@ -0,0 +1,72 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+public class EntityCacheConfiguration {
+  private boolean enabled = true;
+
+  /** Maximum number of entity JSON documents kept in the cache */
+  private long maxSize = 10000;
+
+  /** Maximum number of entity references kept in the reference index */
+  private long referenceMaxSize = 100000;
+
+  /** Time after which a cached entity is reloaded from the database */
+  private long ttlSeconds = 60;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public long getReferenceMaxSize() {
+    return referenceMaxSize;
+  }
+
+  public void setReferenceMaxSize(long referenceMaxSize) {
+    this.referenceMaxSize = referenceMaxSize;
+  }
+
+  public long getTtlSeconds() {
+    return ttlSeconds;
+  }
+
+  public void setTtlSeconds(long ttlSeconds) {
+    this.ttlSeconds = ttlSeconds;
+  }
+
+  @Override
+  public String toString() {
+    return "EntityCacheConfiguration{enabled="
+        + enabled
+        + ", maxSize="
+        + maxSize
+        + ", referenceMaxSize="
+        + referenceMaxSize
+        + ", ttlSeconds="
+        + ttlSeconds
+        + '}';
+  }
+}
@@ -17,16 +17,31 @@ import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityN
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.UseRowMapper;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.JsonUtils;
 
 public interface EntityDAO<T> {
@@ -43,15 +58,49 @@ public interface EntityDAO<T> {
   @SqlUpdate("INSERT INTO <table> (json) VALUES (:json)")
   void insert(@Define("table") String table, @Bind("json") String json);
 
-  @SqlUpdate("UPDATE <table> SET  json = :json WHERE id = :id")
+  @SqlBatch("INSERT INTO <table> (json) VALUES (:json)")
+  void insertBatch(@Define("table") String table, @Bind("json") List<String> jsons);
+
+  @SqlUpdate("UPDATE <table> SET  json = :json, fingerprint = NULL WHERE id = :id")
   void update(@Define("table") String table, @Bind("id") String id, @Bind("json") String json);
 
+  @SqlUpdate("UPDATE <table> SET fingerprint = :fingerprint WHERE id = :id")
+  void updateFingerprint(@Define("table") String table, @Bind("id") String id, @Bind("fingerprint") String fingerprint);
+
+  @SqlUpdate("UPDATE <table> SET fingerprint = NULL WHERE id IN (<ids>)")
+  void clearFingerprints(@Define("table") String table, @BindList("ids") List<String> ids);
+
+  @SqlQuery("SELECT json, fingerprint FROM <table> WHERE <nameColumn> = :name")
+  @UseRowMapper(JsonFingerprintMapper.class)
+  Entry<String, String> findJsonAndFingerprintByName(
+      @Define("table") String table, @Define("nameColumn") String nameColumn, @Bind("name") String name);
+
   @SqlQuery("SELECT json FROM <table> WHERE id = :id")
   String findById(@Define("table") String table, @Bind("id") String id);
 
+  @SqlQuery("SELECT id, <nameColumn> AS fqn, json FROM <table> WHERE id = :id")
+  @RegisterRowMapper(EntityCache.EntryMapper.class)
+  EntityCache.Entry findEntryById(
+      @Define("table") String table, @Define("nameColumn") String nameColumn, @Bind("id") String id);
+
+  @SqlQuery("SELECT id, <nameColumn> AS fqn, json FROM <table> WHERE <nameColumn> = :name")
+  @RegisterRowMapper(EntityCache.EntryMapper.class)
+  EntityCache.Entry findEntryByName(
+      @Define("table") String table, @Define("nameColumn") String nameColumn, @Bind("name") String name);
+
+  @SqlQuery("SELECT json FROM <table> WHERE id IN (<ids>)")
+  List<String> findByIds(@Define("table") String table, @BindList("ids") List<String> ids);
+
+  @SqlQuery("SELECT id FROM <table> WHERE id IN (<ids>)")
+  List<String> findIds(@Define("table") String table, @BindList("ids") List<String> ids);
+
   @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> = :name")
   String findByName(@Define("table") String table, @Define("nameColumn") String nameColumn, @Bind("name") String name);
 
+  @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> IN (<names>)")
+  List<String> findByNames(
+      @Define("table") String table, @Define("nameColumn") String nameColumn, @BindList("names") List<String> names);
+
   @SqlQuery(
       "SELECT count(*) FROM <table> WHERE " + "(<nameColumn> LIKE CONCAT(:fqnPrefix, '.%') OR :fqnPrefix IS NULL)")
   int listCount(
@@ -102,11 +151,38 @@ public interface EntityDAO<T> {
 
   default void update(UUID id, String json) {
     update(getTableName(), id.toString(), json);
+    EntityCache.getInstance().invalidate(getTableName(), id);
+  }
+
+  /** Record the content fingerprint of the PUT request that last created or updated the entity */
+  default void updateFingerprint(UUID id, String fingerprint) {
+    updateFingerprint(getTableName(), id.toString(), fingerprint);
+  }
+
+  /** Clear the content fingerprint of the entities when their relationships change outside of an update */
+  default void clearFingerprints(List<UUID> ids) {
+    if (!ids.isEmpty()) {
+      List<String> idList = ids.stream().map(UUID::toString).collect(Collectors.toList());
+      for (int i = 0; i < idList.size(); i += EntityUtil.BIND_LIST_BATCH_SIZE) {
+        clearFingerprints(
+            getTableName(), idList.subList(i, Math.min(i + EntityUtil.BIND_LIST_BATCH_SIZE, idList.size())));
+      }
+    }
+  }
+
+  /**
+   * Returns the stored JSON and the content fingerprint of the entity with the given fully qualified name, or null when
+   * the entity does not exist. The fingerprint is null when there is none.
+   */
+  default Entry<String, String> findJsonAndFingerprintByFqn(String fqn) {
+    return findJsonAndFingerprintByName(getTableName(), getNameColumn(), fqn);
   }
 
   default T findEntityById(UUID id) throws IOException {
     Class<T> clz = getEntityClass();
-    String json = findById(getTableName(), id.toString());
+    String json =
+        EntityCache.getInstance()
+            .getById(getTableName(), id, () -> findEntryById(getTableName(), getNameColumn(), id.toString()));
     T entity = null;
     if (json != null) {
       entity = JsonUtils.readValue(json, clz);
@@ -120,7 +196,9 @@ public interface EntityDAO<T> {
 
   default T findEntityByName(String fqn) throws IOException {
     Class<T> clz = getEntityClass();
-    String json = findByName(getTableName(), getNameColumn(), fqn);
+    String json =
+        EntityCache.getInstance()
+            .getByName(getTableName(), fqn, () -> findEntryByName(getTableName(), getNameColumn(), fqn));
     T entity = null;
     if (json != null) {
       entity = JsonUtils.readValue(json, clz);
@@ -132,6 +210,71 @@ public interface EntityDAO<T> {
     return entity;
   }
 
+  /**
+   * Find entities with given ids using a query per {@link EntityUtil#BIND_LIST_BATCH_SIZE} ids. Ids that are not found
+   * are ignored.
+   */
+  default List<T> findEntitiesByIds(List<UUID> ids) throws IOException {
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> idList = ids.stream().map(UUID::toString).distinct().collect(Collectors.toList());
+    return JsonUtils.readObjects(
+        EntityUtil.queryInBatches(idList, batch -> findByIds(getTableName(), batch)), getEntityClass());
+  }
+
+  /**
+   * Find references to entities with given ids. References are read from the reference index of {@link EntityCache} and
+   * the remaining entities are read using a query per batch of ids. Ids that are not found are ignored.
+   */
+  default List<EntityReference> findEntityReferencesByIds(List<UUID> ids) throws IOException {
+    EntityCache cache = EntityCache.getInstance();
+    long generation = cache.getGeneration();
+    List<EntityReference> refs = new ArrayList<>();
+    List<UUID> missing = new ArrayList<>();
+    for (UUID id : new LinkedHashSet<>(ids)) {
+      EntityReference ref = cache.getReference(getTableName(), id);
+      if (ref != null) {
+        refs.add(ref);
+      } else {
+        missing.add(id);
+      }
+    }
+    for (T entity : findEntitiesByIds(missing)) {
+      EntityReference ref = getEntityReference(entity);
+      cache.putReference(getTableName(), ref, generation);
+      refs.add(ref);
+    }
+    return refs;
+  }
+
+  /** Returns the given ids that exist using a query per {@link EntityUtil#BIND_LIST_BATCH_SIZE} ids */
+  default List<String> findExistingIds(List<String> ids) {
+    return ids.isEmpty()
+        ? Collections.emptyList()
+        : EntityUtil.queryInBatches(ids, batch -> findIds(getTableName(), batch));
+  }
+
+  /** Insert entities given as JSON documents using a single batched statement */
+  default void insertAll(List<String> jsons) {
+    if (!jsons.isEmpty()) {
+      insertBatch(getTableName(), jsons);
+    }
+  }
+
+  /**
+   * Find entities with given fully qualified names using a query per {@link EntityUtil#BIND_LIST_BATCH_SIZE} names.
+   * Names that are not found are ignored.
+   */
+  default List<T> findEntitiesByNames(List<String> fqns) throws IOException {
+    if (fqns.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return JsonUtils.readObjects(
+        EntityUtil.queryInBatches(fqns, batch -> findByNames(getTableName(), getNameColumn(), batch)),
+        getEntityClass());
+  }
+
   default EntityReference findEntityReferenceById(UUID id) throws IOException {
     return getEntityReference(findEntityById(id));
   }
@@ -166,10 +309,19 @@ public interface EntityDAO<T> {
 
   default int delete(UUID id) {
     int rowsDeleted = delete(getTableName(), id.toString());
+    EntityCache.getInstance().invalidate(getTableName(), id);
     if (rowsDeleted <= 0) {
       String entityName = Entity.getEntityNameFromClass(getEntityClass());
       throw EntityNotFoundException.byMessage(entityNotFound(entityName, id));
     }
     return rowsDeleted;
   }
+
+  /** Maps a row to an entry of the entity JSON and its content fingerprint */
+  class JsonFingerprintMapper implements RowMapper<Entry<String, String>> {
+    @Override
+    public Entry<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+      return new SimpleEntry<>(rs.getString("json"), rs.getString("fingerprint"));
+    }
+  }
 }
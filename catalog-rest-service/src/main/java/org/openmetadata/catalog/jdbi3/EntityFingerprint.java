@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import org.apache.commons.codec.binary.Hex;
+import org.openmetadata.catalog.util.JsonUtils;
+
+/**
+ * Content fingerprint of the entity in a PUT create or update request, used by {@link
+ * EntityRepository#createOrUpdate(javax.ws.rs.core.UriInfo, Object)} to skip requests that do not change the entity.
+ *
+ * <p>The fingerprint is the MD5 hash of the entity JSON without the fields that are set by the catalog, such as id,
+ * version and update details. Fields are serialized in the order defined by the entity schema, so the same request
+ * always has the same fingerprint. The fingerprint of the last PUT request is stored with the entity and is cleared
+ * when the entity or its relationships are updated otherwise. A PUT request for an entity with the same stored
+ * fingerprint would not change the entity again, so it is answered with the stored entity after the request is
+ * validated, without comparing it with the entity. Only the relationship fields that the request sets are read for the
+ * response.
+ */
+public final class EntityFingerprint {
+  private static final List<String> EXCLUDED_FIELDS =
+      List.of("id", "version", "updatedAt", "updatedBy", "href", "changeDescription");
+  private static volatile EntityFingerprint instance = new EntityFingerprint(null);
+
+  private final Meter requests;
+  private final Meter skipped;
+
+  private EntityFingerprint(MetricRegistry metrics) {
+    this.requests = metrics == null ? new Meter() : metrics.meter(MetricRegistry.name(EntityFingerprint.class, "puts"));
+    this.skipped =
+        metrics == null ? new Meter() : metrics.meter(MetricRegistry.name(EntityFingerprint.class, "skipped"));
+    if (metrics != null) {
+      metrics.register(
+          MetricRegistry.name(EntityFingerprint.class, "skipRatio"),
+          new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+              return Ratio.of(skipped.getCount(), requests.getCount());
+            }
+          });
+    }
+  }
+
+  public static void initialize(MetricRegistry metrics) {
+    metrics.removeMatching((name, metric) -> name.startsWith(EntityFingerprint.class.getName()));
+    instance = new EntityFingerprint(metrics);
+  }
+
+  public static EntityFingerprint getInstance() {
+    return instance;
+  }
+
+  /** Record a PUT request, which was skipped when its fingerprint matched the stored fingerprint */
+  public void mark(boolean wasSkipped) {
+    requests.mark();
+    if (wasSkipped) {
+      skipped.mark();
+    }
+  }
+
+  /** Returns the content fingerprint of an entity */
+  public static String compute(Object entity) {
+    ObjectNode node = (ObjectNode) JsonUtils.valueToTree(entity);
+    node.remove(EXCLUDED_FIELDS);
+    try {
+      byte[] digest = MessageDigest.getInstance("MD5").digest(node.toString().getBytes(StandardCharsets.UTF_8));
+      return Hex.encodeHexString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
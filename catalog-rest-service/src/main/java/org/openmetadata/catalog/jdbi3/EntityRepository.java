@@ -17,16 +17,24 @@ import static org.openmetadata.catalog.util.EntityUtil.entityReferenceMatch;
 import static org.openmetadata.catalog.util.EntityUtil.objectMatch;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.security.GeneralSecurityException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiPredicate;
 import javax.json.JsonPatch;
@@ -38,6 +46,7 @@ import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityExtensionDAO;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.catalog.jdbi3.TableRepository.TableUpdater;
 import org.openmetadata.catalog.type.ChangeDescription;
@@ -46,10 +55,13 @@ import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.EventType;
 import org.openmetadata.catalog.type.FieldChange;
+import org.openmetadata.catalog.type.Paging;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.BulkResponse;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.EntityVersionCodec;
 import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
@@ -131,6 +143,18 @@ public abstract class EntityRepository<T> {
    */
   public abstract T setFields(T entity, Fields fields) throws IOException, ParseException;
 
+  /**
+   * Set the requested fields in a list of entities. This is used by list operations. The default implementation sets up
+   * the fields one entity at a time. Entities override this to look up the relationships for all the entities in the
+   * list with a single query per field.
+   */
+  public List<T> setFields(List<T> entities, Fields fields) throws IOException, ParseException {
+    for (T entity : entities) {
+      setFields(entity, fields);
+    }
+    return entities;
+  }
+
   /**
    * This method is used for validating an entity to be created during POST, PUT, and PATCH operations and prepare the
    * entity with all the required attributes and relationships.
@@ -204,11 +228,8 @@ public abstract class EntityRepository<T> {
     List<String> jsons =
         dao.listAfter(fqnPrefix, limitParam + 1, after == null ? "" : CipherText.instance().decrypt(after));
 
-    List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      T entity = withHref(uriInfo, setFields(JsonUtils.readValue(json, entityClass), fields));
-      entities.add(entity);
-    }
+    List<T> entities = setFields(JsonUtils.readObjects(jsons, entityClass), fields);
+    entities.forEach(entity -> withHref(uriInfo, entity));
     int total = dao.listCount(fqnPrefix);
 
     String beforeCursor, afterCursor = null;
@@ -220,17 +241,23 @@ public abstract class EntityRepository<T> {
     return getResultList(entities, beforeCursor, afterCursor, total);
   }
 
+  /**
+   * List up to {@code limit} entities ordered by fully qualified name, starting after the entity with the fully
+   * qualified name {@code after}. Relationship fields are not set. Used for paging through all the entities, where
+   * {@code after} is the name of the last entity in the previous page.
+   */
+  public final List<T> listAfter(String after, int limit) throws IOException {
+    return JsonUtils.readObjects(dao.listAfter(null, limit, after == null ? "" : after), entityClass);
+  }
+
   @Transaction
   public final ResultList<T> listBefore(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam, String before)
       throws IOException, GeneralSecurityException, ParseException {
     // Reverse scrolling - Get one extra result used for computing before cursor
     List<String> jsons = dao.listBefore(fqnPrefix, limitParam + 1, CipherText.instance().decrypt(before));
 
-    List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      T entity = withHref(uriInfo, setFields(JsonUtils.readValue(json, entityClass), fields));
-      entities.add(entity);
-    }
+    List<T> entities = setFields(JsonUtils.readObjects(jsons, entityClass), fields);
+    entities.forEach(entity -> withHref(uriInfo, entity));
     int total = dao.listCount(fqnPrefix);
 
     String beforeCursor = null, afterCursor;
@@ -248,9 +275,9 @@ public abstract class EntityRepository<T> {
     String extension = EntityUtil.getVersionExtension(entityName, requestedVersion);
 
     // Get previous version from version history
-    String json = daoCollection.entityExtensionDAO().getEntityVersion(id, extension);
-    if (json != null) {
-      return JsonUtils.readValue(json, entityClass);
+    EntityVersionPair previous = daoCollection.entityExtensionDAO().getEntityVersion(id, extension);
+    if (previous != null) {
+      return JsonUtils.readValue(decodeVersions(id, List.of(previous)).get(0), entityClass);
     }
     // If requested the latest version, return it from current version of the entity
     T entity = setFields(dao.findEntityById(UUID.fromString(id)), putFields);
@@ -262,17 +289,110 @@ public abstract class EntityRepository<T> {
         CatalogExceptionMessage.entityVersionNotFound(entityName, id, requestedVersion));
   }
 
+  /**
+   * List a page of versions of an entity from the latest to the oldest version. The page starts with the latest version
+   * when {@code before} is null and otherwise with the version older than {@code before}. In summary mode only the
+   * version, update details and change description of each version is returned instead of the full entity.
+   */
   @Transaction
-  public EntityHistory listVersions(String id) throws IOException, ParseException {
+  public EntityHistory listVersions(String id, int limit, String beforeVersion, boolean summary)
+      throws IOException, ParseException {
+    Double before = beforeVersion == null ? null : Double.parseDouble(beforeVersion);
     T latest = setFields(dao.findEntityById(UUID.fromString(id)), putFields);
-    String extensionPrefix = EntityUtil.getVersionExtensionPrefix(entityName);
-    List<EntityVersionPair> oldVersions = daoCollection.entityExtensionDAO().getEntityVersions(id, extensionPrefix);
-    oldVersions.sort(EntityUtil.compareVersion.reversed());
-
-    final List<Object> allVersions = new ArrayList<>();
-    allVersions.add(JsonUtils.pojoToJson(latest));
-    oldVersions.forEach(version -> allVersions.add(version.getEntityJson()));
-    return new EntityHistory().withEntityType(entityName).withVersions(allVersions);
+    EntityInterface<T> latestInterface = getEntityInterface(latest);
+
+    final List<Object> versions = new ArrayList<>();
+    if (before == null || latestInterface.getVersion() < before) {
+      versions.add(summary ? getVersionSummary(latestInterface) : JsonUtils.pojoToJson(latest));
+    }
+    double olderThan = before == null ? latestInterface.getVersion() : before;
+
+    // Get one more than remaining to know if there are older versions beyond this page
+    int remaining = limit - versions.size();
+    EntityExtensionDAO extensionDAO = daoCollection.entityExtensionDAO();
+    List<EntityVersionPair> oldVersions =
+        summary
+            ? extensionDAO.getEntityVersionSummaries(id, olderThan, remaining + 1)
+            : extensionDAO.getEntityVersions(id, olderThan, remaining + 1);
+
+    String beforeCursor = null;
+    if (oldVersions.size() > remaining) {
+      oldVersions = oldVersions.subList(0, remaining);
+      beforeCursor =
+          oldVersions.isEmpty()
+              ? latestInterface.getVersion().toString()
+              : oldVersions.get(oldVersions.size() - 1).getVersion().toString();
+    }
+    if (summary) {
+      oldVersions.forEach(version -> versions.add(version.getEntityJson()));
+    } else {
+      versions.addAll(decodeVersions(id, oldVersions));
+    }
+    int total = extensionDAO.getEntityVersionCount(id) + 1;
+    return new EntityHistory()
+        .withEntityType(entityName)
+        .withVersions(versions)
+        .withPaging(new Paging().withBefore(beforeCursor).withTotal(total));
+  }
+
+  /** Store a previous version of an entity in full as a checkpoint or as a delta from the latest checkpoint */
+  private void storeVersion(String id, Double version, String json) {
+    EntityExtensionDAO extensionDAO = daoCollection.entityExtensionDAO();
+    String extension = EntityUtil.getVersionExtension(entityName, version);
+    EntityVersionPair checkpoint = extensionDAO.getCheckpoint(id, version, EntityVersionCodec.DELTA_SCHEMA);
+    if (checkpoint != null
+        && extensionDAO.getEntityVersionCount(id, checkpoint.getVersion())
+            < EntityVersionCodec.CHECKPOINT_INTERVAL - 1) {
+      String delta = EntityVersionCodec.encode(checkpoint.getVersion(), checkpoint.getEntityJson(), json);
+      if (delta != null) {
+        extensionDAO.insertVersion(id, extension, EntityVersionCodec.DELTA_SCHEMA, version, delta);
+        return;
+      }
+    }
+    extensionDAO.insertVersion(id, extension, entityName, version, json);
+  }
+
+  /** Returns the entity json of the previous versions, reconstructing the delta encoded versions from checkpoints */
+  private List<String> decodeVersions(String id, List<EntityVersionPair> versions) {
+    Map<Double, String> checkpoints = new HashMap<>();
+    List<Double> checkpointVersions = new ArrayList<>();
+    for (EntityVersionPair version : versions) {
+      if (version.isDelta()) {
+        checkpointVersions.add(EntityVersionCodec.getCheckpoint(version.getEntityJson()));
+      } else {
+        checkpointVersions.add(null);
+        checkpoints.put(version.getVersion(), version.getEntityJson());
+      }
+    }
+
+    // Get the checkpoints of the deltas that are not in the given versions in a single query
+    Set<String> extensions = new LinkedHashSet<>();
+    checkpointVersions.stream()
+        .filter(v -> v != null && !checkpoints.containsKey(v))
+        .forEach(v -> extensions.add(EntityUtil.getVersionExtension(entityName, v)));
+    if (!extensions.isEmpty()) {
+      daoCollection
+          .entityExtensionDAO()
+          .getEntityVersions(id, new ArrayList<>(extensions))
+          .forEach(checkpoint -> checkpoints.put(checkpoint.getVersion(), checkpoint.getEntityJson()));
+    }
+
+    List<String> jsons = new ArrayList<>(versions.size());
+    for (int i = 0; i < versions.size(); i++) {
+      String json = versions.get(i).getEntityJson();
+      Double checkpointVersion = checkpointVersions.get(i);
+      jsons.add(checkpointVersion == null ? json : EntityVersionCodec.decode(checkpoints.get(checkpointVersion), json));
+    }
+    return jsons;
+  }
+
+  private static String getVersionSummary(EntityInterface<?> entityInterface) throws JsonProcessingException {
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("version", entityInterface.getVersion());
+    summary.put("updatedAt", entityInterface.getUpdatedAt());
+    summary.put("updatedBy", entityInterface.getUpdatedBy());
+    summary.put("changeDescription", entityInterface.getChangeDescription());
+    return JsonUtils.pojoToJson(summary);
   }
 
   public final T create(UriInfo uriInfo, T entity) throws IOException {
@@ -287,10 +407,24 @@ public abstract class EntityRepository<T> {
 
   @Transaction
   public final PutResponse<T> createOrUpdate(UriInfo uriInfo, T updated) throws IOException, ParseException {
+    String fingerprint = EntityFingerprint.compute(updated);
     prepare(updated);
-    T original = JsonUtils.readValue(dao.findJsonByFqn(getFullyQualifiedName(updated)), entityClass);
-    if (original == null) {
-      return new PutResponse<>(Status.CREATED, withHref(uriInfo, createNewEntity(updated)), RestUtil.ENTITY_CREATED);
+    Entry<String, String> stored = dao.findJsonAndFingerprintByFqn(getFullyQualifiedName(updated));
+    if (stored == null) {
+      EntityFingerprint.getInstance().mark(false);
+      T created = createNewEntity(updated);
+      dao.updateFingerprint(getEntityInterface(created).getId(), fingerprint);
+      return new PutResponse<>(Status.CREATED, withHref(uriInfo, created), RestUtil.ENTITY_CREATED);
+    }
+    T original = JsonUtils.readValue(stored.getKey(), entityClass);
+    // Entity last created or updated by the same request and not changed since is not updated again
+    boolean unchanged = fingerprint.equals(stored.getValue());
+    EntityFingerprint.getInstance().mark(unchanged);
+    if (unchanged) {
+      // Only the fields that the prepared request sets are returned, so relationships it does not set are not read
+      JsonNode request = JsonUtils.valueToTree(updated);
+      setFields(original, putFields.filter(field -> isSet(request, field)));
+      return new PutResponse<>(Status.OK, withHref(uriInfo, original), RestUtil.ENTITY_NO_CHANGE);
     }
     // Get all the fields in the original entity that can be updated during PUT operation
     setFields(original, putFields);
@@ -298,10 +432,100 @@ public abstract class EntityRepository<T> {
     // Update the attributes and relationships of an entity
     EntityUpdater entityUpdater = getUpdater(original, updated, false);
     entityUpdater.update();
+    dao.updateFingerprint(getEntityInterface(original).getId(), fingerprint);
     String change = entityUpdater.fieldsChanged() ? RestUtil.ENTITY_UPDATED : RestUtil.ENTITY_NO_CHANGE;
     return new PutResponse<>(Status.OK, withHref(uriInfo, updated), change);
   }
 
+  /** Returns true when {@code field} is set at any level of the request, such as the tags of a column */
+  private static boolean isSet(JsonNode request, String field) {
+    return request.findValues(field).stream().anyMatch(value -> !value.isNull());
+  }
+
+  /**
+   * Create or update a list of entities, as {@link #createOrUpdate(UriInfo, Object)} does for a single entity. The
+   * entities are processed in chunks of {@code chunkSize} and each chunk is committed in a separate transaction. Within
+   * a chunk, existing entities are read with a single query and new entities are stored using {@link
+   * #storeNewEntities(List)}.
+   *
+   * <p>An entity that fails {@code check} or {@link #prepare(Object)} is reported as failed without affecting other
+   * entities. Any other failure rolls back the chunk and all the entities in the chunk are reported as failed.
+   */
+  public final BulkResponse bulkCreateOrUpdate(UriInfo uriInfo, List<T> entities, int chunkSize, EntityCheck<T> check) {
+    BulkResponse response = new BulkResponse();
+    for (int start = 0; start < entities.size(); start += chunkSize) {
+      List<T> chunk = entities.subList(start, Math.min(start + chunkSize, entities.size()));
+      int offset = start;
+      try {
+        daoCollection
+            .inTransaction(transaction -> createOrUpdateChunk(uriInfo, chunk, offset, check))
+            .forEach(response::add);
+      } catch (Exception e) {
+        LOG.warn("Failed to create or update {} entities {} to {}", entityName, start, start + chunk.size() - 1, e);
+        for (int i = 0; i < chunk.size(); i++) {
+          response.add(BulkResponse.Result.failure(offset + i, getFullyQualifiedName(chunk.get(i)), e));
+        }
+      }
+    }
+    return response;
+  }
+
+  private List<BulkResponse.Result> createOrUpdateChunk(
+      UriInfo uriInfo, List<T> chunk, int offset, EntityCheck<T> check) throws IOException, ParseException {
+    BulkResponse.Result[] results = new BulkResponse.Result[chunk.size()];
+
+    // Validate the entities. Invalid entities are reported and skipped.
+    Map<String, Integer> indexByFqn = new LinkedHashMap<>();
+    for (int i = 0; i < chunk.size(); i++) {
+      T entity = chunk.get(i);
+      try {
+        check.check(entity);
+        prepare(entity);
+        String fqn = getFullyQualifiedName(entity);
+        if (indexByFqn.putIfAbsent(fqn, i) != null) {
+          throw new IllegalArgumentException(CatalogExceptionMessage.entityRepeatedInRequest(entityName, fqn));
+        }
+      } catch (Exception e) {
+        results[i] = BulkResponse.Result.failure(offset + i, getFullyQualifiedName(entity), e);
+      }
+    }
+
+    // Get all the existing entities with the fields that can be updated during PUT operation
+    List<T> originals = setFields(dao.findEntitiesByNames(new ArrayList<>(indexByFqn.keySet())), putFields);
+    Map<String, T> originalByFqn = new HashMap<>();
+    originals.forEach(original -> originalByFqn.put(getFullyQualifiedName(original), original));
+
+    List<T> newEntities = new ArrayList<>();
+    for (Entry<String, Integer> entry : indexByFqn.entrySet()) {
+      int index = entry.getValue();
+      T updated = chunk.get(index);
+      T original = originalByFqn.get(entry.getKey());
+      if (original == null) {
+        newEntities.add(updated);
+        results[index] = BulkResponse.Result.success(offset + index, Status.CREATED, RestUtil.ENTITY_CREATED, updated);
+        continue;
+      }
+      // Update the attributes and relationships of an entity
+      EntityUpdater entityUpdater = getUpdater(original, updated, false);
+      entityUpdater.update();
+      String change = entityUpdater.fieldsChanged() ? RestUtil.ENTITY_UPDATED : RestUtil.ENTITY_NO_CHANGE;
+      results[index] = BulkResponse.Result.success(offset + index, Status.OK, change, withHref(uriInfo, updated));
+    }
+    storeNewEntities(newEntities);
+    newEntities.forEach(entity -> withHref(uriInfo, entity));
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Store new entities and their relationships. The default implementation stores one entity at a time. Override this
+   * to store the entities using batched statements, as done in {@link TableRepository}.
+   */
+  protected void storeNewEntities(List<T> entities) throws IOException {
+    for (T entity : entities) {
+      createNewEntity(entity);
+    }
+  }
+
   @Transaction
   public final PatchResponse<T> patch(UriInfo uriInfo, UUID id, String user, JsonPatch patch)
       throws IOException, ParseException {
@@ -340,6 +564,7 @@ public abstract class EntityRepository<T> {
         daoCollection
             .relationshipDAO()
             .insert(userId.toString(), entityId.toString(), Entity.USER, entityName, Relationship.FOLLOWS.ordinal());
+    dao.clearFingerprints(List.of(entityId));
 
     ChangeDescription change = new ChangeDescription().withPreviousVersion(entityInterface.getVersion());
     change
@@ -370,6 +595,7 @@ public abstract class EntityRepository<T> {
 
     // Remove follower
     daoCollection.relationshipDAO().delete(userId.toString(), entityId.toString(), Relationship.FOLLOWS.ordinal());
+    dao.clearFingerprints(List.of(entityId));
 
     ChangeDescription change = new ChangeDescription().withPreviousVersion(entityInterface.getVersion());
     change
@@ -390,6 +616,12 @@ public abstract class EntityRepository<T> {
     return new PutResponse<>(Status.OK, changeEvent, RestUtil.ENTITY_FIELDS_CHANGED);
   }
 
+  /** Check such as authorization performed on each entity of a bulk request before it is created or updated */
+  @FunctionalInterface
+  public interface EntityCheck<T> {
+    void check(T entity) throws IOException;
+  }
+
   public final String getFullyQualifiedName(T entity) {
     return getEntityInterface(entity).getFullyQualifiedName();
   }
@@ -432,6 +664,7 @@ public abstract class EntityRepository<T> {
     protected final EntityInterface<T> updated;
     protected final boolean patchOperation;
     protected final ChangeDescription changeDescription = new ChangeDescription();
+    protected final BatchWriter tagWriter = new BatchWriter();
     protected boolean majorVersionChange = false;
 
     public EntityUpdater(T original, T updated, boolean patchOperation) {
@@ -449,6 +682,9 @@ public abstract class EntityRepository<T> {
       updateTags(updated.getFullyQualifiedName(), "tags", original.getTags(), updated.getTags());
       entitySpecificUpdate();
 
+      // Write the tag changes of the entity and its fields
+      tagWriter.flush(daoCollection);
+
       // Store the updated entity
       storeUpdate();
     }
@@ -487,17 +723,18 @@ public abstract class EntityRepository<T> {
       }
     }
 
+    /**
+     * Record the tag changes of the entity or field identified by {@code fqn}. Only the tag labels that are added or
+     * removed are written to the database by {@link #tagWriter}; a label whose type or state changed is replaced.
+     */
     protected final void updateTags(String fqn, String fieldName, List<TagLabel> origTags, List<TagLabel> updatedTags)
         throws IOException {
-      // Remove current entity tags in the database. It will be added back later from the merged tag list.
       origTags = Optional.ofNullable(origTags).orElse(Collections.emptyList());
       updatedTags = Optional.ofNullable(updatedTags).orElse(Collections.emptyList());
       if (origTags.isEmpty() && updatedTags.isEmpty()) {
         return; // Nothing to update
       }
 
-      // Remove current entity tags in the database. It will be added back later from the merged tag list.
-      EntityUtil.removeTagsByPrefix(daoCollection.tagDAO(), fqn);
       if (!patchOperation) {
         // PUT operation merges tags in the request with what already exists
         List<TagLabel> mergedTags = EntityUtil.mergeTags(updatedTags, origTags);
@@ -509,7 +746,8 @@ public abstract class EntityRepository<T> {
       List<TagLabel> deletedTags = new ArrayList<>();
       recordListChange(fieldName, origTags, updatedTags, addedTags, deletedTags, EntityUtil.tagLabelMatch);
       updatedTags.sort(EntityUtil.compareTagLabel);
-      EntityUtil.applyTags(daoCollection.tagDAO(), updatedTags, fqn);
+
+      tagWriter.updateTags(origTags, updatedTags, fqn);
     }
 
     public final boolean updateVersion(Double oldVersion) {
@@ -609,10 +847,7 @@ public abstract class EntityRepository<T> {
     public final void storeUpdate() throws IOException {
       if (updateVersion(original.getVersion())) { // Update changed the entity veresion
         // Store the old version
-        String extensionName = EntityUtil.getVersionExtension(entityName, original.getVersion());
-        daoCollection
-            .entityExtensionDAO()
-            .insert(original.getId().toString(), extensionName, entityName, JsonUtils.pojoToJson(original.getEntity()));
+        storeVersion(original.getId().toString(), original.getVersion(), JsonUtils.pojoToJson(original.getEntity()));
 
         // Store the new version
         EntityRepository.this.storeEntity(updated.getEntity(), true);
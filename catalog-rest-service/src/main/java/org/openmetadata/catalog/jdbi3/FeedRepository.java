@@ -14,14 +14,19 @@
 package org.openmetadata.catalog.jdbi3;
 
 import java.io.IOException;
+import java.security.GeneralSecurityException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.feed.Thread;
+import org.openmetadata.catalog.resources.feeds.FeedResource.ThreadList;
 import org.openmetadata.catalog.resources.feeds.FeedUtil;
 import org.openmetadata.catalog.resources.feeds.MessageParser;
 import org.openmetadata.catalog.resources.feeds.MessageParser.EntityLink;
@@ -52,8 +57,11 @@ public class FeedRepository {
     EntityReference owner =
         EntityUtil.populateOwner(aboutRef.getId(), dao.relationshipDAO(), dao.userDAO(), dao.teamDAO());
 
-    // Insert a new thread
-    dao.feedDAO().insert(JsonUtils.pojoToJson(thread));
+    // Insert a new thread. Posts are stored as rows of their own and not in the thread JSON
+    List<Post> posts = thread.getPosts();
+    dao.feedDAO().insert(JsonUtils.pojoToJson(thread.withPosts(null)));
+    thread.withPosts(posts);
+    dao.feedDAO().insertPost(thread.getId().toString(), JsonUtils.pojoToJson(posts.get(0)));
 
     // Add relationship User -- created --> Thread relationship
     dao.relationshipDAO()
@@ -100,7 +108,8 @@ public class FeedRepository {
   }
 
   public Thread get(String id) throws IOException {
-    return EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
+    Thread thread = EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
+    return thread.withPosts(getPosts(Collections.singletonList(id)).getOrDefault(id, new ArrayList<>()));
   }
 
   @Transaction
@@ -109,84 +118,87 @@ public class FeedRepository {
     UUID fromUser = post.getFrom();
     dao.userDAO().findEntityById(fromUser);
 
-    // Query 2 - Find the thread
-    Thread thread = EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
+    // Query 2 and 3 - Find the thread and its posts
+    Thread thread = get(id);
     FeedUtil.addPost(thread, post);
 
-    // TODO is rewriting entire json okay?
-    // Query 3 - update the JSON document for the feed
-    dao.feedDAO().update(id, JsonUtils.pojoToJson(thread));
-
-    // Query 4 - Add relation User -- repliedTo --> Thread
-    // Add relationship from thread to the user entity that is posting a reply
-    boolean relationAlreadyExists = false;
-    for (Post p : thread.getPosts()) {
-      if (p.getFrom().equals(post.getFrom())) {
-        relationAlreadyExists = true;
-        break;
-      }
-    }
-    if (!relationAlreadyExists) {
-      dao.relationshipDAO()
-          .insert(
-              post.getFrom().toString(),
-              thread.getId().toString(),
-              "user",
-              "thread",
-              Relationship.REPLIED_TO.ordinal());
-    }
+    // Query 4 - append the post to the thread
+    dao.feedDAO().insertPost(id, JsonUtils.pojoToJson(post));
+
+    // Query 5 - Add relation User -- repliedTo --> Thread
+    // Add relationship from thread to the user entity that is posting a reply. Relationship is ignored if it exists
+    dao.relationshipDAO().insert(post.getFrom().toString(), id, "user", "thread", Relationship.REPLIED_TO.ordinal());
     return thread;
   }
 
+  /**
+   * List threads latest first, optionally filtered by entity link. A thread is returned once even if the entity has
+   * multiple relationships (created, mentioned, repliedTo etc.) to the same thread. The cursor {@code after} is the
+   * sequence of the last thread of the previous page.
+   */
   @Transaction
-  public List<Thread> listThreads(String link) throws IOException {
+  public ThreadList listThreads(String link, int limitParam, String after)
+      throws IOException, GeneralSecurityException {
+    long before = after == null ? Long.MAX_VALUE : parseCursor(after);
+    List<Entry<Long, String>> rows;
+    int total;
     if (link == null) {
       // Not listing thread by data asset or user
-      return JsonUtils.readObjects(dao.feedDAO().list(), Thread.class);
-    }
-    EntityLink entityLink = EntityLink.parse(link);
-    if (entityLink.getLinkType() != LinkType.ENTITY) {
-      throw new IllegalArgumentException("Only entity links of type <E#/{entityType}/{entityName}> is allowed");
-    }
-    EntityReference reference = EntityUtil.validateEntityLink(entityLink);
-    List<String> threadIds = new ArrayList<>();
-    List<List<String>> result =
-        dao.fieldRelationshipDAO()
-            .listToByPrefix(
-                entityLink.getFullyQualifiedFieldValue(),
-                entityLink.getFullyQualifiedFieldType(),
-                "thread",
-                Relationship.MENTIONED_IN.ordinal());
-    result.forEach(l -> threadIds.add(l.get(1)));
-
-    // TODO remove hardcoding of thread
-    // For a user entitylink get created or replied relationships to the thread
-    if (reference.getType().equals(Entity.USER)) {
-      threadIds.addAll(
-          dao.relationshipDAO().findTo(reference.getId().toString(), Relationship.CREATED.ordinal(), "thread"));
-      threadIds.addAll(
-          dao.relationshipDAO().findTo(reference.getId().toString(), Relationship.REPLIED_TO.ordinal(), "thread"));
+      rows = dao.feedDAO().list(before, limitParam + 1);
+      total = dao.feedDAO().listCount();
     } else {
-      // Only data assets are added as about
-      result =
-          dao.fieldRelationshipDAO()
-              .listToByPrefix(
-                  entityLink.getFullyQualifiedFieldValue(),
-                  entityLink.getFullyQualifiedFieldType(),
-                  "thread",
-                  Relationship.IS_ABOUT.ordinal());
-      result.forEach(l -> threadIds.add(l.get(1)));
+      EntityLink entityLink = EntityLink.parse(link);
+      if (entityLink.getLinkType() != LinkType.ENTITY) {
+        throw new IllegalArgumentException("Only entity links of type <E#/{entityType}/{entityName}> is allowed");
+      }
+      EntityReference reference = EntityUtil.validateEntityLink(entityLink);
+
+      // For a user entitylink get created or replied relationships to the thread
+      String userId = reference.getType().equals(Entity.USER) ? reference.getId().toString() : "";
+      String fqn = entityLink.getFullyQualifiedFieldValue();
+      String type = entityLink.getFullyQualifiedFieldType();
+      int mentionedIn = Relationship.MENTIONED_IN.ordinal();
+      int isAbout = Relationship.IS_ABOUT.ordinal();
+      int created = Relationship.CREATED.ordinal();
+      int repliedTo = Relationship.REPLIED_TO.ordinal();
+      rows =
+          dao.feedDAO()
+              .listByEntity(fqn, type, userId, mentionedIn, isAbout, created, repliedTo, before, limitParam + 1);
+      total = dao.feedDAO().listCountByEntity(fqn, type, userId, mentionedIn, isAbout, created, repliedTo);
     }
 
+    String afterCursor = null;
+    if (rows.size() > limitParam) {
+      rows = rows.subList(0, limitParam);
+      afterCursor = String.valueOf(rows.get(limitParam - 1).getKey());
+    }
     List<Thread> threads = new ArrayList<>();
-    Set<String> uniqueValues = new HashSet<>();
-    for (String t : threadIds) {
-      // If an entity has multiple relationships (created, mentioned, repliedTo etc.) to the same thread
-      // Don't sent duplicated copies of the thread in response
-      if (uniqueValues.add(t)) {
-        threads.add(EntityUtil.validate(t, dao.feedDAO().findById(t), Thread.class));
-      }
+    for (Entry<Long, String> row : rows) {
+      threads.add(JsonUtils.readValue(row.getValue(), Thread.class));
+    }
+
+    // Fetch the posts of all the threads in the page with a single query
+    if (!threads.isEmpty()) {
+      List<String> threadIds = threads.stream().map(t -> t.getId().toString()).collect(Collectors.toList());
+      Map<String, List<Post>> posts = getPosts(threadIds);
+      threads.forEach(t -> t.setPosts(posts.getOrDefault(t.getId().toString(), new ArrayList<>())));
+    }
+    return new ThreadList(threads, null, afterCursor, total);
+  }
+
+  private Map<String, List<Post>> getPosts(List<String> threadIds) throws IOException {
+    Map<String, List<Post>> posts = new HashMap<>();
+    for (Entry<String, String> row : dao.feedDAO().listPosts(threadIds)) {
+      posts.computeIfAbsent(row.getKey(), k -> new ArrayList<>()).add(JsonUtils.readValue(row.getValue(), Post.class));
+    }
+    return posts;
+  }
+
+  private static long parseCursor(String cursor) {
+    try {
+      return Long.parseLong(cursor);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor " + cursor);
     }
-    return threads;
   }
 }
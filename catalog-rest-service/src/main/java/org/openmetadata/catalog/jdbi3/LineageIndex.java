@@ -0,0 +1,233 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.openmetadata.catalog.type.EntityReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory adjacency index of {@link Relationship#UPSTREAM} edges from <i>entity_relationship</i> table. It is used by
+ * {@link LineageRepository} to traverse the lineage graph without querying the database.
+ *
+ * <p>Each node is assigned an int slot. Entity ids are stored as two long arrays and entity types as an index into a
+ * small dictionary of types. Upstream and downstream neighbors of a node are stored as int arrays of slots.
+ *
+ * <p>The index is built at startup when enabled in the configuration and kept current by {@link
+ * LineageRepository#addLineage} and by {@link CollectionDAO.EntityRelationshipDAO#deleteAll(String)} when an entity is
+ * deleted. Both apply their change through {@link AfterCommit} so that the index never holds edges of a transaction
+ * that is rolled back.
+ */
+public final class LineageIndex {
+  public static final Logger LOG = LoggerFactory.getLogger(LineageIndex.class);
+  private static final int[] EMPTY = new int[0];
+  private static volatile LineageIndex instance;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<UUID, Integer> slots = new HashMap<>();
+  private final List<String> types = new ArrayList<>();
+  private long[] idMsb = new long[1024];
+  private long[] idLsb = new long[1024];
+  private short[] typeIndex = new short[1024];
+  private int[][] upstream = new int[1024][];
+  private int[] upstreamSize = new int[1024];
+  private int[][] downstream = new int[1024][];
+  private int[] downstreamSize = new int[1024];
+  private int[] freeSlots = new int[16];
+  private int freeSlotCount;
+  private int slotCount;
+
+  LineageIndex() {}
+
+  /** Build the index from all the lineage edges stored in the database */
+  public static void initialize(CollectionDAO dao) {
+    long start = System.currentTimeMillis();
+    LineageIndex index = new LineageIndex();
+    dao.relationshipDAO()
+        .listByRelation(Relationship.UPSTREAM.ordinal(), edge -> index.addEdge(edge.getKey(), edge.getValue()));
+    instance = index;
+    LOG.info("Built lineage index with {} nodes in {} ms", index.size(), System.currentTimeMillis() - start);
+  }
+
+  /** Returns the lineage index or null when the index is not enabled */
+  public static LineageIndex getInstance() {
+    return instance;
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return slots.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Add edge from ---> to */
+  public void addEdge(EntityReference from, EntityReference to) {
+    lock.writeLock().lock();
+    try {
+      int fromSlot = getOrAddSlot(from);
+      int toSlot = getOrAddSlot(to);
+      if (!contains(downstream[fromSlot], downstreamSize[fromSlot], toSlot)) {
+        downstream[fromSlot] = append(downstream[fromSlot], downstreamSize[fromSlot]++, toSlot);
+        upstream[toSlot] = append(upstream[toSlot], upstreamSize[toSlot]++, fromSlot);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Remove the entity and all the edges to and from it */
+  public void removeEntity(UUID id) {
+    lock.writeLock().lock();
+    try {
+      Integer slot = slots.remove(id);
+      if (slot == null) {
+        return;
+      }
+      // Edges of a self loop are in the arrays of this slot itself, which are dropped below
+      for (int i = 0; i < upstreamSize[slot]; i++) {
+        int from = upstream[slot][i];
+        if (from != slot) {
+          downstreamSize[from] = remove(downstream[from], downstreamSize[from], slot);
+        }
+      }
+      for (int i = 0; i < downstreamSize[slot]; i++) {
+        int to = downstream[slot][i];
+        if (to != slot) {
+          upstreamSize[to] = remove(upstream[to], upstreamSize[to], slot);
+        }
+      }
+      upstream[slot] = EMPTY;
+      downstream[slot] = EMPTY;
+      upstreamSize[slot] = 0;
+      downstreamSize[slot] = 0;
+      if (freeSlotCount == freeSlots.length) {
+        freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+      }
+      freeSlots[freeSlotCount++] = slot;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * In-memory equivalent of {@link CollectionDAO.EntityRelationshipDAO#findFromBatch(List, int)} when {@code upstream}
+   * is true and {@link CollectionDAO.EntityRelationshipDAO#findToBatch(List, int)} otherwise for lineage edges.
+   */
+  public List<Entry<String, EntityReference>> findBatch(List<String> ids, boolean upstream) {
+    List<Entry<String, EntityReference>> result = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      for (String id : ids) {
+        Integer slot = slots.get(UUID.fromString(id));
+        if (slot == null) {
+          continue;
+        }
+        int[] neighbors = upstream ? this.upstream[slot] : downstream[slot];
+        int count = upstream ? upstreamSize[slot] : downstreamSize[slot];
+        for (int i = 0; i < count; i++) {
+          result.add(new SimpleEntry<>(id, getReference(neighbors[i])));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return result;
+  }
+
+  private EntityReference getReference(int slot) {
+    return new EntityReference().withId(new UUID(idMsb[slot], idLsb[slot])).withType(types.get(typeIndex[slot]));
+  }
+
+  private int getOrAddSlot(EntityReference ref) {
+    Integer slot = slots.get(ref.getId());
+    if (slot != null) {
+      return slot;
+    }
+    slot = freeSlotCount > 0 ? freeSlots[--freeSlotCount] : slotCount++;
+    if (slot == idMsb.length) {
+      grow();
+    }
+    idMsb[slot] = ref.getId().getMostSignificantBits();
+    idLsb[slot] = ref.getId().getLeastSignificantBits();
+    typeIndex[slot] = getTypeIndex(ref.getType());
+    upstream[slot] = EMPTY;
+    downstream[slot] = EMPTY;
+    slots.put(ref.getId(), slot);
+    return slot;
+  }
+
+  private short getTypeIndex(String type) {
+    int index = types.indexOf(type);
+    if (index < 0) {
+      if (types.size() > Short.MAX_VALUE) {
+        throw new IllegalStateException("Too many entity types in lineage index: " + types.size());
+      }
+      types.add(type);
+      index = types.size() - 1;
+    }
+    return (short) index;
+  }
+
+  private void grow() {
+    int capacity = idMsb.length * 2;
+    idMsb = Arrays.copyOf(idMsb, capacity);
+    idLsb = Arrays.copyOf(idLsb, capacity);
+    typeIndex = Arrays.copyOf(typeIndex, capacity);
+    upstream = Arrays.copyOf(upstream, capacity);
+    upstreamSize = Arrays.copyOf(upstreamSize, capacity);
+    downstream = Arrays.copyOf(downstream, capacity);
+    downstreamSize = Arrays.copyOf(downstreamSize, capacity);
+  }
+
+  private static boolean contains(int[] array, int size, int value) {
+    for (int i = 0; i < size; i++) {
+      if (array[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int[] append(int[] array, int size, int value) {
+    if (size == array.length) {
+      array = Arrays.copyOf(array, Math.max(4, size * 2));
+    }
+    array[size] = value;
+    return array;
+  }
+
+  /** Remove value from the array by moving the last element in its place. Returns the new size */
+  private static int remove(int[] array, int size, int value) {
+    for (int i = 0; i < size; i++) {
+      if (array[i] == value) {
+        array[i] = array[size - 1];
+        return size - 1;
+      }
+    }
+    return size;
+  }
+}
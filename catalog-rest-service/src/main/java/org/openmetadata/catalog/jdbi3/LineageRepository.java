@@ -15,7 +15,15 @@ package org.openmetadata.catalog.jdbi3;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
@@ -24,8 +32,17 @@ import org.openmetadata.catalog.api.lineage.AddLineage;
 import org.openmetadata.catalog.type.Edge;
 import org.openmetadata.catalog.type.EntityLineage;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.EntityTypeCount;
+import org.openmetadata.catalog.type.LineageImpact;
+import org.openmetadata.catalog.util.EntityUtil;
 
 public class LineageRepository {
+  /** Default maximum number of nodes returned in each direction of a lineage graph. Larger graphs are truncated. */
+  public static final int DEFAULT_MAX_NODES = 1000;
+
+  /** Upper bound of the maximum number of nodes that can be requested */
+  public static final int MAX_NODES_LIMIT = 10000;
+
   private final CollectionDAO dao;
 
   public LineageRepository(CollectionDAO dao) {
@@ -33,16 +50,17 @@ public class LineageRepository {
   }
 
   @Transaction
-  public EntityLineage get(String entityType, String id, int upstreamDepth, int downstreamDepth) throws IOException {
+  public EntityLineage get(String entityType, String id, int upstreamDepth, int downstreamDepth, int maxNodes)
+      throws IOException {
     EntityReference ref = Entity.getEntityReference(entityType, UUID.fromString(id));
-    return getLineage(ref, upstreamDepth, downstreamDepth);
+    return getLineage(ref, upstreamDepth, downstreamDepth, maxNodes);
   }
 
   @Transaction
-  public EntityLineage getByName(String entityType, String fqn, int upstreamDepth, int downstreamDepth)
+  public EntityLineage getByName(String entityType, String fqn, int upstreamDepth, int downstreamDepth, int maxNodes)
       throws IOException {
     EntityReference ref = Entity.getEntityReferenceByName(entityType, fqn);
-    return getLineage(ref, upstreamDepth, downstreamDepth);
+    return getLineage(ref, upstreamDepth, downstreamDepth, maxNodes);
   }
 
   @Transaction
@@ -63,60 +81,178 @@ public class LineageRepository {
             from.getType(),
             to.getType(),
             Relationship.UPSTREAM.ordinal());
+    LineageIndex index = LineageIndex.getInstance();
+    if (index != null) {
+      EntityReference fromRef = from;
+      EntityReference toRef = to;
+      AfterCommit.run(() -> index.addEdge(fromRef, toRef));
+    }
   }
 
-  private EntityLineage getLineage(EntityReference primary, int upstreamDepth, int downstreamDepth) throws IOException {
-    List<EntityReference> entities = new ArrayList<>();
+  /**
+   * Returns the number of entities upstream and downstream of the given entity at any depth. The traversal stops at
+   * {@code maxNodes} nodes in each direction.
+   */
+  @Transaction
+  public LineageImpact getImpact(String entityType, String id, int maxNodes) throws IOException {
+    EntityReference ref = Entity.getEntityReference(entityType, UUID.fromString(id));
+    Traversal upstream = new Traversal(maxNodes);
+    Traversal downstream = new Traversal(maxNodes);
+    traverse(Collections.singletonList(ref.getId()), new ArrayList<>(), upstream, Integer.MAX_VALUE, true);
+    traverse(Collections.singletonList(ref.getId()), new ArrayList<>(), downstream, Integer.MAX_VALUE, false);
+    upstream.nodes.remove(ref.getId());
+    downstream.nodes.remove(ref.getId());
+    return new LineageImpact()
+        .withEntity(ref)
+        .withUpstreamCount(upstream.nodes.size())
+        .withUpstreamDepth(upstream.depth)
+        .withUpstreamEntityTypeCounts(countByType(upstream.nodes.values()))
+        .withDownstreamCount(downstream.nodes.size())
+        .withDownstreamDepth(downstream.depth)
+        .withDownstreamEntityTypeCounts(countByType(downstream.nodes.values()))
+        .withUpstreamTruncated(upstream.truncated)
+        .withDownstreamTruncated(downstream.truncated)
+        .withTruncated(upstream.truncated || downstream.truncated);
+  }
+
+  /**
+   * Returns all the entities downstream of the entities that belong to a service, such as all the tables downstream of
+   * the tables of a database service. Optionally filtered by {@code entityType}. Lineage edges are not returned.
+   */
+  @Transaction
+  public EntityLineage getServiceDownstream(String serviceType, String serviceId, String entityType, int maxNodes)
+      throws IOException {
+    EntityReference service = Entity.getEntityReference(serviceType, UUID.fromString(serviceId));
+
+    // Entities in the service: service contains database contains table; other services directly contain entities
+    List<UUID> seeds = new ArrayList<>();
+    List<String> level = Collections.singletonList(serviceId);
+    for (int i = 0; i < 2 && !level.isEmpty(); i++) {
+      List<String> nextLevel = new ArrayList<>();
+      for (Entry<String, EntityReference> entry :
+          EntityUtil.queryInBatches(
+              level, batch -> dao.relationshipDAO().findToBatch(batch, Relationship.CONTAINS.ordinal()))) {
+        seeds.add(entry.getValue().getId());
+        nextLevel.add(entry.getValue().getId().toString());
+      }
+      level = nextLevel;
+    }
+
+    Traversal traversal = new Traversal(maxNodes);
+    traverse(seeds, new ArrayList<>(), traversal, Integer.MAX_VALUE, false);
+    List<EntityReference> nodes =
+        traversal.nodes.values().stream()
+            .filter(node -> entityType == null || entityType.equals(node.getType()))
+            .collect(Collectors.toList());
+    return new EntityLineage()
+        .withEntity(service)
+        .withNodes(EntityUtil.getEntityReferences(nodes))
+        .withUpstreamEdges(new ArrayList<>())
+        .withDownstreamEdges(new ArrayList<>())
+        .withDownstreamTruncated(traversal.truncated)
+        .withTruncated(traversal.truncated);
+  }
+
+  private EntityLineage getLineage(EntityReference primary, int upstreamDepth, int downstreamDepth, int maxNodes)
+      throws IOException {
     EntityLineage lineage =
         new EntityLineage()
             .withEntity(primary)
-            .withNodes(entities)
             .withUpstreamEdges(new ArrayList<>())
             .withDownstreamEdges(new ArrayList<>());
-    addUpstreamLineage(primary.getId(), lineage, upstreamDepth);
-    addDownstreamLineage(primary.getId(), lineage, downstreamDepth);
 
-    // Remove duplicate nodes
-    lineage.withNodes(lineage.getNodes().stream().distinct().collect(Collectors.toList()));
+    // Each direction is traversed with its own node budget so that a large upstream graph does not hide downstream
+    List<UUID> start = Collections.singletonList(primary.getId());
+    Traversal upstream = new Traversal(maxNodes);
+    Traversal downstream = new Traversal(maxNodes);
+    traverse(start, lineage.getUpstreamEdges(), upstream, upstreamDepth, true);
+    traverse(start, lineage.getDownstreamEdges(), downstream, downstreamDepth, false);
 
-    // Add entityReference details
-    for (int i = 0; i < lineage.getNodes().size(); i++) {
-      EntityReference ref = lineage.getNodes().get(i);
-      ref = Entity.getEntityReference(ref.getType(), ref.getId());
-      lineage.getNodes().set(i, ref);
-    }
-    return lineage;
+    // Nodes in the lineage graph excluding the primary entity, in the order they are discovered
+    Map<UUID, EntityReference> nodes = new LinkedHashMap<>(upstream.nodes);
+    downstream.nodes.forEach(nodes::putIfAbsent);
+    nodes.remove(primary.getId());
+    return lineage
+        .withNodes(EntityUtil.getEntityReferences(nodes.values()))
+        .withUpstreamTruncated(upstream.truncated)
+        .withDownstreamTruncated(downstream.truncated)
+        .withTruncated(upstream.truncated || downstream.truncated);
   }
 
-  private void addUpstreamLineage(UUID id, EntityLineage lineage, int upstreamDepth) {
-    if (upstreamDepth == 0) {
-      return;
-    }
-    // from this id ---> find other ids
-    List<EntityReference> upstreamEntities =
-        dao.relationshipDAO().findFrom(id.toString(), Relationship.UPSTREAM.ordinal());
-    lineage.getNodes().addAll(upstreamEntities);
-
-    upstreamDepth--;
-    for (EntityReference upstreamEntity : upstreamEntities) {
-      lineage.getUpstreamEdges().add(new Edge().withFromEntity(upstreamEntity.getId()).withToEntity(id));
-      addUpstreamLineage(upstreamEntity.getId(), lineage, upstreamDepth); // Recursively add upstream nodes and edges
+  private static List<EntityTypeCount> countByType(Collection<EntityReference> nodes) {
+    Map<String, Long> counts =
+        nodes.stream().collect(Collectors.groupingBy(EntityReference::getType, TreeMap::new, Collectors.counting()));
+    List<EntityTypeCount> result = new ArrayList<>();
+    counts.forEach((type, count) -> result.add(new EntityTypeCount().withEntityType(type).withCount(count.intValue())));
+    return result;
+  }
+
+  /**
+   * Breadth first traversal of the lineage graph starting from the given entities. Each node is expanded only once.
+   * Edges of a level are read from {@link LineageIndex} when it is enabled, otherwise with a query per {@link
+   * EntityUtil#BIND_LIST_BATCH_SIZE} nodes of the level. The traversal stops when the number of nodes reaches {@link
+   * Traversal#maxNodes}.
+   */
+  private void traverse(List<UUID> start, List<Edge> edges, Traversal traversal, int depth, boolean upstream) {
+    Set<UUID> visited = new HashSet<>(start);
+    Set<Edge> edgeSet = new HashSet<>(edges);
+    List<String> level = start.stream().map(UUID::toString).collect(Collectors.toList());
+    for (int i = 0; i < depth && !level.isEmpty(); i++) {
+      // upstream: from other ids ---> to this level; downstream: from this level ---> to other ids
+      List<Entry<String, EntityReference>> entries = findEdges(level, upstream);
+      if (!entries.isEmpty()) {
+        traversal.depth = Math.max(traversal.depth, i + 1);
+      }
+      List<String> nextLevel = new ArrayList<>();
+      for (Entry<String, EntityReference> entry : entries) {
+        EntityReference node = entry.getValue();
+        if (!traversal.nodes.containsKey(node.getId()) && traversal.nodes.size() >= traversal.maxNodes) {
+          traversal.truncated = true;
+          return;
+        }
+        traversal.nodes.putIfAbsent(node.getId(), node);
+        if (visited.add(node.getId())) {
+          nextLevel.add(node.getId().toString());
+        }
+        UUID levelId = UUID.fromString(entry.getKey());
+        Edge edge =
+            upstream
+                ? new Edge().withFromEntity(node.getId()).withToEntity(levelId)
+                : new Edge().withFromEntity(levelId).withToEntity(node.getId());
+        if (edgeSet.add(edge)) {
+          edges.add(edge);
+        }
+      }
+      level = nextLevel;
     }
   }
 
-  private void addDownstreamLineage(UUID id, EntityLineage lineage, int downstreamDepth) {
-    if (downstreamDepth == 0) {
-      return;
+  private List<Entry<String, EntityReference>> findEdges(List<String> ids, boolean upstream) {
+    LineageIndex index = LineageIndex.getInstance();
+    if (index != null) {
+      return index.findBatch(ids, upstream);
     }
-    // from other ids ---> to this id
-    List<EntityReference> downStreamEntities =
-        dao.relationshipDAO().findTo(id.toString(), Relationship.UPSTREAM.ordinal());
-    lineage.getNodes().addAll(downStreamEntities);
-
-    downstreamDepth--;
-    for (EntityReference entity : downStreamEntities) {
-      lineage.getDownstreamEdges().add(new Edge().withToEntity(entity.getId()).withFromEntity(id));
-      addDownstreamLineage(entity.getId(), lineage, downstreamDepth);
+    return EntityUtil.queryInBatches(
+        ids,
+        batch ->
+            upstream
+                ? dao.relationshipDAO().findFromBatch(batch, Relationship.UPSTREAM.ordinal())
+                : dao.relationshipDAO().findToBatch(batch, Relationship.UPSTREAM.ordinal()));
+  }
+
+  /** State of a lineage graph traversal */
+  private static class Traversal {
+    /** Nodes discovered so far, in the order they are discovered */
+    private final Map<UUID, EntityReference> nodes = new LinkedHashMap<>();
+
+    /** Traversal stops when this many nodes are discovered, both for the lineage index and the database */
+    private final int maxNodes;
+
+    private boolean truncated;
+    private int depth;
+
+    Traversal(int maxNodes) {
+      this.maxNodes = maxNodes;
     }
   }
 }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -91,6 +92,34 @@ public class PipelineRepository extends EntityRepository<Pipeline> {
     return pipeline;
   }
 
+  @Override
+  public List<Pipeline> setFields(List<Pipeline> pipelines, Fields fields) throws IOException {
+    // Owner, followers and tags are looked up with a single query for all the pipelines
+    List<String> ids = pipelines.stream().map(e -> e.getId().toString()).collect(Collectors.toList());
+    Map<String, EntityReference> owners =
+        fields.contains("owner")
+            ? EntityUtil.populateOwners(ids, dao.relationshipDAO(), dao.userDAO(), dao.teamDAO())
+            : null;
+    Map<String, List<EntityReference>> followers =
+        fields.contains("followers") ? EntityUtil.getFollowers(ids, dao.relationshipDAO(), dao.userDAO()) : null;
+    Map<String, List<TagLabel>> tags =
+        fields.contains("tags")
+            ? EntityUtil.getTags(
+                dao.tagDAO(), pipelines.stream().map(Pipeline::getFullyQualifiedName).collect(Collectors.toList()))
+            : null;
+    for (Pipeline pipeline : pipelines) {
+      String id = pipeline.getId().toString();
+      pipeline.setService(getService(pipeline));
+      pipeline.setOwner(owners != null ? owners.get(id) : null);
+      pipeline.setFollowers(followers != null ? followers.get(id) : null);
+      if (!fields.contains("tasks")) {
+        pipeline.withTasks(null);
+      }
+      pipeline.setTags(tags != null ? tags.get(pipeline.getFullyQualifiedName()) : null);
+    }
+    return pipelines;
+  }
+
   @Override
   public void restorePatchAttributes(Pipeline original, Pipeline updated) {
     // Patch can't make changes to following fields. Ignore the changes
@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.openmetadata.catalog.type.ColumnProfile;
+import org.openmetadata.catalog.type.TableProfile;
+import org.openmetadata.catalog.util.JsonUtils;
+
+/**
+ * Encodes a {@link TableProfile} stored in <i>table_profile</i> table. Column profiles are stored column-wise, one
+ * array per {@link ColumnProfile} field, instead of an array of objects that repeats the field names for each column:
+ *
+ * <pre>
+ * {"profileDate":"2021-09-09","columnCount":2.0,"rowCount":100.0,
+ *  "columns":{"name":["c1","c2"],"uniqueCount":[100.0,null],"min":["1",null]}}
+ * </pre>
+ *
+ * A field missing from a column profile is stored as null. Rows migrated from the earlier <i>entity_extension</i>
+ * storage hold a plain {@link TableProfile} json and are decoded as such.
+ */
+final class TableProfileCodec {
+  private static final String COLUMNS = "columns";
+  private static final String COLUMN_PROFILE = "columnProfile";
+
+  private TableProfileCodec() {}
+
+  static String encode(TableProfile profile) throws IOException {
+    ObjectNode root = (ObjectNode) JsonUtils.valueToTree(profile);
+    JsonNode columnProfiles = root.remove(COLUMN_PROFILE);
+    if (columnProfiles == null) {
+      return root.toString();
+    }
+
+    Set<String> fieldNames = new LinkedHashSet<>();
+    columnProfiles.forEach(columnProfile -> columnProfile.fieldNames().forEachRemaining(fieldNames::add));
+    ObjectNode columns = root.putObject(COLUMNS);
+    for (String fieldName : fieldNames) {
+      ArrayNode values = columns.putArray(fieldName);
+      columnProfiles.forEach(columnProfile -> values.add(columnProfile.get(fieldName)));
+    }
+    return root.toString();
+  }
+
+  static TableProfile decode(String json) throws IOException {
+    ObjectNode root = (ObjectNode) JsonUtils.readTree(json);
+    JsonNode columns = root.remove(COLUMNS);
+    if (columns == null) {
+      return JsonUtils.treeToValue(root, TableProfile.class); // Legacy row or profile without columns
+    }
+
+    List<ColumnProfile> columnProfiles = new ArrayList<>();
+    int columnCount = columns.size() == 0 ? 0 : columns.elements().next().size();
+    for (int i = 0; i < columnCount; i++) {
+      ObjectNode columnProfile = JsonNodeFactory.instance.objectNode();
+      Iterator<Entry<String, JsonNode>> fields = columns.fields();
+      while (fields.hasNext()) {
+        Entry<String, JsonNode> field = fields.next();
+        JsonNode value = field.getValue().get(i);
+        if (value != null && !value.isNull()) {
+          columnProfile.set(field.getKey(), value);
+        }
+      }
+      columnProfiles.add(JsonUtils.treeToValue(columnProfile, ColumnProfile.class));
+    }
+    return JsonUtils.treeToValue(root, TableProfile.class).withColumnProfile(columnProfiles);
+  }
+}
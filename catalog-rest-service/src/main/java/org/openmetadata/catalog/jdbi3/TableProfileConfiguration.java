@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+public class TableProfileConfiguration {
+  /** Profiles older than this many days before the latest profile of a table are deleted. 0 keeps all the profiles */
+  private int retentionDays = 0;
+
+  /** Profiles older than this many days before the latest profile of a table are reduced to one per week. 0 disables */
+  private int downsampleAfterDays = 0;
+
+  /** Number of latest profiles returned in the {@code tableProfile} field of a table */
+  private int fieldLimit = 30;
+
+  public int getRetentionDays() {
+    return retentionDays;
+  }
+
+  public void setRetentionDays(int retentionDays) {
+    this.retentionDays = retentionDays;
+  }
+
+  public int getDownsampleAfterDays() {
+    return downsampleAfterDays;
+  }
+
+  public void setDownsampleAfterDays(int downsampleAfterDays) {
+    this.downsampleAfterDays = downsampleAfterDays;
+  }
+
+  public int getFieldLimit() {
+    return fieldLimit;
+  }
+
+  public void setFieldLimit(int fieldLimit) {
+    this.fieldLimit = fieldLimit;
+  }
+
+  @Override
+  public String toString() {
+    return "TableProfileConfiguration{retentionDays="
+        + retentionDays
+        + ", downsampleAfterDays="
+        + downsampleAfterDays
+        + ", fieldLimit="
+        + fieldLimit
+        + '}';
+  }
+}
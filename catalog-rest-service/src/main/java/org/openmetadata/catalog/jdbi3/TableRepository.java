@@ -13,67 +13,91 @@
 
 package org.openmetadata.catalog.jdbi3;
 
-import static org.openmetadata.catalog.jdbi3.Relationship.JOINED_WITH;
-import static org.openmetadata.common.utils.CommonUtil.parseDate;
-
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import org.apache.commons.codec.binary.Hex;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.entity.data.Database;
+import org.openmetadata.catalog.entity.data.Location;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.entity.services.DatabaseService;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.DatabaseServiceRepository.DatabaseServiceEntityInterface;
 import org.openmetadata.catalog.resources.databases.TableResource;
+import org.openmetadata.catalog.resources.databases.TableResource.TableProfileList;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.Column;
 import org.openmetadata.catalog.type.ColumnJoin;
 import org.openmetadata.catalog.type.ColumnProfile;
-import org.openmetadata.catalog.type.DailyCount;
 import org.openmetadata.catalog.type.DataModel;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.JoinedWith;
 import org.openmetadata.catalog.type.SQLQuery;
 import org.openmetadata.catalog.type.TableConstraint;
 import org.openmetadata.catalog.type.TableData;
+import org.openmetadata.catalog.type.TableJoinCount;
 import org.openmetadata.catalog.type.TableJoins;
 import org.openmetadata.catalog.type.TableProfile;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.type.UsageDetails;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
+import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.TableDataCodec;
+import org.openmetadata.common.utils.CipherText;
 import org.openmetadata.common.utils.CommonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class TableRepository extends EntityRepository<Table> {
   static final Logger LOG = LoggerFactory.getLogger(TableRepository.class);
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
   // Table fields that can be patched in a PATCH request
   static final Fields TABLE_PATCH_FIELDS = new Fields(TableResource.FIELD_LIST, "owner,columns,tags,tableConstraints");
   // Table fields that can be updated in a PUT request
   static final Fields TABLE_UPDATE_FIELDS =
       new Fields(TableResource.FIELD_LIST, "owner,columns,tags,tableConstraints,dataModel");
 
+  /** Number of queries returned in the {@code tableQueries} field of a table */
+  public static final int QUERIES_FIELD_LIMIT = 100;
+
+  /** Maximum number of users recorded for a query */
+  static final int MAX_QUERY_USERS = 100;
+
+  /** Orderings supported when listing table queries, mapped to the corresponding table_query column */
+  private static final Map<String, String> QUERY_ORDER_COLUMNS =
+      Map.of("vote", "vote", "count", "queryCount", "recency", "lastSeen");
+
+  private static volatile TableProfileConfiguration profileConfiguration = new TableProfileConfiguration();
+
   private final CollectionDAO dao;
 
   public TableRepository(CollectionDAO dao) {
@@ -88,6 +112,10 @@ public class TableRepository extends EntityRepository<Table> {
     this.dao = dao;
   }
 
+  public static void setTableProfileConfiguration(TableProfileConfiguration configuration) {
+    profileConfiguration = configuration;
+  }
+
   @Override
   public Table setFields(Table table, Fields fields) throws IOException, ParseException {
     table.setDatabase(getDatabase(table.getId()));
@@ -108,6 +136,55 @@ public class TableRepository extends EntityRepository<Table> {
     return table;
   }
 
+  @Override
+  public List<Table> setFields(List<Table> tables, Fields fields) throws IOException, ParseException {
+    if (tables.isEmpty()) {
+      return tables;
+    }
+    // Relationships that are common across the tables are looked up together for all the tables, with a query per
+    // EntityUtil.BIND_LIST_BATCH_SIZE tables
+    List<String> tableIds = tables.stream().map(t -> t.getId().toString()).collect(Collectors.toList());
+    Map<String, EntityReference> databases = getDatabases(tableIds);
+    Map<String, DatabaseService> services = getServices(databases.values());
+    Map<String, EntityReference> owners =
+        fields.contains("owner")
+            ? EntityUtil.populateOwners(tableIds, dao.relationshipDAO(), dao.userDAO(), dao.teamDAO())
+            : null;
+    Map<String, List<EntityReference>> followers =
+        fields.contains("followers") ? EntityUtil.getFollowers(tableIds, dao.relationshipDAO(), dao.userDAO()) : null;
+    Map<String, UsageDetails> usage =
+        fields.contains("usageSummary") ? EntityUtil.getLatestUsage(dao.usageDAO(), tableIds) : null;
+    Map<String, List<TagLabel>> tags =
+        fields.contains("tags") ? EntityUtil.getTags(dao.tagDAO(), getTagTargets(tables)) : null;
+    Map<String, EntityReference> locations = fields.contains("location") ? getLocations(tableIds) : null;
+
+    for (Table table : tables) {
+      String tableId = table.getId().toString();
+      EntityReference database = databases.get(tableId);
+      table.setDatabase(database);
+      DatabaseService service = services.get(database.getId().toString());
+      table.setService(
+          new EntityReference()
+              .withId(service.getId())
+              .withType(Entity.DATABASE_SERVICE)
+              .withName(service.getName())
+              .withDescription(service.getDescription()));
+      table.setTableConstraints(fields.contains("tableConstraints") ? table.getTableConstraints() : null);
+      table.setOwner(owners != null ? owners.get(tableId) : null);
+      table.setFollowers(followers != null ? followers.get(tableId) : null);
+      table.setUsageSummary(usage != null ? usage.get(tableId) : null);
+      table.setTags(tags != null ? tags.get(table.getFullyQualifiedName()) : null);
+      setColumnTags(tags, table.getColumns());
+      table.setJoins(fields.contains("joins") ? getJoins(table) : null);
+      table.setSampleData(fields.contains("sampleData") ? getSampleData(table) : null);
+      table.setViewDefinition(fields.contains("viewDefinition") ? table.getViewDefinition() : null);
+      table.setTableProfile(fields.contains("tableProfile") ? getTableProfile(table) : null);
+      table.setLocation(locations != null ? locations.get(tableId) : null);
+      table.setTableQueries(fields.contains("tableQueries") ? getQueries(table) : null);
+    }
+    return tables;
+  }
+
   @Override
   public void restorePatchAttributes(Table original, Table updated) {
     // Patch can't make changes to following fields. Ignore the changes.
@@ -132,6 +209,11 @@ public class TableRepository extends EntityRepository<Table> {
   public void delete(UUID id) {
     dao.tableDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString()); // Remove all relationships
+    dao.tableProfileDAO().deleteAll(id.toString());
+    dao.tableQueryDAO().deleteAll(id.toString());
+    dao.tableSampleDataDAO().delete(id.toString());
+    dao.tableJoinDAO().deleteDailyCounts(id.toString());
+    dao.tableJoinDAO().deleteCounts(id.toString());
   }
 
   @Transaction
@@ -143,19 +225,46 @@ public class TableRepository extends EntityRepository<Table> {
     }
 
     // Validate joined columns
+    Map<String, Table> joinedTables = new HashMap<>();
+    joinedTables.put(table.getFullyQualifiedName(), table);
     for (ColumnJoin join : joins.getColumnJoins()) {
       validateColumn(table, join.getColumnName());
-      validateColumnFQNs(join.getJoinedWith());
+      validateColumnFQNs(join.getJoinedWith(), joinedTables);
     }
 
-    // With all validation done, add new joins
+    // With all validation done, add new joins in both directions
+    JoinBatch batch = new JoinBatch();
     for (ColumnJoin join : joins.getColumnJoins()) {
-      String columnFQN = table.getFullyQualifiedName() + "." + join.getColumnName();
-      addJoin(joins.getStartDate(), columnFQN, join.getJoinedWith());
+      for (JoinedWith joinedWith : join.getJoinedWith()) {
+        String joinedColumnFQN = joinedWith.getFullyQualifiedName();
+        Table joinedTable = joinedTables.get(getTableFQN(joinedColumnFQN));
+        String joinedColumn = joinedColumnFQN.substring(joinedTable.getFullyQualifiedName().length() + 1);
+        batch.add(table, join.getColumnName(), joinedTable, joinedColumn, joinedWith.getJoinCount());
+        batch.add(joinedTable, joinedColumn, table, join.getColumnName(), joinedWith.getJoinCount());
+      }
     }
+    batch.write(dao.tableJoinDAO(), joins.getStartDate());
+
+    // Remove the daily counts that are no longer in the window from the tables that were updated
+    List<String> tableIds =
+        joinedTables.values().stream().map(t -> t.getId().toString()).distinct().collect(Collectors.toList());
+    String windowStart = getJoinWindowStart();
+    dao.tableJoinDAO().expireCounts(tableIds, windowStart);
+    dao.tableJoinDAO().expireDailyCounts(tableIds, windowStart);
+    dao.tableJoinDAO().deleteEmptyCounts(tableIds);
     return table.withJoins(getJoins(table));
   }
 
+  /**
+   * Returns the tables of a database whose columns were joined the most with other columns in the last 30 days, with
+   * the highest join count first.
+   */
+  @Transaction
+  public List<TableJoinCount> listMostJoinedTables(String databaseFQN, int limit) throws IOException, ParseException {
+    dao.databaseDAO().findEntityByName(databaseFQN); // Validate the database exists
+    return dao.tableJoinDAO().listMostJoined(databaseFQN, getJoinWindowStart(), limit);
+  }
+
   @Transaction
   public Table addSampleData(UUID tableId, TableData tableData) throws IOException, ParseException {
     // Validate the request content
@@ -174,37 +283,114 @@ public class TableRepository extends EntityRepository<Table> {
       }
     }
 
-    dao.entityExtensionDAO()
-        .insert(tableId.toString(), "table.sampleData", "tableData", JsonUtils.pojoToJson(tableData));
+    dao.tableSampleDataDAO().insert(tableId.toString(), TableDataCodec.encode(tableData));
+    dao.entityExtensionDAO().delete(tableId.toString(), "table.sampleData"); // Remove sample data in json format
     setFields(table, Fields.EMPTY_FIELDS);
     return table.withSampleData(tableData);
   }
 
+  /**
+   * Get the sample data of a table with only the given {@code columns}, or all the columns when null, and the first
+   * {@code limit} rows. Only the requested columns and rows are decoded.
+   */
+  @Transaction
+  public TableData getSampleData(UUID tableId, List<String> columns, int limit) throws IOException {
+    Table table = dao.tableDAO().findEntityById(tableId);
+    if (columns != null) {
+      for (String columnName : columns) {
+        validateColumn(table, columnName);
+      }
+    }
+    byte[] data = getEncodedSampleData(tableId.toString());
+    return data == null ? null : TableDataCodec.decode(data, columns, limit);
+  }
+
   @Transaction
   public Table addTableProfileData(UUID tableId, TableProfile tableProfile) throws IOException, ParseException {
     // Validate the request content
     Table table = dao.tableDAO().findEntityById(tableId);
-
-    List<TableProfile> storedTableProfiles = getTableProfile(table);
-    Map<String, TableProfile> storedMapTableProfiles = new HashMap<>();
-    if (storedTableProfiles != null) {
-      for (TableProfile profile : storedTableProfiles) {
-        storedMapTableProfiles.put(profile.getProfileDate(), profile);
-      }
+    if (tableProfile.getProfileDate() == null) {
+      throw new IllegalArgumentException("profileDate must not be null");
     }
+    validateDate("profileDate", tableProfile.getProfileDate());
+
     // validate all the columns
     for (ColumnProfile columnProfile : tableProfile.getColumnProfile()) {
       validateColumn(table, columnProfile.getName());
     }
-    storedMapTableProfiles.put(tableProfile.getProfileDate(), tableProfile);
-    List<TableProfile> updatedProfiles = new ArrayList<>(storedMapTableProfiles.values());
 
-    dao.entityExtensionDAO()
-        .insert(tableId.toString(), "table.tableProfile", "tableProfile", JsonUtils.pojoToJson(updatedProfiles));
+    // Only the profile of the given date is written. A profile already stored for that date is replaced
+    String id = tableId.toString();
+    dao.tableProfileDAO().insert(id, tableProfile.getProfileDate(), TableProfileCodec.encode(tableProfile));
+    applyProfileRetention(id);
     setFields(table, Fields.EMPTY_FIELDS);
     return table.withTableProfile(getTableProfile(table));
   }
 
+  /**
+   * List the profiles of a table taken between the optional {@code startDate} and {@code endDate}, both inclusive,
+   * latest first, with cursor based pagination. At most {@code limitParam} profiles are returned.
+   */
+  @Transaction
+  public TableProfileList listTableProfiles(
+      UUID tableId, String startDate, String endDate, int limitParam, String after)
+      throws IOException, GeneralSecurityException {
+    dao.tableDAO().findEntityById(tableId); // Validate the table exists
+    if (startDate != null) {
+      validateDate("startDate", startDate);
+    }
+    if (endDate != null) {
+      validateDate("endDate", endDate);
+    }
+
+    // Cursor is the date of the last profile in the previous page
+    String afterDate = null;
+    if (after != null) {
+      afterDate = CipherText.instance().decrypt(after);
+      try {
+        LocalDate.parse(afterDate);
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid cursor " + after);
+      }
+    }
+    String id = tableId.toString();
+    List<TableProfile> profiles =
+        decodeProfiles(dao.tableProfileDAO().list(id, startDate, endDate, afterDate, limitParam + 1));
+    String afterCursor = null;
+    if (profiles.size() > limitParam) { // If extra result exists, then next page exists - return after cursor
+      profiles.remove(limitParam);
+      afterCursor = profiles.get(limitParam - 1).getProfileDate();
+    }
+    return new TableProfileList(profiles, null, afterCursor, dao.tableProfileDAO().listCount(id, startDate, endDate));
+  }
+
+  /**
+   * Delete the profiles past the retention period and keep one profile per week for the profiles past the downsampling
+   * period. Both periods are relative to the latest profile of the table so that loading old profiles does not delete
+   * them right away.
+   */
+  private void applyProfileRetention(String tableId) {
+    TableProfileConfiguration config = profileConfiguration;
+    if (config.getRetentionDays() <= 0 && config.getDownsampleAfterDays() <= 0) {
+      return;
+    }
+    String latest = dao.tableProfileDAO().getLatestProfileDate(tableId);
+    if (config.getRetentionDays() > 0) {
+      dao.tableProfileDAO().deleteBefore(tableId, latest, config.getRetentionDays());
+    }
+    if (config.getDownsampleAfterDays() > 0) {
+      dao.tableProfileDAO().downsampleBefore(tableId, latest, config.getDownsampleAfterDays());
+    }
+  }
+
+  private static void validateDate(String name, String date) {
+    try {
+      LocalDate.parse(date);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException(String.format("Invalid %s %s. Expected format yyyy-MM-dd", name, date));
+    }
+  }
+
   @Transaction
   public Table addLocation(UUID tableId, UUID locationId) throws IOException, ParseException {
     Table table = dao.tableDAO().findEntityById(tableId);
@@ -213,6 +399,7 @@ public class TableRepository extends EntityRepository<Table> {
     dao.relationshipDAO().deleteFrom(tableId.toString(), Relationship.HAS.ordinal(), Entity.LOCATION);
     dao.relationshipDAO()
         .insert(tableId.toString(), locationId.toString(), Entity.TABLE, Entity.LOCATION, Relationship.HAS.ordinal());
+    dao.tableDAO().clearFingerprints(List.of(tableId));
     setFields(table, Fields.EMPTY_FIELDS);
     return table.withLocation(location);
   }
@@ -220,28 +407,91 @@ public class TableRepository extends EntityRepository<Table> {
   @Transaction
   public Table addQuery(UUID tableId, SQLQuery query) throws IOException, ParseException {
     // Validate the request content
-    try {
-      byte[] checksum = MessageDigest.getInstance("MD5").digest(query.getQuery().getBytes());
-      query.setChecksum(Hex.encodeHexString(checksum));
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException(e);
+    if (query.getQuery() == null) {
+      throw new IllegalArgumentException("query must not be null");
+    }
+    if (query.getQueryDate() != null) {
+      validateDate("queryDate", query.getQueryDate());
     }
     Table table = dao.tableDAO().findEntityById(tableId);
-    List<SQLQuery> storedQueries = getQueries(table);
-    Map<String, SQLQuery> storedMapQueries = new HashMap<>();
-    if (storedQueries != null) {
-      for (SQLQuery q : storedQueries) {
-        storedMapQueries.put(q.getChecksum(), q);
-      }
+
+    // Queries that differ only in whitespace are recorded as the same query
+    String id = tableId.toString();
+    query.setChecksum(getQueryChecksum(query.getQuery()));
+    SQLQuery stored = dao.tableQueryDAO().find(id, query.getChecksum());
+    List<EntityReference> users = stored == null || stored.getUsers() == null ? new ArrayList<>() : stored.getUsers();
+    EntityReference user = query.getUser();
+    if (user != null
+        && users.size() < MAX_QUERY_USERS
+        && users.stream().noneMatch(u -> Objects.equals(u.getId(), user.getId()))) {
+      users.add(user);
     }
-    storedMapQueries.put(query.getChecksum(), query);
-    List<SQLQuery> updatedQueries = new ArrayList<>(storedMapQueries.values());
-    dao.entityExtensionDAO()
-        .insert(tableId.toString(), "table.tableQueries", "sqlQuery", JsonUtils.pojoToJson(updatedQueries));
+    query.withUsers(users).withCount(null); // Count is maintained by the database
+    String queryDate = query.getQueryDate() != null ? query.getQueryDate() : RestUtil.today(0);
+    // Vote of a query already stored is kept when the request has no vote
+    dao.tableQueryDAO().upsert(id, query.getChecksum(), query.getVote(), queryDate, JsonUtils.pojoToJson(query));
     setFields(table, Fields.EMPTY_FIELDS);
     return table.withTableQueries(getQueries(table));
   }
 
+  /**
+   * List the queries of a table ordered by {@code vote}, {@code count} or {@code recency}, highest first, with cursor
+   * based pagination. Only the requested page of queries is read.
+   */
+  @Transaction
+  public ResultList<SQLQuery> listQueries(UUID tableId, String orderBy, int limitParam, String after)
+      throws IOException, GeneralSecurityException {
+    String column = QUERY_ORDER_COLUMNS.get(orderBy);
+    if (column == null) {
+      throw new IllegalArgumentException(
+          String.format("Invalid orderBy %s. Must be one of %s", orderBy, QUERY_ORDER_COLUMNS.keySet()));
+    }
+    dao.tableDAO().findEntityById(tableId); // Validate the table exists
+
+    // Cursor is the checksum followed by the order by column value of the last query in the previous page
+    String afterChecksum = null;
+    String afterValue = null;
+    if (after != null) {
+      String[] cursor = CipherText.instance().decrypt(after).split(":", 2);
+      if (cursor.length != 2) {
+        throw new IllegalArgumentException("Invalid cursor " + after);
+      }
+      afterChecksum = cursor[0];
+      afterValue = cursor[1];
+    }
+    String id = tableId.toString();
+    List<SQLQuery> queries = dao.tableQueryDAO().list(id, column, afterValue, afterChecksum, limitParam + 1);
+    String afterCursor = null;
+    if (queries.size() > limitParam) { // If extra result exists, then next page exists - return after cursor
+      queries.remove(limitParam);
+      SQLQuery last = queries.get(limitParam - 1);
+      afterCursor = last.getChecksum() + ":" + getQueryOrderValue(last, orderBy);
+    }
+    return new ResultList<>(queries, null, afterCursor, dao.tableQueryDAO().listCount(id));
+  }
+
+  private static String getQueryOrderValue(SQLQuery query, String orderBy) {
+    switch (orderBy) {
+      case "count":
+        return String.valueOf(query.getCount());
+      case "recency":
+        return query.getQueryDate();
+      default:
+        return String.valueOf(query.getVote());
+    }
+  }
+
+  /** Checksum of the query text with runs of whitespace replaced by a single space */
+  static String getQueryChecksum(String query) {
+    String normalized = WHITESPACE.matcher(query.trim()).replaceAll(" ");
+    try {
+      byte[] checksum = MessageDigest.getInstance("MD5").digest(normalized.getBytes(StandardCharsets.UTF_8));
+      return Hex.encodeHexString(checksum);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   @Transaction
   public Table addDataModel(UUID tableId, DataModel dataModel) throws IOException, ParseException {
     Table table = dao.tableDAO().findEntityById(tableId);
@@ -273,6 +523,7 @@ public class TableRepository extends EntityRepository<Table> {
   @Transaction
   public void deleteLocation(String tableId) {
     dao.relationshipDAO().deleteFrom(tableId, Relationship.HAS.ordinal(), Entity.LOCATION);
+    dao.tableDAO().clearFingerprints(List.of(UUID.fromString(tableId)));
   }
 
   @Transaction
@@ -352,6 +603,15 @@ public class TableRepository extends EntityRepository<Table> {
 
   @Override
   public void storeEntity(Table table, boolean update) throws IOException {
+    if (update) {
+      dao.tableDAO().update(table.getId(), getStoredJson(table));
+    } else {
+      dao.tableDAO().insert(dao.tableDAO().getTableName(), getStoredJson(table));
+    }
+  }
+
+  /** Returns JSON document stored for the table, which excludes the fields built on the fly from relationships */
+  private String getStoredJson(Table table) throws JsonProcessingException {
     // Relationships and fields such as href are derived and not stored as part of json
     EntityReference owner = table.getOwner();
     EntityReference database = table.getDatabase();
@@ -366,14 +626,11 @@ public class TableRepository extends EntityRepository<Table> {
     table.setColumns(cloneWithoutTags(columnWithTags));
     table.getColumns().forEach(column -> column.setTags(null));
 
-    if (update) {
-      dao.tableDAO().update(table.getId(), JsonUtils.pojoToJson(table));
-    } else {
-      dao.tableDAO().insert(table);
-    }
+    String json = JsonUtils.pojoToJson(table);
 
     // Restore the relationships
     table.withOwner(owner).withDatabase(database).withTags(tags).withColumns(columnWithTags).withService(service);
+    return json;
   }
 
   @Override
@@ -386,8 +643,46 @@ public class TableRepository extends EntityRepository<Table> {
     // Add table owner relationship
     EntityUtil.setOwner(dao.relationshipDAO(), table.getId(), Entity.TABLE, table.getOwner());
 
-    // Add tag to table relationship
-    applyTags(table);
+    // Add tag to table and column relationships
+    BatchWriter batch = new BatchWriter();
+    batch.addTags(table.getTags(), table.getFullyQualifiedName());
+    addColumnTags(batch, table.getColumns());
+    batch.flush(dao);
+  }
+
+  /** Store new tables with one batched statement each for tables, relationships and tags */
+  @Override
+  protected void storeNewEntities(List<Table> tables) throws IOException {
+    List<String> jsons = new ArrayList<>(tables.size());
+    BatchWriter batch = new BatchWriter();
+    for (Table table : tables) {
+      jsons.add(getStoredJson(table));
+      batch.addRelationship(
+          table.getDatabase().getId(), table.getId(), Entity.DATABASE, Entity.TABLE, Relationship.CONTAINS);
+      batch.addOwner(table.getId(), Entity.TABLE, table.getOwner());
+      batch.addTags(table.getTags(), table.getFullyQualifiedName());
+      addColumnTags(batch, table.getColumns());
+    }
+    dao.tableDAO().insertAll(jsons);
+    batch.flush(dao);
+  }
+
+  private static void addColumnTags(BatchWriter batch, List<Column> columns) {
+    for (Column column : columns) {
+      batch.addTags(column.getTags(), column.getFullyQualifiedName());
+      if (column.getChildren() != null) {
+        addColumnTags(batch, column.getChildren());
+      }
+    }
+  }
+
+  private static void removeColumnTags(BatchWriter batch, List<Column> columns) {
+    for (Column column : columns) {
+      batch.removeTags(column.getTags(), column.getFullyQualifiedName());
+      if (column.getChildren() != null) {
+        removeColumnTags(batch, column.getChildren());
+      }
+    }
   }
 
   @Override
@@ -419,23 +714,6 @@ public class TableRepository extends EntityRepository<Table> {
         .withChildren(children);
   }
 
-  // TODO remove this
-  private void applyTags(List<Column> columns) {
-    // Add column level tags by adding tag to column relationship
-    for (Column column : columns) {
-      EntityUtil.applyTags(dao.tagDAO(), column.getTags(), column.getFullyQualifiedName());
-      if (column.getChildren() != null) {
-        applyTags(column.getChildren());
-      }
-    }
-  }
-
-  private void applyTags(Table table) {
-    // Add table level tags by adding tag to table relationship
-    EntityUtil.applyTags(dao.tagDAO(), table.getTags(), table.getFullyQualifiedName());
-    applyTags(table.getColumns());
-  }
-
   private EntityReference getDatabase(UUID tableId) throws IOException {
     // Find database for the table
     List<String> result =
@@ -446,6 +724,109 @@ public class TableRepository extends EntityRepository<Table> {
     return dao.databaseDAO().findEntityReferenceById(UUID.fromString(result.get(0)));
   }
 
+  /** Get database reference for each of the given tables keyed by table id */
+  private Map<String, EntityReference> getDatabases(List<String> tableIds) throws IOException {
+    List<Entry<String, EntityReference>> entries =
+        EntityUtil.queryInBatches(
+            tableIds,
+            batch -> dao.relationshipDAO().findFromBatch(batch, Relationship.CONTAINS.ordinal(), Entity.DATABASE));
+    List<UUID> databaseIds = entries.stream().map(e -> e.getValue().getId()).collect(Collectors.toList());
+    Map<UUID, Database> databases =
+        dao.databaseDAO().findEntitiesByIds(databaseIds).stream().collect(Collectors.toMap(Database::getId, d -> d));
+
+    Map<String, EntityReference> result = new HashMap<>();
+    for (Entry<String, EntityReference> entry : entries) {
+      Database database = databases.get(entry.getValue().getId());
+      if (database == null || result.put(entry.getKey(), dao.databaseDAO().getEntityReference(database)) != null) {
+        throw EntityNotFoundException.byMessage(String.format("Database for table %s Not found", entry.getKey()));
+      }
+    }
+    for (String tableId : tableIds) {
+      if (!result.containsKey(tableId)) {
+        throw EntityNotFoundException.byMessage(String.format("Database for table %s Not found", tableId));
+      }
+    }
+    return result;
+  }
+
+  /** Get database service for each of the given databases keyed by database id */
+  private Map<String, DatabaseService> getServices(Collection<EntityReference> databases) throws IOException {
+    List<String> databaseIds =
+        databases.stream().map(d -> d.getId().toString()).distinct().collect(Collectors.toList());
+    List<Entry<String, EntityReference>> entries =
+        EntityUtil.queryInBatches(
+            databaseIds,
+            batch ->
+                dao.relationshipDAO().findFromBatch(batch, Relationship.CONTAINS.ordinal(), Entity.DATABASE_SERVICE));
+    List<UUID> serviceIds = entries.stream().map(e -> e.getValue().getId()).collect(Collectors.toList());
+    Map<UUID, DatabaseService> services =
+        dao.dbServiceDAO().findEntitiesByIds(serviceIds).stream()
+            .collect(Collectors.toMap(DatabaseService::getId, s -> s));
+
+    Map<String, DatabaseService> result = new HashMap<>();
+    for (Entry<String, EntityReference> entry : entries) {
+      DatabaseService service = services.get(entry.getValue().getId());
+      if (service == null) {
+        throw EntityNotFoundException.byMessage(
+            CatalogExceptionMessage.entityNotFound(Entity.DATABASE_SERVICE, entry.getValue().getId()));
+      }
+      result.putIfAbsent(entry.getKey(), service);
+    }
+    for (String databaseId : databaseIds) {
+      if (!result.containsKey(databaseId)) {
+        throw EntityNotFoundException.byMessage(
+            String.format("Database service for database %s Not found", databaseId));
+      }
+    }
+    return result;
+  }
+
+  /** Get location for each of the given tables keyed by table id. Tables without a location are not included. */
+  private Map<String, EntityReference> getLocations(List<String> tableIds) throws IOException {
+    List<Entry<String, EntityReference>> entries =
+        EntityUtil.queryInBatches(
+            tableIds, batch -> dao.relationshipDAO().findToBatch(batch, Relationship.HAS.ordinal(), Entity.LOCATION));
+    Map<String, Long> locationCount =
+        entries.stream().collect(Collectors.groupingBy(Entry::getKey, Collectors.counting()));
+    List<UUID> locationIds = entries.stream().map(e -> e.getValue().getId()).collect(Collectors.toList());
+    Map<UUID, Location> locations =
+        dao.locationDAO().findEntitiesByIds(locationIds).stream().collect(Collectors.toMap(Location::getId, l -> l));
+
+    Map<String, EntityReference> result = new HashMap<>();
+    for (Entry<String, EntityReference> entry : entries) {
+      // A table has only one location
+      Location location = locations.get(entry.getValue().getId());
+      if (locationCount.get(entry.getKey()) == 1 && location != null) {
+        result.put(entry.getKey(), dao.locationDAO().getEntityReference(location));
+      }
+    }
+    return result;
+  }
+
+  /** Fully qualified names of the tables and all their columns that tags are applied to */
+  private List<String> getTagTargets(List<Table> tables) {
+    List<String> targets = new ArrayList<>();
+    for (Table table : tables) {
+      targets.add(table.getFullyQualifiedName());
+      addColumnFQNs(table.getColumns(), targets);
+    }
+    return targets;
+  }
+
+  private void addColumnFQNs(List<Column> columns, List<String> fqns) {
+    for (Column c : Optional.ofNullable(columns).orElse(Collections.emptyList())) {
+      fqns.add(c.getFullyQualifiedName());
+      addColumnFQNs(c.getChildren(), fqns);
+    }
+  }
+
+  private void setColumnTags(Map<String, List<TagLabel>> tags, List<Column> columns) {
+    for (Column c : Optional.ofNullable(columns).orElse(Collections.emptyList())) {
+      c.setTags(tags != null ? tags.get(c.getFullyQualifiedName()) : null);
+      setColumnTags(tags, c.getChildren());
+    }
+  }
+
   private EntityReference getLocation(UUID tableId) throws IOException {
     // Find the location of the table
     List<String> result = dao.relationshipDAO().findTo(tableId.toString(), Relationship.HAS.ordinal(), Entity.LOCATION);
@@ -505,11 +886,16 @@ public class TableRepository extends EntityRepository<Table> {
     }
   }
 
-  private void validateColumnFQNs(List<JoinedWith> joinedWithList) throws IOException {
+  /** Validate joined columns. Joined tables are looked up once and added to {@code tables} by fully qualified name */
+  private void validateColumnFQNs(List<JoinedWith> joinedWithList, Map<String, Table> tables) throws IOException {
     for (JoinedWith joinedWith : joinedWithList) {
       // Validate table
       String tableFQN = getTableFQN(joinedWith.getFullyQualifiedName());
-      Table joinedWithTable = dao.tableDAO().findEntityByName(tableFQN);
+      Table joinedWithTable = tables.get(tableFQN);
+      if (joinedWithTable == null) {
+        joinedWithTable = dao.tableDAO().findEntityByName(tableFQN);
+        tables.put(tableFQN, joinedWithTable);
+      }
 
       // Validate column
       validateColumnFQN(joinedWithTable, joinedWith.getFullyQualifiedName());
@@ -526,122 +912,26 @@ public class TableRepository extends EntityRepository<Table> {
     return split[0] + "." + split[1] + "." + split[2];
   }
 
-  private void addJoin(String date, String columnFQN, List<JoinedWith> joinedWithList)
-      throws IOException, ParseException {
-    for (JoinedWith joinedWith : joinedWithList) {
-      // Use the column that comes alphabetically first as the from field and the other as to field.
-      // This helps us keep the bidirectional relationship to a single row instead one row for
-      // capturing relationship in each direction.
-      //
-      // One row like this     - fromColumn <--- joinedWith --> toColumn
-      // Instead of additional - toColumn <--- joinedWith --> fromColumn
-      String fromColumnFQN;
-      String toColumnFQN;
-      if (columnFQN.compareTo(joinedWith.getFullyQualifiedName()) < 0) {
-        fromColumnFQN = columnFQN;
-        toColumnFQN = joinedWith.getFullyQualifiedName();
-      } else {
-        fromColumnFQN = joinedWith.getFullyQualifiedName();
-        toColumnFQN = columnFQN;
-      }
-      String json =
-          dao.fieldRelationshipDAO()
-              .find(fromColumnFQN, toColumnFQN, "table.columns.column", "table.columns.column", JOINED_WITH.ordinal());
-
-      DailyCount dailyCount = new DailyCount().withCount(joinedWith.getJoinCount()).withDate(date);
-      List<DailyCount> dailyCountList;
-      if (json == null) { // Create first entry
-        dailyCountList = Collections.singletonList(dailyCount);
-      } else { // Update the existing entry
-        dailyCountList = JsonUtils.readObjects(json, DailyCount.class);
-        boolean foundDate = false;
-        for (DailyCount d :
-            dailyCountList) { // If the date already exists, update the count. Otherwise, add a new entry
-          if (d.getDate().equals(dailyCount.getDate())) {
-            // Entry for date already exists. Update the count
-            d.setCount(dailyCount.getCount());
-            foundDate = true;
-            break;
-          }
-        }
-        if (!foundDate) {
-          dailyCountList.add(dailyCount);
-        }
-
-        // Sort the dailyCount list by date
-        dailyCountList.sort(
-            (d1, d2) -> {
-              try {
-                return RestUtil.compareDates(d1.getDate(), d2.getDate());
-              } catch (ParseException ignored) {
-                // This should never happen
-              }
-              return 0;
-            });
-
-        ListIterator<DailyCount> iterator = dailyCountList.listIterator();
-        while (iterator.hasNext()) {
-          String reportedOnDate = iterator.next().getDate();
-          if (!CommonUtil.dateInRange(RestUtil.DATE_FORMAT, reportedOnDate, 0, 30)) {
-            iterator.remove();
-            LOG.info(
-                "Removed join entry for column {} with column {} on older date {}",
-                columnFQN,
-                joinedWith.getFullyQualifiedName(),
-                reportedOnDate);
-          }
-        }
-      }
-      json = JsonUtils.pojoToJson(dailyCountList);
-
-      dao.fieldRelationshipDAO()
-          .upsert(
-              fromColumnFQN,
-              toColumnFQN,
-              "table.columns.column",
-              "table.columns.column",
-              JOINED_WITH.ordinal(),
-              "dailyCount",
-              json);
-    }
+  /** Daily counts older than the returned date are not part of the 30 day window of joins */
+  private static String getJoinWindowStart() throws ParseException {
+    return RestUtil.today(-29);
   }
 
-  private TableJoins getJoins(Table table) throws ParseException, IOException {
+  private TableJoins getJoins(Table table) throws ParseException {
     String today = RestUtil.DATE_FORMAT.format(new Date()); // today
     String todayMinus30Days = CommonUtil.getDateStringByOffset(RestUtil.DATE_FORMAT, today, -30);
     TableJoins tableJoins =
         new TableJoins().withStartDate(todayMinus30Days).withDayCount(30).withColumnJoins(Collections.emptyList());
 
-    List<List<String>> list =
-        dao.fieldRelationshipDAO()
-            .listToByPrefix(
-                table.getFullyQualifiedName(), "table.columns.column", "table.columns.column", JOINED_WITH.ordinal());
-    list.addAll(
-        dao.fieldRelationshipDAO()
-            .listFromByPrefix(
-                table.getFullyQualifiedName(), "table.columns.column", "table.columns.column", JOINED_WITH.ordinal()));
-
-    if (list.size() == 0) { // No join information found. Return empty list
+    List<Entry<String, JoinedWith>> list = dao.tableJoinDAO().list(table.getId().toString(), getJoinWindowStart());
+    if (list.isEmpty()) { // No join information found. Return empty list
       return tableJoins;
     }
 
     // Map of <ColumnName> to List of <Fully Qualified Column names> it is joined with
-    Map<String, List<JoinedWith>> map = new HashMap<>();
-
-    // list [ [fromFQN, toFQN, json], ...] contains inner list [fromFQN, toFQN, json]
-    for (List<String> innerList : list) {
-      String columnName = innerList.get(0).split("\\.")[3]; // Get from column name from FQN
-      List<JoinedWith> columnJoinList = map.computeIfAbsent(columnName, k -> new ArrayList<>());
-
-      // Parse JSON to get daily counts and aggregate it
-      List<DailyCount> dailyCountList = JsonUtils.readObjects(innerList.get(2), DailyCount.class);
-      int aggregatedCount = 0;
-      for (DailyCount d : dailyCountList) {
-        if (CommonUtil.dateInRange(RestUtil.DATE_FORMAT, d.getDate(), 0, 30)) {
-          aggregatedCount += d.getCount();
-        }
-      }
-      columnJoinList.add(new JoinedWith().withFullyQualifiedName(innerList.get(1)).withJoinCount(aggregatedCount));
+    Map<String, List<JoinedWith>> map = new LinkedHashMap<>();
+    for (Entry<String, JoinedWith> entry : list) {
+      map.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
     }
 
     List<ColumnJoin> columnJoins = new ArrayList<>();
@@ -652,29 +942,46 @@ public class TableRepository extends EntityRepository<Table> {
   }
 
   private TableData getSampleData(Table table) throws IOException {
-    return JsonUtils.readValue(
-        dao.entityExtensionDAO().getExtension(table.getId().toString(), "table.sampleData"), TableData.class);
+    byte[] data = getEncodedSampleData(table.getId().toString());
+    return data == null ? null : TableDataCodec.decode(data);
+  }
+
+  /**
+   * Sample data added before it was stored in the binary format is stored as json. It is written in the binary format
+   * when it is first read, unless sample data was added in the meantime.
+   */
+  private byte[] getEncodedSampleData(String tableId) throws IOException {
+    byte[] data = dao.tableSampleDataDAO().get(tableId);
+    if (data == null) {
+      TableData tableData =
+          JsonUtils.readValue(dao.entityExtensionDAO().getExtension(tableId, "table.sampleData"), TableData.class);
+      if (tableData != null) {
+        data = TableDataCodec.encode(tableData);
+        dao.tableSampleDataDAO().insertIfAbsent(tableId, data);
+        dao.entityExtensionDAO().delete(tableId, "table.sampleData");
+      }
+    }
+    return data;
   }
 
   private List<TableProfile> getTableProfile(Table table) throws IOException {
-    List<TableProfile> tableProfiles =
-        JsonUtils.readObjects(
-            dao.entityExtensionDAO().getExtension(table.getId().toString(), "table.tableProfile"), TableProfile.class);
-    if (tableProfiles != null) {
-      tableProfiles.sort(
-          Comparator.comparing(p -> parseDate(p.getProfileDate(), RestUtil.DATE_FORMAT), Comparator.reverseOrder()));
+    List<String> jsons =
+        dao.tableProfileDAO().list(table.getId().toString(), null, null, null, profileConfiguration.getFieldLimit());
+    return jsons.isEmpty() ? null : decodeProfiles(jsons);
+  }
+
+  private static List<TableProfile> decodeProfiles(List<String> jsons) throws IOException {
+    List<TableProfile> tableProfiles = new ArrayList<>(jsons.size());
+    for (String json : jsons) {
+      tableProfiles.add(TableProfileCodec.decode(json));
     }
     return tableProfiles;
   }
 
-  private List<SQLQuery> getQueries(Table table) throws IOException {
+  private List<SQLQuery> getQueries(Table table) {
     List<SQLQuery> tableQueries =
-        JsonUtils.readObjects(
-            dao.entityExtensionDAO().getExtension(table.getId().toString(), "table.tableQueries"), SQLQuery.class);
-    if (tableQueries != null) {
-      tableQueries.sort(Comparator.comparing(SQLQuery::getVote, Comparator.reverseOrder()));
-    }
-    return tableQueries;
+        dao.tableQueryDAO().list(table.getId().toString(), "vote", null, null, QUERIES_FIELD_LIMIT);
+    return tableQueries.isEmpty() ? null : tableQueries;
   }
 
   public static class TableEntityInterface implements EntityInterface<Table> {
@@ -845,13 +1152,9 @@ public class TableRepository extends EntityRepository<Table> {
       List<Column> addedColumns = new ArrayList<>();
       recordListChange(fieldName, origColumns, updatedColumns, addedColumns, deletedColumns, columnMatch);
 
-      // Delete tags related to deleted columns
-      deletedColumns.forEach(deleted -> EntityUtil.removeTags(dao.tagDAO(), deleted.getFullyQualifiedName()));
-
-      // Add tags related to newly added columns
-      for (Column added : addedColumns) {
-        EntityUtil.applyTags(dao.tagDAO(), added.getTags(), added.getFullyQualifiedName());
-      }
+      // Delete tags related to deleted columns and add tags related to newly added columns
+      removeColumnTags(tagWriter, deletedColumns);
+      addColumnTags(tagWriter, addedColumns);
 
       // Carry forward the user generated metadata from existing columns to new columns
       for (Column updated : updatedColumns) {
@@ -898,4 +1201,46 @@ public class TableRepository extends EntityRepository<Table> {
       return "columns." + localColumnName + (columnField == null ? "" : "." + columnField);
     }
   }
+
+  /**
+   * Column joins of a {@link TableJoins} request written with one batch per table. A join reported more than once in a
+   * request is written once with the last count.
+   */
+  private static class JoinBatch {
+    private final Map<List<String>, Integer> indexes = new HashMap<>();
+    private final List<String> fromTableIds = new ArrayList<>();
+    private final List<String> fromColumns = new ArrayList<>();
+    private final List<String> toTableIds = new ArrayList<>();
+    private final List<String> toColumns = new ArrayList<>();
+    private final List<String> fromTableFQNs = new ArrayList<>();
+    private final List<String> toTableFQNs = new ArrayList<>();
+    private final List<Integer> counts = new ArrayList<>();
+
+    void add(Table from, String fromColumn, Table to, String toColumn, int count) {
+      String fromId = from.getId().toString();
+      String toId = to.getId().toString();
+      Integer index = indexes.get(List.of(fromId, fromColumn, toId, toColumn));
+      if (index != null) {
+        counts.set(index, count);
+        return;
+      }
+      indexes.put(List.of(fromId, fromColumn, toId, toColumn), counts.size());
+      fromTableIds.add(fromId);
+      fromColumns.add(fromColumn);
+      toTableIds.add(toId);
+      toColumns.add(toColumn);
+      fromTableFQNs.add(from.getFullyQualifiedName());
+      toTableFQNs.add(to.getFullyQualifiedName());
+      counts.add(count);
+    }
+
+    void write(CollectionDAO.TableJoinDAO joinDAO, String date) {
+      if (counts.isEmpty()) {
+        return;
+      }
+      // Sums are updated first as the update subtracts the daily count previously reported for the date
+      joinDAO.upsertCounts(fromTableIds, fromColumns, toTableIds, toColumns, fromTableFQNs, toTableFQNs, date, counts);
+      joinDAO.upsertDailyCounts(fromTableIds, fromColumns, toTableIds, toColumns, date, counts);
+    }
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openmetadata.catalog.type.Tag;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory index of the tags in <i>tag</i> table keyed by fully qualified name. It is used by {@link
+ * org.openmetadata.catalog.util.EntityUtil} to validate tag labels and to expand derived tags without querying the
+ * database. Fully qualified names of tags start with the tag category name, hence <i>tag_category</i> does not need to
+ * be indexed.
+ *
+ * <p>The index is built at startup when enabled in the configuration. {@link TagRepository} updates it once tags that
+ * are created, updated or renamed are committed. Tags that are not in the index are read from the database and added on
+ * lookup. Entries expire after the configured TTL, which bounds the staleness of tags renamed or changed by other
+ * server instances. As in {@link EntityCache}, a generation counter incremented on every update keeps a lookup that
+ * read a tag before the update from putting the old version back in the index.
+ */
+public final class TagIndex {
+  public static final Logger LOG = LoggerFactory.getLogger(TagIndex.class);
+  private static volatile TagIndex instance;
+
+  private final Cache<String, TagEntry> tags;
+  private final AtomicLong generation = new AtomicLong();
+
+  TagIndex(TagIndexConfiguration config, Ticker ticker) {
+    this.tags =
+        Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds())).ticker(ticker).build();
+  }
+
+  /** Build the index from all the tags stored in the database */
+  public static void initialize(TagIndexConfiguration config, CollectionDAO dao) throws IOException {
+    long start = System.currentTimeMillis();
+    TagIndex index = new TagIndex(config, Ticker.systemTicker());
+    for (String json : dao.tagDAO().listAllTags()) {
+      Tag tag = JsonUtils.readValue(json, Tag.class);
+      index.tags.put(tag.getFullyQualifiedName(), TagEntry.of(tag));
+    }
+    instance = index;
+    LOG.info("Built tag index with {} tags in {} ms", index.size(), System.currentTimeMillis() - start);
+  }
+
+  /** Returns the tag index or null when the index is not enabled */
+  public static TagIndex getInstance() {
+    return instance;
+  }
+
+  public long size() {
+    return tags.estimatedSize();
+  }
+
+  public boolean exists(String fqn) {
+    return tags.getIfPresent(fqn) != null;
+  }
+
+  /** Returns the description and associated tags of a tag or null when the tag is not in the index */
+  public TagEntry get(String fqn) {
+    return tags.getIfPresent(fqn);
+  }
+
+  /**
+   * Returns the current generation. Pass it to {@link #load(Tag, long)} along with a tag read from the database after
+   * calling this.
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Add a tag read from the database at {@code readGeneration}, unless the index was updated after it was read or it
+   * was read in a transaction that is not committed yet.
+   */
+  public TagEntry load(Tag tag, long readGeneration) {
+    TagEntry entry = TagEntry.of(tag);
+    if (!AfterCommit.isInTransaction()) {
+      synchronized (this) {
+        if (generation.get() == readGeneration) {
+          tags.put(tag.getFullyQualifiedName(), entry);
+        }
+      }
+    }
+    return entry;
+  }
+
+  /** Store a created tag, or a tag updated or renamed from {@code originalFQN}, once the current transaction commits */
+  public void update(String originalFQN, Tag tag) {
+    TagEntry entry = TagEntry.of(tag);
+    AfterCommit.run(
+        () -> {
+          synchronized (this) {
+            generation.incrementAndGet();
+            if (originalFQN != null) {
+              tags.invalidate(originalFQN);
+            }
+            tags.put(tag.getFullyQualifiedName(), entry);
+          }
+        });
+  }
+
+  /** Immutable details of a tag needed for applying tag labels */
+  public static final class TagEntry {
+    private final String description;
+    private final List<String> associatedTags;
+
+    private TagEntry(String description, List<String> associatedTags) {
+      this.description = description;
+      this.associatedTags = associatedTags == null ? Collections.emptyList() : List.copyOf(associatedTags);
+    }
+
+    public static TagEntry of(Tag tag) {
+      return new TagEntry(tag.getDescription(), tag.getAssociatedTags());
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public List<String> getAssociatedTags() {
+      return associatedTags;
+    }
+  }
+}
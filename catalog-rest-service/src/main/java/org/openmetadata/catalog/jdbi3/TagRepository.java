@@ -157,7 +157,7 @@ public class TagRepository {
       original.withName(updated.getName()).withFullyQualifiedName(updatedFQN);
     }
     original.withDescription(updated.getDescription()).withAssociatedTags(updated.getAssociatedTags());
-    dao.tagDAO().updateTag(originalFQN, JsonUtils.pojoToJson(original));
+    storeTag(originalFQN, original);
 
     // Populate children
     return populateChildrenTags(original, null);
@@ -180,7 +180,7 @@ public class TagRepository {
       String newFQN = oldFQN.replace(prefix, newPrefix);
       LOG.info("Replacing tag fqn from {} to {}", oldFQN, newFQN);
       tag.setFullyQualifiedName(oldFQN.replace(prefix, newPrefix));
-      dao.tagDAO().updateTag(oldFQN, JsonUtils.pojoToJson(tag));
+      storeTag(oldFQN, tag);
       updateChildrenTagNames(oldFQN, newFQN);
     }
   }
@@ -198,7 +198,7 @@ public class TagRepository {
     List<Tag> tags = tag.getChildren();
     tag.setChildren(null); // Children of tag group are not stored as json but constructed on the fly
     tag.setFullyQualifiedName(parentFQN + "." + tag.getName());
-    dao.tagDAO().insertTag(JsonUtils.pojoToJson(tag));
+    storeTag(null, tag);
     tag.setChildren(tags);
     TagResource.LOG.info("Added tag {}", tag.getFullyQualifiedName());
 
@@ -207,11 +207,24 @@ public class TagRepository {
       children.setChildren(null); // No children allowed for the leaf tag
       children.setFullyQualifiedName(children.getFullyQualifiedName() + "." + children.getName());
       TagResource.LOG.info("Added tag {}", children.getFullyQualifiedName());
-      dao.tagDAO().insertTag(JsonUtils.pojoToJson(children));
+      storeTag(null, children);
     }
     return tag;
   }
 
+  /** Insert a new tag when {@code originalFQN} is null, otherwise update the tag and keep {@link TagIndex} current */
+  private void storeTag(String originalFQN, Tag tag) throws JsonProcessingException {
+    if (originalFQN == null) {
+      dao.tagDAO().insertTag(JsonUtils.pojoToJson(tag));
+    } else {
+      dao.tagDAO().updateTag(originalFQN, JsonUtils.pojoToJson(tag));
+    }
+    TagIndex index = TagIndex.getInstance();
+    if (index != null) {
+      index.update(originalFQN, tag);
+    }
+  }
+
   // Populate TagCategory with children details
   private TagCategory populateCategoryTags(TagCategory category, Fields fields) throws IOException {
     // Get tags under that match category prefix
@@ -30,6 +30,7 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.teams.Team;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.resources.teams.TeamResource;
+import org.openmetadata.catalog.security.AuthorizationContextCache;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
@@ -63,6 +64,9 @@ public class TeamRepository extends EntityRepository<Team> {
     // Query 2 - Remove all relationship from and to this team
     // TODO make this UUID based
     dao.relationshipDAO().deleteAll(id.toString());
+
+    // Team membership of all the users of the team has changed
+    AuthorizationContextCache.getInstance().invalidateAll();
   }
 
   public List<EntityReference> getUsers(List<UUID> userIds) {
@@ -134,6 +138,7 @@ public class TeamRepository extends EntityRepository<Team> {
     for (EntityReference user : Optional.ofNullable(team.getUsers()).orElse(Collections.emptyList())) {
       dao.relationshipDAO()
           .insert(team.getId().toString(), user.getId().toString(), "team", "user", Relationship.CONTAINS.ordinal());
+      AuthorizationContextCache.getInstance().invalidate(user.getName());
     }
   }
 
@@ -146,9 +151,9 @@ public class TeamRepository extends EntityRepository<Team> {
     List<String> userIds = dao.relationshipDAO().findTo(id, Relationship.CONTAINS.ordinal(), "user");
     List<EntityReference> users = new ArrayList<>();
     for (String userId : userIds) {
-      users.add(dao.userDAO().findEntityReferenceById(UUID.fromString(userId)));
+      users.add(new EntityReference().withId(UUID.fromString(userId)).withType(Entity.USER));
     }
-    return users;
+    return EntityUtil.getEntityReferences(users);
   }
 
   private List<EntityReference> getOwns(String teamId) throws IOException {
@@ -316,6 +321,12 @@ public class TeamRepository extends EntityRepository<Team> {
 
         updatedUsers.sort(EntityUtil.compareEntityReference);
         origUsers.sort(EntityUtil.compareEntityReference);
+
+        dao.userDAO().clearFingerprints(EntityUtil.getIds(added));
+        dao.userDAO().clearFingerprints(EntityUtil.getIds(deleted));
+        AuthorizationContextCache cache = AuthorizationContextCache.getInstance();
+        added.forEach(user -> cache.invalidate(user.getName()));
+        deleted.forEach(user -> cache.invalidate(user.getName()));
       }
     }
   }
@@ -17,7 +17,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Topic;
@@ -130,6 +132,31 @@ public class TopicRepository extends EntityRepository<Topic> {
     return topic;
   }
 
+  @Override
+  public List<Topic> setFields(List<Topic> topics, Fields fields) throws IOException {
+    // Owner, followers and tags are looked up with a single query for all the topics
+    List<String> ids = topics.stream().map(e -> e.getId().toString()).collect(Collectors.toList());
+    Map<String, EntityReference> owners =
+        fields.contains("owner")
+            ? EntityUtil.populateOwners(ids, dao.relationshipDAO(), dao.userDAO(), dao.teamDAO())
+            : null;
+    Map<String, List<EntityReference>> followers =
+        fields.contains("followers") ? EntityUtil.getFollowers(ids, dao.relationshipDAO(), dao.userDAO()) : null;
+    Map<String, List<TagLabel>> tags =
+        fields.contains("tags")
+            ? EntityUtil.getTags(
+                dao.tagDAO(), topics.stream().map(Topic::getFullyQualifiedName).collect(Collectors.toList()))
+            : null;
+    for (Topic topic : topics) {
+      String id = topic.getId().toString();
+      topic.setService(getService(topic));
+      topic.setOwner(owners != null ? owners.get(id) : null);
+      topic.setFollowers(followers != null ? followers.get(id) : null);
+      topic.setTags(tags != null ? tags.get(topic.getFullyQualifiedName()) : null);
+    }
+    return topics;
+  }
+
   @Override
   public void restorePatchAttributes(Topic original, Topic updated) {}
 
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+public class UsagePercentileConfiguration {
+  /** Compute usage percentiles in the background. When disabled, percentiles are computed during the request */
+  private boolean enabled = true;
+
+  /** Interval between runs that compute the percentiles of the entity types and dates with new usage */
+  private int intervalSeconds = 300;
+
+  /** Number of entities whose percentiles are written with a single batched statement */
+  private int batchSize = 1000;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getIntervalSeconds() {
+    return intervalSeconds;
+  }
+
+  public void setIntervalSeconds(int intervalSeconds) {
+    this.intervalSeconds = intervalSeconds;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public String toString() {
+    return "UsagePercentileConfiguration{enabled="
+        + enabled
+        + ", intervalSeconds="
+        + intervalSeconds
+        + ", batchSize="
+        + batchSize
+        + '}';
+  }
+}
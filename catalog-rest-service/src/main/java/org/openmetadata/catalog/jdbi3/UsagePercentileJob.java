@@ -0,0 +1,210 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.lifecycle.Managed;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the percentile rank of the daily, weekly and monthly usage counts of all the entities of a type on a date.
+ *
+ * <p>Usage counts of the entity type and date are read once into primitive arrays. The rank of a count is the number of
+ * smaller counts, found with a binary search in a sorted copy of the counts, so ranking is O(n log n). Percentiles are
+ * written back with batched updates of {@code batchSize} rows, instead of a single {@code PERCENT_RANK} update that
+ * would lock all the usage rows of the entity type and date until every row is ranked.
+ *
+ * <p>When enabled in the configuration, the job runs in a background thread every {@code intervalSeconds} for the
+ * entity types and dates with new usage. {@link UsageRepository} records them in <i>usage_percentile_pending</i> with
+ * the same connection after writing the usage, so the job only sees them once the usage is committed and pending
+ * ranking is kept across restarts.
+ */
+public final class UsagePercentileJob implements Managed {
+  private static final Logger LOG = LoggerFactory.getLogger(UsagePercentileJob.class);
+  private static volatile UsagePercentileJob instance;
+
+  private final CollectionDAO dao;
+  private final UsagePercentileConfiguration config;
+  /** Number of entity type and date pairs with usage that was not ranked yet at the start of the last run */
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final Timer runTimer;
+  private final Meter rankedMeter;
+  private final Meter failedMeter;
+  private ScheduledExecutorService executor;
+
+  private UsagePercentileJob(UsagePercentileConfiguration config, CollectionDAO dao, MetricRegistry metrics) {
+    this.dao = dao;
+    this.config = config;
+    this.runTimer = metrics.timer(MetricRegistry.name(UsagePercentileJob.class, "run"));
+    this.rankedMeter = metrics.meter(MetricRegistry.name(UsagePercentileJob.class, "ranked"));
+    this.failedMeter = metrics.meter(MetricRegistry.name(UsagePercentileJob.class, "failed"));
+    metrics.register(MetricRegistry.name(UsagePercentileJob.class, "pending"), (Gauge<Integer>) pending::get);
+  }
+
+  public static UsagePercentileJob initialize(
+      UsagePercentileConfiguration config, CollectionDAO dao, MetricRegistry metrics) {
+    instance = new UsagePercentileJob(config, dao, metrics);
+    return instance;
+  }
+
+  /** Returns the percentile job or null when percentiles are not computed in the background */
+  public static UsagePercentileJob getInstance() {
+    return instance;
+  }
+
+  @Override
+  public synchronized void start() {
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "usage-percentile");
+              thread.setDaemon(true);
+              return thread;
+            });
+    int interval = Math.max(1, config.getIntervalSeconds());
+    executor.scheduleWithFixedDelay(this::runPending, interval, interval, TimeUnit.SECONDS);
+    LOG.info("Usage percentile job started with {}", config);
+  }
+
+  @Override
+  public synchronized void stop() throws InterruptedException {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor.awaitTermination(30, TimeUnit.SECONDS);
+      executor = null;
+    }
+  }
+
+  private void runPending() {
+    List<Entry<String, String>> entries;
+    try {
+      entries = dao.usageDAO().listPending();
+    } catch (Exception e) {
+      failedMeter.mark();
+      LOG.error("Failed to list the usage pending percentile ranking", e);
+      return; // Retried in the next run. An exception would cancel the scheduled runs
+    }
+    pending.set(entries.size());
+    for (Entry<String, String> entry : entries) {
+      try (Timer.Context ignored = runTimer.time()) {
+        // Remove the entry before ranking so that usage added while ranking adds it again
+        dao.usageDAO().deletePending(entry.getKey(), entry.getValue());
+        int count = computePercentile(dao, entry.getKey(), entry.getValue(), config.getBatchSize());
+        rankedMeter.mark(count);
+        LOG.info("Computed usage percentiles of {} {} entities on {}", count, entry.getKey(), entry.getValue());
+      } catch (Exception e) {
+        failedMeter.mark();
+        LOG.error("Failed to compute usage percentiles of {} entities on {}", entry.getKey(), entry.getValue(), e);
+        dao.usageDAO().insertPending(entry.getKey(), entry.getValue());
+      }
+      pending.decrementAndGet();
+    }
+  }
+
+  /** Compute the usage percentiles of all the entities of a type on a date. Returns the number of entities ranked */
+  public static int computePercentile(CollectionDAO dao, String entityType, String date, int batchSize) {
+    UsageCounts counts = new UsageCounts();
+    dao.usageDAO().listCounts(entityType, date, counts::add);
+
+    double[] percentile1 = percentRanks(counts.count1, counts.size);
+    double[] percentile7 = percentRanks(counts.count7, counts.size);
+    double[] percentile30 = percentRanks(counts.count30, counts.size);
+    for (int start = 0; start < counts.size; start += batchSize) {
+      int end = Math.min(start + batchSize, counts.size);
+      dao.usageDAO()
+          .updatePercentiles(
+              date,
+              Arrays.asList(counts.ids).subList(start, end),
+              toList(percentile1, start, end),
+              toList(percentile7, start, end),
+              toList(percentile30, start, end));
+    }
+    return counts.size;
+  }
+
+  /**
+   * Percent rank of each value, which is the percentage of values that are smaller, rounded to two decimals. Same as
+   * {@code PERCENT_RANK} except that the number of values instead of one less is used as the denominator.
+   */
+  static double[] percentRanks(int[] values, int size) {
+    int[] sorted = Arrays.copyOf(values, size);
+    Arrays.sort(sorted);
+    double[] ranks = new double[size];
+    for (int i = 0; i < size; i++) {
+      ranks[i] = Math.round(10000.0 * lowerBound(sorted, values[i]) / size) / 100.0;
+    }
+    return ranks;
+  }
+
+  /** Index of the first element in the sorted array that is not smaller than the value */
+  private static int lowerBound(int[] sorted, int value) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static List<Double> toList(double[] values, int start, int end) {
+    List<Double> list = new ArrayList<>(end - start);
+    for (int i = start; i < end; i++) {
+      list.add(values[i]);
+    }
+    return list;
+  }
+
+  /** Usage counts of entities stored as parallel arrays */
+  private static class UsageCounts {
+    private String[] ids = new String[1024];
+    private int[] count1 = new int[1024];
+    private int[] count7 = new int[1024];
+    private int[] count30 = new int[1024];
+    private int size;
+
+    void add(Entry<String, int[]> entry) {
+      if (size == ids.length) {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        count1 = Arrays.copyOf(count1, capacity);
+        count7 = Arrays.copyOf(count7, capacity);
+        count30 = Arrays.copyOf(count30, capacity);
+      }
+      int[] counts = entry.getValue();
+      ids[size] = entry.getKey();
+      count1[size] = counts[0];
+      count7[size] = counts[1];
+      count30[size] = counts[2];
+      size++;
+    }
+  }
+}
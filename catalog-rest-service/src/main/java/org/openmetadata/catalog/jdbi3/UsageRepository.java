@@ -16,12 +16,21 @@ package org.openmetadata.catalog.jdbi3;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.api.usage.AddUsage;
+import org.openmetadata.catalog.api.usage.EntityUsageCount;
+import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.type.DailyCount;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.EntityUsage;
@@ -32,6 +41,10 @@ import org.slf4j.LoggerFactory;
 
 public class UsageRepository {
   private static final Logger LOG = LoggerFactory.getLogger(UsageRepository.class);
+
+  /** Number of entities whose usage is written together when usage is added in bulk */
+  public static final int USAGE_BATCH_SIZE = 1000;
+
   private final CollectionDAO dao;
 
   public UsageRepository(CollectionDAO dao) {
@@ -56,30 +69,77 @@ public class UsageRepository {
   public void create(String entityType, String id, DailyCount usage) throws IOException {
     // Validate data entity for which usage is being collected
     Entity.getEntityReference(entityType, UUID.fromString(id));
-    addUsage(entityType, id, usage);
+    addUsage(entityType, usage.getDate(), Collections.singletonList(id), Collections.singletonList(usage.getCount()));
   }
 
   @Transaction
   public void createByName(String entityType, String fullyQualifiedName, DailyCount usage) throws IOException {
     EntityReference ref = Entity.getEntityReferenceByName(entityType, fullyQualifiedName);
-    addUsage(entityType, ref.getId().toString(), usage);
+    addUsage(
+        entityType,
+        usage.getDate(),
+        Collections.singletonList(ref.getId().toString()),
+        Collections.singletonList(usage.getCount()));
     LOG.info("Usage successfully posted by name");
   }
 
+  /**
+   * Add usage of many entities of the same type on a date. Usage is written {@link #USAGE_BATCH_SIZE} entities at a
+   * time with a fixed number of statements for each batch. Usage reported again for an entity on the same date replaces
+   * the earlier count.
+   */
   @Transaction
+  public void createBulk(String entityType, AddUsage addUsage) {
+    List<EntityUsageCount> usage = addUsage.getUsage();
+    for (int i = 0; i < usage.size(); i += USAGE_BATCH_SIZE) {
+      List<EntityUsageCount> batch = usage.subList(i, Math.min(i + USAGE_BATCH_SIZE, usage.size()));
+      List<String> ids = new ArrayList<>(batch.size());
+      List<Integer> counts = new ArrayList<>(batch.size());
+      for (EntityUsageCount count : batch) {
+        ids.add(count.getId().toString());
+        counts.add(count.getCount());
+      }
+
+      // Validate data entities for which usage is being collected
+      Set<String> existingIds = new HashSet<>(Entity.getExistingIds(entityType, ids));
+      for (String id : ids) {
+        if (!existingIds.contains(id)) {
+          throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, id));
+        }
+      }
+      addUsage(entityType, addUsage.getDate(), ids, counts);
+    }
+  }
+
+  /** Compute percentile ranks of the usage of all the entities of a type on a date */
   public void computePercentile(String entityType, String date) {
-    dao.usageDAO().computePercentile(entityType, date);
+    UsagePercentileJob.computePercentile(dao, entityType, date, USAGE_BATCH_SIZE);
   }
 
-  private void addUsage(String entityType, String entityId, DailyCount usage) {
-    // Insert usage record
-    dao.usageDAO().insert(usage.getDate(), entityId, entityType, usage.getCount());
+  private void addUsage(String entityType, String date, List<String> entityIds, List<Integer> counts) {
+    // Insert usage records and carry the rolling weekly and monthly counts over from the previous records
+    dao.usageDAO().upsertDailyCounts(date, entityIds, entityType, counts);
+    dao.usageDAO().updateRollingCounts(date, entityIds);
+    // Usage to rank is recorded after the usage is written, so the job ranks committed usage even after a restart
+    boolean rankInBackground = UsagePercentileJob.getInstance() != null;
+    if (rankInBackground) {
+      dao.usageDAO().insertPending(entityType, date);
+    }
 
-    // If table usage was reported, add the usage count to database
+    // If table usage was reported, roll the usage count up to the databases
     if (entityType.equalsIgnoreCase(Entity.TABLE)) {
       List<String> databaseIds =
-          dao.relationshipDAO().findFrom(entityId, Relationship.CONTAINS.ordinal(), Entity.DATABASE);
-      dao.usageDAO().insertOrUpdateCount(usage.getDate(), databaseIds.get(0), Entity.DATABASE, usage.getCount());
+          dao.relationshipDAO().findFromBatch(entityIds, Relationship.CONTAINS.ordinal(), Entity.DATABASE).stream()
+              .map(entry -> entry.getValue().getId().toString())
+              .distinct()
+              .collect(Collectors.toList());
+      if (!databaseIds.isEmpty()) {
+        dao.usageDAO().upsertDatabaseCounts(date, databaseIds, Relationship.CONTAINS.ordinal());
+        dao.usageDAO().updateRollingCounts(date, databaseIds);
+        if (rankInBackground) {
+          dao.usageDAO().insertPending(Entity.DATABASE, date);
+        }
+      }
     }
   }
 
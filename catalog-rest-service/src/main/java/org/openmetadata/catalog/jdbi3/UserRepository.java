@@ -23,7 +23,10 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.UUID;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
@@ -31,6 +34,7 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.resources.teams.UserResource;
+import org.openmetadata.catalog.security.AuthorizationContextCache;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
@@ -84,6 +88,9 @@ public class UserRepository extends EntityRepository<User> {
 
     // Restore the relationships
     user.withTeams(teams);
+
+    // User flags or team membership may have changed
+    AuthorizationContextCache.getInstance().invalidate(user.getName());
   }
 
   @Override
@@ -108,10 +115,13 @@ public class UserRepository extends EntityRepository<User> {
     User user = markUserAsDeactivated(id);
 
     // Remove relationship membership to teams
+    dao.teamDAO().clearFingerprints(EntityUtil.getIds(getTeams(user)));
     dao.relationshipDAO().deleteTo(user.getId().toString(), CONTAINS.ordinal(), "team");
 
     // Remove follows relationship to entities
+    Entity.clearFingerprints(dao.relationshipDAO().findTo(id.toString(), FOLLOWS.ordinal()));
     dao.relationshipDAO().deleteFrom(id.toString(), FOLLOWS.ordinal());
+    AuthorizationContextCache.getInstance().invalidate(user.getName());
   }
 
   @Override
@@ -127,14 +137,18 @@ public class UserRepository extends EntityRepository<User> {
   public void restorePatchAttributes(User original, User updated) {}
 
   private List<EntityReference> getOwns(User user) throws IOException {
-    // Compile entities owned by the user
-    List<EntityReference> ownedEntities = dao.relationshipDAO().findTo(user.getId().toString(), OWNS.ordinal());
-
-    // Compile entities owned by the team the user belongs to
+    // Compile entities owned by the user and by the teams the user belongs to with a single query
+    List<String> ownerIds = new ArrayList<>();
+    ownerIds.add(user.getId().toString());
     List<EntityReference> teams = user.getTeams() == null ? getTeams(user) : user.getTeams();
-    for (EntityReference team : teams) {
-      ownedEntities.addAll(dao.relationshipDAO().findTo(team.getId().toString(), OWNS.ordinal()));
+    teams.forEach(team -> ownerIds.add(team.getId().toString()));
+    Map<String, List<EntityReference>> ownedByOwner = new HashMap<>();
+    for (Entry<String, EntityReference> entry : dao.relationshipDAO().findToBatch(ownerIds, OWNS.ordinal())) {
+      ownedByOwner.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
     }
+    List<EntityReference> ownedEntities = new ArrayList<>();
+    ownerIds.forEach(id -> ownedEntities.addAll(ownedByOwner.getOrDefault(id, Collections.emptyList())));
+
     // Populate details in entity reference
     return EntityUtil.populateEntityReferences(ownedEntities);
   }
@@ -346,7 +360,10 @@ public class UserRepository extends EntityRepository<User> {
 
       List<EntityReference> added = new ArrayList<>();
       List<EntityReference> deleted = new ArrayList<>();
-      recordListChange("teams", origTeams, updatedTeams, added, deleted, EntityUtil.entityReferenceMatch);
+      if (recordListChange("teams", origTeams, updatedTeams, added, deleted, EntityUtil.entityReferenceMatch)) {
+        dao.teamDAO().clearFingerprints(EntityUtil.getIds(added));
+        dao.teamDAO().clearFingerprints(EntityUtil.getIds(deleted));
+      }
     }
   }
 }
@@ -178,9 +178,22 @@ public class ChartResource {
   public EntityHistory listVersions(
       @Context UriInfo uriInfo,
       @Context SecurityContext securityContext,
-      @Parameter(description = "Chart Id", schema = @Schema(type = "string")) @PathParam("id") String id)
+      @Parameter(description = "Chart Id", schema = @Schema(type = "string")) @PathParam("id") String id,
+      @Parameter(description = "Limit the number of versions returned. (1 to 1000, default = 100)")
+          @DefaultValue("100")
+          @Min(1)
+          @Max(1000)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(description = "Returns the versions older than this version", schema = @Schema(type = "string"))
+          @QueryParam("before")
+          String before,
+      @Parameter(description = "Return only the version, update details, and change description of each version")
+          @DefaultValue("false")
+          @QueryParam("summary")
+          boolean summary)
       throws IOException, ParseException {
-    return dao.listVersions(id);
+    return dao.listVersions(id, limitParam, before, summary);
   }
 
   @GET
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.security.GeneralSecurityException;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -35,6 +36,7 @@ import javax.json.JsonPatch;
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
@@ -64,8 +66,10 @@ import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.SQLQuery;
 import org.openmetadata.catalog.type.TableData;
+import org.openmetadata.catalog.type.TableJoinCount;
 import org.openmetadata.catalog.type.TableJoins;
 import org.openmetadata.catalog.type.TableProfile;
+import org.openmetadata.catalog.util.BulkResponse;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
@@ -106,6 +110,30 @@ public class TableResource {
     }
   }
 
+  public static class TableProfileList extends ResultList<TableProfile> {
+    @SuppressWarnings("unused") /* Required for tests */
+    public TableProfileList() {}
+
+    public TableProfileList(List<TableProfile> data, String beforeCursor, String afterCursor, int total)
+        throws GeneralSecurityException, UnsupportedEncodingException {
+      super(data, beforeCursor, afterCursor, total);
+    }
+  }
+
+  public static class SQLQueryList extends ResultList<SQLQuery> {
+    @SuppressWarnings("unused") /* Required for tests */
+    public SQLQueryList() {}
+  }
+
+  public static class TableJoinCountList extends ResultList<TableJoinCount> {
+    @SuppressWarnings("unused") /* Required for tests */
+    public TableJoinCountList() {}
+
+    public TableJoinCountList(List<TableJoinCount> data) {
+      super(data);
+    }
+  }
+
   static final String FIELDS =
       "columns,tableConstraints,usageSummary,owner,"
           + "tags,followers,joins,sampleData,viewDefinition,tableProfile,location,tableQueries,dataModel";
@@ -219,6 +247,41 @@ public class TableResource {
     return addHref(uriInfo, dao.getByName(uriInfo, fqn, fields));
   }
 
+  @GET
+  @Path("/joins")
+  @Operation(
+      summary = "List the most joined tables",
+      tags = "tables",
+      description =
+          "Get the tables of a `database` whose columns were joined the most with other columns in the last 30 "
+              + "days, with the highest join count first.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "List of tables and their join counts",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = TableJoinCountList.class))),
+        @ApiResponse(responseCode = "404", description = "Database for instance {database} is not found")
+      })
+  public ResultList<TableJoinCount> listMostJoined(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(
+              description = "Fully qualified name of the database",
+              schema = @Schema(type = "string", example = "snowflakeWestCoast.financeDB"))
+          @NotNull
+          @QueryParam("database")
+          String databaseParam,
+      @Parameter(description = "Limit the number of tables returned. (1 to 1000, default = 10)")
+          @DefaultValue("10")
+          @Min(1)
+          @Max(1000)
+          @QueryParam("limit")
+          int limitParam)
+      throws IOException, ParseException {
+    return new TableJoinCountList(dao.listMostJoinedTables(databaseParam, limitParam));
+  }
+
   @GET
   @Path("/{id}/versions")
   @Operation(
@@ -234,9 +297,22 @@ public class TableResource {
   public EntityHistory listVersions(
       @Context UriInfo uriInfo,
       @Context SecurityContext securityContext,
-      @Parameter(description = "table Id", schema = @Schema(type = "string")) @PathParam("id") String id)
+      @Parameter(description = "table Id", schema = @Schema(type = "string")) @PathParam("id") String id,
+      @Parameter(description = "Limit the number of versions returned. (1 to 1000, default = 100)")
+          @DefaultValue("100")
+          @Min(1)
+          @Max(1000)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(description = "Returns the versions older than this version", schema = @Schema(type = "string"))
+          @QueryParam("before")
+          String before,
+      @Parameter(description = "Return only the version, update details, and change description of each version")
+          @DefaultValue("false")
+          @QueryParam("summary")
+          boolean summary)
       throws IOException, ParseException {
-    return dao.listVersions(id);
+    return dao.listVersions(id, limitParam, before, summary);
   }
 
   @GET
@@ -309,6 +385,49 @@ public class TableResource {
     return response.toResponse();
   }
 
+  @PUT
+  @Path("/bulk")
+  @Operation(
+      summary = "Create or update tables in bulk",
+      tags = "tables",
+      description =
+          "Create tables that do not exist and update tables that already exist. Tables are committed in chunks of "
+              + "`chunkSize`. The response has a result for each table in the request, including the tables that "
+              + "failed.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Result for each table",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request")
+      })
+  public Response bulkCreateOrUpdate(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Number of tables committed in a single transaction (default=100, min=1, max=1000)")
+          @DefaultValue("100")
+          @Min(1)
+          @Max(1000)
+          @QueryParam("chunkSize")
+          int chunkSize,
+      @Valid List<CreateTable> creates) {
+    List<Table> tables = new ArrayList<>(creates.size());
+    creates.forEach(create -> tables.add(getTable(securityContext, create)));
+    BulkResponse response =
+        dao.bulkCreateOrUpdate(
+            uriInfo,
+            tables,
+            chunkSize,
+            table -> {
+              validateNewTable(table);
+              SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext, dao.getOwnerReference(table));
+            });
+    response.getResults().stream()
+        .filter(result -> result.getEntity() != null)
+        .forEach(result -> addHref(uriInfo, (Table) result.getEntity()));
+    return Response.ok(response).build();
+  }
+
   @PATCH
   @Path("/{id}")
   @Operation(
@@ -418,6 +537,39 @@ public class TableResource {
     return addHref(uriInfo, table);
   }
 
+  @GET
+  @Path("/{id}/sampleData")
+  @Operation(
+      summary = "Get sample data",
+      tags = "tables",
+      description = "Get sample data of the table, optionally only for the given `columns` and the first `limit` rows.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Sample data",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TableData.class))),
+        @ApiResponse(responseCode = "404", description = "Table for instance {id} is not found")
+      })
+  public TableData getSampleData(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Id of the table", schema = @Schema(type = "string")) @PathParam("id") String id,
+      @Parameter(
+              description = "Comma separated list of columns to return. All the columns are returned by default",
+              schema = @Schema(type = "string", example = "c1,c2"))
+          @QueryParam("columns")
+          String columnsParam,
+      @Parameter(description = "Limit the number of sample rows returned. (1 to 10000, default = 10000)")
+          @DefaultValue("10000")
+          @Min(1)
+          @Max(10000)
+          @QueryParam("limit")
+          int limitParam)
+      throws IOException {
+    List<String> columns = columnsParam == null ? null : Arrays.asList(columnsParam.replace(" ", "").split(","));
+    return dao.getSampleData(UUID.fromString(id), columns, limitParam);
+  }
+
   @PUT
   @Path("/{id}/tableProfile")
   @Operation(summary = "Add table profile data", tags = "tables", description = "Add table profile data to the table.")
@@ -432,6 +584,49 @@ public class TableResource {
     return addHref(uriInfo, table);
   }
 
+  @GET
+  @Path("/{id}/tableProfile")
+  @Operation(
+      summary = "List table profiles",
+      tags = "tables",
+      description =
+          "Get the profiles of a table taken between `startDate` and `endDate`, latest first. Use the `after` "
+              + "cursor returned in `paging` to get the next page of profiles.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "List of table profiles",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = TableProfileList.class))),
+        @ApiResponse(responseCode = "404", description = "Table for instance {id} is not found")
+      })
+  public TableProfileList listTableProfiles(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Id of the table", schema = @Schema(type = "string")) @PathParam("id") String id,
+      @Parameter(
+              description = "List profiles taken on or after this date in ISO 8601 format",
+              schema = @Schema(type = "string", example = "2021-09-01"))
+          @QueryParam("startDate")
+          String startDate,
+      @Parameter(
+              description = "List profiles taken on or before this date in ISO 8601 format",
+              schema = @Schema(type = "string", example = "2021-09-30"))
+          @QueryParam("endDate")
+          String endDate,
+      @Parameter(description = "Limit the number of profiles returned. (1 to 1000, default = 30)")
+          @DefaultValue("30")
+          @Min(1)
+          @Max(1000)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(description = "Returns list of profiles after this cursor", schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after)
+      throws IOException, GeneralSecurityException {
+    return dao.listTableProfiles(UUID.fromString(id), startDate, endDate, limitParam, after);
+  }
+
   @PUT
   @Path("/{id}/location")
   @Operation(
@@ -466,6 +661,45 @@ public class TableResource {
     return addHref(uriInfo, table);
   }
 
+  @GET
+  @Path("/{id}/tableQuery")
+  @Operation(
+      summary = "List table queries",
+      tags = "tables",
+      description =
+          "Get the queries that ran against a table ordered by `vote`, `count` of times the query ran or "
+              + "`recency`. Use cursor-based pagination to limit the number of entries in the list using `limit` "
+              + "and `after` query params.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "List of table queries",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SQLQueryList.class))),
+        @ApiResponse(responseCode = "404", description = "Table for instance {id} is not found")
+      })
+  public ResultList<SQLQuery> listQueries(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Id of the table", schema = @Schema(type = "string")) @PathParam("id") String id,
+      @Parameter(
+              description = "Order queries by `vote`, `count` or `recency`",
+              schema = @Schema(type = "string", example = "count"))
+          @DefaultValue("vote")
+          @QueryParam("orderBy")
+          String orderBy,
+      @Parameter(description = "Limit the number of queries returned. (1 to 1000, default = 10)")
+          @DefaultValue("10")
+          @Min(1)
+          @Max(1000)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(description = "Returns list of queries after this cursor", schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after)
+      throws IOException, GeneralSecurityException {
+    return dao.listQueries(UUID.fromString(id), orderBy, limitParam, after);
+  }
+
   @PUT
   @Path("/{id}/dataModel")
   @Operation(
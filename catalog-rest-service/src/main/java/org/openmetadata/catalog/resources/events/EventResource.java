@@ -13,6 +13,9 @@
 
 package org.openmetadata.catalog.resources.events;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.inject.Inject;
 import io.swagger.annotations.Api;
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,13 +31,18 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.openmetadata.catalog.Entity.EntityList;
 import org.openmetadata.catalog.jdbi3.ChangeEventRepository;
@@ -42,8 +50,10 @@ import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.common.utils.CipherText;
 
 @Path("/v1/events")
 @Api(value = "Events resource", tags = "events")
@@ -51,6 +61,7 @@ import org.openmetadata.catalog.util.ResultList;
 @Consumes(MediaType.APPLICATION_JSON)
 @Collection(name = "events")
 public class EventResource {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
   private final ChangeEventRepository dao;
   private final CatalogAuthorizer authorizer;
 
@@ -77,15 +88,18 @@ public class EventResource {
   @Operation(
       summary = "Get change events",
       tags = "events",
-      description = "Get a list of change events matching event types, entity type, from a given date",
+      description =
+          "Get a list of change events matching event types, entity type, from a given date. Events are "
+              + "returned in the order they were recorded. Use the `after` cursor to get the next page of events.",
       responses = {
         @ApiResponse(
             responseCode = "200",
             description = "Entity events",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeEvent.class))),
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeEventList.class))),
         @ApiResponse(responseCode = "404", description = "Entity for instance {id} is not found")
       })
-  public ResultList<ChangeEvent> get(
+  public Response get(
       @Context UriInfo uriInfo,
       @Parameter(
               description =
@@ -112,16 +126,53 @@ public class EventResource {
           @QueryParam("entityDeleted")
           String entityDeleted,
       @Parameter(
-              description = "Events starting from this date time in ISO8601 format",
-              required = true,
+              description =
+                  "Events starting from this date time in ISO8601 format. Required for the first page and not "
+                      + "used with the `after` cursor",
               schema = @Schema(type = "string", example = "2021-01-28T10:00:00.000000Z"))
           @QueryParam("date")
-          String date)
-      throws IOException, GeneralSecurityException, ParseException {
-    Date parsedDate = RestUtil.DATE_TIME_FORMAT.parse(date);
+          String date,
+      @Parameter(description = "Limit the number of events returned. (1 to 10000, default = 100)")
+          @DefaultValue("100")
+          @Min(1)
+          @Max(ChangeEventRepository.MAX_LIMIT)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(
+              description = "Returns events after this cursor, with the same filters as the previous page",
+              schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after)
+      throws GeneralSecurityException, ParseException, IOException {
     List<String> entityCreatedList = EntityList.getEntityList("entityCreated", entityCreated);
     List<String> entityUpdatedList = EntityList.getEntityList("entityUpdated", entityUpdated);
     List<String> entityDeletedList = EntityList.getEntityList("entityDeleted", entityDeleted);
-    return dao.list(parsedDate, entityCreatedList, entityUpdatedList, entityDeletedList);
+    String afterCursor = after == null ? null : CipherText.instance().decrypt(after);
+    if (afterCursor != null) {
+      ChangeEventRepository.validateCursor(afterCursor);
+    } else if (date == null) {
+      throw new IllegalArgumentException("Query param date is required for the first page of events");
+    }
+    Date parsedDate = date == null ? null : RestUtil.DATE_TIME_FORMAT.parse(date);
+
+    // The page is read before responding, so that a database error fails the request. Event JSON is then streamed as
+    // stored without deserializing the events.
+    ResultList<String> events =
+        dao.list(parsedDate, afterCursor, limitParam, entityCreatedList, entityUpdatedList, entityDeletedList);
+    StreamingOutput stream =
+        output -> {
+          try (JsonGenerator generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            for (String json : events.getData()) {
+              generator.writeRawValue(json);
+            }
+            generator.writeEndArray();
+            generator.writeFieldName("paging");
+            generator.writeRawValue(JsonUtils.pojoToJson(events.getPaging()));
+            generator.writeEndObject();
+          }
+        };
+    return Response.ok(stream, MediaType.APPLICATION_JSON_TYPE).build();
   }
 }
@@ -21,12 +21,17 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -46,6 +51,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.type.Post;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.common.utils.CipherText;
 
 @Path("/v1/feed")
 @Api(value = "Feeds collection", tags = "Feeds collection")
@@ -73,12 +79,13 @@ public class FeedResource {
     this.dao = new FeedRepository(dao);
   }
 
-  static class ThreadList extends ResultList<Thread> {
+  public static class ThreadList extends ResultList<Thread> {
     @SuppressWarnings("unused") // Used for deserialization
-    ThreadList() {}
+    public ThreadList() {}
 
-    ThreadList(List<Thread> data) {
-      super(data);
+    public ThreadList(List<Thread> data, String beforeCursor, String afterCursor, int total)
+        throws GeneralSecurityException, UnsupportedEncodingException {
+      super(data, beforeCursor, afterCursor, total);
     }
   }
 
@@ -86,7 +93,9 @@ public class FeedResource {
   @Operation(
       summary = "List threads",
       tags = "feeds",
-      description = "Get a list of threads, optionally filtered by `entityLink`.",
+      description =
+          "Get a list of threads, optionally filtered by `entityLink`. Threads are returned latest first. "
+              + "Use cursor `after` to get the next page of results.",
       responses = {
         @ApiResponse(
             responseCode = "200",
@@ -99,9 +108,21 @@ public class FeedResource {
               description = "Filter threads by entity link",
               schema = @Schema(type = "string", example = "<E#/{entityType}/{entityId}>"))
           @QueryParam("entity")
-          String entityLink)
-      throws IOException {
-    return new ThreadList(addHref(uriInfo, dao.listThreads(entityLink)));
+          String entityLink,
+      @Parameter(description = "Limit the number of threads returned. (1 to 1000, default = 10)")
+          @DefaultValue("10")
+          @Min(1)
+          @Max(1000)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(description = "Returns list of threads after this cursor", schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after)
+      throws IOException, GeneralSecurityException {
+    String afterCursor = after == null ? null : CipherText.instance().decrypt(after);
+    ThreadList threads = dao.listThreads(entityLink, limitParam, afterCursor);
+    addHref(uriInfo, threads.getData());
+    return threads;
   }
 
   @GET
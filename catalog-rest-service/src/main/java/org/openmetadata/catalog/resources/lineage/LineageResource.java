@@ -46,6 +46,7 @@ import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.resources.teams.UserResource;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.type.EntityLineage;
+import org.openmetadata.catalog.type.LineageImpact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,11 +92,17 @@ public class LineageResource {
       @Parameter(description = "Upstream depth of lineage (default=1, min=0, max=3)") @QueryParam("upstreamDepth")
           int upstreamDepth,
       @Parameter(description = "Downstream depth of lineage (default=1, min=0, max=3)") @QueryParam("downstreamDepth")
-          int downStreamDepth)
+          int downStreamDepth,
+      @Parameter(description = "Maximum number of nodes returned in each direction (default=1000, min=1, max=10000)")
+          @DefaultValue("1000")
+          @Min(1)
+          @Max(LineageRepository.MAX_NODES_LIMIT)
+          @QueryParam("maxNodes")
+          int maxNodes)
       throws IOException {
     upstreamDepth = Math.min(Math.max(upstreamDepth, 0), 3);
     downStreamDepth = Math.min(Math.max(downStreamDepth, 0), 3);
-    return addHref(uriInfo, dao.get(entity, id, upstreamDepth, downStreamDepth));
+    return addHref(uriInfo, dao.get(entity, id, upstreamDepth, downStreamDepth, maxNodes));
   }
 
   @GET
@@ -137,9 +144,94 @@ public class LineageResource {
           @Min(0)
           @Max(3)
           @QueryParam("downstreamDepth")
-          int downStreamDepth)
+          int downStreamDepth,
+      @Parameter(description = "Maximum number of nodes returned in each direction (default=1000, min=1, max=10000)")
+          @DefaultValue("1000")
+          @Min(1)
+          @Max(LineageRepository.MAX_NODES_LIMIT)
+          @QueryParam("maxNodes")
+          int maxNodes)
       throws IOException {
-    return addHref(uriInfo, dao.getByName(entity, fqn, upstreamDepth, downStreamDepth));
+    return addHref(uriInfo, dao.getByName(entity, fqn, upstreamDepth, downStreamDepth, maxNodes));
+  }
+
+  @GET
+  @Valid
+  @Path("/impact/{entity}/{id}")
+  @Operation(
+      summary = "Get lineage impact",
+      tags = "lineage",
+      description =
+          "Get the number of entities upstream and downstream of an entity identified by `id` at any depth, "
+              + "grouped by entity type.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lineage impact",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = LineageImpact.class))),
+        @ApiResponse(responseCode = "404", description = "Entity for instance {id} is not found")
+      })
+  public LineageImpact getImpact(
+      @Context UriInfo uriInfo,
+      @Parameter(
+              description = "Entity type for which lineage impact is requested",
+              required = true,
+              schema = @Schema(type = "string", example = "table, report, metrics, or dashboard"))
+          @PathParam("entity")
+          String entity,
+      @Parameter(description = "Entity id", required = true, schema = @Schema(type = "string")) @PathParam("id")
+          String id,
+      @Parameter(description = "Maximum number of nodes returned in each direction (default=1000, min=1, max=10000)")
+          @DefaultValue("1000")
+          @Min(1)
+          @Max(LineageRepository.MAX_NODES_LIMIT)
+          @QueryParam("maxNodes")
+          int maxNodes)
+      throws IOException {
+    LineageImpact impact = dao.getImpact(entity, id, maxNodes);
+    Entity.withHref(uriInfo, impact.getEntity());
+    return impact;
+  }
+
+  @GET
+  @Valid
+  @Path("/service/{serviceType}/{id}/downstream")
+  @Operation(
+      summary = "Get entities downstream of a service",
+      tags = "lineage",
+      description =
+          "Get all the entities downstream of the entities that belong to a service identified by `id`, "
+              + "such as all the tables downstream of the tables of a database service.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Entity lineage with downstream entities as nodes",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = EntityLineage.class))),
+        @ApiResponse(responseCode = "404", description = "Service for instance {id} is not found")
+      })
+  public EntityLineage getServiceDownstream(
+      @Context UriInfo uriInfo,
+      @Parameter(
+              description = "Service type",
+              required = true,
+              schema = @Schema(type = "string", example = "databaseService, messagingService, or dashboardService"))
+          @PathParam("serviceType")
+          String serviceType,
+      @Parameter(description = "Service id", required = true, schema = @Schema(type = "string")) @PathParam("id")
+          String id,
+      @Parameter(
+              description = "Return only downstream entities of this type",
+              schema = @Schema(type = "string", example = "table"))
+          @QueryParam("entityType")
+          String entityType,
+      @Parameter(description = "Maximum number of nodes returned (default=1000, min=1, max=10000)")
+          @DefaultValue("1000")
+          @Min(1)
+          @Max(LineageRepository.MAX_NODES_LIMIT)
+          @QueryParam("maxNodes")
+          int maxNodes)
+      throws IOException {
+    return addHref(uriInfo, dao.getServiceDownstream(serviceType, id, entityType, maxNodes));
   }
 
   @PUT
@@ -36,6 +36,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.api.usage.AddUsage;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.UsageRepository;
 import org.openmetadata.catalog.resources.Collection;
@@ -212,6 +213,33 @@ public class UsageResource {
     return Response.status(Response.Status.CREATED).build();
   }
 
+  @POST
+  @Path("/{entity}/bulk")
+  @Operation(
+      summary = "Report usage in bulk",
+      tags = "usage",
+      description =
+          "Report usage information for many entities of the same type on a given date. Usage reported again "
+              + "for an entity on the same date replaces the earlier usage. System stores last 30 days of usage "
+              + "information. Usage information older than 30 days is deleted.",
+      responses = {
+        @ApiResponse(responseCode = "201", description = "Usage information added"),
+        @ApiResponse(responseCode = "400", description = "Bad request"),
+        @ApiResponse(responseCode = "404", description = "Entity for instance {id} is not found")
+      })
+  public Response createBulk(
+      @Context UriInfo uriInfo,
+      @Parameter(
+              description = "Entity type for which usage is reported",
+              required = true,
+              schema = @Schema(type = "string", example = "table, report, metrics, or dashboard"))
+          @PathParam("entity")
+          String entity,
+      @Parameter(description = "Usage information of entities on a given date") @Valid AddUsage addUsage) {
+    dao.createBulk(entity, addUsage);
+    return Response.status(Response.Status.CREATED).build();
+  }
+
   @POST
   @Path("/compute.percentile/{entity}/{date}")
   @Operation(
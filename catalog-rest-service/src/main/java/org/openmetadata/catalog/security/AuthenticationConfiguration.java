@@ -13,6 +13,9 @@
 
 package org.openmetadata.catalog.security;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
+
 public class AuthenticationConfiguration {
   private String provider;
 
@@ -24,6 +27,10 @@ public class AuthenticationConfiguration {
 
   private String callbackUrl;
 
+  /** Server side caching of signing keys and verified tokens. Not returned to the clients. */
+  @JsonProperty(access = Access.WRITE_ONLY)
+  private JwtCacheConfiguration jwtCache = new JwtCacheConfiguration();
+
   public String getProvider() {
     return provider;
   }
@@ -63,4 +70,12 @@ public class AuthenticationConfiguration {
   public void setCallbackUrl(String callbackUrl) {
     this.callbackUrl = callbackUrl;
   }
+
+  public JwtCacheConfiguration getJwtCache() {
+    return jwtCache;
+  }
+
+  public void setJwtCache(JwtCacheConfiguration jwtCache) {
+    this.jwtCache = jwtCache;
+  }
 }
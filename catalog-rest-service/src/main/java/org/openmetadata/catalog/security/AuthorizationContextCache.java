@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Function;
+import org.openmetadata.catalog.jdbi3.AfterCommit;
+
+/**
+ * Cache of the user attributes needed for authorization decisions keyed by user name. It is used by {@link
+ * DefaultCatalogAuthorizer} to avoid reading the user and the team memberships for every request.
+ *
+ * <p>Entries are invalidated by {@link org.openmetadata.catalog.jdbi3.UserRepository} and {@link
+ * org.openmetadata.catalog.jdbi3.TeamRepository} when a user or team membership changes. Invalidation runs after the
+ * transaction commits so that a concurrent request can not cache the state from before the change. The TTL bounds the
+ * staleness of changes made outside of this server instance.
+ */
+public final class AuthorizationContextCache {
+  private static final long MAX_SIZE = 10000;
+  private static volatile AuthorizationContextCache instance = new AuthorizationContextCache(0);
+
+  private final Cache<String, AuthorizationContext> contexts;
+
+  private AuthorizationContextCache(long ttlSeconds) {
+    this.contexts =
+        Caffeine.newBuilder()
+            .maximumSize(ttlSeconds > 0 ? MAX_SIZE : 0)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+  }
+
+  public static void initialize(long ttlSeconds) {
+    instance = new AuthorizationContextCache(ttlSeconds);
+  }
+
+  public static AuthorizationContextCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the authorization context of a user, loading it using {@code loader} on cache miss. Returns null when the
+   * loader returns null, such as when the user does not exist.
+   */
+  public AuthorizationContext get(String userName, Function<String, AuthorizationContext> loader) {
+    return contexts.get(userName, loader);
+  }
+
+  public void invalidate(String userName) {
+    if (userName != null) {
+      AfterCommit.run(() -> contexts.invalidate(userName));
+    }
+  }
+
+  public void invalidateAll() {
+    AfterCommit.run(contexts::invalidateAll);
+  }
+
+  /** User flags and team memberships of a user */
+  public static class AuthorizationContext {
+    private final boolean admin;
+    private final boolean bot;
+    private final Set<String> teams;
+
+    public AuthorizationContext(boolean admin, boolean bot, Set<String> teams) {
+      this.admin = admin;
+      this.bot = bot;
+      this.teams = Collections.unmodifiableSet(teams);
+    }
+
+    public boolean isAdmin() {
+      return admin;
+    }
+
+    public boolean isBot() {
+      return bot;
+    }
+
+    /** Names of the teams the user belongs to */
+    public Set<String> getTeams() {
+      return teams;
+    }
+  }
+}
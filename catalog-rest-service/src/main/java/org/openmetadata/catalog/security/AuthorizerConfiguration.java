@@ -29,6 +29,9 @@ public class AuthorizerConfiguration {
 
   private CatalogAuthorizerConfiguration catalogAuthorizerConfiguration;
 
+  /** Time for which user flags and team memberships are cached for authorization decisions. 0 disables caching. */
+  private long authorizationCacheTtlSeconds = 60;
+
   public String getClassName() {
     return className;
   }
@@ -77,6 +80,14 @@ public class AuthorizerConfiguration {
     this.principalDomain = principalDomain;
   }
 
+  public long getAuthorizationCacheTtlSeconds() {
+    return authorizationCacheTtlSeconds;
+  }
+
+  public void setAuthorizationCacheTtlSeconds(long authorizationCacheTtlSeconds) {
+    this.authorizationCacheTtlSeconds = authorizationCacheTtlSeconds;
+  }
+
   @Override
   public String toString() {
     return "AuthorizerConfiguration{"
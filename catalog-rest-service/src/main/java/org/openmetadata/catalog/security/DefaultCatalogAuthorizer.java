@@ -17,10 +17,13 @@ import static org.openmetadata.catalog.resources.teams.UserResource.FIELD_LIST;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jdbi.v3.core.Jdbi;
 import org.openmetadata.catalog.Entity;
@@ -29,6 +32,7 @@ import org.openmetadata.catalog.exception.DuplicateEntityException;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.UserRepository;
+import org.openmetadata.catalog.security.AuthorizationContextCache.AuthorizationContext;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.slf4j.Logger;
@@ -53,6 +57,7 @@ public class DefaultCatalogAuthorizer implements CatalogAuthorizer {
     LOG.debug("Admin users: {}", adminUsers);
     CollectionDAO repo = dbi.onDemand(CollectionDAO.class);
     this.userRepository = new UserRepository(repo);
+    AuthorizationContextCache.initialize(config.getAuthorizationCacheTtlSeconds());
     mayBeAddAdminUsers();
     mayBeAddBotUsers();
   }
@@ -105,53 +110,49 @@ public class DefaultCatalogAuthorizer implements CatalogAuthorizer {
       return true;
     }
     String userName = SecurityUtil.getUserName(ctx);
-    EntityUtil.Fields fields = new EntityUtil.Fields(FIELD_LIST, fieldsParam);
-    try {
-      User user = userRepository.getByName(null, userName, fields);
-      if (owner.getType().equals(Entity.TEAM)) {
-        for (EntityReference team : user.getTeams()) {
-          if (team.getName().equals(owner.getName())) {
-            return true;
-          }
-        }
-      } else if (owner.getType().equals(Entity.USER)) {
-        return user.getName().equals(owner.getName());
-      }
-      return false;
-    } catch (IOException | EntityNotFoundException | ParseException ex) {
+    AuthorizationContext context = getAuthorizationContext(userName);
+    if (context == null) {
       return false;
     }
+    if (owner.getType().equals(Entity.TEAM)) {
+      return context.getTeams().contains(owner.getName());
+    } else if (owner.getType().equals(Entity.USER)) {
+      return userName.equals(owner.getName());
+    }
+    return false;
   }
 
   @Override
   public boolean isAdmin(AuthenticationContext ctx) {
     validateAuthenticationContext(ctx);
-    String userName = SecurityUtil.getUserName(ctx);
-    EntityUtil.Fields fields = new EntityUtil.Fields(FIELD_LIST, fieldsParam);
-    try {
-      User user = userRepository.getByName(null, userName, fields);
-      if (user.getIsAdmin() == null) {
-        return false;
-      }
-      return user.getIsAdmin();
-    } catch (IOException | EntityNotFoundException | ParseException ex) {
-      return false;
-    }
+    AuthorizationContext context = getAuthorizationContext(SecurityUtil.getUserName(ctx));
+    return context != null && context.isAdmin();
   }
 
   @Override
   public boolean isBot(AuthenticationContext ctx) {
     validateAuthenticationContext(ctx);
-    String userName = SecurityUtil.getUserName(ctx);
+    AuthorizationContext context = getAuthorizationContext(SecurityUtil.getUserName(ctx));
+    return context != null && context.isBot();
+  }
+
+  /** Returns user flags and team memberships from the cache, or null when the user is not found */
+  private AuthorizationContext getAuthorizationContext(String userName) {
+    return AuthorizationContextCache.getInstance().get(userName, this::loadAuthorizationContext);
+  }
+
+  private AuthorizationContext loadAuthorizationContext(String userName) {
     EntityUtil.Fields fields = new EntityUtil.Fields(FIELD_LIST, fieldsParam);
     try {
       User user = userRepository.getByName(null, userName, fields);
-      if (user.getIsBot() == null) {
-        return false;
-      }
-      return user.getIsBot();
+      Set<String> teams =
+          Optional.ofNullable(user.getTeams()).orElse(Collections.emptyList()).stream()
+              .map(EntityReference::getName)
+              .collect(Collectors.toSet());
+      return new AuthorizationContext(
+          Boolean.TRUE.equals(user.getIsAdmin()), Boolean.TRUE.equals(user.getIsBot()), teams);
     } catch (IOException | EntityNotFoundException | ParseException ex) {
-      return false;
+      return null;
     }
   }
 
@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import com.auth0.jwk.InvalidPublicKeyException;
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkException;
+import com.auth0.jwk.UrlJwkProvider;
+import com.codahale.metrics.Meter;
+import java.net.URL;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the RSA public keys from a JSON web key set (JWKS) endpoint. Keys are loaded on first use, reloaded in the
+ * background periodically and reloaded when a token is signed with a key id that is not in the cache, such as after the
+ * identity provider rotates its keys. Reloads triggered by unknown key ids are rate limited. The background reload
+ * stops on {@link #close()}.
+ */
+public class JwksCache {
+  private static final Logger LOG = LoggerFactory.getLogger(JwksCache.class);
+
+  private final UrlJwkProvider provider;
+  private final long minRefreshIntervalMillis;
+  private final Meter refreshes;
+  private final Meter refreshFailures;
+  private final ScheduledExecutorService executor;
+  private volatile Map<String, RSAPublicKey> keys = Collections.emptyMap();
+  private volatile long lastRefreshTime;
+
+  public JwksCache(URL jwksUrl, JwtCacheConfiguration config, Meter refreshes, Meter refreshFailures) {
+    this.provider = new UrlJwkProvider(jwksUrl);
+    this.minRefreshIntervalMillis = TimeUnit.SECONDS.toMillis(config.getJwksMinRefreshIntervalSeconds());
+    this.refreshes = refreshes;
+    this.refreshFailures = refreshFailures;
+    long interval = config.getJwksRefreshIntervalSeconds();
+    if (interval > 0) {
+      executor =
+          Executors.newSingleThreadScheduledExecutor(
+              r -> {
+                Thread thread = new Thread(r, "jwks-refresh");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.scheduleWithFixedDelay(this::refreshQuietly, interval, interval, TimeUnit.SECONDS);
+    } else {
+      executor = null;
+    }
+  }
+
+  /** Stop reloading the key set in the background */
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the public key for the given key id. A token without key id is accepted only when the key set has a single
+   * key.
+   */
+  public RSAPublicKey getPublicKey(String keyId) throws JwkException {
+    RSAPublicKey key = find(keyId);
+    if (key == null) {
+      synchronized (this) {
+        // Another request may have reloaded the keys while waiting for the lock
+        key = find(keyId);
+        if (key == null && System.currentTimeMillis() - lastRefreshTime >= minRefreshIntervalMillis) {
+          refresh();
+          key = find(keyId);
+        }
+      }
+    }
+    if (key == null) {
+      throw new AuthenticationException("Invalid token, unknown signing key " + keyId);
+    }
+    return key;
+  }
+
+  private RSAPublicKey find(String keyId) {
+    Map<String, RSAPublicKey> current = keys;
+    if (keyId == null) {
+      return current.size() == 1 ? current.values().iterator().next() : null;
+    }
+    return current.get(keyId);
+  }
+
+  /** Reload the key set from the JWKS endpoint */
+  public synchronized void refresh() throws JwkException {
+    lastRefreshTime = System.currentTimeMillis();
+    refreshes.mark();
+    Map<String, RSAPublicKey> newKeys = new HashMap<>();
+    try {
+      for (Jwk jwk : provider.getAll()) {
+        try {
+          PublicKey publicKey = jwk.getPublicKey();
+          if (publicKey instanceof RSAPublicKey) {
+            newKeys.put(jwk.getId(), (RSAPublicKey) publicKey);
+          }
+        } catch (InvalidPublicKeyException e) {
+          LOG.debug("Ignoring unsupported signing key {}", jwk.getId(), e);
+        }
+      }
+    } catch (JwkException | RuntimeException e) {
+      refreshFailures.mark();
+      throw e;
+    }
+    keys = Collections.unmodifiableMap(newKeys);
+    LOG.debug("Loaded {} signing keys", newKeys.size());
+  }
+
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      LOG.warn("Failed to reload signing keys, using the previously loaded keys", e);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+public class JwtCacheConfiguration {
+  /** Maximum number of verified tokens kept in the cache */
+  private long principalCacheSize = 10000;
+
+  /** Time after which a verified token is verified again, even when the token has not expired */
+  private long principalCacheTtlSeconds = 300;
+
+  /** Interval at which the JSON web key set is reloaded in the background */
+  private long jwksRefreshIntervalSeconds = 3600;
+
+  /** Minimum interval between reloads of the JSON web key set triggered by tokens signed with an unknown key */
+  private long jwksMinRefreshIntervalSeconds = 30;
+
+  public long getPrincipalCacheSize() {
+    return principalCacheSize;
+  }
+
+  public void setPrincipalCacheSize(long principalCacheSize) {
+    this.principalCacheSize = principalCacheSize;
+  }
+
+  public long getPrincipalCacheTtlSeconds() {
+    return principalCacheTtlSeconds;
+  }
+
+  public void setPrincipalCacheTtlSeconds(long principalCacheTtlSeconds) {
+    this.principalCacheTtlSeconds = principalCacheTtlSeconds;
+  }
+
+  public long getJwksRefreshIntervalSeconds() {
+    return jwksRefreshIntervalSeconds;
+  }
+
+  public void setJwksRefreshIntervalSeconds(long jwksRefreshIntervalSeconds) {
+    this.jwksRefreshIntervalSeconds = jwksRefreshIntervalSeconds;
+  }
+
+  public long getJwksMinRefreshIntervalSeconds() {
+    return jwksMinRefreshIntervalSeconds;
+  }
+
+  public void setJwksMinRefreshIntervalSeconds(long jwksMinRefreshIntervalSeconds) {
+    this.jwksMinRefreshIntervalSeconds = jwksMinRefreshIntervalSeconds;
+  }
+}
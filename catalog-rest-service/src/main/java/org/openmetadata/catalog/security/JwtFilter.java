@@ -13,17 +13,28 @@
 
 package org.openmetadata.catalog.security;
 
-import com.auth0.jwk.Jwk;
-import com.auth0.jwk.UrlJwkProvider;
+import com.auth0.jwk.JwkException;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.util.Strings;
 import java.lang.invoke.MethodHandles;
+import java.net.MalformedURLException;
 import java.net.URI;
-import java.security.interfaces.RSAPublicKey;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.core.Context;
@@ -36,18 +47,57 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Provider
-public class JwtFilter implements ContainerRequestFilter {
+public class JwtFilter implements ContainerRequestFilter, Managed {
   private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
   @Context private UriInfo uriInfo;
 
   public static final String TOKEN_HEADER = "X-Catalog-Source";
   private String publicKeyUri;
+  private JwksCache jwksCache;
+
+  /** Principals of verified tokens keyed by SHA-256 hash of the token */
+  private Cache<String, CachedPrincipal> principals;
+
+  private Meter principalCacheHits;
+  private Meter principalCacheMisses;
 
   @SuppressWarnings("unused")
   private JwtFilter() {}
 
   public JwtFilter(AuthenticationConfiguration authenticationConfiguration) {
+    this(authenticationConfiguration, null);
+  }
+
+  public JwtFilter(AuthenticationConfiguration authenticationConfiguration, MetricRegistry metrics) {
     this.publicKeyUri = authenticationConfiguration.getPublicKey();
+    JwtCacheConfiguration config = authenticationConfiguration.getJwtCache();
+    this.principals =
+        Caffeine.newBuilder()
+            .maximumSize(config.getPrincipalCacheSize())
+            .expireAfterWrite(config.getPrincipalCacheTtlSeconds(), TimeUnit.SECONDS)
+            .build();
+    this.principalCacheHits = meter(metrics, "principalCacheHits");
+    this.principalCacheMisses = meter(metrics, "principalCacheMisses");
+    try {
+      URL url = new URI(publicKeyUri).normalize().toURL();
+      this.jwksCache = new JwksCache(url, config, meter(metrics, "keyRefreshes"), meter(metrics, "keyRefreshFailures"));
+    } catch (URISyntaxException | MalformedURLException e) {
+      throw new IllegalArgumentException("Invalid public key URI " + publicKeyUri, e);
+    }
+  }
+
+  @Override
+  public void start() {}
+
+  @Override
+  public void stop() {
+    if (jwksCache != null) {
+      jwksCache.close();
+    }
+  }
+
+  private static Meter meter(MetricRegistry metrics, String name) {
+    return metrics == null ? new Meter() : metrics.meter(MetricRegistry.name(JwtFilter.class, name));
   }
 
   @SneakyThrows
@@ -63,23 +113,47 @@ public class JwtFilter implements ContainerRequestFilter {
     String tokenFromHeader = extractToken(headers);
     LOG.debug("Token from header:{}", tokenFromHeader);
 
+    // Tokens already verified are not verified again until they expire
+    String tokenHash = hash(tokenFromHeader);
+    CachedPrincipal cached = principals.getIfPresent(tokenHash);
+    CatalogPrincipal catalogPrincipal;
+    if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+      principalCacheHits.mark();
+      catalogPrincipal = cached.principal;
+    } else {
+      principalCacheMisses.mark();
+      DecodedJWT jwt = verify(tokenFromHeader);
+      catalogPrincipal = new CatalogPrincipal(getUserName(jwt));
+      principals.put(tokenHash, new CachedPrincipal(catalogPrincipal, jwt.getExpiresAt().getTime()));
+    }
+
+    // Setting Security Context
+    String scheme = requestContext.getUriInfo().getRequestUri().getScheme();
+    CatalogSecurityContext catalogSecurityContext =
+        new CatalogSecurityContext(catalogPrincipal, scheme, CatalogSecurityContext.DIGEST_AUTH);
+    LOG.debug("SecurityContext {}", catalogSecurityContext);
+    requestContext.setSecurityContext(catalogSecurityContext);
+  }
+
+  private DecodedJWT verify(String token) throws JwkException {
     // Decode JWT Token
-    DecodedJWT jwt = JWT.decode(tokenFromHeader);
+    DecodedJWT jwt = JWT.decode(token);
 
     // Check if expired
     if (jwt.getExpiresAt().before(Calendar.getInstance().getTime())) {
       throw new AuthenticationException("Expired token!");
     }
     // Validate JWT with public key
-    final URI uri = new URI(publicKeyUri).normalize();
-    UrlJwkProvider urlJwkProvider = new UrlJwkProvider(uri.toURL());
-    Jwk jwk = urlJwkProvider.get(jwt.getKeyId());
-    Algorithm algorithm = Algorithm.RSA256((RSAPublicKey) jwk.getPublicKey(), null);
+    Algorithm algorithm = Algorithm.RSA256(jwksCache.getPublicKey(jwt.getKeyId()), null);
     try {
       algorithm.verify(jwt);
     } catch (RuntimeException runtimeException) {
       throw new AuthenticationException("Invalid token");
     }
+    return jwt;
+  }
+
+  private static String getUserName(DecodedJWT jwt) {
     String authorizedEmail;
     if (jwt.getClaims().get("email") != null) {
       authorizedEmail = jwt.getClaim("email").as(TextNode.class).asText();
@@ -88,19 +162,15 @@ public class JwtFilter implements ContainerRequestFilter {
     } else {
       throw new AuthenticationException("Invalid JWT token, \"email\" or \"subject\" not present.");
     }
-    String userName;
     if (authorizedEmail.contains("@")) {
-      userName = authorizedEmail.split("@")[0];
-    } else {
-      userName = authorizedEmail;
+      return authorizedEmail.split("@")[0];
     }
-    // Setting Security Context
-    CatalogPrincipal catalogPrincipal = new CatalogPrincipal(userName);
-    String scheme = requestContext.getUriInfo().getRequestUri().getScheme();
-    CatalogSecurityContext catalogSecurityContext =
-        new CatalogSecurityContext(catalogPrincipal, scheme, CatalogSecurityContext.DIGEST_AUTH);
-    LOG.debug("SecurityContext {}", catalogSecurityContext);
-    requestContext.setSecurityContext(catalogSecurityContext);
+    return authorizedEmail;
+  }
+
+  private static String hash(String token) throws NoSuchAlgorithmException {
+    byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+    return Base64.getEncoder().encodeToString(digest);
   }
 
   protected static String extractToken(MultivaluedMap<String, String> headers) {
@@ -111,4 +181,14 @@ public class JwtFilter implements ContainerRequestFilter {
     }
     return source;
   }
+
+  private static class CachedPrincipal {
+    private final CatalogPrincipal principal;
+    private final long expiresAt;
+
+    CachedPrincipal(CatalogPrincipal principal, long expiresAt) {
+      this.principal = principal;
+      this.expiresAt = expiresAt;
+    }
+  }
 }
@@ -0,0 +1,147 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.dropwizard.jersey.errors.ErrorMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.exception.CatalogGenericExceptionMapper;
+
+/**
+ * Class used for generating JSON response for bulk APIs that create or update a list of entities. There is one result
+ * for each entity in the request in the following format: { "numberOfItems": 2, "numberOfItemsFailed": 0, "results" : [
+ * { result for entity 1 }, { result for entity 2 } ] }
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"numberOfItems", "numberOfItemsFailed", "results"})
+public class BulkResponse {
+  @JsonProperty("results")
+  private final List<Result> results = new ArrayList<>();
+
+  @JsonProperty("numberOfItems")
+  public int getNumberOfItems() {
+    return results.size();
+  }
+
+  @JsonProperty("numberOfItemsFailed")
+  public int getNumberOfItemsFailed() {
+    return (int) results.stream().filter(r -> r.getEntity() == null).count();
+  }
+
+  public List<Result> getResults() {
+    return results;
+  }
+
+  public void add(Result result) {
+    results.add(result);
+  }
+
+  /** Result of creating or updating an entity. {@code index} is the position of the entity in the request. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonPropertyOrder({"index", "fullyQualifiedName", "id", "status", "changeType", "message"})
+  public static class Result {
+    @JsonProperty("index")
+    private final int index;
+
+    @JsonProperty("fullyQualifiedName")
+    private final String fullyQualifiedName;
+
+    @JsonProperty("id")
+    private final UUID id;
+
+    /** HTTP status code that the request would have returned for this entity alone */
+    @JsonProperty("status")
+    private final int status;
+
+    /** Change type, as in the response header {@link RestUtil#CHANGE_CUSTOM_HEADER}, for successful results */
+    @JsonProperty("changeType")
+    private final String changeType;
+
+    /** Error message for failed results */
+    @JsonProperty("message")
+    private final String message;
+
+    /** Entity created or updated. Used for producing change events and not returned in the response. */
+    @JsonIgnore private final Object entity;
+
+    private Result(
+        int index, String fullyQualifiedName, UUID id, int status, String changeType, String message, Object entity) {
+      this.index = index;
+      this.fullyQualifiedName = fullyQualifiedName;
+      this.id = id;
+      this.status = status;
+      this.changeType = changeType;
+      this.message = message;
+      this.entity = entity;
+    }
+
+    public static Result success(int index, Status status, String changeType, Object entity) {
+      EntityInterface<?> entityInterface = Entity.getEntityInterface(entity);
+      return new Result(
+          index,
+          entityInterface.getFullyQualifiedName(),
+          entityInterface.getId(),
+          status.getStatusCode(),
+          changeType,
+          null,
+          entity);
+    }
+
+    /** Failed result with the status and message that the exception would have produced as a response */
+    public static Result failure(int index, String fullyQualifiedName, Throwable exception) {
+      Response response = new CatalogGenericExceptionMapper().toResponse(exception);
+      String message =
+          response.getEntity() instanceof ErrorMessage
+              ? ((ErrorMessage) response.getEntity()).getMessage()
+              : exception.getMessage();
+      return new Result(index, fullyQualifiedName, null, response.getStatus(), null, message, null);
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    public String getFullyQualifiedName() {
+      return fullyQualifiedName;
+    }
+
+    public UUID getId() {
+      return id;
+    }
+
+    public int getStatus() {
+      return status;
+    }
+
+    public String getChangeType() {
+      return changeType;
+    }
+
+    public String getMessage() {
+      return message;
+    }
+
+    public Object getEntity() {
+      return entity;
+    }
+  }
+}
@@ -13,17 +13,26 @@
 
 package org.openmetadata.catalog.util;
 
+import static java.util.stream.Collectors.toMap;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.ws.rs.WebApplicationException;
@@ -35,12 +44,13 @@ import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipDAO;
-import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.TeamDAO;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.UsageDAO;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.UserDAO;
 import org.openmetadata.catalog.jdbi3.Relationship;
+import org.openmetadata.catalog.jdbi3.TagIndex;
+import org.openmetadata.catalog.jdbi3.TagIndex.TagEntry;
 import org.openmetadata.catalog.resources.feeds.MessageParser.EntityLink;
 import org.openmetadata.catalog.type.Column;
 import org.openmetadata.catalog.type.EntityReference;
@@ -67,10 +77,14 @@ public final class EntityUtil {
   //
 
   // Note ordering is same as server side ordering by ID as string to ensure PATCH operations work
+  /**
+   * Maximum number of values bound to the {@code IN} list of a single query. Lists that are longer are looked up in
+   * batches so that a query stays well within the 65,535 placeholders that MySQL allows in a statement.
+   */
+  public static final int BIND_LIST_BATCH_SIZE = 1000;
+
   public static final Comparator<EntityReference> compareEntityReference =
       Comparator.comparing(entityReference -> entityReference.getId().toString());
-  public static final Comparator<EntityVersionPair> compareVersion =
-      Comparator.comparing(EntityVersionPair::getVersion);
   public static final Comparator<TagLabel> compareTagLabel = Comparator.comparing(TagLabel::getTagFQN);
   public static final Comparator<FieldChange> compareFieldChange = Comparator.comparing(FieldChange::getName);
   public static final Comparator<TableConstraint> compareTableConstraint =
@@ -87,6 +101,13 @@ public final class EntityUtil {
   public static final BiPredicate<TagLabel, TagLabel> tagLabelMatch =
       (tag1, tag2) -> tag1.getTagFQN().equals(tag2.getTagFQN());
 
+  /** Tag labels that are stored as the same <i>tag_usage</i> row */
+  public static final BiPredicate<TagLabel, TagLabel> tagUsageMatch =
+      (tag1, tag2) ->
+          tag1.getTagFQN().equals(tag2.getTagFQN())
+              && tag1.getLabelType() == tag2.getLabelType()
+              && tag1.getState() == tag2.getState();
+
   public static final BiPredicate<Task, Task> taskMatch = (task1, task2) -> task1.getName().equals(task2.getName());
 
   public static final BiPredicate<String, String> stringMatch = String::equals;
@@ -116,6 +137,21 @@ public final class EntityUtil {
   private EntityUtil() {}
 
   /** Validate Ingestion Schedule */
+  /**
+   * Run {@code query} for {@code values} in batches of {@link #BIND_LIST_BATCH_SIZE} values and return the results of
+   * all the batches in order.
+   */
+  public static <V, R> List<R> queryInBatches(List<V> values, Function<List<V>, List<R>> query) {
+    if (values.size() <= BIND_LIST_BATCH_SIZE) {
+      return query.apply(values);
+    }
+    List<R> results = new ArrayList<>();
+    for (int i = 0; i < values.size(); i += BIND_LIST_BATCH_SIZE) {
+      results.addAll(query.apply(values.subList(i, Math.min(i + BIND_LIST_BATCH_SIZE, values.size()))));
+    }
+    return results;
+  }
+
   public static void validateIngestionSchedule(Schedule ingestion) {
     if (ingestion == null) {
       return;
@@ -242,13 +278,108 @@ public final class EntityUtil {
     setOwner(dao, ownedEntityId, ownedEntityType, newOwner);
   }
 
+  /**
+   * Get owners for a list of entities. Owner relationships are read with a query per {@link #BIND_LIST_BATCH_SIZE}
+   * entities and the owner users and teams in the same way. Returns owner references keyed by the entity id. Entities
+   * without an owner are not included.
+   */
+  public static Map<String, EntityReference> populateOwners(
+      List<String> ids, EntityRelationshipDAO entityRelationshipDAO, UserDAO userDAO, TeamDAO teamDAO)
+      throws IOException {
+    Map<String, EntityReference> owners = new HashMap<>();
+    if (ids.isEmpty()) {
+      return owners;
+    }
+    List<Entry<String, EntityReference>> entries =
+        queryInBatches(ids, batch -> entityRelationshipDAO.findFromBatch(batch, Relationship.OWNS.ordinal()));
+    for (Entry<String, EntityReference> entry : entries) {
+      if (owners.putIfAbsent(entry.getKey(), entry.getValue()) != null) {
+        LOG.warn("Possible database issues - multiple owners found for entity {}", entry.getKey());
+      }
+    }
+    populateOwners(userDAO, teamDAO, owners.values());
+    return owners;
+  }
+
+  /** Batch version of {@link #populateOwner(UserDAO, TeamDAO, EntityReference)} */
+  public static void populateOwners(UserDAO userDAO, TeamDAO teamDAO, Collection<EntityReference> owners)
+      throws IOException {
+    List<UUID> userIds = new ArrayList<>();
+    List<UUID> teamIds = new ArrayList<>();
+    for (EntityReference owner : owners) {
+      if (owner.getType().equalsIgnoreCase("user")) {
+        userIds.add(owner.getId());
+      } else if (owner.getType().equalsIgnoreCase("team")) {
+        teamIds.add(owner.getId());
+      } else {
+        throw new IllegalArgumentException(String.format("Invalid ownerType %s", owner.getType()));
+      }
+    }
+    Map<UUID, User> users = userDAO.findEntitiesByIds(userIds).stream().collect(toMap(User::getId, u -> u));
+    Map<UUID, Team> teams = teamDAO.findEntitiesByIds(teamIds).stream().collect(toMap(Team::getId, t -> t));
+    for (EntityReference owner : owners) {
+      UUID id = owner.getId();
+      if (owner.getType().equalsIgnoreCase("user")) {
+        User ownerInstance = users.get(id);
+        if (ownerInstance == null) {
+          throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.USER, id));
+        }
+        owner.setName(ownerInstance.getName());
+        if (Optional.ofNullable(ownerInstance.getDeactivated()).orElse(false)) {
+          throw new IllegalArgumentException(CatalogExceptionMessage.deactivatedUser(id));
+        }
+      } else {
+        Team ownerInstance = teams.get(id);
+        if (ownerInstance == null) {
+          throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.TEAM, id));
+        }
+        owner.setDescription(ownerInstance.getDescription());
+        owner.setName(ownerInstance.getName());
+      }
+    }
+  }
+
+  /** Returns the ids of the entity references */
+  public static List<UUID> getIds(List<EntityReference> list) {
+    return list.stream().map(EntityReference::getId).collect(Collectors.toList());
+  }
+
+  /** Add name and description to the entity references with one query per entity type */
   public static List<EntityReference> populateEntityReferences(List<EntityReference> list) throws IOException {
-    for (EntityReference ref : list) {
-      populateEntityReference(ref);
+    List<EntityReference> refs = getEntityReferences(list);
+    for (int i = 0; i < list.size(); i++) {
+      list.get(i).withDescription(refs.get(i).getDescription()).withName(refs.get(i).getName());
     }
     return list;
   }
 
+  /**
+   * Returns complete entity references for the given references in the same order, with one query per entity type.
+   * Throws {@link EntityNotFoundException} when a referenced entity does not exist.
+   */
+  public static List<EntityReference> getEntityReferences(Collection<EntityReference> list) throws IOException {
+    Map<String, List<UUID>> idsByType =
+        list.stream()
+            .collect(
+                Collectors.groupingBy(
+                    EntityReference::getType,
+                    LinkedHashMap::new,
+                    Collectors.mapping(EntityReference::getId, Collectors.toList())));
+    Map<UUID, EntityReference> refs = new HashMap<>();
+    for (Entry<String, List<UUID>> entry : idsByType.entrySet()) {
+      Entity.getEntityReferences(entry.getKey(), entry.getValue()).forEach(ref -> refs.put(ref.getId(), ref));
+    }
+    List<EntityReference> entities = new ArrayList<>(list.size());
+    for (EntityReference ref : list) {
+      EntityReference entity = refs.get(ref.getId());
+      if (entity == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(ref.getType(), ref.getId()));
+      }
+      entities.add(entity);
+    }
+    return entities;
+  }
+
   public static EntityReference populateEntityReference(EntityReference ref) throws IOException {
     // Note href to entity reference is not added here
     EntityReference ref2 = Entity.getEntityReference(ref.getType(), ref.getId());
@@ -266,25 +397,45 @@ public final class EntityUtil {
     UsageDetails details = usageDAO.getLatestUsage(entityId.toString());
     if (details == null) {
       LOG.debug("Usage details not found. Sending default usage");
-      UsageStats stats = new UsageStats().withCount(0).withPercentileRank(0.0);
-      details =
-          new UsageDetails()
-              .withDailyStats(stats)
-              .withWeeklyStats(stats)
-              .withMonthlyStats(stats)
-              .withDate(RestUtil.DATE_FORMAT.format(new Date()));
+      details = getDefaultUsage();
     }
     return details;
   }
 
+  /**
+   * Get latest usage for a list of entities with a query per {@link #BIND_LIST_BATCH_SIZE} entities. Returns usage
+   * details keyed by entity id.
+   */
+  public static Map<String, UsageDetails> getLatestUsage(UsageDAO usageDAO, List<String> entityIds) {
+    Map<String, UsageDetails> usage = new HashMap<>();
+    if (!entityIds.isEmpty()) {
+      queryInBatches(entityIds, usageDAO::getLatestUsageBatch)
+          .forEach(entry -> usage.put(entry.getKey(), entry.getValue()));
+    }
+    for (String entityId : entityIds) {
+      usage.computeIfAbsent(entityId, id -> getDefaultUsage());
+    }
+    return usage;
+  }
+
+  private static UsageDetails getDefaultUsage() {
+    UsageStats stats = new UsageStats().withCount(0).withPercentileRank(0.0);
+    return new UsageDetails()
+        .withDailyStats(stats)
+        .withWeeklyStats(stats)
+        .withMonthlyStats(stats)
+        .withDate(RestUtil.DATE_FORMAT.format(new Date()));
+  }
+
   /** Apply tags {@code tagLabels} to the entity or field identified by {@code targetFQN} */
   public static void applyTags(TagDAO tagDAO, List<TagLabel> tagLabels, String targetFQN) {
+    TagIndex index = TagIndex.getInstance();
     for (TagLabel tagLabel : Optional.ofNullable(tagLabels).orElse(Collections.emptyList())) {
-      String json = tagDAO.findTag(tagLabel.getTagFQN());
-      if (json == null) {
+      String tagFQN = tagLabel.getTagFQN();
+      if ((index == null || !index.exists(tagFQN)) && !tagDAO.tagExists(tagFQN)) {
         // Invalid TagLabel
         throw EntityNotFoundException.byMessage(
-            CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(), tagLabel.getTagFQN()));
+            CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(), tagFQN));
       }
 
       // Apply tagLabel to targetFQN that identifies an entity or field
@@ -293,20 +444,15 @@ public final class EntityUtil {
     }
   }
 
-  public static List<TagLabel> getDerivedTags(TagDAO tagDAO, TagLabel tagLabel, Tag tag) throws IOException {
+  public static List<TagLabel> getDerivedTags(TagDAO tagDAO, TagLabel tagLabel, TagEntry tag) throws IOException {
     List<TagLabel> derivedTags = new ArrayList<>();
-    for (String fqn : Optional.ofNullable(tag.getAssociatedTags()).orElse(Collections.emptyList())) {
-      String json = tagDAO.findTag(fqn);
-      if (json == null) {
-        // Invalid TagLabel
-        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(), fqn));
-      }
-      Tag tempTag = JsonUtils.readValue(json, Tag.class);
+    for (String fqn : tag.getAssociatedTags()) {
+      TagEntry associatedTag = getTag(tagDAO, fqn);
       derivedTags.add(
           new TagLabel()
               .withTagFQN(fqn)
               .withState(tagLabel.getState())
-              .withDescription(tempTag.getDescription())
+              .withDescription(associatedTag.getDescription())
               .withLabelType(LabelType.DERIVED));
     }
     return derivedTags;
@@ -316,13 +462,7 @@ public final class EntityUtil {
   public static List<TagLabel> addDerivedTags(TagDAO tagDAO, List<TagLabel> tagLabels) throws IOException {
     List<TagLabel> updatedTagLabels = new ArrayList<>();
     for (TagLabel tagLabel : Optional.ofNullable(tagLabels).orElse(Collections.emptyList())) {
-      String json = tagDAO.findTag(tagLabel.getTagFQN());
-      if (json == null) {
-        // Invalid TagLabel
-        throw EntityNotFoundException.byMessage(
-            CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(), tagLabel.getTagFQN()));
-      }
-      Tag tag = JsonUtils.readValue(json, Tag.class);
+      TagEntry tag = getTag(tagDAO, tagLabel.getTagFQN());
       updatedTagLabels.add(tagLabel);
 
       // Apply derived tags
@@ -333,6 +473,26 @@ public final class EntityUtil {
     return updatedTagLabels;
   }
 
+  /**
+   * Returns the description and associated tags of a tag from {@link TagIndex}. The tag is read from the database when
+   * the index is not enabled or does not have the tag yet. Throws {@link EntityNotFoundException} for invalid tags.
+   */
+  private static TagEntry getTag(TagDAO tagDAO, String fqn) throws IOException {
+    TagIndex index = TagIndex.getInstance();
+    TagEntry entry = index == null ? null : index.get(fqn);
+    if (entry != null) {
+      return entry;
+    }
+    long generation = index == null ? 0 : index.getGeneration();
+    String json = tagDAO.findTag(fqn);
+    if (json == null) {
+      // Invalid TagLabel
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(), fqn));
+    }
+    Tag tag = JsonUtils.readValue(json, Tag.class);
+    return index == null ? TagEntry.of(tag) : index.load(tag, generation);
+  }
+
   public static void removeTags(TagDAO tagDAO, String fullyQualifiedName) {
     tagDAO.deleteTags(fullyQualifiedName);
   }
@@ -378,16 +538,56 @@ public final class EntityUtil {
 
   public static List<EntityReference> getFollowers(
       UUID followedEntityId, EntityRelationshipDAO entityRelationshipDAO, UserDAO userDAO) throws IOException {
-    List<String> followerIds =
-        entityRelationshipDAO.findFrom(followedEntityId.toString(), Relationship.FOLLOWS.ordinal(), Entity.USER);
-    List<EntityReference> followers = new ArrayList<>();
-    for (String followerId : followerIds) {
-      User user = userDAO.findEntityById(UUID.fromString(followerId));
-      followers.add(new EntityReference().withName(user.getName()).withId(user.getId()).withType("user"));
+    String id = followedEntityId.toString();
+    return getFollowers(Collections.singletonList(id), entityRelationshipDAO, userDAO).get(id);
+  }
+
+  /**
+   * Get followers for a list of entities. Follows relationships and the follower users are read with a query per {@link
+   * #BIND_LIST_BATCH_SIZE} ids. Returns followers keyed by the entity id with an empty list for entities that have no
+   * followers.
+   */
+  public static Map<String, List<EntityReference>> getFollowers(
+      List<String> followedEntityIds, EntityRelationshipDAO entityRelationshipDAO, UserDAO userDAO) throws IOException {
+    Map<String, List<EntityReference>> followers = new HashMap<>();
+    followedEntityIds.forEach(id -> followers.put(id, new ArrayList<>()));
+    if (followedEntityIds.isEmpty()) {
+      return followers;
+    }
+    List<Entry<String, EntityReference>> entries =
+        queryInBatches(
+            followedEntityIds,
+            batch -> entityRelationshipDAO.findFromBatch(batch, Relationship.FOLLOWS.ordinal(), Entity.USER));
+    List<UUID> userIds = entries.stream().map(e -> e.getValue().getId()).collect(Collectors.toList());
+    Map<UUID, EntityReference> users =
+        userDAO.findEntityReferencesByIds(userIds).stream().collect(toMap(EntityReference::getId, u -> u));
+    for (Entry<String, EntityReference> entry : entries) {
+      EntityReference user = users.get(entry.getValue().getId());
+      if (user == null) {
+        throw EntityNotFoundException.byMessage(
+            CatalogExceptionMessage.entityNotFound(Entity.USER, entry.getValue().getId()));
+      }
+      followers
+          .get(entry.getKey())
+          .add(new EntityReference().withName(user.getName()).withId(user.getId()).withType(Entity.USER));
     }
     return followers;
   }
 
+  /**
+   * Get tags applied to a list of entities or columns with a query per {@link #BIND_LIST_BATCH_SIZE} names. Returns
+   * tags keyed by the fully qualified name with an empty list for names that have no tags.
+   */
+  public static Map<String, List<TagLabel>> getTags(TagDAO tagDAO, List<String> targetFQNs) {
+    Map<String, List<TagLabel>> tags = new HashMap<>();
+    targetFQNs.forEach(fqn -> tags.put(fqn, new ArrayList<>()));
+    if (!targetFQNs.isEmpty()) {
+      queryInBatches(targetFQNs, tagDAO::getTagsBatch)
+          .forEach(entry -> tags.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue()));
+    }
+    return tags;
+  }
+
   public static class Fields {
     public static final Fields EMPTY_FIELDS = new Fields(null, null);
     private final List<String> fieldList;
@@ -405,9 +605,18 @@ public final class EntityUtil {
       }
     }
 
+    private Fields(List<String> fieldList) {
+      this.fieldList = fieldList;
+    }
+
     public boolean contains(String field) {
       return fieldList.contains(field);
     }
+
+    /** Returns the fields that match {@code predicate} */
+    public Fields filter(Predicate<String> predicate) {
+      return new Fields(fieldList.stream().filter(predicate).collect(Collectors.toList()));
+    }
   }
 
   public static List<UUID> getIDList(List<EntityReference> refList) {
@@ -421,16 +630,6 @@ public final class EntityUtil {
     return String.format("%s.%s.%s", entityName, "version", version.toString());
   }
 
-  public static String getVersionExtensionPrefix(String entityName) {
-    return String.format("%s.%s", entityName, "version");
-  }
-
-  public static Double getVersion(String extension) {
-    String[] s = extension.split("\\.");
-    String versionString = s[2] + "." + s[3];
-    return Double.valueOf(versionString);
-  }
-
   public static String getLocalColumnName(String fqn) {
     // Return for fqn=service.database.table.c1 -> c1
     // Return for fqn=service.database.table.c1.c2 -> c1.c2 (note different from just the local name of the column c2)
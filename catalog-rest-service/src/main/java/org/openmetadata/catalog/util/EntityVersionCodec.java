@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonPatch;
+
+/**
+ * Encoding of the previous versions of an entity as periodic full checkpoints and RFC 6902 JSON patch deltas.
+ *
+ * <p>A delta is the JSON patch from the nearest older checkpoint to the version, so reconstructing a version reads the
+ * checkpoint and applies one patch. A delta is stored as a JSON object with the checkpoint version, the update details
+ * and change description of the version, which are also needed when listing version summaries, and the patch:
+ *
+ * <pre>
+ * {"checkpoint": 0.1, "updatedAt": ..., "updatedBy": ..., "changeDescription": {...}, "patch": [...]}
+ * </pre>
+ *
+ * A new checkpoint is written every {@link #CHECKPOINT_INTERVAL} versions, which bounds the size of the deltas as the
+ * changes from the checkpoint accumulate.
+ */
+public final class EntityVersionCodec {
+  /** Value of the {@code jsonSchema} column of the delta encoded versions */
+  public static final String DELTA_SCHEMA = "entityVersionDelta";
+
+  /** Number of versions from one checkpoint to the next */
+  public static final int CHECKPOINT_INTERVAL = 10;
+
+  private static final String CHECKPOINT = "checkpoint";
+  private static final String PATCH = "patch";
+  private static final String[] SUMMARY_FIELDS = {"updatedAt", "updatedBy", "changeDescription"};
+
+  private EntityVersionCodec() {}
+
+  /**
+   * Encode {@code json} as a delta from the checkpoint. Returns null when the delta is not smaller than the version, in
+   * which case the version is stored in full.
+   */
+  public static String encode(double checkpointVersion, String checkpointJson, String json) {
+    JsonObject version = JsonUtils.readJsonObject(json);
+    JsonPatch patch = JsonUtils.getJsonPatch(checkpointJson, json);
+
+    JsonObjectBuilder delta = Json.createObjectBuilder().add(CHECKPOINT, checkpointVersion);
+    for (String field : SUMMARY_FIELDS) {
+      if (version.containsKey(field)) {
+        delta.add(field, version.get(field));
+      }
+    }
+    String encoded = delta.add(PATCH, patch.toJsonArray()).build().toString();
+    return encoded.length() < json.length() ? encoded : null;
+  }
+
+  /** Returns the version of the checkpoint the delta is encoded from */
+  public static double getCheckpoint(String delta) {
+    return JsonUtils.readJsonObject(delta).getJsonNumber(CHECKPOINT).doubleValue();
+  }
+
+  /** Reconstruct the version encoded in the delta by applying its patch to the checkpoint */
+  public static String decode(String checkpointJson, String delta) {
+    JsonPatch patch = Json.createPatch(JsonUtils.readJsonObject(delta).getJsonArray(PATCH));
+    return patch.apply(JsonUtils.readJsonObject(checkpointJson)).toString();
+  }
+}
@@ -40,6 +40,7 @@ import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonPatch;
+import javax.json.JsonReader;
 import javax.json.JsonStructure;
 import javax.json.JsonValue;
 import javax.json.JsonWriter;
@@ -87,11 +88,18 @@ public final class JsonUtils {
   }
 
   public static String diffTwoJson(String v1, String v2) {
-    JsonValue source = Json.createReader(new StringReader(v1)).readValue();
-    JsonValue dest = Json.createReader(new StringReader(v2)).readValue();
+    return formatJson(getJsonPatch(v1, v2).toJsonArray());
+  }
+
+  /** Returns the JSON patch that transforms json object {@code v1} into json object {@code v2} */
+  public static JsonPatch getJsonPatch(String v1, String v2) {
+    return Json.createDiff(readJsonObject(v1), readJsonObject(v2));
+  }
 
-    JsonPatch diff = Json.createDiff(source.asJsonObject(), dest.asJsonObject());
-    return formatJson(diff.toJsonArray());
+  public static JsonObject readJsonObject(String json) {
+    try (JsonReader reader = Json.createReader(new StringReader(json))) {
+      return reader.readObject();
+    }
   }
 
   public static String formatJson(JsonValue jsonValue) {
@@ -151,6 +159,21 @@ public final class JsonUtils {
     return OBJECT_MAPPER.readValue(json, clz);
   }
 
+  public static JsonNode readTree(String json) throws IOException {
+    if (json == null) {
+      return null;
+    }
+    return OBJECT_MAPPER.readTree(json);
+  }
+
+  public static JsonNode valueToTree(Object o) {
+    return OBJECT_MAPPER.valueToTree(o);
+  }
+
+  public static <T> T treeToValue(JsonNode node, Class<T> clz) throws JsonProcessingException {
+    return OBJECT_MAPPER.treeToValue(node, clz);
+  }
+
   /** Read an array of objects of type {@code T} from json */
   public static <T> List<T> readObjects(String json, Class<T> clz) throws IOException {
     if (json == null) {
@@ -0,0 +1,330 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.openmetadata.catalog.type.TableData;
+
+/**
+ * Column oriented binary encoding of {@link TableData} sample rows.
+ *
+ * <p>The encoded data starts with a header that has the number of rows and, for each column, the column name, the type
+ * of the column vector and the length of the vector. The header is followed by one deflate compressed vector per
+ * column. A vector starts with a bitmap of null values when the column has nulls, followed by the values:
+ *
+ * <ul>
+ *   <li>{@code LONG} - integers as zigzag encoded varints
+ *   <li>{@code DOUBLE} - floating point numbers as 8 bytes
+ *   <li>{@code BOOLEAN} - one byte per value
+ *   <li>{@code STRING} - a dictionary of the distinct strings followed by a varint dictionary index per value
+ *   <li>{@code JSON} - values of mixed or nested types as json text
+ * </ul>
+ *
+ * Decoding skips the vectors of the columns that are not requested and stops reading a vector after the requested
+ * number of rows.
+ */
+public final class TableDataCodec {
+  private static final byte VERSION = 1;
+
+  // Column vector types
+  private static final byte NULL = 0;
+  private static final byte LONG = 1;
+  private static final byte DOUBLE = 2;
+  private static final byte BOOLEAN = 3;
+  private static final byte STRING = 4;
+  private static final byte JSON = 5;
+
+  private TableDataCodec() {}
+
+  public static byte[] encode(TableData tableData) throws IOException {
+    List<String> columns = tableData.getColumns();
+    List<List<Object>> rows = tableData.getRows();
+    List<byte[]> vectors = new ArrayList<>(columns.size());
+    byte[] types = new byte[columns.size()];
+    for (int i = 0; i < columns.size(); i++) {
+      List<Object> values = new ArrayList<>(rows.size());
+      for (List<Object> row : rows) {
+        values.add(row.get(i));
+      }
+      types[i] = getType(values);
+      vectors.add(encodeVector(types[i], values));
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataOutputStream header = new DataOutputStream(out);
+    header.writeByte(VERSION);
+    header.writeInt(rows.size());
+    header.writeInt(columns.size());
+    for (int i = 0; i < columns.size(); i++) {
+      header.writeUTF(columns.get(i));
+      header.writeByte(types[i]);
+      header.writeInt(vectors.get(i).length);
+    }
+    for (byte[] vector : vectors) {
+      header.write(vector);
+    }
+    header.flush();
+    return out.toByteArray();
+  }
+
+  /** Decode all the columns and rows */
+  public static TableData decode(byte[] data) throws IOException {
+    return decode(data, null, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Decode the given {@code columns}, in the order requested, and the first {@code limit} rows. When {@code columns} is
+   * null, all the columns are decoded. Requested columns that are not in the sample data are ignored. Columns are
+   * decoded by position, so sample data with repeated column names is returned unchanged.
+   */
+  public static TableData decode(byte[] data, List<String> columns, int limit) throws IOException {
+    ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+    DataInputStream in = new DataInputStream(bytes);
+    if (in.readByte() != VERSION) {
+      throw new IOException("Unsupported sample data encoding version");
+    }
+    int rowCount = in.readInt();
+    int columnCount = in.readInt();
+    List<String> names = new ArrayList<>(columnCount);
+    int[][] vectors = new int[columnCount][]; // Type, offset and length of the vector of each column
+    int offset = 0;
+    for (int i = 0; i < columnCount; i++) {
+      names.add(in.readUTF());
+      int type = in.readByte();
+      int length = in.readInt();
+      vectors[i] = new int[] {type, offset, length};
+      offset += length;
+    }
+    int headerLength = data.length - bytes.available();
+
+    List<Integer> selected = new ArrayList<>();
+    if (columns == null) {
+      for (int i = 0; i < columnCount; i++) {
+        selected.add(i);
+      }
+    } else {
+      for (String column : new LinkedHashSet<>(columns)) {
+        for (int i = 0; i < columnCount; i++) {
+          if (names.get(i).equals(column)) {
+            selected.add(i);
+          }
+        }
+      }
+    }
+    int rowsToRead = Math.min(rowCount, Math.max(limit, 0));
+    List<List<Object>> rows = new ArrayList<>(rowsToRead);
+    for (int row = 0; row < rowsToRead; row++) {
+      rows.add(new ArrayList<>(selected.size()));
+    }
+    List<String> selectedNames = new ArrayList<>(selected.size());
+    for (int column : selected) {
+      int[] vector = vectors[column];
+      DataInputStream vectorIn =
+          new DataInputStream(
+              new InflaterInputStream(new ByteArrayInputStream(data, headerLength + vector[1], vector[2])));
+      decodeVector((byte) vector[0], vectorIn, rowCount, rows);
+      selectedNames.add(names.get(column));
+    }
+    return new TableData().withColumns(selectedNames).withRows(rows);
+  }
+
+  private static byte getType(List<Object> values) {
+    byte type = NULL;
+    for (Object value : values) {
+      byte valueType;
+      if (value == null) {
+        continue;
+      } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+        valueType = LONG;
+      } else if (value instanceof Double || value instanceof Float) {
+        valueType = DOUBLE;
+      } else if (value instanceof Boolean) {
+        valueType = BOOLEAN;
+      } else if (value instanceof String) {
+        valueType = STRING;
+      } else {
+        return JSON;
+      }
+      if (type != NULL && type != valueType) {
+        return JSON; // Mixed types, such as integers and decimals, are kept as json to return the values unchanged
+      }
+      type = valueType;
+    }
+    return type;
+  }
+
+  private static byte[] encodeVector(byte type, List<Object> values) throws IOException {
+    if (type == NULL) {
+      return new byte[0];
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+      BitSet nulls = new BitSet(values.size());
+      for (int i = 0; i < values.size(); i++) {
+        nulls.set(i, values.get(i) == null);
+      }
+      out.writeBoolean(!nulls.isEmpty());
+      if (!nulls.isEmpty()) {
+        byte[] bitmap = nulls.toByteArray();
+        writeVarInt(out, bitmap.length);
+        out.write(bitmap);
+      }
+
+      Map<String, Integer> dictionary = new HashMap<>();
+      if (type == STRING) {
+        List<String> strings = new ArrayList<>();
+        for (Object value : values) {
+          if (value != null && dictionary.putIfAbsent((String) value, dictionary.size()) == null) {
+            strings.add((String) value);
+          }
+        }
+        writeVarInt(out, strings.size());
+        for (String string : strings) {
+          writeString(out, string);
+        }
+      }
+
+      for (Object value : values) {
+        if (value == null) {
+          continue;
+        }
+        switch (type) {
+          case LONG:
+            long l = ((Number) value).longValue();
+            writeVarLong(out, (l << 1) ^ (l >> 63));
+            break;
+          case DOUBLE:
+            out.writeDouble(((Number) value).doubleValue());
+            break;
+          case BOOLEAN:
+            out.writeBoolean((Boolean) value);
+            break;
+          case STRING:
+            writeVarInt(out, dictionary.get(value));
+            break;
+          default:
+            writeString(out, JsonUtils.pojoToJson(value));
+        }
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  /** Decode the values of the vector and add them to the rows. Only the values for the given rows are read */
+  private static void decodeVector(byte type, DataInputStream in, int rowCount, List<List<Object>> rows)
+      throws IOException {
+    if (type == NULL) {
+      rows.forEach(row -> row.add(null));
+      return;
+    }
+    BitSet nulls = new BitSet(rowCount);
+    if (in.readBoolean()) {
+      byte[] bitmap = new byte[readVarInt(in)];
+      in.readFully(bitmap);
+      nulls = BitSet.valueOf(bitmap);
+    }
+
+    String[] dictionary = null;
+    if (type == STRING) {
+      dictionary = new String[readVarInt(in)];
+      for (int i = 0; i < dictionary.length; i++) {
+        dictionary[i] = readString(in);
+      }
+    }
+
+    for (int i = 0; i < rows.size(); i++) {
+      if (nulls.get(i)) {
+        rows.get(i).add(null);
+        continue;
+      }
+      Object value;
+      switch (type) {
+        case LONG:
+          long zigzag = readVarLong(in);
+          long l = (zigzag >>> 1) ^ -(zigzag & 1);
+          if (l == (int) l) {
+            value = (int) l; // Integers are read from json as Integer unless they do not fit in an int
+          } else {
+            value = l;
+          }
+          break;
+        case DOUBLE:
+          value = in.readDouble();
+          break;
+        case BOOLEAN:
+          value = in.readBoolean();
+          break;
+        case STRING:
+          value = dictionary[readVarInt(in)];
+          break;
+        default:
+          value = JsonUtils.readValue(readString(in), Object.class);
+      }
+      rows.get(i).add(value);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String string) throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[readVarInt(in)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    writeVarLong(out, value);
+  }
+
+  private static int readVarInt(DataInputStream in) throws IOException {
+    return (int) readVarLong(in);
+  }
+
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint in sample data");
+  }
+}
@@ -18,12 +18,18 @@ import static org.flywaydb.core.internal.info.MigrationInfoDumper.dumpToAsciiTab
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -32,13 +38,22 @@ import org.apache.commons.cli.Options;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.MigrationVersion;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 import org.openmetadata.catalog.ElasticSearchConfiguration;
 import org.openmetadata.catalog.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.catalog.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.catalog.elasticsearch.ElasticSearchReindexer;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
 
 public final class TablesInitializer {
   private static final String OPTION_SCRIPT_ROOT_PATH = "script-root";
   private static final String OPTION_CONFIG_FILE_PATH = "config";
   private static final String DISABLE_VALIDATE_ON_MIGRATE = "disable-validate-on-migrate";
+  private static final String OPTION_ES_INDEXES = "es-indexes";
+  private static final String OPTION_ES_BATCH_SIZE = "es-batch-size";
+  private static final String OPTION_ES_WORKERS = "es-workers";
+  private static final String OPTION_ES_CHECKPOINT = "es-checkpoint";
   private static final Options OPTIONS;
 
   static {
@@ -77,6 +92,25 @@ public final class TablesInitializer {
     OPTIONS.addOption(
         null, SchemaMigrationOption.ES_DROP.toString(), false, "Drop all the indexes in the elastic search");
     OPTIONS.addOption(null, SchemaMigrationOption.ES_MIGRATE.toString(), false, "Update Elastic Search index mapping");
+    OPTIONS.addOption(
+        null,
+        SchemaMigrationOption.ES_REINDEX.toString(),
+        false,
+        "Rebuild the elastic search indexes from the entities in the database");
+    OPTIONS.addOption(
+        null,
+        SchemaMigrationOption.ES_TRIM_CHANGE_DESCRIPTIONS.toString(),
+        false,
+        "Remove the oldest change descriptions beyond changeDescriptionLimit from the elastic search documents");
+    OPTIONS.addOption(
+        null,
+        OPTION_ES_INDEXES,
+        true,
+        "Comma separated indexes to rebuild with " + SchemaMigrationOption.ES_REINDEX + ". Default is all the indexes");
+    OPTIONS.addOption(null, OPTION_ES_BATCH_SIZE, true, "Number of entities loaded in a bulk request. Default 500");
+    OPTIONS.addOption(null, OPTION_ES_WORKERS, true, "Number of threads loading the entities. Default 4");
+    OPTIONS.addOption(
+        null, OPTION_ES_CHECKPOINT, true, "Checkpoint file for resuming reindex. Default es-reindex.checkpoint");
   }
 
   private TablesInitializer() {}
@@ -132,7 +166,7 @@ public final class TablesInitializer {
     ElasticSearchConfiguration esConfig = oMapper.convertValue(esConf, ElasticSearchConfiguration.class);
     RestHighLevelClient client = ElasticSearchClientUtils.createElasticSearchClient(esConfig);
     try {
-      execute(flyway, client, schemaMigrationOptionSpecified);
+      execute(flyway, client, esConfig, schemaMigrationOptionSpecified, commandLine);
       System.out.printf("\"%s\" option successful%n", schemaMigrationOptionSpecified);
     } catch (Exception e) {
       System.err.printf("\"%s\" option failed : %s%n", schemaMigrationOptionSpecified, e);
@@ -160,8 +194,13 @@ public final class TablesInitializer {
         .load();
   }
 
-  private static void execute(Flyway flyway, RestHighLevelClient client, SchemaMigrationOption schemaMigrationOption)
-      throws SQLException {
+  private static void execute(
+      Flyway flyway,
+      RestHighLevelClient client,
+      ElasticSearchConfiguration esConfig,
+      SchemaMigrationOption schemaMigrationOption,
+      CommandLine commandLine)
+      throws SQLException, IOException, InterruptedException {
     ElasticSearchIndexDefinition esIndexDefinition;
     switch (schemaMigrationOption) {
       case CREATE:
@@ -216,11 +255,41 @@ public final class TablesInitializer {
         esIndexDefinition = new ElasticSearchIndexDefinition(client);
         esIndexDefinition.dropIndexes();
         break;
+      case ES_REINDEX:
+        reindex(flyway, client, commandLine);
+        break;
+      case ES_TRIM_CHANGE_DESCRIPTIONS:
+        esIndexDefinition = new ElasticSearchIndexDefinition(client);
+        esIndexDefinition.trimChangeDescriptions(esConfig.getChangeDescriptionLimit());
+        break;
       default:
         throw new SQLException("SchemaMigrationHelper unable to execute the option : " + schemaMigrationOption);
     }
   }
 
+  private static void reindex(Flyway flyway, RestHighLevelClient client, CommandLine commandLine)
+      throws IOException, InterruptedException {
+    Set<ElasticSearchIndexType> indexTypes = EnumSet.allOf(ElasticSearchIndexType.class);
+    if (commandLine.hasOption(OPTION_ES_INDEXES)) {
+      indexTypes.clear();
+      for (String indexName : commandLine.getOptionValue(OPTION_ES_INDEXES).split(",")) {
+        indexTypes.add(
+            Arrays.stream(ElasticSearchIndexType.values())
+                .filter(type -> type.indexName.equals(indexName.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid index " + indexName)));
+      }
+    }
+    int batchSize = Integer.parseInt(commandLine.getOptionValue(OPTION_ES_BATCH_SIZE, "500"));
+    int workers = Integer.parseInt(commandLine.getOptionValue(OPTION_ES_WORKERS, "4"));
+    Path checkpoint = Paths.get(commandLine.getOptionValue(OPTION_ES_CHECKPOINT, "es-reindex.checkpoint"));
+
+    Jdbi jdbi = Jdbi.create(flyway.getConfiguration().getDataSource());
+    jdbi.installPlugin(new SqlObjectPlugin());
+    CollectionDAO dao = jdbi.onDemand(CollectionDAO.class);
+    new ElasticSearchReindexer(client, dao, batchSize, workers, checkpoint).reindex(indexTypes);
+  }
+
   private static void usage() {
     HelpFormatter formatter = new HelpFormatter();
     formatter.printHelp("TableInitializer [options]", TablesInitializer.OPTIONS);
@@ -236,7 +305,9 @@ public final class TablesInitializer {
     REPAIR("repair"),
     ES_DROP("es-drop"),
     ES_CREATE("es-create"),
-    ES_MIGRATE("es-migrate");
+    ES_MIGRATE("es-migrate"),
+    ES_REINDEX("es-reindex"),
+    ES_TRIM_CHANGE_DESCRIPTIONS("es-trim-change-descriptions");
 
     private final String value;
 
@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests {@link ElasticSearchIndexDefinition} against a local stub of the Elastic Search index APIs */
+public class ElasticSearchIndexDefinitionTest {
+  private HttpServer server;
+  private RestHighLevelClient client;
+  private final Map<String, String> aliases = new ConcurrentHashMap<>();
+  private final Set<String> indexes = ConcurrentHashMap.newKeySet();
+  private final Set<String> failingDeletes = ConcurrentHashMap.newKeySet();
+  private final List<String> deletes = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  public void setup() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    client = new RestHighLevelClient(RestClient.builder(new HttpHost("localhost", server.getAddress().getPort())));
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    client.close();
+    server.stop(0);
+  }
+
+  @Test
+  public void dropIndexes_afterReindex() throws IOException {
+    // Reindexed table index is an alias, topic index was created before aliases were used
+    aliases.put("table_search_index", "table_search_index_1639000000000");
+    indexes.add("table_search_index_1639000000000");
+    indexes.add("topic_search_index");
+
+    new ElasticSearchIndexDefinition(client).dropIndexes();
+    assertEquals(
+        List.of(
+            "/table_search_index_1639000000000,table_search_index_*",
+            "/topic_search_index,topic_search_index_*",
+            "/dashboard_search_index_*",
+            "/pipeline_search_index_*"),
+        deletes);
+  }
+
+  @Test
+  public void dropIndexes_failureIsReported() {
+    aliases.put("table_search_index", "table_search_index_1639000000000");
+    indexes.add("table_search_index_1639000000000");
+    failingDeletes.add("/table_search_index_1639000000000,table_search_index_*");
+
+    IOException exception =
+        assertThrows(IOException.class, () -> new ElasticSearchIndexDefinition(client).dropIndexes());
+    assertTrue(exception.getMessage().contains("table_search_index"));
+    // The other index types are still deleted
+    assertEquals(4, deletes.size());
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String method = exchange.getRequestMethod();
+    String path = exchange.getRequestURI().getPath();
+    if (method.equals("GET") && path.startsWith("/_alias/")) {
+      String alias = path.substring("/_alias/".length());
+      String index = aliases.get(alias);
+      if (index == null) {
+        respond(exchange, 404, "{\"error\":\"alias [" + alias + "] missing\",\"status\":404}");
+      } else {
+        respond(exchange, 200, "{\"" + index + "\":{\"aliases\":{\"" + alias + "\":{}}}}");
+      }
+    } else if (method.equals("HEAD")) {
+      String index = path.substring(1);
+      // The client does not reuse the connection reliably after a HEAD response from this server
+      exchange.getResponseHeaders().add("Connection", "close");
+      exchange.sendResponseHeaders(indexes.contains(index) || aliases.containsKey(index) ? 200 : 404, -1);
+      exchange.close();
+    } else if (method.equals("DELETE")) {
+      deletes.add(path);
+      if (failingDeletes.contains(path)) {
+        respond(exchange, 500, "{\"error\":{\"type\":\"exception\",\"reason\":\"failed\"},\"status\":500}");
+      } else {
+        respond(exchange, 200, "{\"acknowledged\":true}");
+      }
+    } else {
+      respond(exchange, 400, "{\"error\":\"unexpected request\",\"status\":400}");
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String response) throws IOException {
+    byte[] body = response.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(body);
+    }
+  }
+}
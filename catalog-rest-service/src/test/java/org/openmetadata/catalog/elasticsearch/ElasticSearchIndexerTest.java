@@ -0,0 +1,193 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteRequest.OpType;
+import org.elasticsearch.action.DocWriteResponse.Result;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.ElasticSearchConfiguration;
+
+public class ElasticSearchIndexerTest {
+  private static final String INDEX = "table_search_index";
+  private static final String ID = "1";
+
+  @Test
+  public void merge_entityUpdates() {
+    UpdateRequest first = entityUpdate(Map.of("name", "t1", "description", "d1", "change_descriptions", List.of("c1")));
+    UpdateRequest second = entityUpdate(Map.of("description", "d2", "change_descriptions", List.of("c2")));
+
+    // Fields of the second update replace the fields of the first update and change descriptions are accumulated
+    UpdateRequest merged = ElasticSearchIndexer.merge(first, second);
+    assertEquals(ElasticSearchIndexer.ENTITY_UPSERT_SCRIPT, merged.script().getIdOrCode());
+    assertTrue(merged.scriptedUpsert());
+    Map<String, Object> params = merged.script().getParams();
+    assertEquals("t1", params.get("name"));
+    assertEquals("d2", params.get("description"));
+    assertEquals(List.of("c1", "c2"), params.get("change_descriptions"));
+  }
+
+  @Test
+  public void merge_entityCreatedAndUpdated() {
+    UpdateRequest created =
+        new UpdateRequest(INDEX, ID)
+            .doc(Map.of("name", "t1", "description", "d1", "change_descriptions", List.of("c1")))
+            .docAsUpsert(true);
+    UpdateRequest updated = entityUpdate(Map.of("description", "d2", "change_descriptions", List.of("c2")));
+
+    // New entity is sent as a document with the update applied
+    UpdateRequest merged = ElasticSearchIndexer.merge(created, updated);
+    assertTrue(merged.docAsUpsert());
+    Map<String, Object> doc = merged.doc().sourceAsMap();
+    assertEquals("t1", doc.get("name"));
+    assertEquals("d2", doc.get("description"));
+    assertEquals(List.of("c1", "c2"), doc.get("change_descriptions"));
+  }
+
+  @Test
+  public void merge_changeDescriptionsLimited() {
+    UpdateRequest first = entityUpdate(Map.of("change_descriptions", List.of("c1", "c2")));
+    UpdateRequest second =
+        entityUpdate(Map.of("change_descriptions", List.of("c3"), ElasticSearchIndexer.CHANGE_DESCRIPTIONS_LIMIT, 2));
+
+    // Only the most recent change descriptions within the limit are kept
+    UpdateRequest merged = ElasticSearchIndexer.merge(first, second);
+    assertEquals(List.of("c2", "c3"), merged.script().getParams().get("change_descriptions"));
+
+    // Limit is not stored in a new document
+    UpdateRequest created =
+        new UpdateRequest(INDEX, ID).doc(Map.of("change_descriptions", List.of("c1", "c2"))).docAsUpsert(true);
+    Map<String, Object> doc = ElasticSearchIndexer.merge(created, second).doc().sourceAsMap();
+    assertEquals(List.of("c2", "c3"), doc.get("change_descriptions"));
+    assertFalse(doc.containsKey(ElasticSearchIndexer.CHANGE_DESCRIPTIONS_LIMIT));
+  }
+
+  @Test
+  public void merge_otherUpdatesNotCoalesced() {
+    UpdateRequest entityUpdate = entityUpdate(Map.of("description", "d1"));
+    UpdateRequest followersUpdate =
+        new UpdateRequest(INDEX, ID)
+            .script(
+                new Script(
+                    ScriptType.INLINE,
+                    "painless",
+                    "ctx._source.followers.addAll(params.followers);",
+                    Map.of("followers", Collections.singletonList("u1"))));
+    assertNull(ElasticSearchIndexer.merge(entityUpdate, followersUpdate));
+    assertNull(ElasticSearchIndexer.merge(followersUpdate, entityUpdate));
+  }
+
+  @Test
+  public void add_flushesOnIndexerThread() throws InterruptedException {
+    AtomicReference<String> bulkThread = new AtomicReference<>();
+    AtomicInteger bulkActions = new AtomicInteger();
+    CountDownLatch sent = new CountDownLatch(1);
+    BiConsumer<BulkRequest, ActionListener<BulkResponse>> client =
+        (request, listener) -> {
+          bulkThread.set(Thread.currentThread().getName());
+          bulkActions.set(request.numberOfActions());
+          listener.onResponse(bulkResponse(request));
+          sent.countDown();
+        };
+
+    ElasticSearchConfiguration config = new ElasticSearchConfiguration();
+    config.setBulkActions(2);
+    config.setBulkFlushIntervalMillis(60_000);
+    ElasticSearchIndexer indexer = new ElasticSearchIndexer(client, config, new MetricRegistry());
+    try {
+      indexer.add(new UpdateRequest(INDEX, "1").doc(Map.of("name", "t1")).docAsUpsert(true));
+      indexer.add(new UpdateRequest(INDEX, "2").doc(Map.of("name", "t2")).docAsUpsert(true));
+
+      // Pending updates reached bulkActions and are sent by the indexer thread instead of the caller
+      assertTrue(sent.await(10, TimeUnit.SECONDS));
+      assertEquals("elasticsearch-indexer-flush", bulkThread.get());
+      assertEquals(2, bulkActions.get());
+      assertEquals(0, indexer.getPendingCount());
+    } finally {
+      indexer.close();
+    }
+  }
+
+  @Test
+  public void add_sendsUpdatesWhenPendingIsFull() {
+    List<String> bulkThreads = Collections.synchronizedList(new ArrayList<>());
+    BiConsumer<BulkRequest, ActionListener<BulkResponse>> client =
+        (request, listener) -> {
+          bulkThreads.add(Thread.currentThread().getName() + ":" + request.numberOfActions());
+          listener.onResponse(bulkResponse(request));
+        };
+
+    // Pending updates are full before the indexer thread is asked to send them
+    ElasticSearchConfiguration config = new ElasticSearchConfiguration();
+    config.setBulkActions(3);
+    config.setBulkMaxPending(3);
+    config.setBulkFlushIntervalMillis(60_000);
+    MetricRegistry metrics = new MetricRegistry();
+    ElasticSearchIndexer indexer = new ElasticSearchIndexer(client, config, metrics);
+    try {
+      for (int i = 1; i <= 3; i++) {
+        indexer.add(new UpdateRequest(INDEX, String.valueOf(i)).doc(Map.of("name", "t" + i)).docAsUpsert(true));
+      }
+      // The updates are sent by the caller before add returns
+      assertEquals(List.of(Thread.currentThread().getName() + ":3"), bulkThreads);
+      assertEquals(0, indexer.getPendingCount());
+      assertEquals(
+          1, metrics.meter("org.openmetadata.catalog.elasticsearch.ElasticSearchIndexer.pendingFull").getCount());
+      assertEquals(
+          0, metrics.getGauges().get("org.openmetadata.catalog.elasticsearch.ElasticSearchIndexer.pending").getValue());
+    } finally {
+      indexer.close();
+    }
+  }
+
+  private static BulkResponse bulkResponse(BulkRequest request) {
+    BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+    for (int i = 0; i < items.length; i++) {
+      DocWriteRequest<?> update = request.requests().get(i);
+      UpdateResponse response =
+          new UpdateResponse(new ShardId(update.index(), "_na_", 0), "_doc", update.id(), 1, 1, 1, Result.UPDATED);
+      items[i] = new BulkItemResponse(i, OpType.UPDATE, response);
+    }
+    return new BulkResponse(items, 1);
+  }
+
+  private static UpdateRequest entityUpdate(Map<String, Object> doc) {
+    Script script = new Script(ScriptType.INLINE, "painless", ElasticSearchIndexer.ENTITY_UPSERT_SCRIPT, doc);
+    return new UpdateRequest(INDEX, ID).script(script).scriptedUpsert(true);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openmetadata.catalog.elasticsearch.ElasticSearchReindexer.PageReader;
+
+public class ElasticSearchReindexerTest {
+  private static final List<String> ENTITIES = List.of("a", "b", "c", "d", "e", "f", "g");
+
+  private ExecutorService executor;
+  private final List<String> checkpoints = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  public void setup() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void loadPages_checkpointsInPageOrder() throws Exception {
+    // Pages [a,b] [c,d] [e,f] [g] complete in reverse order
+    List<CountDownLatch> loaded = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      loaded.add(new CountDownLatch(1));
+    }
+    List<String> completed = Collections.synchronizedList(new ArrayList<>());
+    ElasticSearchReindexer.loadPages(
+        reader(2),
+        Function.identity(),
+        page -> {
+          int index = ENTITIES.indexOf(page.get(0)) / 2;
+          if (index < 3) {
+            assertTrue(loaded.get(index + 1).await(10, TimeUnit.SECONDS));
+          }
+          completed.add(page.get(page.size() - 1));
+          loaded.get(index).countDown();
+        },
+        null,
+        executor,
+        8,
+        (after, size) -> checkpoints.add(after + ":" + size));
+    assertEquals(List.of("g", "f", "d", "b"), completed);
+    assertEquals(List.of("b:2", "d:2", "f:2", "g:1"), checkpoints);
+  }
+
+  @Test
+  public void loadPages_failedPageStopsCheckpoint() {
+    IOException e =
+        assertThrows(
+            IOException.class,
+            () ->
+                ElasticSearchReindexer.loadPages(
+                    reader(2),
+                    Function.identity(),
+                    page -> {
+                      if (page.contains("c")) {
+                        throw new IOException("bulk request failed");
+                      }
+                    },
+                    null,
+                    executor,
+                    1,
+                    (after, size) -> checkpoints.add(after)));
+    assertEquals("bulk request failed", e.getCause().getMessage());
+
+    // Checkpoint stays at the last page loaded before the failed page
+    assertEquals(List.of("b"), checkpoints);
+  }
+
+  @Test
+  public void loadPages_resumesAfterCheckpoint() throws Exception {
+    List<String> loaded = Collections.synchronizedList(new ArrayList<>());
+    ElasticSearchReindexer.loadPages(
+        reader(3), Function.identity(), loaded::addAll, "d", executor, 2, (after, size) -> checkpoints.add(after));
+    assertEquals(List.of("e", "f", "g"), loaded);
+    assertEquals(List.of("g"), checkpoints);
+  }
+
+  @Test
+  public void checkpoint_savedAndCleared(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("reindex.checkpoint");
+    ReindexCheckpoint checkpoint = ReindexCheckpoint.load(file);
+    assertNull(checkpoint.getIndex("table_search_index"));
+    assertEquals(0, checkpoint.getCount("table_search_index"));
+
+    checkpoint.save("table_search_index", "table_search_index_1", null, 0);
+    checkpoint.save("table_search_index", "table_search_index_1", "db.t2", 2);
+    checkpoint.save("topic_search_index", "topic_search_index_1", "kafka.t1", 1);
+    assertFalse(Files.exists(dir.resolve("reindex.checkpoint.tmp")));
+
+    // Restarted job reads the progress from the file
+    checkpoint = ReindexCheckpoint.load(file);
+    assertEquals("table_search_index_1", checkpoint.getIndex("table_search_index"));
+    assertEquals("db.t2", checkpoint.getAfter("table_search_index"));
+    assertEquals(2, checkpoint.getCount("table_search_index"));
+
+    // Completed index is cleared without changing the progress of the other indexes
+    checkpoint.clear("table_search_index");
+    checkpoint = ReindexCheckpoint.load(file);
+    assertNull(checkpoint.getIndex("table_search_index"));
+    assertNull(checkpoint.getAfter("table_search_index"));
+    assertEquals("kafka.t1", checkpoint.getAfter("topic_search_index"));
+  }
+
+  /** Reads the entities in pages of the given size in name order */
+  private static PageReader<String> reader(int pageSize) {
+    return after -> {
+      List<String> page = new ArrayList<>();
+      for (String entity : ENTITIES) {
+        if ((after == null || entity.compareTo(after) > 0) && page.size() < pageSize) {
+          page.add(entity);
+        }
+      }
+      return page;
+    };
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.lmax.disruptor.BatchEventProcessor;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EventType;
+import org.openmetadata.catalog.util.JsonUtils;
+
+public class ChangeEventPersisterTest {
+  private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+  private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+  private CollectionDAO dao;
+  private ChangeEventDAO changeEventDAO;
+  private EventHandlerConfiguration config;
+
+  @BeforeEach
+  public void setup() {
+    changeEventDAO = mock(ChangeEventDAO.class);
+    dao = mock(CollectionDAO.class);
+    when(dao.changeEventDAO()).thenReturn(changeEventDAO);
+    doAnswer(
+            invocation -> {
+              List<String> batch = (List<String>) invocation.getArguments()[0];
+              batchSizes.add(batch.size());
+              written.addAll(batch);
+              return null;
+            })
+        .when(changeEventDAO)
+        .insertBatch(any());
+    doAnswer(
+            invocation -> {
+              written.add((String) invocation.getArguments()[0]);
+              return null;
+            })
+        .when(changeEventDAO)
+        .insert(anyString());
+
+    config = new EventHandlerConfiguration();
+    config.setChangeEventBatchSize(100);
+    config.setChangeEventFlushIntervalMillis(60_000);
+    config.setPublishTimeoutMillis(50);
+    config.setDrainTimeoutSeconds(10);
+  }
+
+  @AfterEach
+  public void cleanup() throws InterruptedException {
+    EventPubSub.shutdown();
+  }
+
+  @Test
+  public void stop_writesEventsInPublishOrder() throws Exception {
+    ChangeEventPersister persister = start();
+    List<UUID> published = publish(250);
+    persister.stop();
+
+    assertEquals(published, writtenIds());
+    assertEquals(List.of(100, 100, 50), batchSizes);
+  }
+
+  @Test
+  public void stop_drainsPendingBatch() throws Exception {
+    config.setChangeEventBatchSize(1000);
+    ChangeEventPersister persister = start();
+    List<UUID> published = publish(10);
+
+    // Batch is neither full nor due, it is written when the persister stops
+    persister.stop();
+    assertEquals(published, writtenIds());
+    assertEquals(List.of(10), batchSizes);
+
+    // Stopping again is a no-op
+    persister.stop();
+    assertEquals(10, written.size());
+  }
+
+  @Test
+  public void failedBatch_writtenOneAtATime() throws Exception {
+    doThrow(new IllegalStateException("batch failed")).when(changeEventDAO).insertBatch(any());
+    ChangeEventPersister persister = start();
+    List<UUID> published = publish(5);
+    persister.stop();
+    assertEquals(published, writtenIds());
+  }
+
+  @Test
+  public void fullQueue_rejectsEvent() throws Exception {
+    MetricRegistry metrics = new MetricRegistry();
+    EventPubSub.start(config, metrics);
+    ChangeEventPersister persister = ChangeEventPersister.initialize(config, dao);
+
+    // Event handler that does not process events until released
+    CountDownLatch release = new CountDownLatch(1);
+    BatchEventProcessor<ChangeEventHolder> processor =
+        EventPubSub.addEventHandler((holder, sequence, endOfBatch) -> release.await(10, TimeUnit.SECONDS));
+    int published = 0;
+    while (EventPubSub.publish(event(UUID.randomUUID()))) {
+      published++;
+    }
+    assertTrue(published >= 1024);
+    assertEquals(1, metrics.meter(MetricRegistry.name(EventPubSub.class, "rejected")).getCount());
+
+    // Event that is not queued is written on the calling thread
+    UUID id = UUID.randomUUID();
+    persister.write(event(id));
+    assertEquals(List.of(id), writtenIds());
+
+    release.countDown();
+    processor.halt();
+    EventPubSub.removeProcessor(processor);
+    assertTrue(EventPubSub.publish(event(UUID.randomUUID())));
+  }
+
+  private ChangeEventPersister start() {
+    MetricRegistry metrics = new MetricRegistry();
+    EventPubSub.start(config, metrics);
+    ChangeEventPersister persister = ChangeEventPersister.initialize(config, dao);
+    persister.start(metrics);
+    return persister;
+  }
+
+  private static List<UUID> publish(int count) {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      UUID id = UUID.randomUUID();
+      assertTrue(EventPubSub.publish(event(id)));
+      ids.add(id);
+    }
+    return ids;
+  }
+
+  private static ChangeEvent event(UUID id) {
+    return new ChangeEvent()
+        .withEventType(EventType.ENTITY_CREATED)
+        .withEntityType("table")
+        .withEntityId(id)
+        .withUserName("admin")
+        .withDateTime(new Date());
+  }
+
+  private List<UUID> writtenIds() throws IOException {
+    List<UUID> ids = new ArrayList<>();
+    for (String json : written) {
+      ids.add(JsonUtils.readValue(json, ChangeEvent.class).getEntityId());
+    }
+    return ids;
+  }
+}
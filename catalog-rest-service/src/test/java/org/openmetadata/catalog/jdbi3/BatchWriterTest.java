@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
+import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.type.TagLabel.LabelType;
+import org.openmetadata.catalog.type.TagLabel.State;
+
+public class BatchWriterTest {
+  private static final String TARGET = "service.db.table";
+  private static final TagLabel PII = label("PII.Sensitive", State.CONFIRMED);
+  private static final TagLabel TIER = label("Tier.Tier1", State.CONFIRMED);
+
+  private CollectionDAO dao;
+  private TagDAO tagDAO;
+
+  @BeforeEach
+  public void setup() {
+    dao = mock(CollectionDAO.class);
+    tagDAO = mock(TagDAO.class);
+    when(dao.tagDAO()).thenReturn(tagDAO);
+  }
+
+  @Test
+  public void updateTags_unchangedWritesNothing() {
+    BatchWriter writer = new BatchWriter();
+    // Same labels in a different order and as different objects
+    writer.updateTags(List.of(PII, TIER), List.of(label("Tier.Tier1", State.CONFIRMED), PII), TARGET);
+    writer.updateTags(List.of(), List.of(), TARGET + ".column");
+    writer.flush(dao);
+    verifyZeroInteractions(tagDAO);
+  }
+
+  @Test
+  public void updateTags_writesOnlyChanges() {
+    // Arguments are copied as the writer clears its lists after the flush
+    List<List<?>> deleted = new ArrayList<>();
+    List<List<?>> applied = new ArrayList<>();
+    doAnswer(invocation -> record(deleted, invocation)).when(tagDAO).deleteTagBatch(any(), any());
+    doAnswer(invocation -> record(applied, invocation)).when(tagDAO).applyTagBatch(any(), any(), any(), any());
+
+    BatchWriter writer = new BatchWriter();
+    TagLabel suggested = label("PII.Sensitive", State.SUGGESTED);
+    TagLabel added = label("User.Address", State.CONFIRMED);
+    writer.updateTags(List.of(PII, TIER), List.of(suggested, TIER, added), TARGET);
+    writer.flush(dao);
+
+    // Label with a changed state is replaced and the unchanged label is not written
+    assertEquals(List.of(List.of("PII.Sensitive"), List.of(TARGET)), deleted);
+    assertEquals(
+        List.of(
+            List.of("PII.Sensitive", "User.Address"),
+            List.of(TARGET, TARGET),
+            List.of(LabelType.MANUAL.ordinal(), LabelType.MANUAL.ordinal()),
+            List.of(State.SUGGESTED.ordinal(), State.CONFIRMED.ordinal())),
+        applied);
+  }
+
+  private static Object record(List<List<?>> calls, InvocationOnMock invocation) {
+    for (Object argument : invocation.getArguments()) {
+      calls.add(new ArrayList<>((List<?>) argument));
+    }
+    return null;
+  }
+
+  private static TagLabel label(String tagFQN, State state) {
+    return new TagLabel().withTagFQN(tagFQN).withLabelType(LabelType.MANUAL).withState(state);
+  }
+}
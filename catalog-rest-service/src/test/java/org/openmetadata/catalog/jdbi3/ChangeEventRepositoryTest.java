@@ -0,0 +1,121 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map.Entry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.catalog.util.RestUtil;
+import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.common.utils.CipherText;
+
+public class ChangeEventRepositoryTest {
+  private static final List<String> TABLE = List.of(Entity.TABLE);
+  private static final Date DATE = new Date(1643000000123L);
+
+  private ChangeEventDAO changeEventDAO;
+  private ChangeEventRepository repository;
+  private final List<String> boundDateTimes = new ArrayList<>();
+
+  @BeforeEach
+  public void setup() {
+    CollectionDAO dao = mock(CollectionDAO.class);
+    changeEventDAO = mock(ChangeEventDAO.class);
+    when(dao.changeEventDAO()).thenReturn(changeEventDAO);
+    when(changeEventDAO.listCount(anyString(), anyString())).thenReturn(3);
+
+    // Three events with sequences 1, 2 and 3
+    doAnswer(
+            invocation -> {
+              Object[] args = invocation.getArguments();
+              boundDateTimes.add((String) args[1]);
+              long after = (long) args[2];
+              int limit = (int) args[3];
+              List<Entry<Long, String>> events = new ArrayList<>();
+              for (long sequence = after + 1; sequence <= 3 && events.size() < limit; sequence++) {
+                events.add(new SimpleEntry<>(sequence, "{\"sequence\":" + sequence + "}"));
+              }
+              return events;
+            })
+        .when(changeEventDAO)
+        .list(anyString(), anyString(), anyLong(), anyInt());
+    repository = new ChangeEventRepository(dao);
+  }
+
+  @Test
+  public void list_pagesWithoutDate() throws Exception {
+    List<String> jsons = new ArrayList<>();
+    ResultList<String> page = repository.list(DATE, null, 1, TABLE, null, null);
+    while (true) {
+      assertEquals(3, page.getPaging().getTotal());
+      jsons.addAll(page.getData());
+      if (page.getPaging().getAfter() == null) {
+        break;
+      }
+      // Next pages are listed with the cursor alone
+      String after = CipherText.instance().decrypt(page.getPaging().getAfter());
+      ChangeEventRepository.validateCursor(after);
+      page = repository.list(null, after, 1, TABLE, null, null);
+    }
+    assertEquals(List.of("{\"sequence\":1}", "{\"sequence\":2}", "{\"sequence\":3}"), jsons);
+
+    // Events are counted once for the first page and listed from the date of the first page
+    verify(changeEventDAO, times(1)).listCount(anyString(), anyString());
+    String dateTime = RestUtil.DATE_TIME_FORMAT.format(DATE);
+    assertEquals(List.of(dateTime, dateTime, dateTime), boundDateTimes);
+  }
+
+  @Test
+  public void list_invalidCursor() throws Exception {
+    ResultList<String> page = repository.list(DATE, null, 1, TABLE, null, null);
+    String after = CipherText.instance().decrypt(page.getPaging().getAfter());
+
+    // Cursor of different filters
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> repository.list(null, after, 1, null, TABLE, null));
+    assertEquals("Invalid cursor " + after, exception.getMessage());
+
+    assertThrows(IllegalArgumentException.class, () -> ChangeEventRepository.validateCursor("invalid"));
+    assertThrows(IllegalArgumentException.class, () -> ChangeEventRepository.validateCursor("1:0000000a:1:"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ChangeEventRepository.validateCursor("1:0000000a:99999999999999999999:1"));
+  }
+
+  @Test
+  public void list_noFilters() throws Exception {
+    ResultList<String> page = repository.list(DATE, null, 1, null, null, null);
+    assertEquals(0, page.getData().size());
+    assertNull(page.getPaging().getAfter());
+    verify(changeEventDAO, times(0)).list(anyString(), anyString(), anyLong(), anyInt());
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.EntityReference;
+
+public class EntityCacheTest {
+  private static final String TABLE = "table_entity";
+  private static final UUID ID = UUID.randomUUID();
+
+  private EntityCache cache;
+  private final AtomicInteger loads = new AtomicInteger();
+  private EntityCache.Entry stored;
+
+  @BeforeEach
+  public void setup() {
+    EntityCache.initialize(new EntityCacheConfiguration(), new MetricRegistry());
+    cache = EntityCache.getInstance();
+    stored = entry("db.t1", "v1");
+    loads.set(0);
+  }
+
+  @Test
+  public void getById_hitAndMiss() {
+    assertEquals("v1", cache.getById(TABLE, ID, loader()));
+    assertEquals("v1", cache.getById(TABLE, ID, loader()));
+    assertEquals(1, loads.get());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+
+    // Entity loaded by id is also found by name without loading it again
+    assertEquals("v1", cache.getByName(TABLE, "db.t1", loader()));
+    assertEquals(1, loads.get());
+
+    // Entities that are not found are not cached
+    assertNull(cache.getById(TABLE, UUID.randomUUID(), () -> null));
+    assertNull(cache.getById(TABLE, UUID.randomUUID(), () -> null));
+    assertEquals(3, cache.getMissCount());
+  }
+
+  @Test
+  public void invalidate_reloadsEntity() {
+    assertEquals("v1", cache.getByName(TABLE, "db.t1", loader()));
+
+    // Renamed entity is reloaded by id and the old name is no longer cached
+    stored = entry("db.t2", "v2");
+    cache.invalidate(TABLE, ID);
+    assertEquals("v2", cache.getById(TABLE, ID, loader()));
+    assertEquals("v2", cache.getByName(TABLE, "db.t2", loader()));
+    assertEquals(2, loads.get());
+    stored = null;
+    assertNull(cache.getByName(TABLE, "db.t1", loader()));
+  }
+
+  @Test
+  public void invalidate_afterCommit() {
+    assertEquals("v1", cache.getById(TABLE, ID, loader()));
+
+    AfterCommit.begin();
+    stored = entry("db.t1", "v2");
+    cache.invalidate(TABLE, ID);
+    // Reads in the transaction see the changes made by the transaction and are not cached
+    assertEquals("v2", cache.getById(TABLE, ID, loader()));
+    AfterCommit.end(true);
+
+    // Other readers see the new version after commit
+    assertEquals("v2", cache.getById(TABLE, ID, loader()));
+    assertEquals("v2", cache.getById(TABLE, ID, loader()));
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  public void invalidate_discardedOnRollback() {
+    assertEquals("v1", cache.getById(TABLE, ID, loader()));
+
+    AfterCommit.begin();
+    cache.invalidate(TABLE, ID);
+    AfterCommit.end(false);
+
+    assertEquals("v1", cache.getById(TABLE, ID, loader()));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void invalidate_duringLoadIsNotCached() {
+    // Entity changes while an older version is being read. The older version is returned but not cached.
+    Supplier<EntityCache.Entry> staleLoader =
+        () -> {
+          EntityCache.Entry old = stored;
+          stored = entry("db.t1", "v2");
+          cache.invalidate(TABLE, ID);
+          return old;
+        };
+    assertEquals("v1", cache.getById(TABLE, ID, staleLoader));
+    assertEquals("v2", cache.getById(TABLE, ID, loader()));
+    assertEquals("v2", cache.getById(TABLE, ID, loader()));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void reference_invalidated() {
+    EntityReference ref = new EntityReference().withId(ID).withType("table").withName("db.t1");
+    long generation = cache.getGeneration();
+    cache.putReference(TABLE, ref, generation);
+    assertEquals(ref, cache.getReference(TABLE, ID));
+
+    // Returned reference is a copy
+    cache.getReference(TABLE, ID).setName("changed");
+    assertEquals("db.t1", cache.getReference(TABLE, ID).getName());
+
+    cache.invalidate(TABLE, ID);
+    assertNull(cache.getReference(TABLE, ID));
+
+    // Reference read before the invalidation is not cached
+    cache.putReference(TABLE, ref, generation);
+    assertNull(cache.getReference(TABLE, ID));
+  }
+
+  @Test
+  public void disabled_alwaysLoads() {
+    EntityCacheConfiguration config = new EntityCacheConfiguration();
+    config.setEnabled(false);
+    EntityCache.initialize(config, new MetricRegistry());
+    cache = EntityCache.getInstance();
+    assertEquals("v1", cache.getById(TABLE, ID, loader()));
+    assertEquals("v1", cache.getById(TABLE, ID, loader()));
+    assertEquals(2, loads.get());
+  }
+
+  private Supplier<EntityCache.Entry> loader() {
+    return () -> {
+      loads.incrementAndGet();
+      return stored;
+    };
+  }
+
+  private static EntityCache.Entry entry(String fqn, String json) {
+    return new EntityCache.Entry(ID.toString(), fqn, json);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.codahale.metrics.MetricRegistry;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.UserDAO;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.util.JsonUtils;
+
+/** Tests the batched lookup of entity references in {@link EntityDAO} with the users stored in a map */
+public class EntityDAOTest {
+  private final Map<String, User> users = new LinkedHashMap<>();
+  private final List<List<String>> queries = new ArrayList<>();
+  private UserDAO dao;
+
+  @BeforeEach
+  public void setup() {
+    EntityCache.initialize(new EntityCacheConfiguration(), new MetricRegistry());
+    users.clear();
+    queries.clear();
+    for (int i = 0; i < 3; i++) {
+      User user = new User().withId(UUID.randomUUID()).withName("user" + i).withDisplayName("User " + i);
+      users.put(user.getId().toString(), user);
+    }
+    dao = userDAO();
+  }
+
+  @Test
+  public void findEntityReferencesByIds_singleQuery() throws Exception {
+    List<UUID> ids = users.values().stream().map(User::getId).collect(Collectors.toList());
+    List<UUID> request = new ArrayList<>(ids);
+    request.add(ids.get(0)); // Repeated id
+    request.add(UUID.randomUUID()); // Unknown id is ignored
+
+    List<EntityReference> refs = dao.findEntityReferencesByIds(request);
+    assertEquals(ids, refs.stream().map(EntityReference::getId).collect(Collectors.toList()));
+    assertEquals("user0", refs.get(0).getName());
+    assertEquals("user", refs.get(0).getType());
+    assertEquals(1, queries.size());
+    assertEquals(4, queries.get(0).size());
+
+    // References are read from the cache after the first lookup
+    refs = dao.findEntityReferencesByIds(ids);
+    assertEquals(3, refs.size());
+    assertEquals(1, queries.size());
+  }
+
+  @Test
+  public void findEntityReferencesByIds_invalidated() throws Exception {
+    List<UUID> ids = users.values().stream().map(User::getId).collect(Collectors.toList());
+    dao.findEntityReferencesByIds(ids);
+
+    // Only the changed entity is read again
+    User changed = users.get(ids.get(1).toString());
+    changed.setName("renamed");
+    EntityCache.getInstance().invalidate(dao.getTableName(), changed.getId());
+    Map<UUID, EntityReference> refs =
+        dao.findEntityReferencesByIds(ids).stream().collect(Collectors.toMap(EntityReference::getId, ref -> ref));
+    assertEquals("renamed", refs.get(changed.getId()).getName());
+    assertEquals("user0", refs.get(ids.get(0)).getName());
+    assertEquals(2, queries.size());
+    assertEquals(List.of(changed.getId().toString()), queries.get(1));
+  }
+
+  /** User DAO that calls the default methods and answers {@code findByIds} from the users map */
+  private UserDAO userDAO() {
+    return (UserDAO)
+        Proxy.newProxyInstance(
+            UserDAO.class.getClassLoader(),
+            new Class<?>[] {UserDAO.class},
+            (proxy, method, args) -> {
+              if (method.isDefault()) {
+                Class<?> declaringClass = method.getDeclaringClass();
+                return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup())
+                    .unreflectSpecial(method, declaringClass)
+                    .bindTo(proxy)
+                    .invokeWithArguments(args);
+              }
+              if (method.getName().equals("findByIds")) {
+                @SuppressWarnings("unchecked")
+                List<String> ids = (List<String>) args[1];
+                queries.add(ids);
+                List<String> jsons = new ArrayList<>();
+                for (String id : ids) {
+                  if (users.containsKey(id)) {
+                    jsons.add(JsonUtils.pojoToJson(users.get(id)));
+                  }
+                }
+                return jsons;
+              }
+              throw new UnsupportedOperationException(method.getName());
+            });
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.EntityReference;
+
+public class LineageIndexTest {
+  private LineageIndex index;
+
+  @BeforeEach
+  public void setup() {
+    index = new LineageIndex();
+  }
+
+  @Test
+  public void findBatch_returnsNeighbors() {
+    EntityReference t1 = ref("table");
+    EntityReference t2 = ref("table");
+    EntityReference t3 = ref("table");
+    EntityReference pipeline = ref("pipeline");
+    index.addEdge(t1, pipeline);
+    index.addEdge(pipeline, t2);
+    index.addEdge(pipeline, t3);
+    index.addEdge(pipeline, t3); // Duplicate edges are ignored
+
+    assertEquals(Set.of(t2.getId(), t3.getId()), ids(index.findBatch(List.of(id(pipeline)), false)));
+    assertEquals(Set.of(t1.getId()), ids(index.findBatch(List.of(id(pipeline)), true)));
+    assertEquals(Set.of(pipeline.getId()), ids(index.findBatch(List.of(id(t2), id(t3)), true)));
+    assertEquals(2, index.findBatch(List.of(id(t2), id(t3)), true).size());
+    assertEquals("pipeline", index.findBatch(List.of(id(t1)), false).get(0).getValue().getType());
+
+    // Entities not in the index have no neighbors
+    assertTrue(index.findBatch(List.of(UUID.randomUUID().toString()), false).isEmpty());
+  }
+
+  @Test
+  public void removeEntity_removesEdges() {
+    EntityReference t1 = ref("table");
+    EntityReference t2 = ref("table");
+    EntityReference t3 = ref("table");
+    index.addEdge(t1, t2);
+    index.addEdge(t2, t3);
+
+    index.removeEntity(t2.getId());
+    assertEquals(2, index.size());
+    assertTrue(index.findBatch(List.of(id(t1)), false).isEmpty());
+    assertTrue(index.findBatch(List.of(id(t3)), true).isEmpty());
+
+    // Slot of the removed entity is reused
+    EntityReference t4 = ref("dashboard");
+    index.addEdge(t1, t4);
+    assertEquals(Set.of(t4.getId()), ids(index.findBatch(List.of(id(t1)), false)));
+    assertEquals("dashboard", index.findBatch(List.of(id(t1)), false).get(0).getValue().getType());
+  }
+
+  @Test
+  public void removeEntity_selfLoop() {
+    EntityReference t1 = ref("table");
+    EntityReference t2 = ref("table");
+    EntityReference t3 = ref("table");
+    index.addEdge(t1, t1);
+    index.addEdge(t2, t1);
+    index.addEdge(t1, t3);
+
+    index.removeEntity(t1.getId());
+    assertEquals(2, index.size());
+    assertTrue(index.findBatch(List.of(id(t2)), false).isEmpty());
+    assertTrue(index.findBatch(List.of(id(t3)), true).isEmpty());
+
+    index.addEdge(t2, t3);
+    assertEquals(Set.of(t3.getId()), ids(index.findBatch(List.of(id(t2)), false)));
+    assertEquals(Set.of(t2.getId()), ids(index.findBatch(List.of(id(t3)), true)));
+  }
+
+  @Test
+  public void addEdge_manyEntityTypes() {
+    EntityReference from = ref("type0");
+    List<EntityReference> targets = new ArrayList<>();
+    for (int i = 1; i <= 300; i++) {
+      EntityReference to = ref("type" + i);
+      targets.add(to);
+      index.addEdge(from, to);
+    }
+    for (Entry<String, EntityReference> edge : index.findBatch(List.of(id(from)), false)) {
+      EntityReference expected =
+          targets.stream().filter(t -> t.getId().equals(edge.getValue().getId())).findFirst().orElseThrow();
+      assertEquals(expected.getType(), edge.getValue().getType());
+    }
+  }
+
+  @Test
+  public void addEdge_rollback() {
+    EntityReference t1 = ref("table");
+    EntityReference t2 = ref("table");
+    EntityReference t3 = ref("table");
+
+    // Changes of a transaction that is rolled back are not applied to the index
+    AfterCommit.begin();
+    AfterCommit.run(() -> index.addEdge(t1, t2));
+    assertEquals(0, index.size());
+    AfterCommit.end(false);
+    assertEquals(0, index.size());
+
+    // Changes of a committed transaction are applied after commit
+    AfterCommit.begin();
+    AfterCommit.run(() -> index.addEdge(t1, t3));
+    AfterCommit.run(() -> index.removeEntity(t1.getId()));
+    AfterCommit.run(() -> index.addEdge(t2, t3));
+    assertEquals(0, index.size());
+    AfterCommit.end(true);
+    assertEquals(2, index.size());
+    assertEquals(Set.of(t2.getId()), ids(index.findBatch(Collections.singletonList(id(t3)), true)));
+  }
+
+  private static EntityReference ref(String type) {
+    return new EntityReference().withId(UUID.randomUUID()).withType(type);
+  }
+
+  private static String id(EntityReference ref) {
+    return ref.getId().toString();
+  }
+
+  private static Set<UUID> ids(List<Entry<String, EntityReference>> edges) {
+    return edges.stream().map(e -> e.getValue().getId()).collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.Tag;
+
+public class TagIndexTest {
+  private final AtomicLong nanos = new AtomicLong();
+  private TagIndex index;
+
+  @BeforeEach
+  public void setup() {
+    TagIndexConfiguration config = new TagIndexConfiguration();
+    config.setTtlSeconds(60);
+    index = new TagIndex(config, nanos::get);
+  }
+
+  @Test
+  public void load_expiresAfterTtl() {
+    index.load(tag("User.Address", "address"), index.getGeneration());
+    assertEquals("address", index.get("User.Address").getDescription());
+    assertEquals(List.of("PII.Sensitive"), index.get("User.Address").getAssociatedTags());
+
+    // Tags changed by other server instances are read again after the TTL
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+    assertNull(index.get("User.Address"));
+    assertFalse(index.exists("User.Address"));
+  }
+
+  @Test
+  public void update_afterCommit() {
+    index.load(tag("User.Address", "address"), index.getGeneration());
+
+    // Renamed tag is changed in the index only when the transaction commits
+    AfterCommit.begin();
+    index.update("User.Address", tag("User.Location", "location"));
+    assertTrue(index.exists("User.Address"));
+    assertFalse(index.exists("User.Location"));
+    AfterCommit.end(true);
+    assertFalse(index.exists("User.Address"));
+    assertEquals("location", index.get("User.Location").getDescription());
+
+    // Rolled back update is discarded
+    AfterCommit.begin();
+    index.update("User.Location", tag("User.Other", "other"));
+    AfterCommit.end(false);
+    assertTrue(index.exists("User.Location"));
+    assertFalse(index.exists("User.Other"));
+  }
+
+  @Test
+  public void load_notCachedWhenStale() {
+    // Tag read before an update is returned but not added to the index
+    long generation = index.getGeneration();
+    index.update(null, tag("User.Phone", "new"));
+    assertEquals("old", index.load(tag("User.Phone", "old"), generation).getDescription());
+    assertEquals("new", index.get("User.Phone").getDescription());
+
+    // Tag read in a transaction is not added to the index
+    AfterCommit.begin();
+    index.load(tag("User.Email", "email"), index.getGeneration());
+    AfterCommit.end(true);
+    assertFalse(index.exists("User.Email"));
+  }
+
+  private static Tag tag(String fqn, String description) {
+    return new Tag()
+        .withName(fqn.substring(fqn.indexOf('.') + 1))
+        .withFullyQualifiedName(fqn)
+        .withDescription(description)
+        .withAssociatedTags(List.of("PII.Sensitive"));
+  }
+}
@@ -52,8 +52,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import javax.json.JsonPatch;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response.Status;
@@ -396,6 +398,49 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     validateGetWithDifferentFields(entity, true);
   }
 
+  @Test
+  public void get_entityListWithAllFields_200(TestInfo test) throws IOException, URISyntaxException {
+    // Fields of listed entities are populated in batches. They must match the fields of the entity returned by GET.
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      EntityReference owner = supportsOwner ? (i % 2 == 0 ? USER_OWNER1 : TEAM_OWNER1) : null;
+      T entity = createEntity(createRequest(getEntityName(test, i), "description", null, owner), adminAuthHeaders());
+      ids.add(getEntityInterface(entity).getId());
+    }
+    if (supportsFollowers) {
+      addAndCheckFollower(ids.get(0), USER1.getId(), CREATED, 1, adminAuthHeaders());
+    }
+
+    Map<String, String> queryParams = allFields == null ? null : Map.of("fields", allFields);
+    ResultList<T> list = listEntities(queryParams, 1000000, null, null, adminAuthHeaders());
+    int found = 0;
+    for (T entity : list.getData()) {
+      EntityInterface<T> listed = getEntityInterface(entity);
+      if (!ids.contains(listed.getId())) {
+        continue;
+      }
+      found++;
+      EntityInterface<T> expected = getEntityInterface(getEntity(listed.getId(), allFields, adminAuthHeaders()));
+      assertEquals(expected.getFullyQualifiedName(), listed.getFullyQualifiedName());
+      assertEquals(getIdAndName(expected.getOwner()), getIdAndName(listed.getOwner()));
+      assertEquals(getIds(expected.getFollowers()), getIds(listed.getFollowers()));
+      assertEquals(getTagFQNs(expected.getTags()), getTagFQNs(listed.getTags()));
+    }
+    assertEquals(ids.size(), found);
+  }
+
+  private static String getIdAndName(EntityReference ref) {
+    return ref == null ? null : ref.getId() + ":" + ref.getName();
+  }
+
+  private static Set<UUID> getIds(List<EntityReference> refs) {
+    return refs == null ? null : refs.stream().map(EntityReference::getId).collect(Collectors.toSet());
+  }
+
+  private static Set<String> getTagFQNs(List<TagLabel> tags) {
+    return tags == null ? null : tags.stream().map(TagLabel::getTagFQN).collect(Collectors.toSet());
+  }
+
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   // Common entity tests for POST operations
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -1084,6 +1129,14 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     return TestUtils.get(target, EntityHistory.class, authHeaders);
   }
 
+  protected EntityHistory getVersionList(
+      UUID id, int limit, String before, boolean summary, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = getResource(id).path("/versions").queryParam("limit", limit).queryParam("summary", summary);
+    target = before == null ? target : target.queryParam("before", before);
+    return TestUtils.get(target, EntityHistory.class, authHeaders);
+  }
+
   protected ResultList<ChangeEvent> getChangeEvents(
       String entityCreated, String entityUpdated, String entityDeleted, Date date, Map<String, String> authHeaders)
       throws HttpResponseException {
@@ -1095,6 +1148,15 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     return TestUtils.get(target, ChangeEventList.class, authHeaders);
   }
 
+  protected ResultList<ChangeEvent> getChangeEvents(
+      String entityCreated, Date date, int limit, String after, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = getResource("events").queryParam("entityCreated", entityCreated).queryParam("limit", limit);
+    target = after == null ? target.queryParam("date", RestUtil.DATE_TIME_FORMAT.format(date)) : target;
+    target = after == null ? target : target.queryParam("after", after);
+    return TestUtils.get(target, ChangeEventList.class, authHeaders);
+  }
+
   protected T getVersion(UUID id, Double version, Map<String, String> authHeaders) throws HttpResponseException {
     WebTarget target = getResource(id).path("/versions/" + version.toString());
     return TestUtils.get(target, entityClass, authHeaders);
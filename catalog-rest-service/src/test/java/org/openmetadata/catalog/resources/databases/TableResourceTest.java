@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.catalog.resources.locations.LocationResourceTest.createLocation;
 import static org.openmetadata.catalog.resources.locations.LocationResourceTest.getLocationName;
 import static org.openmetadata.catalog.security.SecurityUtil.authHeaders;
@@ -45,8 +46,10 @@ import static org.openmetadata.catalog.util.TestUtils.assertResponse;
 import static org.openmetadata.catalog.util.TestUtils.userAuthHeaders;
 import static org.openmetadata.common.utils.CommonUtil.getDateStringByOffset;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.security.GeneralSecurityException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -57,6 +60,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response.Status;
 import org.apache.http.client.HttpResponseException;
@@ -75,13 +79,18 @@ import org.openmetadata.catalog.entity.data.Database;
 import org.openmetadata.catalog.entity.data.Location;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.entity.services.DatabaseService;
+import org.openmetadata.catalog.events.ChangeEventPersister;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.jdbi3.TableRepository.TableEntityInterface;
 import org.openmetadata.catalog.resources.EntityResourceTest;
+import org.openmetadata.catalog.resources.databases.TableResource.SQLQueryList;
+import org.openmetadata.catalog.resources.databases.TableResource.TableJoinCountList;
 import org.openmetadata.catalog.resources.databases.TableResource.TableList;
+import org.openmetadata.catalog.resources.databases.TableResource.TableProfileList;
 import org.openmetadata.catalog.resources.services.DatabaseServiceResourceTest;
 import org.openmetadata.catalog.resources.tags.TagResourceTest;
 import org.openmetadata.catalog.type.ChangeDescription;
+import org.openmetadata.catalog.type.ChangeEvent;
 import org.openmetadata.catalog.type.Column;
 import org.openmetadata.catalog.type.ColumnConstraint;
 import org.openmetadata.catalog.type.ColumnDataType;
@@ -89,13 +98,16 @@ import org.openmetadata.catalog.type.ColumnJoin;
 import org.openmetadata.catalog.type.ColumnProfile;
 import org.openmetadata.catalog.type.DataModel;
 import org.openmetadata.catalog.type.DataModel.ModelType;
+import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.EventType;
 import org.openmetadata.catalog.type.FieldChange;
 import org.openmetadata.catalog.type.JoinedWith;
 import org.openmetadata.catalog.type.SQLQuery;
 import org.openmetadata.catalog.type.TableConstraint;
 import org.openmetadata.catalog.type.TableConstraint.ConstraintType;
 import org.openmetadata.catalog.type.TableData;
+import org.openmetadata.catalog.type.TableJoinCount;
 import org.openmetadata.catalog.type.TableJoins;
 import org.openmetadata.catalog.type.TableProfile;
 import org.openmetadata.catalog.type.TableType;
@@ -105,6 +117,7 @@ import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
 import org.openmetadata.catalog.util.TestUtils;
+import org.openmetadata.common.utils.CipherText;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class TableResourceTest extends EntityResourceTest<Table> {
@@ -340,6 +353,46 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     assertResponse(exception, FORBIDDEN, "Principal: CatalogPrincipal{name='test'} is not admin");
   }
 
+  @Test
+  public void put_tablesBulk_200(TestInfo test) throws IOException {
+    CreateTable create1 = create(test, 1).withOwner(USER_OWNER1);
+    CreateTable create2 = create(test, 2).withOwner(TEAM_OWNER1);
+    CreateTable invalidOwner =
+        create(test, 3).withOwner(new EntityReference().withId(NON_EXISTENT_ENTITY).withType("user"));
+    List<CreateTable> creates = List.of(create1, create2, invalidOwner, create(test, 1));
+
+    // Tables are created, except the one with invalid owner and the one repeated in the request
+    JsonNode response = putBulk(creates, 2);
+    assertEquals(4, response.get("numberOfItems").asInt());
+    assertEquals(2, response.get("numberOfItemsFailed").asInt());
+    JsonNode results = response.get("results");
+    assertEquals(CREATED.getStatusCode(), results.get(0).get("status").asInt());
+    assertEquals(CREATED.getStatusCode(), results.get(1).get("status").asInt());
+    assertEquals(NOT_FOUND.getStatusCode(), results.get(2).get("status").asInt());
+    assertEquals(BAD_REQUEST.getStatusCode(), results.get(3).get("status").asInt());
+    for (int i = 0; i < 2; i++) {
+      Table table = getEntity(UUID.fromString(results.get(i).get("id").asText()), "owner", adminAuthHeaders());
+      validateCreatedEntity(table, creates.get(i), adminAuthHeaders());
+    }
+
+    // Repeating the request without the invalid tables does not change the tables
+    response = putBulk(List.of(create1, create2), 100);
+    assertEquals(0, response.get("numberOfItemsFailed").asInt());
+    for (JsonNode result : response.get("results")) {
+      assertEquals(OK.getStatusCode(), result.get("status").asInt());
+      assertEquals(RestUtil.ENTITY_NO_CHANGE, result.get("changeType").asText());
+    }
+
+    // Updating the description of an existing table
+    response = putBulk(List.of(create1.withDescription("newDescription")), 100);
+    assertEquals(RestUtil.ENTITY_UPDATED, response.get("results").get(0).get("changeType").asText());
+  }
+
+  private static JsonNode putBulk(List<CreateTable> creates, int chunkSize) throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/bulk").queryParam("chunkSize", chunkSize);
+    return TestUtils.put(target, creates, JsonNode.class, OK, adminAuthHeaders());
+  }
+
   @Test
   public void put_tableTableConstraintUpdate_200(TestInfo test) throws IOException {
     // Create table without table constraints
@@ -615,6 +668,187 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     }
   }
 
+  @Test
+  public void get_changeEventsWithPagination_200() throws IOException, GeneralSecurityException {
+    // Events are written synchronously and the event written last has the earliest dateTime
+    long start = System.currentTimeMillis();
+    List<UUID> tableIds = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      UUID tableId = UUID.randomUUID();
+      ChangeEventPersister.getInstance()
+          .write(
+              new ChangeEvent()
+                  .withEventType(EventType.ENTITY_CREATED)
+                  .withEntityType(Entity.TABLE)
+                  .withEntityId(tableId)
+                  .withUserName("admin")
+                  .withDateTime(new Date(start + 1000L * (3 - i))));
+      tableIds.add(tableId);
+    }
+
+    // Page through the events one at a time. Events of the tables are returned once in the order of creation.
+    Date date = new Date(start);
+    List<UUID> pagedIds = new ArrayList<>();
+    ResultList<ChangeEvent> page = getChangeEvents(Entity.TABLE, date, 1, null, adminAuthHeaders());
+    String firstCursor = page.getPaging().getAfter();
+    while (true) {
+      assertTrue(page.getData().size() <= 1);
+      assertTrue(page.getPaging().getTotal() >= tableIds.size());
+      page.getData().stream()
+          .filter(event -> event.getEventType() == EventType.ENTITY_CREATED)
+          .map(ChangeEvent::getEntityId)
+          .filter(tableIds::contains)
+          .forEach(pagedIds::add);
+      if (page.getPaging().getAfter() == null) {
+        break;
+      }
+      // Next pages are requested with the cursor alone, without the date
+      page = getChangeEvents(Entity.TABLE, null, 1, page.getPaging().getAfter(), adminAuthHeaders());
+    }
+    assertEquals(tableIds, pagedIds);
+
+    // Cursor can't be used with different filters
+    String decrypted = CipherText.instance().decrypt(firstCursor);
+    HttpResponseException filterException =
+        assertThrows(
+            HttpResponseException.class,
+            () -> getChangeEvents(Entity.DATABASE, date, 1, firstCursor, adminAuthHeaders()));
+    assertResponse(filterException, BAD_REQUEST, "Invalid cursor " + decrypted);
+
+    // Invalid cursor
+    HttpResponseException exception =
+        assertThrows(
+            HttpResponseException.class,
+            () -> getChangeEvents(Entity.TABLE, date, 1, CipherText.instance().encrypt("invalid"), adminAuthHeaders()));
+    assertResponse(exception, BAD_REQUEST, "Invalid cursor invalid");
+  }
+
+  @Test
+  public void put_tableSameRequestAfterPatch_200(TestInfo test) throws IOException {
+    CreateTable create = create(test).withTags(List.of(USER_ADDRESS_TAG_LABEL));
+    Table table = updateEntity(create, CREATED, adminAuthHeaders());
+
+    // Same request again does not change the table
+    Table unchanged = updateEntity(create, OK, adminAuthHeaders());
+    assertEquals(table.getVersion(), unchanged.getVersion());
+    assertEquals(1, unchanged.getTags().size());
+
+    // Remove the tag with PATCH. The same request adds the tag back instead of being skipped as no change.
+    String originalJson = JsonUtils.pojoToJson(unchanged);
+    Table patched = patchEntity(table.getId(), originalJson, unchanged.withTags(new ArrayList<>()), adminAuthHeaders());
+    assertTrue(patched.getTags().isEmpty());
+    Table updated = updateEntity(create, OK, adminAuthHeaders());
+    assertEquals(1, updated.getTags().size());
+    assertTrue(updated.getVersion() > patched.getVersion());
+  }
+
+  @Test
+  public void get_tableVersionsWithPagination_200(TestInfo test) throws IOException {
+    Table table = createEntity(create(test), adminAuthHeaders());
+    for (int i = 0; i < 3; i++) { // Each description update creates a new version 0.2, 0.3, and 0.4
+      String originalJson = JsonUtils.pojoToJson(table);
+      table = patchEntity(table.getId(), originalJson, table.withDescription("description" + i), adminAuthHeaders());
+    }
+
+    // Page through the versions two at a time from the latest to the oldest version
+    EntityHistory history = getVersionList(table.getId(), 2, null, false, adminAuthHeaders());
+    assertEquals(4, history.getPaging().getTotal());
+    assertVersions(history, false, 0.4, 0.3);
+    assertEquals("0.3", history.getPaging().getBefore());
+    history = getVersionList(table.getId(), 2, history.getPaging().getBefore(), false, adminAuthHeaders());
+    assertVersions(history, false, 0.2, 0.1);
+    assertNull(history.getPaging().getBefore());
+
+    // Summary mode returns the change description without the entity
+    history = getVersionList(table.getId(), 10, "0.4", true, adminAuthHeaders());
+    assertVersions(history, true, 0.3, 0.2, 0.1);
+    JsonNode summary = JsonUtils.readTree((String) history.getVersions().get(0));
+    assertEquals(0.2, summary.get("changeDescription").get("previousVersion").asDouble());
+    assertNull(summary.get("columns"));
+
+    // Invalid version
+    HttpResponseException exception =
+        assertThrows(
+            HttpResponseException.class,
+            () -> getVersionList(UUID.randomUUID(), 2, "invalid", false, adminAuthHeaders()));
+    assertEquals(BAD_REQUEST.getStatusCode(), exception.getStatusCode());
+  }
+
+  private static void assertVersions(EntityHistory history, boolean summary, Double... expectedVersions)
+      throws IOException {
+    List<Double> versions = new ArrayList<>();
+    for (Object version : history.getVersions()) {
+      Double actual =
+          summary
+              ? JsonUtils.readTree((String) version).get("version").asDouble()
+              : JsonUtils.readValue((String) version, Table.class).getVersion();
+      versions.add(actual);
+    }
+    assertEquals(Arrays.asList(expectedVersions), versions);
+  }
+
+  @Test
+  public void list_mostJoinedTables_200(TestInfo test) throws IOException, ParseException {
+    Table table1 = createAndCheckEntity(create(test, 1), adminAuthHeaders());
+    Table table2 = createAndCheckEntity(create(test, 2), adminAuthHeaders());
+    Table table3 = createAndCheckEntity(create(test, 3), adminAuthHeaders());
+    String t2c1 = table2.getFullyQualifiedName() + ".c1";
+    String t2c2 = table2.getFullyQualifiedName() + ".c2";
+    String t3c1 = table3.getFullyQualifiedName() + ".c1";
+
+    // table1.c1 is joined with table2.c1 and table3.c1, and table1.c2 is joined with table2.c2
+    List<ColumnJoin> joins =
+        Arrays.asList(
+            new ColumnJoin()
+                .withColumnName("c1")
+                .withJoinedWith(
+                    Arrays.asList(
+                        new JoinedWith().withFullyQualifiedName(t2c1).withJoinCount(5),
+                        new JoinedWith().withFullyQualifiedName(t3c1).withJoinCount(3))),
+            new ColumnJoin()
+                .withColumnName("c2")
+                .withJoinedWith(singletonList(new JoinedWith().withFullyQualifiedName(t2c2).withJoinCount(2))));
+    TableJoins tableJoins = new TableJoins().withStartDate(RestUtil.today(0)).withDayCount(1).withColumnJoins(joins);
+    putJoins(table1.getId(), tableJoins, adminAuthHeaders());
+    putJoins(table1.getId(), tableJoins, adminAuthHeaders()); // Reporting the same day again replaces the counts
+
+    // Joins reported for the previous day add to the counts
+    List<ColumnJoin> previousDayJoins =
+        singletonList(
+            new ColumnJoin()
+                .withColumnName("c1")
+                .withJoinedWith(singletonList(new JoinedWith().withFullyQualifiedName(t3c1).withJoinCount(5))));
+    putJoins(
+        table1.getId(),
+        new TableJoins().withStartDate(RestUtil.today(-1)).withDayCount(1).withColumnJoins(previousDayJoins),
+        adminAuthHeaders());
+
+    // Tables of other tests in the same database are ignored
+    List<UUID> tableIds = List.of(table1.getId(), table2.getId(), table3.getId());
+    List<TableJoinCount> joinCounts =
+        listMostJoinedTables(DATABASE.getFullyQualifiedName(), 1000, adminAuthHeaders()).getData().stream()
+            .filter(joinCount -> tableIds.contains(joinCount.getTable().getId()))
+            .collect(Collectors.toList());
+    assertEquals(3, joinCounts.size());
+    assertEquals(table1.getId(), joinCounts.get(0).getTable().getId());
+    assertEquals(table1.getFullyQualifiedName(), joinCounts.get(0).getTable().getName());
+    assertEquals(15, joinCounts.get(0).getJoinCount());
+    assertEquals(table3.getId(), joinCounts.get(1).getTable().getId());
+    assertEquals(8, joinCounts.get(1).getJoinCount());
+    assertEquals(table2.getId(), joinCounts.get(2).getTable().getId());
+    assertEquals(7, joinCounts.get(2).getJoinCount());
+
+    // Joins of a deleted table are removed
+    deleteEntity(table3.getId(), adminAuthHeaders());
+    Table getResponse = getEntity(table1.getId(), "joins", adminAuthHeaders());
+    assertEquals(2, getResponse.getJoins().getColumnJoins().size());
+    getResponse.getJoins().getColumnJoins().forEach(c -> assertEquals(1, c.getJoinedWith().size()));
+
+    HttpResponseException exception =
+        assertThrows(HttpResponseException.class, () -> listMostJoinedTables("invalidDB", null, adminAuthHeaders()));
+    assertResponse(exception, NOT_FOUND, CatalogExceptionMessage.entityNotFound(Entity.DATABASE, "invalidDB"));
+  }
+
   @Test
   public void put_tableJoinsInvalidColumnName_4xx(TestInfo test) throws IOException, ParseException {
     Table table1 = createAndCheckEntity(create(test, 1), adminAuthHeaders());
@@ -689,6 +923,14 @@ public class TableResourceTest extends EntityResourceTest<Table> {
 
     table = getEntity(table.getId(), "sampleData", adminAuthHeaders());
     assertEquals(tableData, table.getSampleData());
+
+    // Get sample data for some of the columns and rows
+    TableData expected =
+        new TableData()
+            .withColumns(Arrays.asList("c3", "c2"))
+            .withRows(Arrays.asList(Arrays.asList(true, 1), Arrays.asList(false, null)));
+    assertEquals(expected, getSampleData(table.getId(), "c3,c2", 2, adminAuthHeaders()));
+    assertEquals(tableData, getSampleData(table.getId(), null, null, adminAuthHeaders()));
   }
 
   @Test
@@ -810,6 +1052,61 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     verifyTableProfileData(table.getTableProfile(), List.of(newTableProfile1, tableProfile));
   }
 
+  @Test
+  public void list_tableProfiles_200(TestInfo test) throws IOException {
+    Table table = createAndCheckEntity(create(test), adminAuthHeaders());
+    List<ColumnProfile> columnProfiles =
+        List.of(
+            new ColumnProfile().withName("c1").withMax("100.0").withMin("10.0").withUniqueCount(100.0),
+            new ColumnProfile().withName("c2").withNullCount(5.0).withNullProportion(0.5));
+    List<TableProfile> profiles = new ArrayList<>();
+    for (int day = 1; day <= 5; day++) {
+      TableProfile profile =
+          new TableProfile()
+              .withRowCount(10.0 * day)
+              .withColumnCount(3.0)
+              .withColumnProfile(columnProfiles)
+              .withProfileDate("2021-09-0" + day);
+      putTableProfileData(table.getId(), profile, adminAuthHeaders());
+      profiles.add(0, profile); // Latest first
+    }
+
+    // List all the profiles
+    assertEquals(profiles, listTableProfiles(table.getId(), null, null, null, null, adminAuthHeaders()).getData());
+
+    // List the profiles in a date range
+    assertEquals(
+        profiles.subList(1, 4),
+        listTableProfiles(table.getId(), "2021-09-02", "2021-09-04", null, null, adminAuthHeaders()).getData());
+
+    // Page through the profiles with a limit
+    TableProfileList page = listTableProfiles(table.getId(), null, null, 2, null, adminAuthHeaders());
+    assertEquals(profiles.subList(0, 2), page.getData());
+    assertEquals(5, page.getPaging().getTotal());
+    page = listTableProfiles(table.getId(), null, null, 2, page.getPaging().getAfter(), adminAuthHeaders());
+    assertEquals(profiles.subList(2, 4), page.getData());
+    page = listTableProfiles(table.getId(), null, null, 2, page.getPaging().getAfter(), adminAuthHeaders());
+    assertEquals(profiles.subList(4, 5), page.getData());
+    assertNull(page.getPaging().getAfter());
+
+    // Page through the profiles in a date range
+    page = listTableProfiles(table.getId(), "2021-09-02", "2021-09-04", 2, null, adminAuthHeaders());
+    assertEquals(profiles.subList(1, 3), page.getData());
+    assertEquals(3, page.getPaging().getTotal());
+    page =
+        listTableProfiles(
+            table.getId(), "2021-09-02", "2021-09-04", 2, page.getPaging().getAfter(), adminAuthHeaders());
+    assertEquals(profiles.subList(3, 4), page.getData());
+    assertNull(page.getPaging().getAfter());
+
+    // Invalid date
+    HttpResponseException exception =
+        assertThrows(
+            HttpResponseException.class,
+            () -> listTableProfiles(table.getId(), "09/01/2021", null, null, null, adminAuthHeaders()));
+    assertResponse(exception, BAD_REQUEST, "Invalid startDate 09/01/2021. Expected format yyyy-MM-dd");
+  }
+
   @Test
   public void put_tableInvalidTableProfileData_4xx(TestInfo test) throws IOException {
     Table table = createAndCheckEntity(create(test), adminAuthHeaders());
@@ -875,6 +1172,80 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     assertEquals(query2.getVote(), table.getTableQueries().get(0).getVote());
   }
 
+  @Test
+  public void list_tableQueries_200(TestInfo test) throws IOException {
+    Table table = createAndCheckEntity(create(test), adminAuthHeaders());
+    String testQuery = "select * from test;";
+    String usersQuery = "select * from users;";
+    String ordersQuery = "select * from orders;";
+
+    // Queries that differ only in whitespace are counted as the same query
+    putTableQueriesData(
+        table.getId(),
+        new SQLQuery().withQuery(testQuery).withQueryDate("2021-09-01").withUser(USER_OWNER1),
+        adminAuthHeaders());
+    putTableQueriesData(
+        table.getId(),
+        new SQLQuery().withQuery(" select *  from\ntest; ").withQueryDate("2021-09-03").withUser(USER_OWNER1),
+        adminAuthHeaders());
+    putTableQueriesData(
+        table.getId(), new SQLQuery().withQuery(testQuery).withQueryDate("2021-09-02"), adminAuthHeaders());
+    putTableQueriesData(
+        table.getId(),
+        new SQLQuery().withQuery(usersQuery).withQueryDate("2021-09-05").withVote(5.0),
+        adminAuthHeaders());
+    putTableQueriesData(
+        table.getId(), new SQLQuery().withQuery(ordersQuery).withQueryDate("2021-09-04"), adminAuthHeaders());
+    putTableQueriesData(
+        table.getId(), new SQLQuery().withQuery(ordersQuery).withQueryDate("2021-09-04"), adminAuthHeaders());
+
+    // Order by count of times the query ran
+    SQLQueryList queries = listTableQueries(table.getId(), "count", null, null, adminAuthHeaders());
+    assertEquals(3, queries.getData().size());
+    assertEquals(3, queries.getPaging().getTotal());
+    SQLQuery first = queries.getData().get(0);
+    assertEquals(3, first.getCount());
+    assertEquals("2021-09-03", first.getQueryDate()); // Latest date the query ran
+    assertEquals(1, first.getUsers().size());
+    assertEquals(USER_OWNER1.getId(), first.getUsers().get(0).getId());
+    assertEquals(ordersQuery, queries.getData().get(1).getQuery());
+    assertEquals(usersQuery, queries.getData().get(2).getQuery());
+
+    // Order by recency
+    queries = listTableQueries(table.getId(), "recency", null, null, adminAuthHeaders());
+    assertEquals(usersQuery, queries.getData().get(0).getQuery());
+    assertEquals(ordersQuery, queries.getData().get(1).getQuery());
+    assertEquals(3, queries.getData().get(2).getCount());
+
+    // Page through the queries ordered by count one query at a time
+    List<Integer> counts = new ArrayList<>();
+    String after = null;
+    do {
+      queries = listTableQueries(table.getId(), "count", 1, after, adminAuthHeaders());
+      assertEquals(1, queries.getData().size());
+      counts.add(queries.getData().get(0).getCount());
+      after = queries.getPaging().getAfter();
+    } while (after != null);
+    assertEquals(List.of(3, 2, 1), counts);
+
+    // Table queries field returns queries ordered by vote
+    Table getResponse = getEntity(table.getId(), "tableQueries", adminAuthHeaders());
+    assertEquals(usersQuery, getResponse.getTableQueries().get(0).getQuery());
+
+    // Reporting a query again without a vote keeps its vote
+    putTableQueriesData(
+        table.getId(), new SQLQuery().withQuery(usersQuery).withQueryDate("2021-09-06"), adminAuthHeaders());
+    getResponse = getEntity(table.getId(), "tableQueries", adminAuthHeaders());
+    assertEquals(usersQuery, getResponse.getTableQueries().get(0).getQuery());
+    assertEquals(5.0, getResponse.getTableQueries().get(0).getVote());
+
+    HttpResponseException exception =
+        assertThrows(
+            HttpResponseException.class,
+            () -> listTableQueries(table.getId(), "invalid", null, null, adminAuthHeaders()));
+    TestUtils.assertResponseContains(exception, BAD_REQUEST, "Invalid orderBy invalid");
+  }
+
   @Test
   public void put_tableDataModel(TestInfo test) throws IOException {
     List<Column> columns =
@@ -1324,6 +1695,21 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     return TestUtils.put(target, joins, Table.class, OK, authHeaders);
   }
 
+  public static TableData getSampleData(UUID tableId, String columns, Integer limit, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/sampleData");
+    target = columns != null ? target.queryParam("columns", columns) : target;
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    return TestUtils.get(target, TableData.class, authHeaders);
+  }
+
+  public static TableJoinCountList listMostJoinedTables(
+      String databaseFQN, Integer limit, Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/joins").queryParam("database", databaseFQN);
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    return TestUtils.get(target, TableJoinCountList.class, authHeaders);
+  }
+
   public static Table putSampleData(UUID tableId, TableData data, Map<String, String> authHeaders)
       throws HttpResponseException {
     WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/sampleData");
@@ -1336,6 +1722,27 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     return TestUtils.put(target, data, Table.class, OK, authHeaders);
   }
 
+  public static TableProfileList listTableProfiles(
+      UUID tableId, String startDate, String endDate, Integer limit, String after, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/tableProfile");
+    target = startDate != null ? target.queryParam("startDate", startDate) : target;
+    target = endDate != null ? target.queryParam("endDate", endDate) : target;
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, TableProfileList.class, authHeaders);
+  }
+
+  public static SQLQueryList listTableQueries(
+      UUID tableId, String orderBy, Integer limit, String after, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/tableQuery");
+    target = orderBy != null ? target.queryParam("orderBy", orderBy) : target;
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, SQLQueryList.class, authHeaders);
+  }
+
   public static Table putTableQueriesData(UUID tableId, SQLQuery data, Map<String, String> authHeaders)
       throws HttpResponseException {
     WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/tableQuery");
@@ -18,16 +18,19 @@ import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityNotFound;
 import static org.openmetadata.catalog.security.SecurityUtil.authHeaders;
 import static org.openmetadata.catalog.util.TestUtils.adminAuthHeaders;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import javax.ws.rs.client.WebTarget;
 import org.apache.http.client.HttpResponseException;
 import org.junit.jupiter.api.BeforeAll;
@@ -149,10 +152,10 @@ public class FeedResourceTest extends CatalogApplicationTest {
 
   @Test
   public void post_validThreadAndList_200(TestInfo test) throws HttpResponseException {
-    int totalThreadCount = listThreads(null, adminAuthHeaders()).getData().size();
-    int userThreadCount = listThreads(USER_LINK, adminAuthHeaders()).getData().size();
-    int teamThreadCount = listThreads(TEAM_LINK, adminAuthHeaders()).getData().size();
-    int tableThreadCount = listThreads(TABLE_LINK, adminAuthHeaders()).getData().size();
+    int totalThreadCount = listThreads(null, adminAuthHeaders()).getPaging().getTotal();
+    int userThreadCount = listThreads(USER_LINK, adminAuthHeaders()).getPaging().getTotal();
+    int teamThreadCount = listThreads(TEAM_LINK, adminAuthHeaders()).getPaging().getTotal();
+    int tableThreadCount = listThreads(TABLE_LINK, adminAuthHeaders()).getPaging().getTotal();
 
     CreateThread create =
         create()
@@ -165,13 +168,39 @@ public class FeedResourceTest extends CatalogApplicationTest {
     for (int i = 0; i < 10; i++) {
       createAndCheck(create, userAuthHeaders);
       // List all the threads and make sure the number of threads increased by 1
-      assertEquals(++userThreadCount, listThreads(USER_LINK, userAuthHeaders).getData().size()); // Mentioned user
-      assertEquals(++teamThreadCount, listThreads(TEAM_LINK, userAuthHeaders).getData().size()); // Mentioned team
-      assertEquals(++tableThreadCount, listThreads(TABLE_LINK, userAuthHeaders).getData().size()); // About TABLE
-      assertEquals(++totalThreadCount, listThreads(null, userAuthHeaders).getData().size()); // Overall threads
+      assertEquals(++userThreadCount, listThreads(USER_LINK, userAuthHeaders).getPaging().getTotal()); // Mentioned user
+      assertEquals(++teamThreadCount, listThreads(TEAM_LINK, userAuthHeaders).getPaging().getTotal()); // Mentioned team
+      assertEquals(++tableThreadCount, listThreads(TABLE_LINK, userAuthHeaders).getPaging().getTotal()); // About TABLE
+      assertEquals(++totalThreadCount, listThreads(null, userAuthHeaders).getPaging().getTotal()); // Overall threads
     }
   }
 
+  @Test
+  public void get_threadsWithPagination_200(TestInfo test) throws HttpResponseException {
+    Map<String, String> userAuthHeaders = authHeaders(USER.getEmail());
+    for (int i = 0; i < 5; i++) {
+      createAndCheck(create().withMessage(test.getDisplayName() + i), userAuthHeaders);
+    }
+    List<Thread> allThreads = listThreads(TABLE_LINK, 1000, null, userAuthHeaders).getData();
+
+    // Page through the threads and ensure all the threads are returned once in the same order, latest first
+    for (int limit = 1; limit < 6; limit++) {
+      List<Thread> threads = new ArrayList<>();
+      String after = null;
+      do {
+        ThreadList page = listThreads(TABLE_LINK, limit, after, userAuthHeaders);
+        assertTrue(page.getData().size() <= limit);
+        assertEquals(allThreads.size(), page.getPaging().getTotal());
+        threads.addAll(page.getData());
+        after = page.getPaging().getAfter();
+      } while (after != null);
+      assertEquals(
+          allThreads.stream().map(Thread::getId).collect(Collectors.toList()),
+          threads.stream().map(Thread::getId).collect(Collectors.toList()));
+    }
+    assertTrue(allThreads.get(0).getThreadTs().compareTo(allThreads.get(allThreads.size() - 1).getThreadTs()) >= 0);
+  }
+
   @Test
   public void post_addPostWithoutMessage_4xx() {
     // Add post to a thread without message field
@@ -276,8 +305,15 @@ public class FeedResourceTest extends CatalogApplicationTest {
 
   public static ThreadList listThreads(String entityLink, Map<String, String> authHeaders)
       throws HttpResponseException {
+    return listThreads(entityLink, null, null, authHeaders);
+  }
+
+  public static ThreadList listThreads(String entityLink, Integer limit, String after, Map<String, String> authHeaders)
+      throws HttpResponseException {
     WebTarget target = getResource("feed");
     target = entityLink != null ? target.queryParam("entity", entityLink) : target;
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = after != null ? target.queryParam("after", after) : target;
     return TestUtils.get(target, ThreadList.class, authHeaders);
   }
 }
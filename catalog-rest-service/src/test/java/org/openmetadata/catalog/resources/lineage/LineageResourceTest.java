@@ -13,7 +13,10 @@
 
 package org.openmetadata.catalog.resources.lineage;
 
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.catalog.util.TestUtils.adminAuthHeaders;
 
@@ -120,6 +123,47 @@ public class LineageResourceTest extends CatalogApplicationTest {
         lineage, Arrays.copyOfRange(expectedUpstreamEdges, 0, 4), Arrays.copyOfRange(expectedDownstreamEdges, 0, 4));
   }
 
+  @Test
+  public void get_lineageWithMaxNodes_200() throws HttpResponseException {
+    // table0-->table3-->table4-->table5-->table6
+    //          table1-->      -->table8
+    addEdge(TABLES.get(0), TABLES.get(3));
+    addEdge(TABLES.get(3), TABLES.get(4));
+    addEdge(TABLES.get(1), TABLES.get(4));
+    addEdge(TABLES.get(4), TABLES.get(5));
+    addEdge(TABLES.get(5), TABLES.get(6));
+    addEdge(TABLES.get(4), TABLES.get(8));
+
+    // Each direction has its own node budget. Truncated upstream lineage does not hide downstream lineage.
+    EntityLineage lineage = getLineage(Entity.TABLE, TABLES.get(4).getId(), 3, 3, 1, adminAuthHeaders());
+    assertTrue(lineage.getUpstreamTruncated());
+    assertTrue(lineage.getDownstreamTruncated());
+    assertTrue(lineage.getTruncated());
+    assertEquals(1, lineage.getUpstreamEdges().size());
+    assertEquals(1, lineage.getDownstreamEdges().size());
+    assertEquals(2, lineage.getNodes().size());
+
+    // Only upstream lineage is truncated
+    lineage = getLineage(Entity.TABLE, TABLES.get(4).getId(), 3, 0, 1, adminAuthHeaders());
+    assertTrue(lineage.getUpstreamTruncated());
+    assertFalse(lineage.getDownstreamTruncated());
+
+    // Lineage within the budget is not truncated
+    lineage = getLineage(Entity.TABLE, TABLES.get(4).getId(), 3, 3, 1000, adminAuthHeaders());
+    assertFalse(lineage.getTruncated());
+    assertFalse(lineage.getUpstreamTruncated());
+    assertFalse(lineage.getDownstreamTruncated());
+    assertTrue(lineage.getUpstreamEdges().size() >= 3);
+    assertTrue(lineage.getDownstreamEdges().size() >= 3);
+
+    // Invalid maxNodes
+    HttpResponseException exception =
+        assertThrows(
+            HttpResponseException.class,
+            () -> getLineage(Entity.TABLE, TABLES.get(4).getId(), 1, 1, 0, adminAuthHeaders()));
+    TestUtils.assertResponse(exception, BAD_REQUEST, "[query param maxNodes must be greater than or equal to 1]");
+  }
+
   public Edge getEdge(Table from, Table to) {
     return getEdge(from.getId(), to.getId());
   }
@@ -190,9 +234,21 @@ public class LineageResourceTest extends CatalogApplicationTest {
   public static EntityLineage getLineage(
       String entity, UUID id, Integer upstreamDepth, Integer downStreamDepth, Map<String, String> authHeaders)
       throws HttpResponseException {
+    return getLineage(entity, id, upstreamDepth, downStreamDepth, null, authHeaders);
+  }
+
+  public static EntityLineage getLineage(
+      String entity,
+      UUID id,
+      Integer upstreamDepth,
+      Integer downStreamDepth,
+      Integer maxNodes,
+      Map<String, String> authHeaders)
+      throws HttpResponseException {
     WebTarget target = getResource("lineage/" + entity + "/" + id);
     target = upstreamDepth != null ? target.queryParam("upstreamDepth", upstreamDepth) : target;
     target = downStreamDepth != null ? target.queryParam("downstreamDepth", downStreamDepth) : target;
+    target = maxNodes != null ? target.queryParam("maxNodes", maxNodes) : target;
     EntityLineage lineage = TestUtils.get(target, EntityLineage.class, authHeaders);
     validateLineage((lineage));
     return lineage;
@@ -317,7 +317,7 @@ public class TeamResourceTest extends EntityResourceTest<Team> {
     return TestUtils.patch(CatalogApplicationTest.getResource("teams/" + teamId), patch, Team.class, authHeaders);
   }
 
-  private Team patchTeam(String originalJson, Team updated, Map<String, String> authHeaders)
+  Team patchTeam(String originalJson, Team updated, Map<String, String> authHeaders)
       throws JsonProcessingException, HttpResponseException {
     return patchTeam(updated.getId(), originalJson, updated, authHeaders);
   }
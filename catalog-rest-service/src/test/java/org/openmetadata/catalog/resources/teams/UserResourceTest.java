@@ -186,6 +186,23 @@ public class UserResourceTest extends EntityResourceTest<User> {
     assertEquals(user.getId(), team2.getUsers().get(0).getId());
   }
 
+  @Test
+  public void put_userSameRequestAfterTeamChange_200(TestInfo test) throws IOException {
+    TeamResourceTest teamResourceTest = new TeamResourceTest();
+    Team team = createTeam(teamResourceTest.create(test), adminAuthHeaders());
+    CreateUser create = create(test).withTeams(List.of(team.getId()));
+    updateEntity(create, CREATED, adminAuthHeaders());
+    updateEntity(create, OK, adminAuthHeaders());
+
+    // Remove the user from the team. The same request adds the user back instead of being skipped as no change.
+    team = TeamResourceTest.getTeam(team.getId(), "users", adminAuthHeaders());
+    String originalJson = JsonUtils.pojoToJson(team);
+    teamResourceTest.patchTeam(originalJson, team.withUsers(new ArrayList<>()), adminAuthHeaders());
+    updateEntity(create, OK, adminAuthHeaders());
+    team = TeamResourceTest.getTeam(team.getId(), "users", adminAuthHeaders());
+    assertEquals(1, team.getUsers().size());
+  }
+
   @Test
   public void get_listUsersWithTeams_200_ok(TestInfo test) throws IOException {
     TeamResourceTest teamResourceTest = new TeamResourceTest();
@@ -232,6 +249,28 @@ public class UserResourceTest extends EntityResourceTest<User> {
     assertTrue(users.getData().stream().anyMatch(isUser2));
   }
 
+  @Test
+  public void get_userOwnsWithTeams_200_ok(TestInfo test) throws IOException {
+    TeamResourceTest teamResourceTest = new TeamResourceTest();
+    Team team = createTeam(teamResourceTest.create(test), adminAuthHeaders());
+    User user = createAndCheckEntity(create(test).withTeams(List.of(team.getId())), adminAuthHeaders());
+
+    // Entities owned by the user and by the teams of the user are returned together
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    EntityReference userOwner = new EntityReference().withId(user.getId()).withType(Entity.USER);
+    EntityReference teamOwner = new EntityReference().withId(team.getId()).withType(Entity.TEAM);
+    Table userTable =
+        tableResourceTest.createEntity(tableResourceTest.create(test, 1).withOwner(userOwner), adminAuthHeaders());
+    Table teamTable =
+        tableResourceTest.createEntity(tableResourceTest.create(test, 2).withOwner(teamOwner), adminAuthHeaders());
+
+    List<EntityReference> owns = getUser(user.getId(), "owns", adminAuthHeaders()).getOwns();
+    assertEquals(2, owns.size());
+    TestUtils.validateEntityReference(owns);
+    TestUtils.existsInEntityReferenceList(owns, userTable.getId(), true);
+    TestUtils.existsInEntityReferenceList(owns, teamTable.getId(), true);
+  }
+
   @Test
   public void get_userWithInvalidFields_400_BadRequest(TestInfo test) throws HttpResponseException {
     User user = createUser(create(test), adminAuthHeaders());
@@ -44,6 +44,8 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.openmetadata.catalog.CatalogApplicationTest;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.data.CreateTable;
+import org.openmetadata.catalog.api.usage.AddUsage;
+import org.openmetadata.catalog.api.usage.EntityUsageCount;
 import org.openmetadata.catalog.entity.data.Database;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
@@ -228,6 +230,61 @@ public class UsageResourceTest extends CatalogApplicationTest {
     Assertions.assertEquals(usage.getUsage().get(0), database.getUsageSummary());
   }
 
+  @Test
+  public void post_bulkUsage_200_OK(TestInfo test) throws HttpResponseException, ParseException {
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    List<Table> tables = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      tables.add(tableResourceTest.createEntity(tableResourceTest.create(test, i), adminAuthHeaders()));
+    }
+    UUID databaseId = tables.get(0).getDatabase().getId();
+
+    // Use dates after the usage reported by other tests for the same database
+    String startDate = getDateStringByOffset(RestUtil.DATE_FORMAT, RestUtil.DATE_FORMAT.format(new Date()), 100);
+
+    // Report usage of table i as i + 1 for 9 days
+    for (int day = 0; day < 9; day++) {
+      reportBulkUsage(
+          TABLE, bulkUsage(getDateStringByOffset(RestUtil.DATE_FORMAT, startDate, day), tables, 1), adminAuthHeaders());
+    }
+    String date = getDateStringByOffset(RestUtil.DATE_FORMAT, startDate, 8);
+    for (int i = 0; i < tables.size(); i++) {
+      checkUsage(date, TABLE, tables.get(i).getId(), i + 1, 7 * (i + 1), 9 * (i + 1), adminAuthHeaders());
+    }
+    checkUsage(date, Entity.DATABASE, databaseId, 6, 42, 54, adminAuthHeaders());
+
+    // Usage reported again on the same date replaces the earlier usage
+    reportBulkUsage(TABLE, bulkUsage(date, tables, 2), adminAuthHeaders());
+    for (int i = 0; i < tables.size(); i++) {
+      checkUsage(date, TABLE, tables.get(i).getId(), 2 * (i + 1), 8 * (i + 1), 10 * (i + 1), adminAuthHeaders());
+    }
+    checkUsage(date, Entity.DATABASE, databaseId, 12, 48, 60, adminAuthHeaders());
+
+    // After a gap of days without usage, only the days in the window are counted
+    date = getDateStringByOffset(RestUtil.DATE_FORMAT, startDate, 20);
+    reportBulkUsage(TABLE, bulkUsage(date, tables, 1), adminAuthHeaders());
+    for (int i = 0; i < tables.size(); i++) {
+      checkUsage(date, TABLE, tables.get(i).getId(), i + 1, i + 1, 11 * (i + 1), adminAuthHeaders());
+    }
+    checkUsage(date, Entity.DATABASE, databaseId, 6, 6, 66, adminAuthHeaders());
+
+    // Usage of an entity that does not exist is not added
+    AddUsage addUsage = bulkUsage(date, tables, 1);
+    addUsage.getUsage().add(new EntityUsageCount().withId(NON_EXISTENT_ENTITY).withCount(1));
+    HttpResponseException exception =
+        assertThrows(HttpResponseException.class, () -> reportBulkUsage(TABLE, addUsage, adminAuthHeaders()));
+    assertResponse(exception, NOT_FOUND, CatalogExceptionMessage.entityNotFound(TABLE, NON_EXISTENT_ENTITY));
+  }
+
+  /** Usage of table i in the list is (i + 1) * multiplier */
+  private static AddUsage bulkUsage(String date, List<Table> tables, int multiplier) {
+    List<EntityUsageCount> usage = new ArrayList<>();
+    for (int i = 0; i < tables.size(); i++) {
+      usage.add(new EntityUsageCount().withId(tables.get(i).getId()).withCount((i + 1) * multiplier));
+    }
+    return new AddUsage().withDate(date).withUsage(usage);
+  }
+
   public static DailyCount usageReport() {
     Random random = new Random();
     String today = RestUtil.DATE_FORMAT.format(new Date());
@@ -260,6 +317,12 @@ public class UsageResourceTest extends CatalogApplicationTest {
     TestUtils.post(target, usage, authHeaders);
   }
 
+  public static void reportBulkUsage(String entity, AddUsage addUsage, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = getResource("usage/" + entity + "/bulk");
+    TestUtils.post(target, addUsage, authHeaders);
+  }
+
   public static void computePercentile(String entity, String date, Map<String, String> authHeaders)
       throws HttpResponseException {
     WebTarget target = getResource("usage/compute.percentile/" + entity + "/" + date);
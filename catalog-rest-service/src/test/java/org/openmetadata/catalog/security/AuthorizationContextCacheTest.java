@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.transaction.TransactionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.jdbi3.AfterCommitTransactionHandler;
+import org.openmetadata.catalog.security.AuthorizationContextCache.AuthorizationContext;
+
+public class AuthorizationContextCacheTest {
+  private AuthorizationContextCache cache;
+  private AfterCommitTransactionHandler transactions;
+  private final AtomicInteger loads = new AtomicInteger();
+  private boolean admin;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    AuthorizationContextCache.initialize(60);
+    cache = AuthorizationContextCache.getInstance();
+    TransactionHandler delegate = mock(TransactionHandler.class);
+    doAnswer(invocation -> ((HandleCallback<?, ?>) invocation.getArguments()[1]).withHandle(null))
+        .when(delegate)
+        .inTransaction(any(), any());
+    transactions = new AfterCommitTransactionHandler(delegate);
+    loads.set(0);
+    admin = false;
+  }
+
+  @AfterEach
+  public void cleanup() {
+    AuthorizationContextCache.initialize(0);
+  }
+
+  @Test
+  public void get_cachesContext() {
+    assertFalse(cache.get("alice", loader()).isAdmin());
+    assertFalse(cache.get("alice", loader()).isAdmin());
+    assertEquals(1, loads.get());
+    assertEquals(Set.of("team1"), cache.get("alice", loader()).getTeams());
+
+    // Unknown users are not cached
+    assertNull(cache.get("unknown", name -> null));
+    assertFalse(cache.get("unknown", loader()).isAdmin());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void invalidate_afterCommit() {
+    cache.get("alice", loader());
+    cache.get("bob", loader());
+    transactions.inTransaction(
+        null,
+        handle -> {
+          admin = true;
+          cache.invalidate("alice");
+
+          // Request running before the commit still sees the cached context
+          assertFalse(cache.get("alice", loader()).isAdmin());
+          return null;
+        });
+    assertTrue(cache.get("alice", loader()).isAdmin());
+    assertEquals(3, loads.get());
+
+    transactions.inTransaction(
+        null,
+        handle -> {
+          cache.invalidateAll();
+          return null;
+        });
+    assertTrue(cache.get("bob", loader()).isAdmin());
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  public void invalidate_rollback() {
+    cache.get("alice", loader());
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            transactions.inTransaction(
+                null,
+                handle -> {
+                  admin = true;
+                  cache.invalidate("alice");
+                  throw new IllegalStateException("rollback");
+                }));
+    assertFalse(cache.get("alice", loader()).isAdmin());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void invalidate_outsideTransaction() {
+    cache.get("alice", loader());
+    admin = true;
+    cache.invalidate("alice");
+    assertTrue(cache.get("alice", loader()).isAdmin());
+    assertEquals(2, loads.get());
+  }
+
+  private Function<String, AuthorizationContext> loader() {
+    return name -> {
+      loads.incrementAndGet();
+      return new AuthorizationContext(admin, false, Set.of("team1"));
+    };
+  }
+}
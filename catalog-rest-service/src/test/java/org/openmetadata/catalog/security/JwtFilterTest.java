@@ -0,0 +1,218 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.UriInfo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/** Tests {@link JwtFilter} against a local stub JWKS endpoint */
+public class JwtFilterTest {
+  private static HttpServer server;
+  private static final AtomicInteger JWKS_REQUESTS = new AtomicInteger();
+  private static volatile String jwks;
+  private static KeyPair key1;
+  private static KeyPair key2;
+
+  @BeforeAll
+  public static void setup() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    key1 = generator.generateKeyPair();
+    key2 = generator.generateKeyPair();
+    jwks = jwks("key1", key1);
+
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/jwks",
+        exchange -> {
+          JWKS_REQUESTS.incrementAndGet();
+          byte[] body = jwks.getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+          }
+        });
+    server.start();
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void verifiedTokenIsCached() {
+    MetricRegistry metrics = new MetricRegistry();
+    JwtFilter filter = new JwtFilter(authConfig(0), metrics);
+    int requests = JWKS_REQUESTS.get();
+    String token = token("key1", key1, "alice@open-metadata.org");
+
+    assertEquals("alice", authenticate(filter, token));
+    assertEquals("alice", authenticate(filter, token));
+    assertEquals("alice", authenticate(filter, token));
+
+    // Keys are fetched once and the token is verified once
+    assertEquals(requests + 1, JWKS_REQUESTS.get());
+    assertEquals(1, metrics.meter("org.openmetadata.catalog.security.JwtFilter.principalCacheMisses").getCount());
+    assertEquals(2, metrics.meter("org.openmetadata.catalog.security.JwtFilter.principalCacheHits").getCount());
+    assertEquals(1, metrics.meter("org.openmetadata.catalog.security.JwtFilter.keyRefreshes").getCount());
+
+    // Tokens from the same key are verified without fetching the keys again
+    assertEquals("bob", authenticate(filter, token("key1", key1, "bob@open-metadata.org")));
+    assertEquals(requests + 1, JWKS_REQUESTS.get());
+  }
+
+  @Test
+  public void unknownKeyIdRefreshesKeys() {
+    JwtFilter filter = new JwtFilter(authConfig(0), new MetricRegistry());
+    jwks = jwks("key1", key1);
+    assertEquals("alice", authenticate(filter, token("key1", key1, "alice@open-metadata.org")));
+
+    // Identity provider rotates the keys
+    int requests = JWKS_REQUESTS.get();
+    jwks = jwks("key2", key2);
+    assertEquals("alice", authenticate(filter, token("key2", key2, "alice@open-metadata.org")));
+    assertEquals(requests + 1, JWKS_REQUESTS.get());
+    jwks = jwks("key1", key1);
+  }
+
+  @Test
+  public void unknownKeyIdRefreshIsRateLimited() {
+    JwtFilter filter = new JwtFilter(authConfig(3600), new MetricRegistry());
+    assertEquals("alice", authenticate(filter, token("key1", key1, "alice@open-metadata.org")));
+
+    int requests = JWKS_REQUESTS.get();
+    String token = token("unknown", key2, "alice@open-metadata.org");
+    assertThrows(AuthenticationException.class, () -> authenticate(filter, token));
+    assertThrows(AuthenticationException.class, () -> authenticate(filter, token));
+    assertEquals(requests, JWKS_REQUESTS.get());
+  }
+
+  @Test
+  public void invalidTokensAreRejected() {
+    JwtFilter filter = new JwtFilter(authConfig(0), new MetricRegistry());
+
+    // Token signed with a key different from the published key
+    String forged = token("key1", key2, "alice@open-metadata.org");
+    assertThrows(AuthenticationException.class, () -> authenticate(filter, forged));
+    assertThrows(AuthenticationException.class, () -> authenticate(filter, forged));
+
+    // Expired token
+    String expired =
+        JWT.create()
+            .withKeyId("key1")
+            .withClaim("email", "alice@open-metadata.org")
+            .withExpiresAt(new Date(System.currentTimeMillis() - 1000))
+            .sign(Algorithm.RSA256((RSAPublicKey) key1.getPublic(), (RSAPrivateKey) key1.getPrivate()));
+    assertThrows(AuthenticationException.class, () -> authenticate(filter, expired));
+  }
+
+  @Test
+  public void stopEndsBackgroundRefresh() throws InterruptedException {
+    AuthenticationConfiguration config = authConfig(0);
+    config.getJwtCache().setJwksRefreshIntervalSeconds(3600);
+    JwtFilter filter = new JwtFilter(config, new MetricRegistry());
+    List<Thread> threads = refreshThreads();
+    assertEquals(1, threads.size());
+
+    filter.stop();
+    for (Thread thread : threads) {
+      thread.join(10_000);
+    }
+    assertTrue(refreshThreads().isEmpty());
+  }
+
+  private static List<Thread> refreshThreads() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(t -> t.getName().equals("jwks-refresh") && t.isAlive())
+        .collect(Collectors.toList());
+  }
+
+  private static AuthenticationConfiguration authConfig(long minRefreshIntervalSeconds) {
+    JwtCacheConfiguration cacheConfig = new JwtCacheConfiguration();
+    cacheConfig.setJwksRefreshIntervalSeconds(0);
+    cacheConfig.setJwksMinRefreshIntervalSeconds(minRefreshIntervalSeconds);
+    AuthenticationConfiguration config = new AuthenticationConfiguration();
+    config.setPublicKey("http://localhost:" + server.getAddress().getPort() + "/jwks");
+    config.setJwtCache(cacheConfig);
+    return config;
+  }
+
+  private static String authenticate(JwtFilter filter, String token) {
+    UriInfo uriInfo = mock(UriInfo.class);
+    when(uriInfo.getPath()).thenReturn("tables");
+    when(uriInfo.getRequestUri()).thenReturn(URI.create("http://localhost:8585/api/v1/tables"));
+    MultivaluedHashMap<String, String> headers = new MultivaluedHashMap<>();
+    headers.add(JwtFilter.TOKEN_HEADER, token);
+    ContainerRequestContext context = mock(ContainerRequestContext.class);
+    when(context.getUriInfo()).thenReturn(uriInfo);
+    when(context.getHeaders()).thenReturn(headers);
+
+    filter.filter(context);
+    ArgumentCaptor<SecurityContext> captor = ArgumentCaptor.forClass(SecurityContext.class);
+    verify(context).setSecurityContext(captor.capture());
+    return captor.getValue().getUserPrincipal().getName();
+  }
+
+  private static String token(String keyId, KeyPair keyPair, String email) {
+    return JWT.create()
+        .withKeyId(keyId)
+        .withClaim("email", email)
+        .withExpiresAt(new Date(System.currentTimeMillis() + 3600 * 1000))
+        .sign(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate()));
+  }
+
+  private static String jwks(String keyId, KeyPair keyPair) {
+    RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+    return String.format(
+        "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"%s\",\"use\":\"sig\",\"alg\":\"RS256\",\"n\":\"%s\",\"e\":\"%s\"}]}",
+        keyId, encode(publicKey.getModulus()), encode(publicKey.getPublicExponent()));
+  }
+
+  private static String encode(BigInteger value) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toByteArray());
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.Matchers;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
+import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.EntityUtil.Fields;
+
+public class EntityUtilTest {
+  @Test
+  public void queryInBatches() {
+    List<Integer> values = IntStream.range(0, 2500).boxed().collect(Collectors.toList());
+    List<Integer> batchSizes = new ArrayList<>();
+    List<Integer> results =
+        EntityUtil.queryInBatches(
+            values,
+            batch -> {
+              batchSizes.add(batch.size());
+              return batch;
+            });
+    assertEquals(List.of(1000, 1000, 500), batchSizes);
+    assertEquals(values, results);
+
+    batchSizes.clear();
+    EntityUtil.queryInBatches(
+        values.subList(0, 10),
+        batch -> {
+          batchSizes.add(batch.size());
+          return batch;
+        });
+    assertEquals(List.of(10), batchSizes);
+  }
+
+  @Test
+  public void fieldsFilter() {
+    Fields fields = new Fields(List.of("owner", "tags", "followers"), "owner,tags");
+    Fields filtered = fields.filter(field -> !field.equals("owner"));
+    assertFalse(filtered.contains("owner"));
+    assertTrue(filtered.contains("tags"));
+    assertFalse(filtered.contains("followers"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void getTags_mergesBatches() {
+    // Each of the targets has one tag
+    TagDAO tagDAO = mock(TagDAO.class);
+    List<Integer> batchSizes = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              List<String> targets = (List<String>) invocation.getArguments()[0];
+              batchSizes.add(targets.size());
+              List<Entry<String, TagLabel>> tags = new ArrayList<>();
+              targets.forEach(
+                  target -> tags.add(new SimpleEntry<>(target, new TagLabel().withTagFQN("tag." + target))));
+              return tags;
+            })
+        .when(tagDAO)
+        .getTagsBatch(Matchers.anyListOf(String.class));
+
+    List<String> targets = IntStream.range(0, 2500).mapToObj(i -> "table" + i).collect(Collectors.toList());
+    Map<String, List<TagLabel>> tags = EntityUtil.getTags(tagDAO, targets);
+    assertTrue(batchSizes.stream().allMatch(size -> size <= EntityUtil.BIND_LIST_BATCH_SIZE));
+    assertEquals(2500, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    assertEquals(2500, tags.size());
+    assertEquals("tag.table2499", tags.get("table2499").get(0).getTagFQN());
+  }
+}
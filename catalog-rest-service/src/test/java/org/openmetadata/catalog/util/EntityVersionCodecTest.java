@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.type.ChangeDescription;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+import org.openmetadata.catalog.type.FieldChange;
+import org.openmetadata.catalog.type.TagLabel;
+
+public class EntityVersionCodecTest {
+  @Test
+  public void testEncodeDecode() throws IOException {
+    Table table = createTable(500);
+    String checkpoint = JsonUtils.pojoToJson(table);
+
+    // Only one column description changed. The delta is a small fraction of the version.
+    table.getColumns().get(250).setDescription("updated");
+    String json = JsonUtils.pojoToJson(update(table, 0.2));
+    String delta = EntityVersionCodec.encode(0.1, checkpoint, json);
+    assertTrue(delta.length() * 50 < json.length(), "Delta " + delta.length() + " version " + json.length());
+    assertEquals(0.1, EntityVersionCodec.getCheckpoint(delta));
+    assertEquals(JsonUtils.readTree(json), JsonUtils.readTree(EntityVersionCodec.decode(checkpoint, delta)));
+
+    // Summary fields are stored with the delta
+    assertEquals(JsonUtils.readTree(json).get("changeDescription"), JsonUtils.readTree(delta).get("changeDescription"));
+
+    // Columns removed and added, and tags changed
+    table.getColumns().remove(499);
+    table.getColumns().remove(498);
+    table.getColumns().add(createColumn("new1"));
+    table.getColumns().get(5).setTags(List.of(new TagLabel().withTagFQN("User.BankAccount")));
+    json = JsonUtils.pojoToJson(update(table, 0.3));
+    delta = EntityVersionCodec.encode(0.1, checkpoint, json);
+    assertEquals(JsonUtils.readTree(json), JsonUtils.readTree(EntityVersionCodec.decode(checkpoint, delta)));
+
+    // Column inserted at the start shifts all the columns and the version is not delta encoded
+    table.getColumns().add(0, createColumn("new2"));
+    assertNull(EntityVersionCodec.encode(0.1, checkpoint, JsonUtils.pojoToJson(update(table, 0.4))));
+  }
+
+  @Test
+  public void testEncodeLargerDelta() throws IOException {
+    // Delta that is not smaller than the version is not encoded
+    String json = JsonUtils.pojoToJson(createTable(5));
+    assertNull(EntityVersionCodec.encode(0.1, "{}", json));
+  }
+
+  @Test
+  public void testLargeTableDelta() throws IOException {
+    // A version of a large table with a few changed columns is stored as a small patch of its checkpoint
+    Table table = createTable(1000);
+    String checkpoint = JsonUtils.pojoToJson(table);
+    for (int i = 0; i < EntityVersionCodec.CHECKPOINT_INTERVAL; i++) {
+      table.getColumns().get(i * 50).setDescription("updated " + i);
+    }
+    String json = JsonUtils.pojoToJson(update(table, 1.0));
+    String delta = EntityVersionCodec.encode(0.1, checkpoint, json);
+    assertTrue(delta.length() * 50 < json.length(), "Delta " + delta.length() + " version " + json.length());
+    assertEquals(JsonUtils.readTree(json), JsonUtils.readTree(EntityVersionCodec.decode(checkpoint, delta)));
+  }
+
+  private static Table createTable(int columnCount) {
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < columnCount; i++) {
+      columns.add(createColumn("c" + i));
+    }
+    return new Table()
+        .withId(UUID.randomUUID())
+        .withName("table")
+        .withFullyQualifiedName("service.db.table")
+        .withDescription("description")
+        .withVersion(0.1)
+        .withUpdatedAt(new Date())
+        .withUpdatedBy("admin")
+        .withColumns(columns);
+  }
+
+  private static Column createColumn(String name) {
+    return new Column()
+        .withName(name)
+        .withFullyQualifiedName("service.db.table." + name)
+        .withDataType(ColumnDataType.VARCHAR)
+        .withDataLength(255)
+        .withDescription("description of column " + name)
+        .withTags(new ArrayList<>());
+  }
+
+  private static Table update(Table table, double version) {
+    FieldChange change = new FieldChange().withName("columns").withNewValue("updated");
+    return table
+        .withVersion(version)
+        .withUpdatedAt(new Date())
+        .withChangeDescription(new ChangeDescription().withPreviousVersion(0.1).withFieldsUpdated(List.of(change)));
+  }
+}
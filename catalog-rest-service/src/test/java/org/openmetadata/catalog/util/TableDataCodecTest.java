@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.TableData;
+
+public class TableDataCodecTest {
+  private static final TableData TABLE_DATA =
+      new TableData()
+          .withColumns(List.of("string", "int", "long", "double", "boolean", "mixed", "nested", "empty"))
+          .withRows(
+              List.of(
+                  Arrays.asList("a", 1, 5000000000L, 1.5, true, 1, Map.of("k", "v"), null),
+                  Arrays.asList("b", null, -5000000000L, null, false, 2.5, List.of(1, 2), null),
+                  Arrays.asList("a", -3, 0, 0.0, null, "x", null, null),
+                  Arrays.asList(null, Integer.MAX_VALUE, Long.MIN_VALUE, -2.25, true, null, "s", null)));
+
+  @Test
+  public void testEncodeDecode() throws IOException {
+    byte[] encoded = TableDataCodec.encode(TABLE_DATA);
+    assertEquals(JsonUtils.pojoToJson(TABLE_DATA), JsonUtils.pojoToJson(TableDataCodec.decode(encoded)));
+
+    // Empty sample data
+    TableData empty = new TableData().withColumns(List.of("c1")).withRows(new ArrayList<>());
+    assertEquals(empty, TableDataCodec.decode(TableDataCodec.encode(empty)));
+  }
+
+  @Test
+  public void testDecodeColumnsAndLimit() throws IOException {
+    byte[] encoded = TableDataCodec.encode(TABLE_DATA);
+
+    // Columns are returned in the requested order and unknown columns are ignored
+    TableData data = TableDataCodec.decode(encoded, List.of("double", "string", "unknown"), 2);
+    assertEquals(List.of("double", "string"), data.getColumns());
+    assertEquals(List.of(Arrays.asList(1.5, "a"), Arrays.asList(null, "b")), data.getRows());
+
+    // Limit larger than the number of rows returns all the rows
+    data = TableDataCodec.decode(encoded, List.of("int"), 10);
+    assertEquals(
+        List.of(List.of(1), Arrays.asList((Object) null), List.of(-3), List.of(Integer.MAX_VALUE)), data.getRows());
+
+    data = TableDataCodec.decode(encoded, null, 0);
+    assertEquals(TABLE_DATA.getColumns(), data.getColumns());
+    assertTrue(data.getRows().isEmpty());
+  }
+
+  @Test
+  public void testRepeatedColumnNames() throws IOException {
+    TableData tableData =
+        new TableData()
+            .withColumns(List.of("c1", "c2", "c1"))
+            .withRows(List.of(List.of(1, "a", true), List.of(2, "b", false)));
+    byte[] encoded = TableDataCodec.encode(tableData);
+    assertEquals(JsonUtils.pojoToJson(tableData), JsonUtils.pojoToJson(TableDataCodec.decode(encoded)));
+
+    // All the columns with the requested name are returned
+    TableData data = TableDataCodec.decode(encoded, List.of("c1", "c1"), 1);
+    assertEquals(List.of("c1", "c1"), data.getColumns());
+    assertEquals(List.of(List.of(1, true)), data.getRows());
+  }
+
+  @Test
+  public void testEncodedSize() throws IOException {
+    // 100 columns with 200 rows of sample data with repeated values
+    List<String> columns = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      columns.add("column" + i);
+    }
+    List<List<Object>> rows = new ArrayList<>();
+    for (int r = 0; r < 200; r++) {
+      List<Object> row = new ArrayList<>();
+      for (int c = 0; c < 100; c++) {
+        row.add(c % 3 == 0 ? "value" + (r % 10) : c % 3 == 1 ? (Object) (r * c) : (Object) (r / 7.0));
+      }
+      rows.add(row);
+    }
+    TableData tableData = new TableData().withColumns(columns).withRows(rows);
+    byte[] encoded = TableDataCodec.encode(tableData);
+    int jsonLength = JsonUtils.pojoToJson(tableData).length();
+    assertTrue(encoded.length * 3 < jsonLength, "Encoded " + encoded.length + " bytes, json " + jsonLength + " bytes");
+    assertEquals(JsonUtils.pojoToJson(tableData), JsonUtils.pojoToJson(TableDataCodec.decode(encoded)));
+  }
+}